@@ -1,20 +1,29 @@
 package fr.unice.polytech.sophiatecheats;
 
-import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.GatewayHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.GatewayResponseCache;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.Hedging;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.RateLimiter;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.RequestCoalescer;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.UpstreamClient;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.UpstreamHealthChecker;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.UpstreamInstance;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.UpstreamService;
+import fr.unice.polytech.sophiatecheats.interfaces.http.server.RequestExecution;
 
-import java.io.IOException;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
-import java.net.URL;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
  * API Gateway - Point d'entrée unique pour tous les clients.
  * Route les requêtes vers les microservices appropriés:
  * - Consumer Service (8082): /api/cart/*, /api/orders/*, /restaurants (GET only)
- * - Restaurant Service (8081): /restaurants/* (POST/PUT/DELETE management)
+ * - Restaurant Service (8081): /restaurants/* (POST/PUT/DELETE management), /dishes
+ *
+ * Plusieurs instances par service : -Dste.gateway.consumer.urls=http://h1:8082,http://h2:8082
+ * (idem avec ste.gateway.restaurant.urls).
  */
 public class ApiGatewayApplication {
 
@@ -30,6 +39,16 @@ public class ApiGatewayApplication {
 
     private static final Logger logger = Logger.getLogger(ApiGatewayApplication.class.getName());
 
+    private final RequestExecution requestExecution = RequestExecution.fromSystemProperties();
+    private final UpstreamClient upstreamClient = UpstreamClient.fromSystemProperties();
+    private final GatewayResponseCache responseCache = GatewayResponseCache.fromSystemProperties();
+    private final RateLimiter rateLimiter = RateLimiter.fromSystemProperties();
+    private final RequestCoalescer coalescer = RequestCoalescer.fromSystemProperties();
+    // null sauf si -Dste.gateway.hedge.enabled=true
+    private final Hedging hedging = Hedging.fromSystemProperties();
+    private final UpstreamService consumerService = UpstreamService.fromSystemProperties("consumer", CONSUMER_SERVICE_URL);
+    private final UpstreamService restaurantService = UpstreamService.fromSystemProperties("restaurant", RESTAURANT_SERVICE_URL);
+
    public static void main(String[] args) {
         ApiGatewayApplication gateway = new ApiGatewayApplication();
         gateway.start();
@@ -42,14 +61,33 @@ public class ApiGatewayApplication {
 
         try {
             HttpServer server = HttpServer.create(new InetSocketAddress(GATEWAY_PORT), 0);
-            server.createContext("/", this::routeRequest);
+            GatewayHandler gatewayHandler = GatewayHandler.builder()
+                    .consumerService(consumerService)
+                    .restaurantService(restaurantService)
+                    .upstreamClient(upstreamClient)
+                    .responseCache(responseCache)
+                    .rateLimiter(rateLimiter)
+                    .coalescer(coalescer)
+                    .hedging(hedging)
+                    .build();
+            requestExecution.install(server, "/", gatewayHandler);
             server.start();
+            UpstreamHealthChecker.fromSystemProperties(List.of(consumerService, restaurantService)).start();
 
             logger.info(GREEN + "✓ API Gateway démarré sur http://localhost:" + GATEWAY_PORT + RESET);
+            logger.info(YELLOW + "Exécution des requêtes : " + requestExecution.describe() + RESET);
             logger.info(YELLOW + "Routes configurées:" + RESET);
-            logger.info(CYAN + "  → /api/cart/*        → Consumer Service (8082)" + RESET);
-            logger.info(CYAN + "  → /api/orders/*      → Consumer Service (8082)" + RESET);
-            logger.info(CYAN + "  → /restaurants/*     → Restaurant Service (8081)" + RESET);
+            logger.info(CYAN + "  → /api/cart/*        → Consumer Service " + urls(consumerService) + RESET);
+            logger.info(CYAN + "  → /api/orders/*      → Consumer Service " + urls(consumerService) + RESET);
+            logger.info(CYAN + "  → /restaurants/*     → Restaurant Service " + urls(restaurantService) + RESET);
+            logger.info(CYAN + "  → /dishes            → Restaurant Service " + urls(restaurantService) + RESET);
+            logger.info(CYAN + "  → " + GatewayHandler.CACHE_STATS_PATH + "    → statistiques du cache" + RESET);
+            logger.info(CYAN + "  → " + GatewayHandler.RATE_LIMIT_STATS_PATH + " → statistiques du limiteur" + RESET);
+            logger.info(CYAN + "  → " + GatewayHandler.COALESCING_STATS_PATH + " → regroupement des GET" + RESET);
+            if (hedging != null) {
+                logger.info(CYAN + "  → " + GatewayHandler.HEDGING_STATS_PATH + " → doublement des GET lents" + RESET);
+            }
+            logger.info(CYAN + "  → " + GatewayHandler.UPSTREAMS_PATH + " → état des instances" + RESET);
             logger.info(BLUE + "════════════════════════════════════════" + RESET);
             logger.info(GREEN + "Gateway prêt à router les requêtes." + RESET);
 
@@ -62,112 +100,7 @@ public class ApiGatewayApplication {
         }
     }
 
-    private void routeRequest(HttpExchange exchange) throws IOException {
-        String path = exchange.getRequestURI().getPath();
-        String method = exchange.getRequestMethod();
-        // CORS headers pour toutes les réponses
-        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-        exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-        exchange.getResponseHeaders().set("Access-Control-Allow-Headers", "Content-Type, Authorization, Accept, x-request-id");
-
-
-        if ("OPTIONS".equals(method)) {
-            exchange.sendResponseHeaders(204, -1);
-            exchange.close();
-            return;
-        }
-
-        String targetServiceUrl = determineTargetService(path);
-
-        if (targetServiceUrl == null) {
-            sendErrorResponse(exchange, 404, "Service not found for path: " + path);
-            return;
-        }
-
-        try {
-            proxyRequest(exchange, targetServiceUrl);
-        } catch (Exception e) {
-            logger.warning("Erreur lors du routage: " + e.getMessage());
-            sendErrorResponse(exchange, 503, "Service temporairement indisponible");
-        }
-    }
-
-    private String determineTargetService(String path) {
-        // Routes Consumer Service (8082) - Actions clients
-        if (path.startsWith("/api/cart") || path.startsWith("/api/orders")) {
-            return CONSUMER_SERVICE_URL;
-        }
-
-        // Routes Restaurant Management → Restaurant Service (8081)
-        if (path.startsWith("/restaurants")) {
-            return RESTAURANT_SERVICE_URL;
-        }
-
-        return null;
-    }
-
-    private void proxyRequest(HttpExchange exchange, String targetServiceUrl) throws IOException {
-        String path = exchange.getRequestURI().toString();
-        URL url = new URL(targetServiceUrl + path);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-
-        // Configure la connexion
-        String method = exchange.getRequestMethod();
-        connection.setRequestMethod(method);
-        connection.setDoInput(true);
-
-        // Copie les headers de la requête (sauf Host)
-        exchange.getRequestHeaders().forEach((key, values) -> {
-            if (!"Host".equalsIgnoreCase(key)) {
-                values.forEach(value -> connection.setRequestProperty(key, value));
-            }
-        });
-
-        // Envoie le body si présent (seulement pour POST, PUT, etc.)
-        if (!"GET".equals(method) && !"DELETE".equals(method) && exchange.getRequestBody().available() > 0) {
-            connection.setDoOutput(true);
-            byte[] requestBody = exchange.getRequestBody().readAllBytes();
-            connection.getOutputStream().write(requestBody);
-            connection.getOutputStream().flush();
-        }
-
-        // Récupère la réponse du service
-        int responseCode = connection.getResponseCode();
-        byte[] responseBody;
-
-        try {
-            responseBody = connection.getInputStream().readAllBytes();
-        } catch (IOException e) {
-            // En cas d'erreur, lire l'error stream
-            responseBody = connection.getErrorStream() != null
-                    ? connection.getErrorStream().readAllBytes()
-                    : "Service Error".getBytes();
-        }
-
-        connection.getHeaderFields().forEach((key, values) -> {
-            if (key != null &&
-                    !"Transfer-Encoding".equalsIgnoreCase(key) &&
-                    !key.toLowerCase().startsWith("access-control-")) {
-                values.forEach(value -> exchange.getResponseHeaders().add(key, value));
-            }
-        });
-
-        // Envoie la réponse au client
-        exchange.sendResponseHeaders(responseCode, responseBody.length);
-        OutputStream os = exchange.getResponseBody();
-        os.write(responseBody);
-        os.close();
-
-        connection.disconnect();
-    }
-
-    private void sendErrorResponse(HttpExchange exchange, int statusCode, String message) throws IOException {
-        byte[] response = ("{\"error\":\"" + message + "\"}").getBytes();
-        exchange.getResponseHeaders().set("Content-Type", "application/json");
-        exchange.sendResponseHeaders(statusCode, response.length);
-        OutputStream os = exchange.getResponseBody();
-        os.write(response);
-        os.close();
+    private static List<String> urls(UpstreamService service) {
+        return service.instances().stream().map(UpstreamInstance::baseUrl).toList();
     }
 }
-
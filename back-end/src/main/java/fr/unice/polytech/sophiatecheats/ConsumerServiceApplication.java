@@ -2,12 +2,21 @@ package fr.unice.polytech.sophiatecheats;
 
 import com.sun.net.httpserver.HttpServer;
 import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
+import fr.unice.polytech.sophiatecheats.infrastructure.client.CatalogReplica;
+import fr.unice.polytech.sophiatecheats.infrastructure.client.RestaurantServiceHttpClient;
+import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
 import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.UserBulkImporter;
 import fr.unice.polytech.sophiatecheats.interfaces.http.ApiRegistry;
 import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.CartHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.HealthHandler;
 import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.OrderHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.server.RequestExecution;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.util.logging.Logger;
 
 /**
@@ -19,6 +28,15 @@ import java.util.logging.Logger;
  * - Consulter leurs commandes
  * <p>
  * Port: 8082
+ * <p>
+ * Avec -Dste.restaurantService.url=http://localhost:8081, le catalogue et ses créneaux de
+ * livraison sont lus dans le Restaurant Service au lieu du stockage en mémoire partagé. Avec
+ * -Dste.catalog.replica.url=http://localhost:8081, il est répliqué localement à partir du
+ * flux de modifications du Restaurant Service (prioritaire sur le client HTTP), créneaux
+ * compris. Dans les deux cas, les réservations de créneaux sont transmises au Restaurant Service.
+ * <p>
+ * Avec -Dste.users.import=/chemin/users.csv (ou .ndjson), les utilisateurs du fichier sont
+ * importés au démarrage (voir {@link UserBulkImporter}).
  */
 public class ConsumerServiceApplication {
 
@@ -27,6 +45,7 @@ public class ConsumerServiceApplication {
     private static final String POST = "POST";
     private static final String PUT = "PUT";
     private static final String DELETE = "DELETE";
+    private static final String REPLICA_STATS_PATH = "/internal/catalog/replica";
 
     private static final String RESET = "\u001B[0m";
     private static final String GREEN = "\u001B[32m";
@@ -37,10 +56,19 @@ public class ConsumerServiceApplication {
 
     private final ApplicationConfig config;
     private final SophiaTechEatsFacade facade;
+    private final RequestExecution requestExecution;
+    // null sauf si -Dste.catalog.replica.url est défini
+    private final CatalogReplica catalogReplica = CatalogReplica.fromSystemProperties();
+    // null sauf si -Dste.restaurantService.url est défini (et pas de réplica)
+    private final RestaurantServiceHttpClient catalogClient =
+            catalogReplica == null ? RestaurantServiceHttpClient.fromSystemProperties() : null;
 
     public ConsumerServiceApplication() {
-        this.config = new ApplicationConfig();
+        this.config = catalogReplica != null
+                ? new ApplicationConfig(catalogReplica.start(), catalogReplica.timeSlots())
+                : new ApplicationConfig(catalogClient, catalogClient != null ? catalogClient.timeSlots() : null);
         this.facade = new SophiaTechEatsFacade(config);
+        this.requestExecution = RequestExecution.fromSystemProperties();
     }
 
     public static void main(String[] args) {
@@ -54,17 +82,26 @@ public class ConsumerServiceApplication {
         logger.info(CYAN + "╚════════════════════════════════════════╝" + RESET);
 
         try {
+            importUsers();
             HttpServer server = HttpServer.create(new InetSocketAddress(PORT), 0);
             ApiRegistry registry = configureApiRoutes();
 
-            server.createContext("/", registry::dispatch);
+            requestExecution.install(server, "/", registry::dispatch);
             server.start();
 
             logger.info(GREEN + " Service démarré sur http://localhost:" + PORT + "/" + RESET);
+            logger.info(YELLOW + " Exécution des requêtes : " + requestExecution.describe() + RESET);
+            if (catalogReplica != null) {
+                logger.info(YELLOW + " Catalogue répliqué depuis " + System.getProperty(CatalogReplica.URL_PROPERTY)
+                        + " (état : GET " + REPLICA_STATS_PATH + ")" + RESET);
+            } else if (catalogClient != null) {
+                logger.info(YELLOW + " Catalogue lu depuis " + System.getProperty(RestaurantServiceHttpClient.URL_PROPERTY) + RESET);
+            }
             logger.info(YELLOW + " Routes disponibles :" + RESET);
             logger.info(YELLOW + "  - POST   /api/cart/items" + RESET);
             logger.info(YELLOW + "  - GET    /api/cart/{userId}" + RESET);
             logger.info(YELLOW + "  - PUT    /api/cart/{userId}/items" + RESET);
+            logger.info(YELLOW + "  - POST   /api/cart/{userId}/items:batch" + RESET);
             logger.info(YELLOW + "  - DELETE /api/cart/{userId}" + RESET);
             logger.info(YELLOW + "  - DELETE /api/cart/{userId}/cancel" + RESET);
             logger.info(YELLOW + "  - DELETE /api/cart/{userId}/items/{dishId}" + RESET);
@@ -86,6 +123,21 @@ public class ConsumerServiceApplication {
         }
     }
 
+    /**
+     * Importe les utilisateurs du fichier désigné par {@value UserBulkImporter#FILE_PROPERTY}, s'il est défini.
+     */
+    private void importUsers() throws IOException {
+        String file = System.getProperty(UserBulkImporter.FILE_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        UserBulkImporter.Report report = new UserBulkImporter(config.getInstance(UserRepository.class))
+                .importFile(Path.of(file));
+        logger.info(YELLOW + String.format(" Utilisateurs importés depuis %s : %d (%d doublons, %d rejetés) en %d ms",
+                file, report.imported(), report.duplicates(), report.rejected(), report.elapsed().toMillis()) + RESET);
+        report.errors().forEach(error -> logger.warning("  " + error));
+    }
+
     /**
      * Configure les routes API pour le service Order & Payment
      */
@@ -99,6 +151,7 @@ public class ConsumerServiceApplication {
         registry.registerRoute(POST, "/api/cart/items", cartHandler);
         registry.registerRoute(GET, "/api/cart/{userId}", cartHandler);
         registry.registerRoute(PUT, "/api/cart/{userId}/items", cartHandler);
+        registry.registerRoute(POST, "/api/cart/{userId}/items:batch", cartHandler);
         registry.registerRoute(DELETE, "/api/cart/{userId}", cartHandler);
         registry.registerRoute(DELETE, "/api/cart/{userId}/cancel", cartHandler);
         registry.registerRoute(DELETE, "/api/cart/{userId}/items/{dishId}", cartHandler);
@@ -114,6 +167,15 @@ public class ConsumerServiceApplication {
 
         registry.registerRoute(POST, "/api/orders/{id}/confirm", orderHandler);
 
+        // Retard et resynchronisations du réplica du catalogue
+        if (catalogReplica != null) {
+            registry.registerRoute(GET, REPLICA_STATS_PATH, (exchange, params, sender) ->
+                    sender.sendJson(HttpUtils.OK, catalogReplica.stats(), null));
+        }
+
+        // Sonde de santé utilisée par le gateway
+        registry.registerRoute(GET, HealthHandler.PATH, new HealthHandler());
+
         return registry;
     }
 }
@@ -2,13 +2,23 @@ package fr.unice.polytech.sophiatecheats;
 
 import com.sun.net.httpserver.HttpServer;
 import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
+import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
 import fr.unice.polytech.sophiatecheats.domain.services.RestaurantService;
 import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
+import fr.unice.polytech.sophiatecheats.infrastructure.feed.CatalogChangeLog;
+import fr.unice.polytech.sophiatecheats.infrastructure.feed.OrderEventLog;
 import fr.unice.polytech.sophiatecheats.interfaces.http.ApiRegistry;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.CatalogFeedHandler;
 import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.CatalogHandler;
 import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.DeliverySlotApiHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.DishHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.HealthHandler;
 import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RestaurantHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RestaurantOrderStreamHandler;
 import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RestaurantOrdersHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RestaurantSnapshotHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.SlotSnapshotHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.server.RequestExecution;
 
 import java.net.InetSocketAddress;
 import java.util.logging.Logger;
@@ -42,10 +52,12 @@ public class RestaurantServiceApplication {
 
     private final ApplicationConfig config;
     private final SophiaTechEatsFacade facade;
+    private final RequestExecution requestExecution;
 
     public RestaurantServiceApplication() {
         this.config = new ApplicationConfig();
         this.facade = new SophiaTechEatsFacade(config);
+        this.requestExecution = RequestExecution.fromSystemProperties();
     }
 
   public   static void main(String[] args) {
@@ -62,10 +74,11 @@ public class RestaurantServiceApplication {
             HttpServer server = HttpServer.create(new InetSocketAddress(PORT), 0);
             ApiRegistry registry = configureRestaurantRoutes();
 
-            server.createContext("/", registry::dispatch);
+            requestExecution.install(server, "/", registry::dispatch);
             server.start();
 
             logger.info(GREEN + "✓ Restaurant Service démarré sur http://localhost:" + PORT + RESET);
+            logger.info(YELLOW + "Exécution des requêtes : " + requestExecution.describe() + RESET);
             logger.info(YELLOW + "Routes disponibles:" + RESET);
             logger.info(CYAN + "  [RESTAURANTS]" + RESET);
             logger.info(CYAN + "  - GET    /restaurants                  (Lister restaurants)" + RESET);
@@ -73,11 +86,20 @@ public class RestaurantServiceApplication {
             logger.info(CYAN + "  - POST   /restaurants                  (Créer restaurant)" + RESET);
             logger.info(CYAN + "  - PUT    /restaurants/{id}             (Modifier restaurant)" + RESET);
             logger.info(CYAN + "  - DELETE /restaurants/{id}             (Supprimer restaurant)" + RESET);
+            logger.info(CYAN + "  [ORDERS]" + RESET);
+            logger.info(CYAN + "  - GET    /restaurants/{id}/orders      (Commandes du restaurant)" + RESET);
+            logger.info(CYAN + "  - GET    /restaurants/{id}/orders/stream (Flux SSE des commandes)" + RESET);
             logger.info(CYAN + "  [MENU MANAGEMENT]" + RESET);
             logger.info(CYAN + "  - GET    /restaurants/{id}/menu        (Voir menu)" + RESET);
+            logger.info(CYAN + "  - GET    /dishes?ids=...               (Plats par identifiant)" + RESET);
             logger.info(CYAN + "  - POST   /restaurants/{id}/menu        (Ajouter plat)" + RESET);
             logger.info(CYAN + "  - PUT    /restaurants/{id}/menu/{dishId} (Modifier plat)" + RESET);
             logger.info(CYAN + "  - DELETE /restaurants/{id}/menu/{dishId} (Supprimer plat)" + RESET);
+            logger.info(CYAN + "  [INTERNE]" + RESET);
+            logger.info(CYAN + "  - GET    /internal/restaurants?ids=... (Catalogue pour les autres services)" + RESET);
+            logger.info(CYAN + "  - GET    /internal/slots?ids=...       (Créneaux pour les autres services)" + RESET);
+            logger.info(CYAN + "  - GET    /internal/catalog/snapshot    (Instantané pour les réplicas)" + RESET);
+            logger.info(CYAN + "  - GET    /internal/catalog/feed?after=N&epoch=E (Flux des modifications)" + RESET);
             logger.info(CYAN + "  [DELIVERY SLOTS]" + RESET);
             logger.info(CYAN + "  - GET    /restaurants/{id}/delivery-slots (Voir créneaux)" + RESET);
             logger.info(CYAN + "  - POST   /restaurants/{id}/delivery-slots (Créer créneaux)" + RESET);
@@ -112,6 +134,12 @@ public class RestaurantServiceApplication {
 
         // Route pour obtenir les commandes d'un restaurant
         registry.registerRoute(GET, RESTAURANT_BY_ID_PATH + "/orders", restaurantOrdersHandler);
+        // Flux des commandes pour le tableau de bord (Server-Sent Events)
+        registry.registerRoute(GET, RESTAURANT_BY_ID_PATH + "/orders/stream",
+                new RestaurantOrderStreamHandler(facade, config.getInstance(OrderEventLog.class)));
+        // Lecture groupée de plats par identifiant (page panier)
+        registry.registerRoute(GET, DishHandler.PATH, new DishHandler(facade));
+
         // Routes de gestion du menu
 
         registry.registerRoute(GET, RESTAURANT_BY_ID_PATH + "/menu", catalogHandler);
@@ -129,6 +157,18 @@ public class RestaurantServiceApplication {
         registry.registerRoute(PUT, RESTAURANT_BY_ID_PATH, restaurantHandler);
         registry.registerRoute(DELETE, RESTAURANT_BY_ID_PATH, restaurantHandler);
 
+        // Lecture du catalogue par les autres services (RestaurantServiceHttpClient)
+        registry.registerRoute(GET, RestaurantSnapshotHandler.PATH, new RestaurantSnapshotHandler(restaurantService));
+        registry.registerRoute(GET, SlotSnapshotHandler.PATH, new SlotSnapshotHandler(config.getInstance(TimeSlotRepository.class)));
+
+        // Flux des modifications du catalogue (CatalogReplica)
+        CatalogFeedHandler catalogFeedHandler = new CatalogFeedHandler(restaurantService, config.getInstance(CatalogChangeLog.class));
+        registry.registerRoute(GET, CatalogFeedHandler.SNAPSHOT_PATH, catalogFeedHandler);
+        registry.registerRoute(GET, CatalogFeedHandler.FEED_PATH, catalogFeedHandler);
+
+        // Sonde de santé utilisée par le gateway
+        registry.registerRoute(GET, HealthHandler.PATH, new HealthHandler());
+
         return registry;
     }
 }
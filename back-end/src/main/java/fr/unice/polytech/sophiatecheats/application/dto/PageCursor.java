@@ -0,0 +1,85 @@
+package fr.unice.polytech.sophiatecheats.application.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Curseur de pagination : position du dernier élément d'une page dans un ordre stable
+ * (une valeur triable, puis l'identifiant pour départager les égalités).
+ *
+ * <p>Le client le reçoit sous forme opaque ({@link #encode()}) et le renvoie tel quel pour
+ * obtenir la page suivante. Comme il désigne une position et non un rang, les insertions et
+ * suppressions entre deux pages ne provoquent ni doublon ni saut.</p>
+ *
+ * @param position la valeur triable (0 si l'ordre ne dépend que de l'identifiant)
+ * @param id       l'identifiant du dernier élément lu
+ */
+public record PageCursor(long position, String id) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public PageCursor {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+
+    public static PageCursor of(LocalDateTime time, String id) {
+        long nanos = Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), 1_000_000_000L), time.getNano());
+        return new PageCursor(nanos, id);
+    }
+
+    public LocalDateTime time() {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(position, 1_000_000_000L),
+                (int) Math.floorMod(position, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    public String encode() {
+        byte[] raw = (position + ":" + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @return le curseur, ou {@code null} si {@code encoded} est absent
+     * @throws IllegalArgumentException si le curseur n'a pas été émis par {@link #encode()}
+     */
+    public static PageCursor decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Curseur invalide");
+            }
+            return new PageCursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
+    }
+
+    /**
+     * Taille de page demandée : {@value #DEFAULT_LIMIT} si absente, entre 1 et {@value #MAX_LIMIT} sinon.
+     *
+     * @throws IllegalArgumentException si la valeur est hors limites
+     */
+    public static int parseLimit(String limit) {
+        if (limit == null || limit.isEmpty()) {
+            return DEFAULT_LIMIT;
+        }
+        int value;
+        try {
+            value = Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("limit doit être un entier", e);
+        }
+        if (value < 1 || value > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit doit être compris entre 1 et " + MAX_LIMIT);
+        }
+        return value;
+    }
+}
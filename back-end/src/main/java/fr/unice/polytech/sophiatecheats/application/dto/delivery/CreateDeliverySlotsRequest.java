@@ -0,0 +1,28 @@
+package fr.unice.polytech.sophiatecheats.application.dto.delivery;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Requête pour générer les créneaux de livraison d'un restaurant sur une plage horaire.
+ *
+ * @param date               le jour des créneaux
+ * @param start              le début de la plage
+ * @param end                la fin de la plage
+ * @param maxCapacityPerSlot le nombre maximal de commandes par créneau
+ */
+public record CreateDeliverySlotsRequest(
+        LocalDate date,
+        LocalTime start,
+        LocalTime end,
+        int maxCapacityPerSlot
+) {
+    public CreateDeliverySlotsRequest {
+        if (date == null || start == null || end == null) {
+            throw new IllegalArgumentException("Les champs date, start et end sont requis");
+        }
+        if (maxCapacityPerSlot <= 0) {
+            throw new IllegalArgumentException("maxCapacityPerSlot doit être positif");
+        }
+    }
+}
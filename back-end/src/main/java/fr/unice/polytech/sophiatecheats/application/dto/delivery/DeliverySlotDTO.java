@@ -1,6 +1,7 @@
 package fr.unice.polytech.sophiatecheats.application.dto.delivery;
 
 import fr.unice.polytech.sophiatecheats.application.dto.DTO;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,6 +17,27 @@ public record DeliverySlotDTO(UUID id,
                               int reservedCount,
                               boolean available)
         implements DTO {
+
+    public static DeliverySlotDTO fromEntity(TimeSlot slot) {
+        return new DeliverySlotDTO(slot.getId(), slot.getRestaurantId(), slot.getStartTime(), slot.getEndTime(),
+                slot.getMaxCapacity(), slot.getReservedCount(), slot.isAvailable());
+    }
+
+    /**
+     * Reconstruit le créneau tel qu'il était chez l'émetteur, capacité réservée comprise.
+     */
+    public TimeSlot toEntity() {
+        return TimeSlot.builder()
+                .id(id)
+                .restaurantId(restaurantId)
+                .startTime(startTime)
+                .endTime(endTime)
+                .maxCapacity(maxCapacity)
+                .reservedCount(reservedCount)
+                .available(available)
+                .build();
+    }
+
     @Override
     public boolean isValid() {
         return id != null && restaurantId != null
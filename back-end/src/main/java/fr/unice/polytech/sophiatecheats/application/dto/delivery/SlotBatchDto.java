@@ -0,0 +1,23 @@
+package fr.unice.polytech.sophiatecheats.application.dto.delivery;
+
+import fr.unice.polytech.sophiatecheats.application.dto.DTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Réponse à une lecture groupée de créneaux de livraison.
+ *
+ * @param slots   créneaux trouvés, avec leur capacité courante
+ * @param missing identifiants inconnus du service (ou de créneaux déjà purgés)
+ */
+public record SlotBatchDto(
+        List<DeliverySlotDTO> slots,
+        List<UUID> missing
+) implements DTO {
+
+    @Override
+    public boolean isValid() {
+        return slots != null && missing != null;
+    }
+}
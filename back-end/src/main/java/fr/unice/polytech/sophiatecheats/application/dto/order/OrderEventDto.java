@@ -0,0 +1,18 @@
+package fr.unice.polytech.sophiatecheats.application.dto.order;
+
+/**
+ * Événement du flux des commandes d'un restaurant : une commande nouvelle ou modifiée, ou une
+ * commande qui quitte le tableau de bord.
+ *
+ * <p>L'événement porte l'état complet de la commande : un tableau de bord remplace simplement
+ * sa copie de la commande {@code order.orderId()}, ou la retire si {@code removed}.</p>
+ *
+ * @param sequence position dans le flux du restaurant, strictement croissante
+ * @param removed  la commande n'est plus visible par le restaurant (expirée, par exemple)
+ */
+public record OrderEventDto(
+        long sequence,
+        RestaurantOrderDto order,
+        boolean removed
+) {
+}
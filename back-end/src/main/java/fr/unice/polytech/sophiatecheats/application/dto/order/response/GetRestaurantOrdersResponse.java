@@ -6,9 +6,16 @@ import java.util.List;
 
 /**
  * Réponse contenant la liste des commandes pour un restaurant.
+ *
+ * @param nextCursor curseur de la page suivante, {@code null} s'il n'y en a pas (ou si la
+ *                   liste n'est pas paginée)
  */
 public record GetRestaurantOrdersResponse(
-        List<RestaurantOrderDto> orders
+        List<RestaurantOrderDto> orders,
+        String nextCursor
 ) {
-}
 
+    public GetRestaurantOrdersResponse(List<RestaurantOrderDto> orders) {
+        this(orders, null);
+    }
+}
@@ -0,0 +1,35 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant;
+
+import fr.unice.polytech.sophiatecheats.application.dto.DTO;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
+
+import java.util.UUID;
+
+/**
+ * Événement du flux de modifications du catalogue.
+ *
+ * <p>Chaque événement porte l'état complet du restaurant après la modification : l'appliquer
+ * deux fois, ou après un instantané qui l'inclut déjà, ne change rien. Un événement sans
+ * {@code type} est un battement de cœur qui annonce seulement la dernière séquence émise.</p>
+ *
+ * @param sequence    position dans le flux, strictement croissante
+ * @param publishedAt date de publication (millisecondes depuis l'epoch)
+ * @param restaurant  état du restaurant, {@code null} s'il a été supprimé
+ */
+public record CatalogEventDto(
+        long sequence,
+        CatalogChangeType type,
+        UUID restaurantId,
+        long publishedAt,
+        RestaurantSnapshotDto restaurant
+) implements DTO {
+
+    public static CatalogEventDto heartbeat(long sequence, long publishedAt) {
+        return new CatalogEventDto(sequence, null, null, publishedAt, null);
+    }
+
+    @Override
+    public boolean isValid() {
+        return type == null || restaurantId != null;
+    }
+}
@@ -0,0 +1,24 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant;
+
+import fr.unice.polytech.sophiatecheats.application.dto.DTO;
+
+import java.util.List;
+
+/**
+ * Instantané du catalogue servant d'amorce à un réplica de lecture.
+ *
+ * @param epoch    époque du journal qui a servi l'instantané, à présenter pour suivre le flux
+ * @param sequence dernière séquence du flux déjà prise en compte : le réplica suit ensuite
+ *                 le flux à partir de cette position
+ */
+public record CatalogSnapshotDto(
+        String epoch,
+        long sequence,
+        List<RestaurantSnapshotDto> restaurants
+) implements DTO {
+
+    @Override
+    public boolean isValid() {
+        return epoch != null && restaurants != null;
+    }
+}
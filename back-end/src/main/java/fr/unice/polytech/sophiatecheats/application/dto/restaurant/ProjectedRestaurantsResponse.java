@@ -0,0 +1,16 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Restaurants réduits aux champs demandés (voir {@link RestaurantFields}).
+ *
+ * @param restaurants un objet par restaurant, ne contenant que les champs demandés
+ * @param nextCursor  curseur de la page suivante, {@code null} s'il n'y en a pas
+ */
+public record ProjectedRestaurantsResponse(
+        List<Map<String, Object>> restaurants,
+        String nextCursor
+) {
+}
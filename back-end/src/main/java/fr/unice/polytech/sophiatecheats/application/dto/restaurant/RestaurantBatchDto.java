@@ -0,0 +1,27 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant;
+
+import fr.unice.polytech.sophiatecheats.application.dto.DTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Réponse à une lecture groupée du catalogue.
+ *
+ * @param catalogVersion version du catalogue au moment de la lecture
+ * @param restaurants    restaurants nouveaux ou modifiés depuis la version connue du demandeur
+ * @param unchanged      restaurants dont le demandeur possède déjà la version courante
+ * @param missing        identifiants inconnus du service
+ */
+public record RestaurantBatchDto(
+        long catalogVersion,
+        List<RestaurantSnapshotDto> restaurants,
+        List<UUID> unchanged,
+        List<UUID> missing
+) implements DTO {
+
+    @Override
+    public boolean isValid() {
+        return restaurants != null && unchanged != null && missing != null;
+    }
+}
@@ -0,0 +1,121 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Sous-ensemble des champs de {@link RestaurantDto} demandé par un client
+ * ({@code ?fields=id,name} ou {@code ?view=summary}).
+ *
+ * <p>La projection est construite directement depuis le restaurant : les champs absents ne
+ * sont jamais calculés, en particulier les DTO des plats lorsque {@code dishes} n'est pas
+ * demandé. Les noms de champs sont ceux de {@link RestaurantDto}.</p>
+ */
+public final class RestaurantFields {
+
+    public enum Field {
+        ID("id"),
+        NAME("name"),
+        ADDRESS("address"),
+        OPENING_TIME("openingTime"),
+        CLOSING_TIME("closingTime"),
+        IS_OPEN("isOpen"),
+        DISHES("dishes"),
+        RESTAURANT_TYPE("restaurantType");
+
+        private final String jsonName;
+
+        Field(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        public String jsonName() {
+            return jsonName;
+        }
+
+        static Field fromJsonName(String name) {
+            for (Field field : values()) {
+                if (field.jsonName.equals(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Champ inconnu : " + name);
+        }
+    }
+
+    /**
+     * Vue {@code summary} : ce qu'affiche la liste des restaurants.
+     */
+    public static final RestaurantFields SUMMARY =
+            new RestaurantFields(EnumSet.of(Field.ID, Field.NAME, Field.IS_OPEN, Field.RESTAURANT_TYPE));
+
+    private final Set<Field> fields;
+
+    private RestaurantFields(Set<Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Interprète les paramètres {@code fields} (noms séparés par des virgules) et {@code view}
+     * ({@code summary} ou {@code full}), qui sont exclusifs.
+     *
+     * @return la projection demandée, ou {@code null} pour le DTO complet
+     * @throws IllegalArgumentException si un champ ou une vue est inconnu
+     */
+    public static RestaurantFields parse(String fields, String view) {
+        if (fields != null && view != null) {
+            throw new IllegalArgumentException("Les paramètres fields et view sont exclusifs");
+        }
+        if (view != null) {
+            return switch (view) {
+                case "summary" -> SUMMARY;
+                case "full" -> null;
+                default -> throw new IllegalArgumentException("Vue inconnue : " + view);
+            };
+        }
+        if (fields == null) {
+            return null;
+        }
+        EnumSet<Field> selected = EnumSet.noneOf(Field.class);
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> selected.add(Field.fromJsonName(name)));
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("Aucun champ demandé");
+        }
+        return new RestaurantFields(selected);
+    }
+
+    public boolean includes(Field field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * @param dishes fournit les DTO des plats, appelé seulement si {@code dishes} est demandé
+     */
+    public Map<String, Object> project(Restaurant restaurant, Function<Restaurant, List<DishDto>> dishes) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        for (Field field : fields) {
+            view.put(field.jsonName(), switch (field) {
+                case ID -> restaurant.getId();
+                case NAME -> restaurant.getName();
+                case ADDRESS -> restaurant.getAddress();
+                case OPENING_TIME -> restaurant.getOpeningTime();
+                case CLOSING_TIME -> restaurant.getClosingTime();
+                case IS_OPEN -> restaurant.isOpen();
+                case DISHES -> dishes.apply(restaurant);
+                case RESTAURANT_TYPE -> restaurant.getRestaurantType();
+            });
+        }
+        return view;
+    }
+}
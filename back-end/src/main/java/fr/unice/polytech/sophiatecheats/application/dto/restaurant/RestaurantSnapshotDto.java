@@ -0,0 +1,104 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant;
+
+import fr.unice.polytech.sophiatecheats.application.dto.DTO;
+import fr.unice.polytech.sophiatecheats.application.dto.delivery.DeliverySlotDTO;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.delivery.DeliverySchedule;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Schedule;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Copie complète d'un restaurant échangée entre services, avec sa version.
+ *
+ * <p>Contrairement à {@link RestaurantDto}, elle contient tout ce qu'il faut pour reconstruire
+ * l'entité côté consommateur ({@link #toEntity()}), y compris le type de cuisine et les
+ * créneaux de livraison.</p>
+ *
+ * @param deliverySlots créneaux du planning ; {@code available} est l'état calculé par
+ *                      {@link TimeSlot#isAvailable()}, suffisant pour une copie en lecture seule
+ */
+public record RestaurantSnapshotDto(
+        UUID id,
+        long version,
+        String name,
+        String address,
+        LocalTime openingTime,
+        LocalTime closingTime,
+        boolean isOpen,
+        RestaurantType restaurantType,
+        DishCategory cuisineType,
+        List<DishDto> dishes,
+        List<DeliverySlotDTO> deliverySlots
+) implements DTO {
+
+    public static RestaurantSnapshotDto fromEntity(Restaurant restaurant) {
+        return new RestaurantSnapshotDto(
+                restaurant.getId(),
+                restaurant.getVersion(),
+                restaurant.getName(),
+                restaurant.getAddress(),
+                restaurant.getOpeningTime(),
+                restaurant.getClosingTime(),
+                restaurant.isOpen(),
+                restaurant.getRestaurantType(),
+                restaurant.getCuisineType(),
+                restaurant.getMenu().stream().map(DishDto::fromEntity).toList(),
+                restaurant.getDeliverySchedule().getAllSlots().stream()
+                        .map(DeliverySlotDTO::fromEntity)
+                        .toList()
+        );
+    }
+
+    /**
+     * Reconstruit le restaurant avec ses créneaux et la version qu'il avait dans le service
+     * restaurant, sans faire avancer l'horloge locale du catalogue.
+     */
+    public Restaurant toEntity() {
+        List<Dish> menu = dishes.stream()
+                .map(dish -> Dish.builder()
+                        .id(dish.id())
+                        .name(dish.name())
+                        .description(dish.description())
+                        .price(dish.price())
+                        .category(dish.category())
+                        .available(dish.available())
+                        .dietTypes(dish.dietTypes() != null ? dish.dietTypes() : Set.of())
+                        .restaurantId(id)
+                        .build())
+                .toList();
+        Schedule schedule = openingTime != null && closingTime != null ? new Schedule(openingTime, closingTime) : null;
+        DeliverySchedule deliverySchedule = new DeliverySchedule(id);
+        if (deliverySlots != null) {
+            deliverySlots.forEach(slot -> deliverySchedule.addSlot(TimeSlot.builder()
+                    .id(slot.id())
+                    .restaurantId(id)
+                    .startTime(slot.startTime())
+                    .endTime(slot.endTime())
+                    .maxCapacity(slot.maxCapacity())
+                    .reservedCount(slot.reservedCount())
+                    .available(slot.available())
+                    .build()));
+        }
+        Restaurant restaurant = new Restaurant(id, name, address, schedule, isOpen, menu, deliverySchedule,
+                restaurantType, cuisineType);
+        restaurant.restoreVersion(version);
+        return restaurant;
+    }
+
+    @Override
+    public boolean isValid() {
+        return id != null
+                && name != null && !name.trim().isEmpty()
+                && address != null && !address.trim().isEmpty()
+                && dishes != null;
+    }
+}
@@ -0,0 +1,28 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.response;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Réponse de {@code GET /dishes?ids=...}.
+ *
+ * @param dishes   les plats trouvés, dans l'ordre de la demande
+ * @param notFound les identifiants qu'aucun restaurant ne propose
+ */
+public record GetDishesResponse(
+        List<DishEntry> dishes,
+        List<UUID> notFound
+) {
+
+    /**
+     * Un plat du catalogue et le restaurant qui le propose.
+     */
+    public record DishEntry(
+            UUID restaurantId,
+            String restaurantName,
+            DishDto dish
+    ) {
+    }
+}
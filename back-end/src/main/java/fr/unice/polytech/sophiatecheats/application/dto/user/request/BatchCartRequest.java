@@ -0,0 +1,57 @@
+package fr.unice.polytech.sophiatecheats.application.dto.user.request;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Requête pour appliquer plusieurs modifications au panier en une seule fois.
+ *
+ * <p>Les opérations sont appliquées dans l'ordre, en tout ou rien : si l'une échoue, le panier
+ * reste inchangé.</p>
+ *
+ * @param userId     l'identifiant de l'utilisateur (repris du chemin)
+ * @param operations les opérations, au plus {@value #MAX_OPERATIONS}
+ */
+public record BatchCartRequest(
+        UUID userId,
+        List<Operation> operations
+) {
+
+    public static final int MAX_OPERATIONS = 50;
+
+    public BatchCartRequest {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("La liste des opérations ne peut pas être vide");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("Au plus " + MAX_OPERATIONS + " opérations par lot, reçu: " + operations.size());
+        }
+        operations = List.copyOf(operations);
+    }
+
+    public enum OperationType {
+        /** Ajoute {@code quantity} exemplaires du plat. */
+        ADD,
+        /** Fixe la quantité du plat ({@code 0} ou moins le retire). */
+        UPDATE,
+        /** Retire le plat du panier. */
+        REMOVE
+    }
+
+    /**
+     * @param type     la nature de la modification
+     * @param dishId   le plat concerné
+     * @param quantity la quantité (ignorée pour {@code REMOVE})
+     */
+    public record Operation(OperationType type, UUID dishId, int quantity) {
+
+        public Operation {
+            if (type == null) {
+                throw new IllegalArgumentException("Le type d'opération ne peut pas être null");
+            }
+            if (dishId == null) {
+                throw new IllegalArgumentException("L'identifiant du plat ne peut pas être null");
+            }
+        }
+    }
+}
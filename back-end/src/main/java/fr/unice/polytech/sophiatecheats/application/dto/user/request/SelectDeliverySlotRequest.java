@@ -0,0 +1,18 @@
+package fr.unice.polytech.sophiatecheats.application.dto.user.request;
+
+import java.util.UUID;
+
+/**
+ * Requête pour choisir le créneau de livraison du panier.
+ *
+ * @param deliverySlotId l'identifiant du créneau choisi
+ */
+public record SelectDeliverySlotRequest(
+        UUID deliverySlotId
+) {
+    public SelectDeliverySlotRequest {
+        if (deliverySlotId == null) {
+            throw new IllegalArgumentException("deliverySlotId est requis");
+        }
+    }
+}
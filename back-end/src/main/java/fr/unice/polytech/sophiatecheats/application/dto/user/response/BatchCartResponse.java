@@ -0,0 +1,44 @@
+package fr.unice.polytech.sophiatecheats.application.dto.user.response;
+
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BatchCartRequest.OperationType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Réponse après application d'un lot de modifications au panier.
+ *
+ * <p>Si une opération a échoué, aucune n'est appliquée : {@code success} vaut {@code false},
+ * le panier décrit est celui d'avant le lot et {@code results} indique quelles opérations
+ * ont été refusées.</p>
+ *
+ * @param cartId      l'identifiant du panier ({@code null} si aucun panier n'existait)
+ * @param success     indique si le lot a été appliqué
+ * @param totalItems  le nombre total d'articles dans le panier
+ * @param totalAmount le montant total du panier
+ * @param results     le résultat de chaque opération, dans l'ordre de la requête
+ */
+public record BatchCartResponse(
+        UUID cartId,
+        boolean success,
+        int totalItems,
+        BigDecimal totalAmount,
+        List<OperationResult> results
+) {
+
+    public BatchCartResponse {
+        if (totalAmount == null) {
+            totalAmount = BigDecimal.ZERO;
+        }
+        results = results == null ? List.of() : List.copyOf(results);
+    }
+
+    /**
+     * @param index   la position de l'opération dans la requête
+     * @param success indique si l'opération a pu être appliquée
+     * @param error   la raison du refus, {@code null} en cas de succès
+     */
+    public record OperationResult(int index, OperationType type, UUID dishId, boolean success, String error) {
+    }
+}
@@ -7,11 +7,18 @@ import java.util.List;
 
 /**
  * Response DTO for browsing restaurants containing the list of restaurants and their dishes.
+ *
+ * @param nextCursor cursor of the next page, {@code null} when there is none (or when the list is not paginated)
  */
 public record BrowseRestaurantsResponse(
-        List<RestaurantDto> restaurants
+        List<RestaurantDto> restaurants,
+        String nextCursor
 ) implements DTO {
 
+    public BrowseRestaurantsResponse(List<RestaurantDto> restaurants) {
+        this(restaurants, null);
+    }
+
     @Override
     public boolean isValid() {
         return restaurants != null;
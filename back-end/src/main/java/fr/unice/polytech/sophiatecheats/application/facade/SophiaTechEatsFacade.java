@@ -5,6 +5,9 @@ import fr.unice.polytech.sophiatecheats.application.dto.FindCartResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.GetAvailableDeliverySlotsRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.delivery.DeliverySlotDTO;
 import fr.unice.polytech.sophiatecheats.application.dto.order.OrderDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.ProjectedRestaurantsResponse;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantFields;
 import fr.unice.polytech.sophiatecheats.application.dto.order.request.ConfirmOrderRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.order.request.SelectDeliverySlotRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.order.response.ConfirmOrderResponse;
@@ -13,9 +16,11 @@ import fr.unice.polytech.sophiatecheats.application.dto.order.response.SelectDel
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.request.AddDishToRestaurantRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.request.UpdateDishRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.response.AddDishToRestaurantResponse;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.response.GetDishesResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.response.UpdateDishResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.*;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.AddDishToCartResponse;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BatchCartResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.PlaceOrderResponse;
 import fr.unice.polytech.sophiatecheats.application.usecases.cart.*;
@@ -26,6 +31,8 @@ import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.AddDishT
 import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.GetRestaurantOrdersUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.UpdateDishUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.GetDishesUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.GetRestaurantDetailsUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.delivery.GetAvailableDeliverySlotsUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.order.GetOrderUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.order.PlaceOrderUseCase;
@@ -34,11 +41,14 @@ import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class SophiaTechEatsFacade {
 
     private final BrowseRestaurantsUseCase browseRestaurantsUseCase;
+    private final GetRestaurantDetailsUseCase getRestaurantDetailsUseCase;
+    private final GetDishesUseCase getDishesUseCase;
     private final AddDishToCartUseCase addDishToCartUseCase;
     private final ClearCartUseCase clearCartUseCase;
     private final CancelCartUseCase cancelCartUseCase;
@@ -48,6 +58,7 @@ public class SophiaTechEatsFacade {
     private final UpdateDishUseCase updateDishUseCase;
     private final RemoveDishFromCartUseCase removeDishFromCartUseCase;
     private final UpdateCartItemUseCase updateCartItemUseCase;
+    private final BatchCartUseCase batchCartUseCase;
     private final SelectDeliverySlotUseCase selectDeliverySlotUseCase;
     private final InitiatePaymentUseCase initiatePaymentUseCase;
     private final GetOrderUseCase getOrderUseCase;
@@ -58,6 +69,8 @@ public class SophiaTechEatsFacade {
 
     public SophiaTechEatsFacade(ApplicationConfig config) {
         this.browseRestaurantsUseCase = config.getInstance(BrowseRestaurantsUseCase.class);
+        this.getRestaurantDetailsUseCase = config.getInstance(GetRestaurantDetailsUseCase.class);
+        this.getDishesUseCase = config.getInstance(GetDishesUseCase.class);
         this.addDishToCartUseCase = config.getInstance(AddDishToCartUseCase.class);
         this.clearCartUseCase = config.getInstance(ClearCartUseCase.class);
         this.cancelCartUseCase = config.getInstance(CancelCartUseCase.class);
@@ -67,6 +80,7 @@ public class SophiaTechEatsFacade {
         this.updateDishUseCase = config.getInstance(UpdateDishUseCase.class);
         this.removeDishFromCartUseCase = config.getInstance(RemoveDishFromCartUseCase.class);
         this.updateCartItemUseCase = config.getInstance(UpdateCartItemUseCase.class);
+        this.batchCartUseCase = config.getInstance(BatchCartUseCase.class);
         this.selectDeliverySlotUseCase = config.getInstance(SelectDeliverySlotUseCase.class);
         this.initiatePaymentUseCase = config.getInstance(InitiatePaymentUseCase.class);
         this.getOrderUseCase = config.getInstance(GetOrderUseCase.class);
@@ -88,6 +102,27 @@ public class SophiaTechEatsFacade {
         return browseRestaurantsUseCase.execute(request);
     }
 
+    public BrowseRestaurantsResponse browseRestaurants(BrowseRestaurantsRequest request, String cursor, int limit) {
+        return browseRestaurantsUseCase.execute(request, cursor, limit);
+    }
+
+    public ProjectedRestaurantsResponse browseRestaurants(BrowseRestaurantsRequest request, RestaurantFields fields,
+                                                          String cursor, Integer limit) {
+        return browseRestaurantsUseCase.execute(request, fields, cursor, limit);
+    }
+
+    public RestaurantDto getRestaurantDetails(UUID restaurantId) {
+        return getRestaurantDetailsUseCase.execute(restaurantId);
+    }
+
+    public Map<String, Object> getRestaurantDetails(UUID restaurantId, RestaurantFields fields) {
+        return getRestaurantDetailsUseCase.execute(restaurantId, fields);
+    }
+
+    public GetDishesResponse getDishes(List<UUID> dishIds) {
+        return getDishesUseCase.execute(dishIds);
+    }
+
     public FindCartResponse findCart(FindCartRequest request) {
         return findActiveCartUseCase.execute(request);
     }
@@ -104,6 +139,10 @@ public class SophiaTechEatsFacade {
         return addDishToCartUseCase.execute(request);
     }
 
+    public BatchCartResponse applyCartOperations(BatchCartRequest request) {
+        return batchCartUseCase.execute(request);
+    }
+
     public void clearCart(java.util.UUID userId) {
         clearCartUseCase.execute(userId);
     }
@@ -184,6 +223,15 @@ public class SophiaTechEatsFacade {
         restaurantService.removeDishFromRestaurant(restaurantId, dishId);
     }
 
+    /**
+     * Version courante d'un restaurant, utilisée comme ETag par les handlers HTTP.
+     *
+     * @throws fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException si le restaurant n'existe pas
+     */
+    public long getRestaurantVersion(UUID restaurantId) {
+        return restaurantService.getRestaurantById(restaurantId).getVersion();
+    }
+
     public List<Dish> getRestaurantMenu(java.util.UUID restaurantId) {
         return restaurantService.getRestaurantMenu(restaurantId);
     }
@@ -197,4 +245,8 @@ public class SophiaTechEatsFacade {
     public GetRestaurantOrdersResponse getRestaurantOrders(UUID restaurantId) {
         return getRestaurantOrdersUseCase.execute(restaurantId);
     }
+
+    public GetRestaurantOrdersResponse getRestaurantOrders(UUID restaurantId, String cursor, int limit) {
+        return getRestaurantOrdersUseCase.execute(restaurantId, cursor, limit);
+    }
 }
@@ -11,6 +11,7 @@ import fr.unice.polytech.sophiatecheats.domain.exceptions.EntityNotFoundExceptio
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.CartRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository.DishWithRestaurant;
 import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
 
 import java.math.BigDecimal;
@@ -38,10 +39,10 @@ public class AddDishToCartUseCase implements UseCase<AddDishToCartRequest, AddDi
             // Valider que l'utilisateur existe
             validateAndGetUser(request.userId());
 
-            Dish dish = validateAndGetDish(request.dishId());
-
-            // Trouver le restaurant du plat
-            Restaurant restaurant = findRestaurantByDishId(request.dishId());
+            // Trouver le plat et son restaurant
+            DishWithRestaurant found = validateAndGetDish(request.dishId());
+            Dish dish = found.dish();
+            Restaurant restaurant = found.restaurant();
 
             Cart cart = getOrCreateActiveCart(request.userId());
 
@@ -77,28 +78,11 @@ public class AddDishToCartUseCase implements UseCase<AddDishToCartRequest, AddDi
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + userId));
     }
 
-    private Dish validateAndGetDish(UUID dishId) {
-        // Récupérer tous les restaurants et chercher le plat
-        var restaurants = restaurantRepository.findAll();
-
-        return restaurants.stream()
-                .flatMap(restaurant -> restaurant.getMenu().stream())
-                .filter(dish -> dish.getId().equals(dishId))
-                .findFirst()
+    private DishWithRestaurant validateAndGetDish(UUID dishId) {
+        return restaurantRepository.findDishWithRestaurant(dishId)
                 .orElseThrow(() -> new EntityNotFoundException("Dish not found with ID: " + dishId));
     }
 
-    /**
-     * Trouve le restaurant qui possède un plat spécifique.
-     */
-    private Restaurant findRestaurantByDishId(UUID dishId) {
-        return restaurantRepository.findAll().stream()
-                .filter(restaurant -> restaurant.getMenu().stream()
-                        .anyMatch(dish -> dish.getId().equals(dishId)))
-                .findFirst()
-                .orElseThrow(() -> new EntityNotFoundException("Restaurant not found for dish with ID: " + dishId));
-    }
-
     private Cart getOrCreateActiveCart(UUID userId) {
         return cartRepository.findActiveCartByUserId(userId)
                 .orElseGet(() -> new Cart(userId));
@@ -0,0 +1,154 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.cart;
+
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BatchCartRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BatchCartRequest.Operation;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BatchCartResponse;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BatchCartResponse.OperationResult;
+import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.CannotMixRestaurantsException;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.EntityNotFoundException;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.CartRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Use case pour appliquer un lot d'ajouts, de modifications et de suppressions au panier.
+ *
+ * <h3>Flux nominal:</h3>
+ * <ol>
+ *   <li>Vérifie que l'utilisateur existe</li>
+ *   <li>Résout d'un coup tous les plats à ajouter</li>
+ *   <li>Applique les opérations dans l'ordre au panier actif (créé si besoin)</li>
+ *   <li>Sauvegarde le panier une seule fois</li>
+ * </ol>
+ *
+ * <p>Le lot est appliqué en tout ou rien : une opération refusée n'interrompt pas l'examen
+ * des suivantes (pour que la réponse les décrive toutes), mais le panier est ensuite remis
+ * dans son état initial et n'est pas sauvegardé.</p>
+ *
+ * <p>Les règles métier sont celles de {@link AddDishToCartUseCase},
+ * {@link UpdateCartItemUseCase} et {@link RemoveDishFromCartUseCase}.</p>
+ */
+public class BatchCartUseCase implements UseCase<BatchCartRequest, BatchCartResponse> {
+
+    private record ResolvedDish(Dish dish, UUID restaurantId) {
+    }
+
+    private final UserRepository userRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final CartRepository cartRepository;
+
+    public BatchCartUseCase(UserRepository userRepository,
+                            RestaurantRepository restaurantRepository,
+                            CartRepository cartRepository) {
+        this.userRepository = userRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.cartRepository = cartRepository;
+    }
+
+    @Override
+    public BatchCartResponse execute(BatchCartRequest request) {
+        if (request == null || request.userId() == null) {
+            throw new ValidationException("L'identifiant utilisateur ne peut pas être null");
+        }
+        userRepository.findById(request.userId())
+                .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + request.userId()));
+
+        Map<UUID, ResolvedDish> dishes = resolveDishes(request.operations());
+
+        boolean existing = true;
+        Cart cart = cartRepository.findActiveCartByUserId(request.userId()).orElse(null);
+        if (cart == null) {
+            existing = false;
+            cart = new Cart(request.userId());
+        }
+
+        Cart.Snapshot before = cart.snapshot();
+        List<OperationResult> results = new ArrayList<>(request.operations().size());
+        boolean success = true;
+        for (int i = 0; i < request.operations().size(); i++) {
+            Operation operation = request.operations().get(i);
+            String error = apply(cart, operation, dishes);
+            success &= error == null;
+            results.add(new OperationResult(i, operation.type(), operation.dishId(), error == null, error));
+        }
+
+        if (!success) {
+            cart.restore(before);
+            return existing
+                    ? new BatchCartResponse(cart.getId(), false, cart.getTotalItems(), cart.calculateTotal(), results)
+                    : new BatchCartResponse(null, false, 0, null, results);
+        }
+
+        cartRepository.save(cart);
+        return new BatchCartResponse(cart.getId(), true, cart.getTotalItems(), cart.calculateTotal(), results);
+    }
+
+    /**
+     * Applique une opération au panier.
+     *
+     * @return la raison du refus, ou {@code null} si l'opération a été appliquée
+     */
+    private String apply(Cart cart, Operation operation, Map<UUID, ResolvedDish> dishes) {
+        try {
+            switch (operation.type()) {
+                case ADD -> {
+                    ResolvedDish resolved = dishes.get(operation.dishId());
+                    if (resolved == null) {
+                        return "Dish not found with ID: " + operation.dishId();
+                    }
+                    cart.addDish(resolved.dish(), operation.quantity(), resolved.restaurantId());
+                }
+                case UPDATE -> {
+                    if (!contains(cart, operation.dishId())) {
+                        return "Plat non trouvé dans le panier: " + operation.dishId();
+                    }
+                    cart.updateQuantity(operation.dishId(), operation.quantity());
+                }
+                case REMOVE -> {
+                    if (!contains(cart, operation.dishId())) {
+                        return "L'article avec le plat " + operation.dishId() + " n'existe pas dans le panier";
+                    }
+                    cart.removeDish(operation.dishId());
+                }
+            }
+            return null;
+        } catch (CannotMixRestaurantsException | ValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static boolean contains(Cart cart, UUID dishId) {
+        return cart.getItems().stream().anyMatch(item -> item.getDishId().equals(dishId));
+    }
+
+    /**
+     * Cherche d'un coup tous les plats à ajouter ({@link RestaurantRepository#findDishesWithRestaurants}).
+     */
+    private Map<UUID, ResolvedDish> resolveDishes(List<Operation> operations) {
+        Set<UUID> wanted = new HashSet<>();
+        for (Operation operation : operations) {
+            if (operation.type() == BatchCartRequest.OperationType.ADD) {
+                wanted.add(operation.dishId());
+            }
+        }
+        Map<UUID, ResolvedDish> resolved = new HashMap<>();
+        if (wanted.isEmpty()) {
+            return resolved;
+        }
+        restaurantRepository.findDishesWithRestaurants(wanted).forEach((dishId, found) ->
+                resolved.put(dishId, new ResolvedDish(found.dish(), found.restaurant().getId())));
+        return resolved;
+    }
+}
@@ -5,15 +5,23 @@ import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagemen
 import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.DishValidationException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.CatalogChangePublisher;
 
 public class AddDishToRestaurantUseCase implements UseCase<AddDishToRestaurantRequest, AddDishToRestaurantResponse> {
     private final RestaurantRepository restaurantRepository;
+    private final CatalogChangePublisher changePublisher;
 
     public AddDishToRestaurantUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, CatalogChangePublisher.NONE);
+    }
+
+    public AddDishToRestaurantUseCase(RestaurantRepository restaurantRepository, CatalogChangePublisher changePublisher) {
         this.restaurantRepository = restaurantRepository;
+        this.changePublisher = changePublisher;
     }
 
     @Override
@@ -36,6 +44,7 @@ public class AddDishToRestaurantUseCase implements UseCase<AddDishToRestaurantRe
 
             restaurant.addDish(newDish);
             restaurantRepository.save(restaurant);
+            changePublisher.publish(CatalogChangeType.DISH_ADDED, restaurant.getId(), restaurant);
             return new AddDishToRestaurantResponse(
                     newDish.getId(),
                     "Plat '" + newDish.getName() + "' ajouté avec succès au restaurant '" + restaurant.getName() + "'",
@@ -1,10 +1,10 @@
 package fr.unice.polytech.sophiatecheats.application.usecases.restaurant;
 
+import fr.unice.polytech.sophiatecheats.application.dto.PageCursor;
 import fr.unice.polytech.sophiatecheats.application.dto.order.RestaurantOrderDto;
 import fr.unice.polytech.sophiatecheats.application.dto.order.response.GetRestaurantOrdersResponse;
 import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
 import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
-import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
 import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository;
 
 import java.util.List;
@@ -28,13 +28,40 @@ public class GetRestaurantOrdersUseCase implements UseCase<UUID, GetRestaurantOr
 
         // Filtrer uniquement les commandes payées ou confirmées
         List<RestaurantOrderDto> restaurantOrders = orders.stream()
-                .filter(order -> order.getStatus() == OrderStatus.PAID ||
-                                order.getStatus() == OrderStatus.CONFIRMED ||
-                                order.getStatus() == OrderStatus.PREPARING)
+                .filter(GetRestaurantOrdersUseCase::isVisible)
                 .map(RestaurantOrderDto::fromEntity)
                 .toList();
 
         return new GetRestaurantOrdersResponse(restaurantOrders);
     }
-}
 
+    /**
+     * Une page des commandes visibles du restaurant, de la plus ancienne à la plus récente.
+     *
+     * <p>Seules les commandes de la page (plus une, pour savoir s'il en reste) sont lues.</p>
+     *
+     * @param cursor le curseur rendu avec la page précédente, {@code null} pour la première page
+     * @param limit  le nombre maximal de commandes
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public GetRestaurantOrdersResponse execute(UUID restaurantId, String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        OrderRepository.Position position = after == null ? null : new OrderRepository.Position(after.time(), after.id());
+
+        List<Order> orders = orderRepository.streamVisibleByRestaurantId(restaurantId, position)
+                .limit(limit + 1L)
+                .toList();
+
+        String nextCursor = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            Order last = orders.getLast();
+            nextCursor = PageCursor.of(last.getOrderDateTime(), last.getOrderId()).encode();
+        }
+        return new GetRestaurantOrdersResponse(orders.stream().map(RestaurantOrderDto::fromEntity).toList(), nextCursor);
+    }
+
+    private static boolean isVisible(Order order) {
+        return order.getStatus().isVisibleToRestaurant();
+    }
+}
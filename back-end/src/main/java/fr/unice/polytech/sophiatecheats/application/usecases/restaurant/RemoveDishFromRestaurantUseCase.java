@@ -5,8 +5,10 @@ import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagemen
 import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.CatalogChangePublisher;
 
 import java.util.Optional;
 
@@ -17,9 +19,15 @@ import java.util.Optional;
 public class RemoveDishFromRestaurantUseCase implements UseCase<RemoveDishFromRestaurantRequest, RemoveDishFromRestaurantResponse> {
 
     private final RestaurantRepository restaurantRepository;
+    private final CatalogChangePublisher changePublisher;
 
     public RemoveDishFromRestaurantUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, CatalogChangePublisher.NONE);
+    }
+
+    public RemoveDishFromRestaurantUseCase(RestaurantRepository restaurantRepository, CatalogChangePublisher changePublisher) {
         this.restaurantRepository = restaurantRepository;
+        this.changePublisher = changePublisher;
     }
 
     @Override
@@ -49,6 +57,7 @@ public class RemoveDishFromRestaurantUseCase implements UseCase<RemoveDishFromRe
 
             // Sauvegarde du restaurant modifié
             restaurantRepository.save(restaurant);
+            changePublisher.publish(CatalogChangeType.DISH_REMOVED, restaurant.getId(), restaurant);
 
             return new RemoveDishFromRestaurantResponse(
                     request.dishId(),
@@ -3,9 +3,11 @@ package fr.unice.polytech.sophiatecheats.application.usecases.restaurant;
 import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.EntityNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.SlotNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.CatalogChangePublisher;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -15,9 +17,15 @@ import java.util.UUID;
  */
 public class SetTimeSlotCapacityUseCase implements UseCase<SetTimeSlotCapacityUseCase.Request, Void> {
     private final RestaurantRepository restaurantRepository;
+    private final CatalogChangePublisher changePublisher;
 
     public SetTimeSlotCapacityUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, CatalogChangePublisher.NONE);
+    }
+
+    public SetTimeSlotCapacityUseCase(RestaurantRepository restaurantRepository, CatalogChangePublisher changePublisher) {
         this.restaurantRepository = restaurantRepository;
+        this.changePublisher = changePublisher;
     }
 
     @Override
@@ -30,6 +38,7 @@ public class SetTimeSlotCapacityUseCase implements UseCase<SetTimeSlotCapacityUs
         TimeSlot slot = slotOpt.orElseThrow(() -> new SlotNotFoundException("Créneau non trouvé: " + request.slotId));
         slot.setMaxCapacity(request.newMaxCapacity); // Validation métier dans TimeSlot
         restaurantRepository.save(restaurant);
+        changePublisher.publish(CatalogChangeType.SLOT_CAPACITY_CHANGED, restaurant.getId(), restaurant);
         return null;
     }
 
@@ -5,8 +5,10 @@ import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagemen
 import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.CatalogChangePublisher;
 
 import java.util.Optional;
 
@@ -17,9 +19,15 @@ import java.util.Optional;
 public class UpdateDishUseCase implements UseCase<UpdateDishRequest, UpdateDishResponse> {
 
     private final RestaurantRepository restaurantRepository;
+    private final CatalogChangePublisher changePublisher;
 
     public UpdateDishUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, CatalogChangePublisher.NONE);
+    }
+
+    public UpdateDishUseCase(RestaurantRepository restaurantRepository, CatalogChangePublisher changePublisher) {
         this.restaurantRepository = restaurantRepository;
+        this.changePublisher = changePublisher;
     }
 
     @Override
@@ -47,6 +55,7 @@ public class UpdateDishUseCase implements UseCase<UpdateDishRequest, UpdateDishR
 
             // Sauvegarde du restaurant modifié
             restaurantRepository.save(restaurant);
+            changePublisher.publish(CatalogChangeType.DISH_UPDATED, restaurant.getId(), restaurant);
 
             // Récupération du plat modifié pour la réponse
             Dish modifiedDish = restaurant.findDishById(request.dishId()).orElseThrow();
@@ -1,7 +1,9 @@
 package fr.unice.polytech.sophiatecheats.application.usecases.user;
 
+import fr.unice.polytech.sophiatecheats.application.dto.PageCursor;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.ProjectedRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
-import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantFields;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
@@ -11,6 +13,8 @@ import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 /**
@@ -36,9 +40,15 @@ import java.util.stream.Stream;
 public class BrowseRestaurantsUseCase implements UseCase<BrowseRestaurantsRequest, BrowseRestaurantsResponse> {
 
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantDtoCache dtoCache;
 
     public BrowseRestaurantsUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, new RestaurantDtoCache());
+    }
+
+    public BrowseRestaurantsUseCase(RestaurantRepository restaurantRepository, RestaurantDtoCache dtoCache) {
         this.restaurantRepository = restaurantRepository;
+        this.dtoCache = dtoCache;
     }
 
     @Override
@@ -50,16 +60,94 @@ public class BrowseRestaurantsUseCase implements UseCase<BrowseRestaurantsReques
         List<Restaurant> restaurants = findRestaurants(request);
 
         List<RestaurantDto> restaurantDtos = restaurants.stream()
-                .map(this::mapToDto)
+                .map(dtoCache::get)
                 .toList();
 
         return new BrowseRestaurantsResponse(restaurantDtos);
     }
 
+    /**
+     * Returns one page of the matching restaurants, ordered by id.
+     *
+     * @param cursor the cursor returned with the previous page, {@code null} for the first page
+     * @param limit  the maximum number of restaurants
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public BrowseRestaurantsResponse execute(BrowseRestaurantsRequest request, String cursor, int limit) {
+        if (request == null || !request.isValid()) {
+            return new BrowseRestaurantsResponse(List.of());
+        }
+        Page page = findPage(request, cursor, limit);
+        return new BrowseRestaurantsResponse(page.restaurants().stream().map(dtoCache::get).toList(), page.nextCursor());
+    }
+
+    /**
+     * Returns only the requested fields of the matching restaurants.
+     *
+     * <p>Dish DTOs are built only when {@code dishes} is one of the fields.</p>
+     *
+     * @param cursor the cursor returned with the previous page, {@code null} for the first page
+     * @param limit  the maximum number of restaurants, {@code null} for the whole list
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public ProjectedRestaurantsResponse execute(BrowseRestaurantsRequest request, RestaurantFields fields,
+                                                String cursor, Integer limit) {
+        if (request == null || !request.isValid()) {
+            return new ProjectedRestaurantsResponse(List.of(), null);
+        }
+        Page page = limit == null && cursor == null
+                ? new Page(findRestaurants(request), null)
+                : findPage(request, cursor, limit == null ? PageCursor.DEFAULT_LIMIT : limit);
+        List<Map<String, Object>> views = page.restaurants().stream()
+                .map(restaurant -> fields.project(restaurant, r -> dtoCache.get(r).dishes()))
+                .toList();
+        return new ProjectedRestaurantsResponse(views, page.nextCursor());
+    }
+
+    private record Page(List<Restaurant> restaurants, String nextCursor) {
+    }
+
+    /**
+     * Restaurants are read from the repository in id order and filtered on the fly, so a page
+     * only costs the restaurants scanned to fill it.
+     */
+    private Page findPage(BrowseRestaurantsRequest request, String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        UUID afterId;
+        try {
+            afterId = after == null ? null : UUID.fromString(after.id());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
+
+        List<Restaurant> restaurants = filter(restaurantRepository.streamOrderedById(afterId), request)
+                .limit(limit + 1L)
+                .toList();
+
+        String nextCursor = null;
+        if (restaurants.size() > limit) {
+            restaurants = restaurants.subList(0, limit);
+            nextCursor = new PageCursor(0, restaurants.getLast().getId().toString()).encode();
+        }
+        return new Page(restaurants, nextCursor);
+    }
+
     private List<Restaurant> findRestaurants(BrowseRestaurantsRequest request) {
-        // Start with all restaurants
-        Stream<Restaurant> restaurantStream = restaurantRepository.findAll().stream();
+        // Start from the repository's index for the diet or availability filter when there is one,
+        // otherwise from all restaurants; the remaining filters are applied on the way. The diet
+        // index covers the whole menu, so its candidates are narrowed to available dishes below
+        List<Restaurant> candidates;
+        if (request.dietType() != null) {
+            candidates = restaurantRepository.findByDietType(request.dietType());
+        } else if (request.availabilityFilter() != null) {
+            candidates = restaurantRepository.findByAvailability(request.availabilityFilter());
+        } else {
+            candidates = restaurantRepository.findAll();
+        }
+        return filter(candidates.stream(), request).toList();
+    }
 
+    private Stream<Restaurant> filter(Stream<Restaurant> restaurantStream, BrowseRestaurantsRequest request) {
         // Apply availability filter
         if (request.availabilityFilter() != null) {
             if (request.availabilityFilter()) {
@@ -69,11 +157,12 @@ public class BrowseRestaurantsUseCase implements UseCase<BrowseRestaurantsReques
             }
         }
 
-        // Apply cuisine type filter
+        // Apply cuisine type filter (dish filters only look at available dishes, the ones listed)
         if (request.cuisineType() != null) {
             restaurantStream = restaurantStream.filter(restaurant ->
                     restaurant.getCuisineType() != null && restaurant.getCuisineType().equals(request.cuisineType()) ||
-                            restaurant.getMenu().stream().anyMatch(dish -> dish.getCategory().equals(request.cuisineType()))
+                            restaurant.getMenu().stream().anyMatch(dish ->
+                                    dish.isAvailable() && dish.getCategory() == request.cuisineType())
             );
         }
 
@@ -87,7 +176,7 @@ public class BrowseRestaurantsUseCase implements UseCase<BrowseRestaurantsReques
         // Apply diet type filter
         if (request.dietType() != null) {
             restaurantStream = restaurantStream.filter(restaurant ->
-                    restaurant.getMenu().stream().anyMatch(dish -> dish.hasDietType(request.dietType()))
+                    restaurant.getMenu().stream().anyMatch(dish -> dish.isAvailable() && dish.hasDietType(request.dietType()))
             );
         }
 
@@ -98,47 +187,18 @@ public class BrowseRestaurantsUseCase implements UseCase<BrowseRestaurantsReques
             );
         }
 
-        return restaurantStream.toList();
+        return restaurantStream;
     }
 
     /**
-     * Checks if a restaurant has at least one dish within the specified price range.
+     * Checks if a restaurant has at least one available dish within the specified price range.
      */
     private boolean hasMenuItemsInPriceRange(Restaurant restaurant, BigDecimal minPrice, BigDecimal maxPrice) {
-        return restaurant.getMenu().stream().anyMatch(dish -> {
+        return restaurant.getMenu().stream().filter(Dish::isAvailable).anyMatch(dish -> {
             BigDecimal dishPrice = dish.getPrice();
             boolean meetsMin = minPrice == null || dishPrice.compareTo(minPrice) >= 0;
             boolean meetsMax = maxPrice == null || dishPrice.compareTo(maxPrice) <= 0;
             return meetsMin && meetsMax;
         });
     }
-
-    private RestaurantDto mapToDto(Restaurant restaurant) {
-        List<DishDto> dishDtos = restaurant.getAvailableDishes().stream()
-                .map(this::mapDishToDto)
-                .toList();
-
-        return new RestaurantDto(
-                restaurant.getId(),
-                restaurant.getName(),
-                restaurant.getAddress(),
-                restaurant.getOpeningTime(),
-                restaurant.getClosingTime(),
-                restaurant.isOpen(),
-                dishDtos,
-                restaurant.getRestaurantType()
-        );
-    }
-
-    private DishDto mapDishToDto(Dish dish) {
-        return new DishDto(
-                dish.getId(),
-                dish.getName(),
-                dish.getDescription(),
-                dish.getPrice(),
-                dish.getCategory(),
-                dish.isAvailable(),
-                dish.getDietTypes()
-        );
-    }
 }
@@ -0,0 +1,63 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.response.GetDishesResponse;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.response.GetDishesResponse.DishEntry;
+import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository.DishWithRestaurant;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Use case pour lire plusieurs plats du catalogue en une seule fois, par exemple ceux d'un panier.
+ *
+ * <p>Les plats sont retrouvés par identifiant ({@link RestaurantRepository#findDishesWithRestaurants}),
+ * sans parcourir les menus. Les doublons de la demande sont ignorés.</p>
+ */
+public class GetDishesUseCase implements UseCase<List<UUID>, GetDishesResponse> {
+
+    /**
+     * Nombre maximal d'identifiants par demande.
+     */
+    public static final int MAX_IDS = 100;
+
+    private final RestaurantRepository restaurantRepository;
+
+    public GetDishesUseCase(RestaurantRepository restaurantRepository) {
+        this.restaurantRepository = restaurantRepository;
+    }
+
+    /**
+     * @throws IllegalArgumentException si aucun identifiant n'est fourni, ou plus de {@value #MAX_IDS}
+     */
+    @Override
+    public GetDishesResponse execute(List<UUID> dishIds) {
+        if (dishIds == null || dishIds.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un identifiant de plat est requis");
+        }
+        Set<UUID> wanted = new LinkedHashSet<>(dishIds);
+        if (wanted.size() > MAX_IDS) {
+            throw new IllegalArgumentException("Au plus " + MAX_IDS + " plats par demande");
+        }
+
+        Map<UUID, DishWithRestaurant> found = restaurantRepository.findDishesWithRestaurants(wanted);
+        List<DishEntry> dishes = new ArrayList<>(found.size());
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID dishId : wanted) {
+            DishWithRestaurant entry = found.get(dishId);
+            if (entry == null) {
+                notFound.add(dishId);
+            } else {
+                dishes.add(new DishEntry(entry.restaurant().getId(), entry.restaurant().getName(),
+                        DishDto.fromEntity(entry.dish())));
+            }
+        }
+        return new GetDishesResponse(dishes, notFound);
+    }
+}
@@ -0,0 +1,59 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantFields;
+import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Use case pour consulter la fiche d'un restaurant et ses plats disponibles.
+ *
+ * <p>Lecture directe par identifiant ({@link RestaurantRepository#findById(Object)}), sans
+ * parcourir le catalogue ; le DTO est repris de {@link RestaurantDtoCache} tant que le
+ * restaurant n'a pas changé.</p>
+ */
+public class GetRestaurantDetailsUseCase implements UseCase<UUID, RestaurantDto> {
+
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantDtoCache dtoCache;
+
+    public GetRestaurantDetailsUseCase(RestaurantRepository restaurantRepository, RestaurantDtoCache dtoCache) {
+        this.restaurantRepository = restaurantRepository;
+        this.dtoCache = dtoCache;
+    }
+
+    /**
+     * @throws RestaurantNotFoundException si le restaurant n'existe pas
+     */
+    @Override
+    public RestaurantDto execute(UUID restaurantId) {
+        return dtoCache.get(find(restaurantId));
+    }
+
+    /**
+     * Fiche réduite aux champs demandés ; les plats ne sont convertis que si {@code dishes} en fait partie.
+     *
+     * @throws RestaurantNotFoundException si le restaurant n'existe pas
+     */
+    public Map<String, Object> execute(UUID restaurantId, RestaurantFields fields) {
+        return fields.project(find(restaurantId), restaurant -> dtoCache.get(restaurant).dishes());
+    }
+
+    private Restaurant find(UUID restaurantId) {
+        if (restaurantId == null) {
+            throw new IllegalArgumentException("L'identifiant du restaurant ne peut pas être null");
+        }
+        Optional<Restaurant> restaurant = restaurantRepository.findById(restaurantId);
+        if (restaurant.isEmpty()) {
+            dtoCache.evict(restaurantId);
+            throw new RestaurantNotFoundException(restaurantId.toString());
+        }
+        return restaurant.get();
+    }
+}
@@ -0,0 +1,64 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DTOs des restaurants (avec leurs plats disponibles), construits une fois par version.
+ *
+ * <p>Un DTO est réutilisé tant que {@link Restaurant#getVersion()} n'a pas changé, c'est-à-dire
+ * tant que le restaurant n'a pas été sauvegardé de nouveau. La version est lue avant la
+ * construction : un DTO bâti pendant une modification est au pire reconstruit à la lecture
+ * suivante.</p>
+ */
+public class RestaurantDtoCache {
+
+    private record Entry(long version, RestaurantDto dto) {
+    }
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public RestaurantDto get(Restaurant restaurant) {
+        long version = restaurant.getVersion();
+        Entry entry = entries.get(restaurant.getId());
+        if (entry != null && entry.version() == version) {
+            return entry.dto();
+        }
+        RestaurantDto dto = toDto(restaurant);
+        entries.put(restaurant.getId(), new Entry(version, dto));
+        return dto;
+    }
+
+    /**
+     * Oublie le DTO d'un restaurant supprimé.
+     */
+    public void evict(UUID restaurantId) {
+        entries.remove(restaurantId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static RestaurantDto toDto(Restaurant restaurant) {
+        List<DishDto> dishDtos = restaurant.getAvailableDishes().stream()
+                .map(DishDto::fromEntity)
+                .toList();
+
+        return new RestaurantDto(
+                restaurant.getId(),
+                restaurant.getName(),
+                restaurant.getAddress(),
+                restaurant.getOpeningTime(),
+                restaurant.getClosingTime(),
+                restaurant.isOpen(),
+                dishDtos,
+                restaurant.getRestaurantType()
+        );
+    }
+}
@@ -234,6 +234,36 @@ public class Cart implements Entity<UUID> {
         return List.copyOf(items);
     }
 
+    /**
+     * Capture l'état courant du panier (articles, quantités, restaurant et créneau), pour
+     * pouvoir annuler une série de modifications avec {@link #restore(Snapshot)}.
+     */
+    public Snapshot snapshot() {
+        List<Integer> quantities = items.stream().map(CartItem::getQuantity).toList();
+        return new Snapshot(List.copyOf(items), quantities, restaurantId, deliverySlotId);
+    }
+
+    /**
+     * Remet le panier dans l'état capturé par {@link #snapshot()}.
+     * Les articles d'origine sont conservés, avec leur prix unitaire au moment de l'ajout.
+     */
+    public void restore(Snapshot snapshot) {
+        items.clear();
+        for (int i = 0; i < snapshot.items().size(); i++) {
+            CartItem item = snapshot.items().get(i);
+            item.updateQuantity(snapshot.quantities().get(i));
+            items.add(item);
+        }
+        restaurantId = snapshot.restaurantId();
+        deliverySlotId = snapshot.deliverySlotId();
+    }
+
+    /**
+     * État restaurable d'un panier.
+     */
+    public record Snapshot(List<CartItem> items, List<Integer> quantities, UUID restaurantId, UUID deliverySlotId) {
+    }
+
     /**
      * Vérifie si le panier appartient à un restaurant spécifique.
      */
@@ -9,6 +9,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Représente l'ensemble des créneaux de livraison disponibles pour un restaurant donné.
@@ -17,7 +19,7 @@ import java.util.*;
 public class DeliverySchedule {
     @Getter
     private final UUID restaurantId;
-    private final Map<LocalDate, List<TimeSlot>> slotsByDate = new HashMap<>();
+    private final Map<LocalDate, List<TimeSlot>> slotsByDate = new ConcurrentHashMap<>();
 
     public DeliverySchedule(UUID restaurantId) {
         this.restaurantId = restaurantId;
@@ -108,6 +110,23 @@ public class DeliverySchedule {
         return getAvailableSlotsForDate(date).size();
     }
 
+    /**
+     * Tous les créneaux du planning, toutes dates confondues.
+     */
+    public List<TimeSlot> getAllSlots() {
+        return slotsByDate.values().stream()
+                .flatMap(Collection::stream)
+                .toList();
+    }
+
+    /**
+     * Ajoute un créneau existant à sa date, par exemple pour reconstruire une copie du planning.
+     */
+    public void addSlot(TimeSlot slot) {
+        slotsByDate.computeIfAbsent(slot.getStartTime().toLocalDate(), date -> new CopyOnWriteArrayList<>())
+                .add(slot);
+    }
+
     public Optional<TimeSlot> findSlotById(UUID slotId) {
         return slotsByDate.values().stream()
                 .flatMap(Collection::stream)
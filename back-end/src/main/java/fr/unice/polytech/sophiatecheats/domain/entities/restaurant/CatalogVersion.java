@@ -0,0 +1,34 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Horloge logique du catalogue des restaurants.
+ *
+ * <p>Chaque modification d'un restaurant (menu, horaires, créneaux...) reçoit une nouvelle valeur
+ * de cette horloge, qui devient la version du restaurant ({@link Restaurant#getVersion()}). La
+ * valeur courante est donc la version globale du catalogue : elle change dès qu'un restaurant
+ * est créé, modifié ou supprimé. Les valeurs étant uniques, une copie reconstruite d'un
+ * restaurant ne peut jamais retrouver une version déjà émise.</p>
+ */
+public final class CatalogVersion {
+
+    private static final AtomicLong CURRENT = new AtomicLong();
+
+    private CatalogVersion() {
+    }
+
+    /**
+     * @return la version courante du catalogue
+     */
+    public static long current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Fait avancer l'horloge et retourne la nouvelle version.
+     */
+    public static long next() {
+        return CURRENT.incrementAndGet();
+    }
+}
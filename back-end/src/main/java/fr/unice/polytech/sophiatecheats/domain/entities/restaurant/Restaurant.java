@@ -5,6 +5,7 @@ import fr.unice.polytech.sophiatecheats.domain.entities.delivery.DeliverySchedul
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantValidationException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,6 +13,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Entité représentant un restaurant dans le système SophiaTech Eats.
@@ -24,12 +27,26 @@ public class Restaurant implements Entity<UUID> {
     private final String name;
     private final String address;
     private final List<Dish> menu;
+    /**
+     * Plats du menu par identifiant, tenus à jour par {@link #addDish(Dish, boolean)} et
+     * {@link #removeDish(UUID)} : {@link #findDishById(UUID)} ne parcourt pas le menu.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, Dish> dishesById = new ConcurrentHashMap<>();
     private final DeliverySchedule deliverySchedule;
     private Schedule schedule;
     private boolean isOpen;
     private RestaurantType restaurantType;
     private DishCategory cuisineType;
 
+    /**
+     * Version du restaurant, issue de {@link CatalogVersion} : elle avance à chaque sauvegarde
+     * et sert de validateur HTTP (ETag). {@code 0} tant que le restaurant n'a pas été sauvegardé :
+     * construire une copie ne fait pas avancer l'horloge du catalogue.
+     */
+    @Setter(AccessLevel.NONE)
+    private volatile long version;
+
     /**
      * Constructeur privé utilisé par le Builder.
      */
@@ -39,10 +56,11 @@ public class Restaurant implements Entity<UUID> {
         this.address = builder.address;
         this.schedule = builder.schedule != null ? builder.schedule : Schedule.defaultSchedule();
         this.isOpen = builder.isOpen;
-        this.menu = builder.menu != null ? new ArrayList<>(builder.menu) : new ArrayList<>();
+        this.menu = builder.menu != null ? new CopyOnWriteArrayList<>(builder.menu) : new CopyOnWriteArrayList<>();
         this.deliverySchedule = builder.deliverySchedule != null ? builder.deliverySchedule : new DeliverySchedule(this.id);
         this.restaurantType = builder.restaurantType != null ? builder.restaurantType : RestaurantType.RESTAURANT;
         this.cuisineType = builder.cuisineType;
+        indexMenu();
         validate();
     }
 
@@ -53,7 +71,7 @@ public class Restaurant implements Entity<UUID> {
         this.id = UUID.randomUUID();
         this.name = name;
         this.address = address;
-        this.menu = new ArrayList<>();
+        this.menu = new CopyOnWriteArrayList<>();
         this.isOpen = true;
         this.schedule = Schedule.defaultSchedule();
         this.deliverySchedule = new DeliverySchedule(this.id);
@@ -69,7 +87,7 @@ public class Restaurant implements Entity<UUID> {
         this.id = UUID.randomUUID();
         this.name = name;
         this.address = address;
-        this.menu = new ArrayList<>();
+        this.menu = new CopyOnWriteArrayList<>();
         this.isOpen = true;
         this.schedule = Schedule.defaultSchedule();
         this.deliverySchedule = new DeliverySchedule(this.id);
@@ -98,10 +116,11 @@ public class Restaurant implements Entity<UUID> {
         this.address = address;
         this.schedule = schedule != null ? schedule : Schedule.defaultSchedule();
         this.isOpen = isOpen;
-        this.menu = menu != null ? new ArrayList<>(menu) : new ArrayList<>();
+        this.menu = menu != null ? new CopyOnWriteArrayList<>(menu) : new CopyOnWriteArrayList<>();
         this.deliverySchedule = deliverySchedule != null ? deliverySchedule : new DeliverySchedule(id);
         this.restaurantType = restaurantType != null ? restaurantType : RestaurantType.RESTAURANT;
         this.cuisineType = cuisineType;
+        indexMenu();
         validate();
     }
 
@@ -133,6 +152,21 @@ public class Restaurant implements Entity<UUID> {
         }
     }
 
+    /**
+     * Attribue une nouvelle version au restaurant, à appeler à chaque modification persistée.
+     */
+    public void markModified() {
+        this.version = CatalogVersion.next();
+    }
+
+    /**
+     * Reprend la version d'une copie reçue du service restaurant, sans toucher à l'horloge
+     * locale : les validateurs ({@code "r" + version}) restent les mêmes d'un service à l'autre.
+     */
+    public void restoreVersion(long version) {
+        this.version = version;
+    }
+
     public boolean acceptsExternalCards() {
         return true;
     }
@@ -156,6 +190,7 @@ public class Restaurant implements Entity<UUID> {
         // Assigner l'UUID du restaurant au plat afin que le plat connaisse son propriétaire.
         dish.setRestaurantId(this.id);
         menu.add(dish);
+        dishesById.putIfAbsent(dish.getId(), dish);
     }
 
     public void removeDish(UUID dishId) {
@@ -163,6 +198,7 @@ public class Restaurant implements Entity<UUID> {
             throw new IllegalArgumentException("L'identifiant du plat ne peut pas être null");
         }
         menu.removeIf(dish -> dish.getId().equals(dishId));
+        dishesById.remove(dishId);
     }
 
     public List<Dish> getAvailableDishes() {
@@ -175,9 +211,13 @@ public class Restaurant implements Entity<UUID> {
         if (dishId == null) {
             return Optional.empty();
         }
-        return menu.stream()
-                .filter(dish -> dish.getId().equals(dishId))
-                .findFirst();
+        return Optional.ofNullable(dishesById.get(dishId));
+    }
+
+    private void indexMenu() {
+        for (Dish dish : menu) {
+            dishesById.putIfAbsent(dish.getId(), dish);
+        }
     }
 
     public Optional<Dish> findDishByName(String dishName) {
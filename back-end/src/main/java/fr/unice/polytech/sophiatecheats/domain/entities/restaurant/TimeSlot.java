@@ -177,7 +177,7 @@ public class TimeSlot implements Entity<UUID> {
      *
      * @return true si la réservation a réussi, false sinon
      */
-    public boolean reserve() {
+    public synchronized boolean reserve() {
         if (!isAvailable()) {
             return false;
         }
@@ -193,7 +193,7 @@ public class TimeSlot implements Entity<UUID> {
      *
      * @throws ValidationException si la réservation est impossible
      */
-    public void reserveOrThrow() {
+    public synchronized void reserveOrThrow() {
         if (reservedCount >= maxCapacity) {
             throw new ValidationException("Impossible de réserver le créneau : capacité maximale atteinte (" + maxCapacity + ")");
         }
@@ -208,7 +208,7 @@ public class TimeSlot implements Entity<UUID> {
      *
      * @throws ValidationException si aucune réservation n'existe
      */
-    public void release() {
+    public synchronized void release() {
         if (reservedCount <= 0) {
             throw new ValidationException("Impossible de libérer: aucune réservation existante");
         }
@@ -0,0 +1,17 @@
+package fr.unice.polytech.sophiatecheats.domain.enums;
+
+/**
+ * Types de modifications du catalogue diffusées aux réplicas de lecture.
+ */
+public enum CatalogChangeType {
+    RESTAURANT_CREATED,
+    RESTAURANT_UPDATED,
+    RESTAURANT_DELETED,
+    OPENED,
+    CLOSED,
+    DISH_ADDED,
+    DISH_UPDATED,
+    DISH_REMOVED,
+    SLOTS_GENERATED,
+    SLOT_CAPACITY_CHANGED
+}
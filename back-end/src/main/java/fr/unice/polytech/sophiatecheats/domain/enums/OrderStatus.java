@@ -5,5 +5,21 @@ package fr.unice.polytech.sophiatecheats.domain.enums;
  */
 public enum OrderStatus {
 
-    CREATED, PENDING, PREPARING, CONFIRMED, PAID, EXPIRED
+    CREATED, PENDING, PREPARING, CONFIRMED, PAID, EXPIRED;
+
+    /**
+     * Indique si une commande dans cet état apparaît sur le tableau de bord du restaurant
+     * (payée, confirmée ou en préparation).
+     */
+    public boolean isVisibleToRestaurant() {
+        return this == PAID || this == CONFIRMED || this == PREPARING;
+    }
+
+    /**
+     * Indique si une commande dans cet état empêche son client d'en passer une nouvelle
+     * (créée, en attente de paiement ou payée).
+     */
+    public boolean isActive() {
+        return this == CREATED || this == PENDING || this == PAID;
+    }
 }
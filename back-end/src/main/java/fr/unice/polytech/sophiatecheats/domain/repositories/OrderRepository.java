@@ -3,8 +3,11 @@ package fr.unice.polytech.sophiatecheats.domain.repositories;
 import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
 import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Order entities.
@@ -21,4 +24,49 @@ public interface OrderRepository extends Repository<Order, String> {
      * Retourne toutes les commandes pour un restaurant donné.
      */
     List<Order> findAllByRestaurantId(UUID restaurantId);
-}
\ No newline at end of file
+
+    /**
+     * Commandes d'un restaurant dans l'ordre chronologique, à partir de celle qui suit {@code after}.
+     *
+     * <p>Le flux est parcouru à la demande : une implémentation indexée ne lit que les commandes
+     * effectivement consommées. L'implémentation par défaut trie toutes les commandes du restaurant.</p>
+     *
+     * @param after la position de la dernière commande déjà lue, {@code null} pour commencer au début
+     */
+    default Stream<Order> streamByRestaurantId(UUID restaurantId, Position after) {
+        return findAllByRestaurantId(restaurantId).stream()
+                .filter(order -> after == null || Position.of(order).compareTo(after) > 0)
+                .sorted(Comparator.comparing(Position::of));
+    }
+
+    /**
+     * Comme {@link #streamByRestaurantId(UUID, Position)}, limité aux commandes visibles du
+     * restaurant ({@link OrderStatus#isVisibleToRestaurant()}).
+     *
+     * <p>Une implémentation indexée ne parcourt pas les commandes créées, en attente ou expirées ;
+     * l'implémentation par défaut les filtre.</p>
+     */
+    default Stream<Order> streamVisibleByRestaurantId(UUID restaurantId, Position after) {
+        return streamByRestaurantId(restaurantId, after)
+                .filter(order -> order.getStatus() != null && order.getStatus().isVisibleToRestaurant());
+    }
+
+    /**
+     * Position d'une commande dans l'ordre chronologique : date de commande, puis identifiant.
+     */
+    record Position(LocalDateTime orderDateTime, String orderId) implements Comparable<Position> {
+
+        private static final Comparator<Position> ORDER = Comparator
+                .comparing(Position::orderDateTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Position::orderId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        public static Position of(Order order) {
+            return new Position(order.getOrderDateTime(), order.getOrderId());
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package fr.unice.polytech.sophiatecheats.domain.repositories;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Restaurant entities.
@@ -12,6 +22,12 @@ import java.util.UUID;
  */
 public interface RestaurantRepository extends Repository<Restaurant, UUID> {
 
+    /**
+     * Un plat et le restaurant dont il fait partie.
+     */
+    record DishWithRestaurant(Dish dish, Restaurant restaurant) {
+    }
+
     /**
      * Find restaurants by availability status.
      *
@@ -35,4 +51,86 @@ public interface RestaurantRepository extends Repository<Restaurant, UUID> {
      * @return list of open restaurants with dishes in the specified category
      */
     List<Restaurant> findOpenByDishCategory(DishCategory category);
-}
\ No newline at end of file
+
+    /**
+     * Restaurants dont au moins un plat convient au régime indiqué.
+     *
+     * <p>L'implémentation par défaut parcourt les menus de tout le catalogue.</p>
+     */
+    default List<Restaurant> findByDietType(DietType dietType) {
+        return findAll().stream()
+                .filter(restaurant -> restaurant.getMenu().stream().anyMatch(dish -> dish.hasDietType(dietType)))
+                .toList();
+    }
+
+    /**
+     * Plat du catalogue et son restaurant, à partir du seul identifiant du plat.
+     *
+     * <p>L'implémentation par défaut parcourt les menus de tout le catalogue.</p>
+     *
+     * @return vide si aucun restaurant ne propose ce plat
+     */
+    default Optional<DishWithRestaurant> findDishWithRestaurant(UUID dishId) {
+        if (dishId == null) {
+            return Optional.empty();
+        }
+        for (Restaurant restaurant : findAll()) {
+            Optional<Dish> dish = restaurant.findDishById(dishId);
+            if (dish.isPresent()) {
+                return Optional.of(new DishWithRestaurant(dish.get(), restaurant));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Comme {@link #findDishWithRestaurant(UUID)} pour plusieurs plats à la fois.
+     *
+     * <p>L'implémentation par défaut fait un seul parcours du catalogue, quel que soit le
+     * nombre de plats demandés.</p>
+     *
+     * @return les plats trouvés par identifiant ; les identifiants inconnus sont absents
+     */
+    default Map<UUID, DishWithRestaurant> findDishesWithRestaurants(Collection<UUID> dishIds) {
+        Set<UUID> wanted = new HashSet<>(dishIds);
+        Map<UUID, DishWithRestaurant> found = new HashMap<>();
+        if (wanted.isEmpty()) {
+            return found;
+        }
+        for (Restaurant restaurant : findAll()) {
+            for (Dish dish : restaurant.getMenu()) {
+                if (wanted.contains(dish.getId())) {
+                    found.putIfAbsent(dish.getId(), new DishWithRestaurant(dish, restaurant));
+                }
+            }
+            if (found.size() == wanted.size()) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Restaurants triés par identifiant, à partir de celui qui suit {@code afterId}.
+     *
+     * <p>Le flux est parcouru à la demande : une implémentation indexée ne lit que les
+     * restaurants effectivement consommés, ce qui rend une page proportionnelle à sa taille.
+     * L'implémentation par défaut trie le catalogue complet.</p>
+     *
+     * @param afterId l'identifiant du dernier restaurant déjà lu, {@code null} pour commencer au début
+     */
+    default Stream<Restaurant> streamOrderedById(UUID afterId) {
+        return findAll().stream()
+                .filter(restaurant -> afterId == null || restaurant.getId().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(Restaurant::getId));
+    }
+
+    /**
+     * Indique un catalogue en lecture seule, copie de celui du service restaurant : {@code save}
+     * et {@code deleteById} y sont refusés, et les services du domaine ne doivent pas écrire
+     * au travers (par exemple pour faire avancer une version).
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+}
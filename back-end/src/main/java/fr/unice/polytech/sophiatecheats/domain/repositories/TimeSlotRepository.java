@@ -3,6 +3,8 @@ package fr.unice.polytech.sophiatecheats.domain.repositories;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -51,4 +53,67 @@ public interface TimeSlotRepository extends Repository<TimeSlot, UUID> {
      * @return Liste des créneaux disponibles pour ce restaurant et cette date
      */
     List<TimeSlot> findAvailableSlotsByRestaurantAndDate(UUID restaurantId, LocalDate date);
+
+    /**
+     * Trouve les prochains créneaux disponibles d'un restaurant, par heure de début croissante.
+     *
+     * @param restaurantId L'ID du restaurant
+     * @param from Instant à partir duquel chercher (inclus), typiquement maintenant
+     * @param limit Nombre maximal de créneaux retournés
+     * @return Au plus {@code limit} créneaux disponibles commençant à partir de {@code from}
+     */
+    default List<TimeSlot> findAvailableSlotsAfter(UUID restaurantId, LocalDateTime from, int limit) {
+        return findAll().stream()
+                .filter(slot -> slot.getRestaurantId().equals(restaurantId))
+                .filter(slot -> !slot.getStartTime().isBefore(from))
+                .filter(TimeSlot::isAvailable)
+                .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    /**
+     * Trouve tous les créneaux d'un restaurant, disponibles ou non, qui commencent entre deux
+     * instants, par heure de début croissante.
+     *
+     * @param restaurantId L'ID du restaurant
+     * @param from Début de l'intervalle (inclus)
+     * @param to Fin de l'intervalle (exclue)
+     * @return Les créneaux dont l'heure de début est dans {@code [from, to)}
+     */
+    default List<TimeSlot> findSlotsBetween(UUID restaurantId, LocalDateTime from, LocalDateTime to) {
+        return findAll().stream()
+                .filter(slot -> slot.getRestaurantId().equals(restaurantId))
+                .filter(slot -> !slot.getStartTime().isBefore(from) && slot.getStartTime().isBefore(to))
+                .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                .toList();
+    }
+
+    /**
+     * Indique une copie en lecture seule des créneaux, tenue par le service restaurant :
+     * {@code save}, {@code update} et {@code deleteById} y sont refusés, et une réservation
+     * passe par {@link #forwardReservation(TimeSlot)} pour que la capacité soit vérifiée là où
+     * elle est détenue.
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Demande au propriétaire du créneau d'y réserver une place (dépôt en lecture seule).
+     *
+     * @param slot Le créneau, tel que connu localement
+     */
+    default void forwardReservation(TimeSlot slot) {
+        throw new UnsupportedOperationException("Les créneaux de ce dépôt se réservent localement");
+    }
+
+    /**
+     * Demande au propriétaire du créneau d'y libérer une place (dépôt en lecture seule).
+     *
+     * @param slot Le créneau, tel que connu localement
+     */
+    default void forwardRelease(TimeSlot slot) {
+        throw new UnsupportedOperationException("Les créneaux de ce dépôt se libèrent localement");
+    }
 }
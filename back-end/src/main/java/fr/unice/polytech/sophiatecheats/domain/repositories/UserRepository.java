@@ -2,6 +2,7 @@ package fr.unice.polytech.sophiatecheats.domain.repositories;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +19,34 @@ public interface UserRepository extends Repository<User, UUID> {
      * @return l'utilisateur s'il existe
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Sauvegarde l'utilisateur sauf si son email (normalisé) appartient déjà à un autre
+     * utilisateur. Utilisé par les imports en masse pour ne pas créer de doublons.
+     *
+     * @param user l'utilisateur à sauvegarder
+     * @return {@code true} si l'utilisateur a été sauvegardé
+     */
+    default boolean saveIfEmailAvailable(User user) {
+        Optional<User> owner = findByEmail(user.getEmail());
+        if (owner.isPresent() && !owner.get().getId().equals(user.getId())) {
+            return false;
+        }
+        save(user);
+        return true;
+    }
+
+    /**
+     * Forme canonique d'un email pour les recherches : sans espaces autour et en minuscules.
+     *
+     * @param email l'email saisi ou importé
+     * @return l'email normalisé, ou {@code null} s'il est absent ou vide
+     */
+    static String normalizeEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        String trimmed = email.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,25 @@
+package fr.unice.polytech.sophiatecheats.domain.services;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
+
+import java.util.UUID;
+
+/**
+ * Reçoit les modifications du catalogue une fois persistées : toute écriture d'un restaurant
+ * ({@link RestaurantService}, gestion des plats et des créneaux) doit passer par lui pour que
+ * les réplicas la voient.
+ */
+public interface CatalogChangePublisher {
+
+    /**
+     * Publication ignorée, quand aucun réplica ne suit le catalogue.
+     */
+    CatalogChangePublisher NONE = (type, restaurantId, restaurant) -> {
+    };
+
+    /**
+     * @param restaurant état du restaurant après la modification, {@code null} s'il a été supprimé
+     */
+    void publish(CatalogChangeType type, UUID restaurantId, Restaurant restaurant);
+}
@@ -1,7 +1,9 @@
 package fr.unice.polytech.sophiatecheats.domain.services;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.SlotNotFoundException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
 
 import java.time.LocalDate;
@@ -14,9 +16,28 @@ import java.util.UUID;
 public class DeliveryService {
 
     private final TimeSlotRepository repository;
+    private final RestaurantRepository restaurantRepository;
+    private final CatalogChangePublisher changePublisher;
 
     public DeliveryService(TimeSlotRepository repository) {
+        this(repository, null);
+    }
+
+    public DeliveryService(TimeSlotRepository repository, RestaurantRepository restaurantRepository) {
+        this(repository, restaurantRepository, CatalogChangePublisher.NONE);
+    }
+
+    /**
+     * @param restaurantRepository permet de faire avancer la version du restaurant propriétaire
+     *                             à chaque réservation ou libération de créneau ; ignoré s'il est
+     *                             en lecture seule (catalogue lu dans le service restaurant)
+     * @param changePublisher      reçoit le restaurant dont la version a avancé
+     */
+    public DeliveryService(TimeSlotRepository repository, RestaurantRepository restaurantRepository,
+                           CatalogChangePublisher changePublisher) {
         this.repository = repository;
+        this.restaurantRepository = restaurantRepository;
+        this.changePublisher = changePublisher;
     }
 
     public List<TimeSlot> getAvailableSlots(LocalDate date) {
@@ -26,16 +47,36 @@ public class DeliveryService {
     public void reserveSlot(UUID slotId) {
         TimeSlot slot = repository.findById(slotId)
                 .orElseThrow(() -> new SlotNotFoundException("Créneau introuvable : " + slotId));
+        if (repository.isReadOnly()) {
+            // Copie du service restaurant : la capacité y est vérifiée et sa version y avance
+            repository.forwardReservation(slot);
+            return;
+        }
 
         slot.reserveOrThrow();
 
         repository.update(slot);
+        touchRestaurant(slot.getRestaurantId());
     }
 
     public void releaseSlot(UUID slotId) {
         repository.findById(slotId).ifPresent(slot -> {
+            if (repository.isReadOnly()) {
+                repository.forwardRelease(slot);
+                return;
+            }
             slot.release();
             repository.update(slot);
+            touchRestaurant(slot.getRestaurantId());
         });
     }
+
+    private void touchRestaurant(UUID restaurantId) {
+        if (restaurantRepository != null && !restaurantRepository.isReadOnly() && restaurantId != null) {
+            restaurantRepository.findById(restaurantId).ifPresent(restaurant -> {
+                restaurantRepository.save(restaurant);
+                changePublisher.publish(CatalogChangeType.SLOT_CAPACITY_CHANGED, restaurantId, restaurant);
+            });
+        }
+    }
 }
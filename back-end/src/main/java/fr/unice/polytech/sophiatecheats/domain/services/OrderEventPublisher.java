@@ -0,0 +1,20 @@
+package fr.unice.polytech.sophiatecheats.domain.services;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+
+/**
+ * Reçoit chaque commande sauvegardée, pour la pousser aux tableaux de bord des restaurants.
+ */
+public interface OrderEventPublisher {
+
+    /**
+     * Publication ignorée, quand aucun tableau de bord ne suit les commandes.
+     */
+    OrderEventPublisher NONE = order -> {
+    };
+
+    /**
+     * @param order commande dans son état après la sauvegarde
+     */
+    void publish(Order order);
+}
@@ -4,6 +4,7 @@ import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.DuplicateRestaurantException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
@@ -27,14 +28,22 @@ import java.util.UUID;
  * Mettre à jour les informations d’un restaurant existant
  * Supprimer un restaurant de la base
  * Gérer le menu et les créneaux de livraison cotés métier pour un restaurant
+ * Chaque modification persistée est transmise au {@link CatalogChangePublisher}.
  */
 public class RestaurantService {
     private final RestaurantRepository repository;
     private final TimeSlotRepository timeSlotRepository;
+    private final CatalogChangePublisher changePublisher;
 
     public RestaurantService(RestaurantRepository repository, TimeSlotRepository timeSlotRepository) {
+        this(repository, timeSlotRepository, CatalogChangePublisher.NONE);
+    }
+
+    public RestaurantService(RestaurantRepository repository, TimeSlotRepository timeSlotRepository,
+                             CatalogChangePublisher changePublisher) {
         this.repository = repository;
         this.timeSlotRepository = timeSlotRepository;
+        this.changePublisher = changePublisher;
     }
 
     // GESTION DES RESTAURANTS - CRUD
@@ -50,7 +59,7 @@ public class RestaurantService {
         if (exists) throw new DuplicateRestaurantException("Restaurant déjà existant : " + name, address);
 
         Restaurant r = new Restaurant(name, address);
-        repository.save(r);
+        save(CatalogChangeType.RESTAURANT_CREATED, r);
         return r;
     }
 
@@ -72,7 +81,7 @@ public class RestaurantService {
                 r.getId(), newName, r.getAddress(),
                 r.getSchedule(), r.isOpen(), r.getMenu(), r.getDeliverySchedule()
         );
-        repository.save(updated);
+        save(CatalogChangeType.RESTAURANT_UPDATED, updated);
     }
 
     public void updateRestaurantAddress(UUID id, String newAddress) {
@@ -84,25 +93,25 @@ public class RestaurantService {
                 r.getId(), r.getName(), newAddress,
                 r.getSchedule(), r.isOpen(), r.getMenu(), r.getDeliverySchedule()
         );
-        repository.save(updated);
+        save(CatalogChangeType.RESTAURANT_UPDATED, updated);
     }
 
     public void updateRestaurantOpeningHours(UUID id, LocalTime opening, LocalTime closing) {
         Restaurant r = getRestaurantById(id);
         r.setSchedule(opening, closing);
-        repository.save(r);
+        save(CatalogChangeType.RESTAURANT_UPDATED, r);
     }
 
     public void openRestaurant(UUID id) {
         Restaurant r = getRestaurantById(id);
         r.open();
-        repository.save(r);
+        save(CatalogChangeType.OPENED, r);
     }
 
     public void closeRestaurant(UUID id) {
         Restaurant r = getRestaurantById(id);
         r.close();
-        repository.save(r);
+        save(CatalogChangeType.CLOSED, r);
     }
 
     public void deleteRestaurant(UUID id) {
@@ -111,6 +120,7 @@ public class RestaurantService {
 
         if (repository instanceof InMemoryRestaurantRepository repoMem) {
             repoMem.delete(r);
+            changePublisher.publish(CatalogChangeType.RESTAURANT_DELETED, id, null);
         }
     }
 
@@ -124,37 +134,37 @@ public class RestaurantService {
                 .category(category)
                 .available(true)
                 .build());
-        repository.save(r);
+        save(CatalogChangeType.DISH_ADDED, r);
     }
 
     public void removeDishFromRestaurant(UUID restaurantId, UUID dishId) {
         Restaurant r = getRestaurantById(restaurantId);
         r.removeDish(dishId);
-        repository.save(r);
+        save(CatalogChangeType.DISH_REMOVED, r);
     }
 
     public void updateDishName(UUID restaurantId, UUID dishId, String newName) {
         Restaurant r = getRestaurantById(restaurantId);
         r.modifyDishName(dishId, newName);
-        repository.save(r);
+        save(CatalogChangeType.DISH_UPDATED, r);
     }
 
     public void updateDishDescription(UUID restaurantId, UUID dishId, String newDescription) {
         Restaurant r = getRestaurantById(restaurantId);
         r.modifyDishDescription(dishId, newDescription);
-        repository.save(r);
+        save(CatalogChangeType.DISH_UPDATED, r);
     }
 
     public void updateDishPrice(UUID restaurantId, UUID dishId, BigDecimal newPrice) {
         Restaurant r = getRestaurantById(restaurantId);
         r.modifyDishPrice(dishId, newPrice);
-        repository.save(r);
+        save(CatalogChangeType.DISH_UPDATED, r);
     }
 
     public void updateDishCategory(UUID restaurantId, UUID dishId, DishCategory newCategory) {
         Restaurant r = getRestaurantById(restaurantId);
         r.modifyDishCategory(dishId, newCategory);
-        repository.save(r);
+        save(CatalogChangeType.DISH_UPDATED, r);
     }
 
     public List<Dish> getRestaurantMenu(UUID restaurantId) {
@@ -198,7 +208,7 @@ public class RestaurantService {
         }
 
         System.out.println("💾 [RestaurantService] Saving restaurant with slots...");
-        repository.save(r);
+        save(CatalogChangeType.SLOTS_GENERATED, r);
         System.out.println("✅ [RestaurantService] Restaurant saved!");
 
         // Verify the restaurant was saved correctly
@@ -217,13 +227,13 @@ public class RestaurantService {
     public void reserveDeliverySlot(UUID restaurantId, UUID slotId) {
         Restaurant r = getRestaurantById(restaurantId);
         r.reserveDeliverySlot(slotId);
-        repository.save(r);
+        save(CatalogChangeType.SLOT_CAPACITY_CHANGED, r);
     }
 
     public void releaseDeliverySlot(UUID restaurantId, UUID slotId) {
         Restaurant r = getRestaurantById(restaurantId);
         r.releaseDeliverySlot(slotId);
-        repository.save(r);
+        save(CatalogChangeType.SLOT_CAPACITY_CHANGED, r);
     }
 
     public List<Restaurant> getOpenedRestaurantsTodayAt(LocalTime time) {
@@ -262,4 +272,8 @@ public class RestaurantService {
                 .toList();
     }
 
-}
\ No newline at end of file
+    private void save(CatalogChangeType type, Restaurant restaurant) {
+        repository.save(restaurant);
+        changePublisher.publish(type, restaurant.getId(), restaurant);
+    }
+}
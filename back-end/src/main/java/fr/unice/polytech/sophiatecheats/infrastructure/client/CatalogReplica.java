@@ -0,0 +1,340 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.CatalogEventDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.CatalogSnapshotDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantSnapshotDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Réplica local et en lecture seule du catalogue, alimenté par le flux de modifications du
+ * service restaurant (voir {@code CatalogFeedHandler}).
+ *
+ * <p>Au démarrage, le réplica charge un instantané puis suit le flux sur une connexion longue ;
+ * chaque événement remplace le restaurant concerné, sauf si le réplica en possède déjà une
+ * version plus récente. Les lectures ({@link #findAll()}, {@link #findById(UUID)}...) ne
+ * font donc aucun appel réseau.</p>
+ *
+ * <p>Le retard est observable via {@link #stats()} : en événements (dernière séquence annoncée
+ * par le service moins dernière séquence appliquée) et en millisecondes (entre la publication
+ * et l'application du dernier événement). Si le flux ne peut pas reprendre là où il s'était
+ * arrêté (journal dépassé, service redémarré), le réplica recharge un instantané ; ces
+ * resynchronisations sont comptées et journalisées.</p>
+ *
+ * <p>Les créneaux de livraison des restaurants répliqués sont exposés par {@link #timeSlots()},
+ * en lecture seule : une réservation faite au travers est transmise au service restaurant, et
+ * la nouvelle capacité revient par le flux comme toute autre modification.</p>
+ */
+public class CatalogReplica implements RestaurantRepository, AutoCloseable {
+
+    public static final String URL_PROPERTY = "ste.catalog.replica.url";
+    public static final String RETRY_PROPERTY = "ste.catalog.replica.retryMs";
+
+    static final String SNAPSHOT_PATH = "/internal/catalog/snapshot";
+    static final String FEED_PATH = "/internal/catalog/feed";
+
+    private static final Logger logger = Logger.getLogger(CatalogReplica.class.getName());
+
+    /**
+     * @param lagEvents  événements publiés mais pas encore appliqués
+     * @param lagMillis  délai entre publication et application du dernier événement
+     * @param resyncs    rechargements complets après l'amorce initiale
+     */
+    public record Stats(boolean connected, long appliedSequence, long leaderSequence, long lagEvents, long lagMillis,
+                        long eventsApplied, long resyncs, long reconnects, int restaurants) {
+    }
+
+    private record Entry(long version, Restaurant restaurant) {
+    }
+
+    private final URI baseUrl;
+    private final Duration retryDelay;
+    private final LongSupplier wallClock;
+    private final HttpClient httpClient;
+    private final ObjectMapper mapper;
+    private final ConcurrentHashMap<UUID, Entry> restaurants = new ConcurrentHashMap<>();
+    // Restaurant propriétaire de chaque créneau répliqué ; les entrées périmées sont retirées à la lecture
+    private final ConcurrentHashMap<UUID, UUID> slotOwners = new ConcurrentHashMap<>();
+    private final TimeSlotRepository timeSlots;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile boolean bootstrapped;
+    private volatile boolean needsSnapshot = true;
+    private volatile String epoch;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long lagMillis;
+    private volatile Thread worker;
+
+    private final LongAdder eventsApplied = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    public CatalogReplica(URI baseUrl, Duration retryDelay) {
+        this(baseUrl, retryDelay, System::currentTimeMillis);
+    }
+
+    CatalogReplica(URI baseUrl, Duration retryDelay, LongSupplier wallClock) {
+        this.baseUrl = baseUrl;
+        this.retryDelay = retryDelay;
+        this.wallClock = wallClock;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.timeSlots = new CatalogTimeSlots(this, this::findSlot,
+                new SlotReservationClient(baseUrl, httpClient, Duration.ofSeconds(2)));
+    }
+
+    /**
+     * @return le réplica configuré, ou {@code null} si {@value #URL_PROPERTY} n'est pas défini.
+     * Par défaut, une connexion perdue est retentée après 1 s ({@value #RETRY_PROPERTY}).
+     */
+    public static CatalogReplica fromSystemProperties() {
+        String url = System.getProperty(URL_PROPERTY);
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        return new CatalogReplica(URI.create(url), Duration.ofMillis(Long.getLong(RETRY_PROPERTY, 1_000)));
+    }
+
+    /**
+     * Démarre la réplication sur un thread dédié.
+     */
+    public synchronized CatalogReplica start() {
+        if (!running) {
+            running = true;
+            worker = Thread.ofVirtual().name("catalog-replica").start(this::replicate);
+        }
+        return this;
+    }
+
+    /**
+     * @return les créneaux des restaurants répliqués, en lecture seule
+     */
+    public TimeSlotRepository timeSlots() {
+        return timeSlots;
+    }
+
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    public Stats stats() {
+        long applied = appliedSequence;
+        return new Stats(connected, applied, leaderSequence, Math.max(0, leaderSequence - applied), lagMillis,
+                eventsApplied.sum(), resyncs.sum(), reconnects.sum(), restaurants.size());
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+        // close() attendrait la fin du flux en cours
+        httpClient.shutdownNow();
+    }
+
+    private void replicate() {
+        while (running) {
+            try {
+                if (needsSnapshot) {
+                    bootstrap();
+                }
+                follow();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                connected = false;
+                if (!running) {
+                    return;
+                }
+                reconnects.increment();
+                logger.fine("Flux du catalogue interrompu : " + e.getMessage());
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void bootstrap() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(baseUrl.resolve(SNAPSHOT_PATH)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Instantané du catalogue refusé : " + response.statusCode());
+        }
+        CatalogSnapshotDto snapshot = mapper.readValue(response.body(), CatalogSnapshotDto.class);
+        Set<UUID> present = snapshot.restaurants().stream().map(RestaurantSnapshotDto::id).collect(Collectors.toSet());
+        restaurants.keySet().retainAll(present);
+        for (RestaurantSnapshotDto restaurant : snapshot.restaurants()) {
+            restaurants.put(restaurant.id(), index(new Entry(restaurant.version(), restaurant.toEntity())));
+        }
+        epoch = snapshot.epoch();
+        appliedSequence = snapshot.sequence();
+        leaderSequence = snapshot.sequence();
+        needsSnapshot = false;
+        if (bootstrapped) {
+            resyncs.increment();
+            logger.info("Réplica du catalogue resynchronisé à la séquence " + snapshot.sequence());
+        }
+        bootstrapped = true;
+    }
+
+    private void follow() throws IOException, InterruptedException {
+        URI uri = baseUrl.resolve(FEED_PATH + "?after=" + appliedSequence + "&epoch=" + epoch);
+        HttpResponse<Stream<String>> response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() == 410) {
+                // Position perdue : repartir d'un instantané
+                needsSnapshot = true;
+                return;
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("Flux du catalogue refusé : " + response.statusCode());
+            }
+            connected = true;
+            Iterator<String> iterator = lines.iterator();
+            while (running && iterator.hasNext()) {
+                String line = iterator.next();
+                if (!line.isBlank()) {
+                    apply(mapper.readValue(line, CatalogEventDto.class));
+                }
+            }
+        } finally {
+            connected = false;
+        }
+        if (running) {
+            // Fin du flux côté service : la reprise se fera depuis appliedSequence
+            reconnects.increment();
+        }
+    }
+
+    private void apply(CatalogEventDto event) {
+        leaderSequence = Math.max(leaderSequence, event.sequence());
+        if (event.type() == null || event.sequence() <= appliedSequence) {
+            return;
+        }
+        if (event.type() == CatalogChangeType.RESTAURANT_DELETED) {
+            restaurants.remove(event.restaurantId());
+        } else if (event.restaurant() != null) {
+            RestaurantSnapshotDto snapshot = event.restaurant();
+            restaurants.compute(event.restaurantId(), (id, current) ->
+                    current != null && current.version() > snapshot.version()
+                            ? current
+                            : index(new Entry(snapshot.version(), snapshot.toEntity())));
+        }
+        appliedSequence = event.sequence();
+        lagMillis = Math.max(0, wallClock.getAsLong() - event.publishedAt());
+        eventsApplied.increment();
+    }
+
+    private Entry index(Entry entry) {
+        UUID restaurantId = entry.restaurant().getId();
+        entry.restaurant().getDeliverySchedule().getAllSlots()
+                .forEach(slot -> slotOwners.put(slot.getId(), restaurantId));
+        return entry;
+    }
+
+    private Optional<TimeSlot> findSlot(UUID slotId) {
+        UUID restaurantId = slotOwners.get(slotId);
+        if (restaurantId == null) {
+            return Optional.empty();
+        }
+        Optional<TimeSlot> slot = findById(restaurantId)
+                .flatMap(restaurant -> restaurant.getDeliverySchedule().findSlotById(slotId));
+        if (slot.isEmpty()) {
+            // Restaurant supprimé ou créneau retiré de son planning
+            slotOwners.remove(slotId, restaurantId);
+        }
+        return slot;
+    }
+
+    @Override
+    public Optional<Restaurant> findById(UUID id) {
+        Entry entry = restaurants.get(id);
+        return entry != null ? Optional.of(entry.restaurant()) : Optional.empty();
+    }
+
+    @Override
+    public List<Restaurant> findAll() {
+        List<Restaurant> all = new ArrayList<>(restaurants.size());
+        restaurants.values().forEach(entry -> all.add(entry.restaurant()));
+        return all;
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return restaurants.containsKey(id);
+    }
+
+    @Override
+    public List<Restaurant> findByAvailability(boolean isOpen) {
+        return findAll().stream()
+                .filter(restaurant -> restaurant.isOpen() == isOpen)
+                .toList();
+    }
+
+    @Override
+    public List<Restaurant> findByDishCategory(DishCategory category) {
+        return findAll().stream()
+                .filter(restaurant -> restaurant.getMenu().stream().anyMatch(dish -> dish.getCategory() == category))
+                .toList();
+    }
+
+    @Override
+    public List<Restaurant> findOpenByDishCategory(DishCategory category) {
+        return findByDishCategory(category).stream()
+                .filter(Restaurant::isOpen)
+                .toList();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public Restaurant save(Restaurant entity) {
+        throw new UnsupportedOperationException("Le catalogue ne peut être modifié que par le service restaurant");
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        throw new UnsupportedOperationException("Le catalogue ne peut être modifié que par le service restaurant");
+    }
+}
@@ -0,0 +1,131 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.client;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Créneaux de livraison lus dans une copie du catalogue : ceux du planning de chaque
+ * restaurant (les {@code deliverySlots} de chaque {@code RestaurantSnapshotDto}).
+ *
+ * <p>Vue en lecture seule : les réservations et libérations sont transmises au service
+ * restaurant par {@link SlotReservationClient}, et la capacité affichée ici n'évolue qu'avec
+ * la copie du restaurant.</p>
+ */
+class CatalogTimeSlots implements TimeSlotRepository {
+
+    private final RestaurantRepository catalog;
+    private final Function<UUID, Optional<TimeSlot>> lookup;
+    private final SlotReservationClient reservations;
+
+    /**
+     * @param catalog      copie du catalogue dont on lit les plannings
+     * @param lookup       recherche d'un créneau par son seul identifiant
+     * @param reservations transmission des réservations au service restaurant
+     */
+    CatalogTimeSlots(RestaurantRepository catalog, Function<UUID, Optional<TimeSlot>> lookup,
+                     SlotReservationClient reservations) {
+        this.catalog = catalog;
+        this.lookup = lookup;
+        this.reservations = reservations;
+    }
+
+    @Override
+    public Optional<TimeSlot> findById(UUID id) {
+        return lookup.apply(id);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<TimeSlot> findAll() {
+        return catalog.findAll().stream()
+                .flatMap(restaurant -> restaurant.getDeliverySchedule().getAllSlots().stream())
+                .toList();
+    }
+
+    @Override
+    public List<TimeSlot> findAvailableSlots(LocalDate date) {
+        return catalog.findAll().stream()
+                .flatMap(restaurant -> restaurant.getDeliverySchedule().getAvailableSlotsForDate(date).stream())
+                .toList();
+    }
+
+    @Override
+    public Optional<TimeSlot> findByIdAndRestaurantId(UUID slotId, UUID restaurantId) {
+        return catalog.findById(restaurantId)
+                .flatMap(restaurant -> restaurant.getDeliverySchedule().findSlotById(slotId));
+    }
+
+    @Override
+    public List<TimeSlot> findAvailableSlotsByRestaurantAndDate(UUID restaurantId, LocalDate date) {
+        return catalog.findById(restaurantId)
+                .map(restaurant -> restaurant.getDeliverySchedule().getAvailableSlotsForDate(date))
+                .orElse(List.of());
+    }
+
+    @Override
+    public List<TimeSlot> findAvailableSlotsAfter(UUID restaurantId, LocalDateTime from, int limit) {
+        return slotsOf(restaurantId).stream()
+                .filter(slot -> !slot.getStartTime().isBefore(from))
+                .filter(TimeSlot::isAvailable)
+                .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    @Override
+    public List<TimeSlot> findSlotsBetween(UUID restaurantId, LocalDateTime from, LocalDateTime to) {
+        return slotsOf(restaurantId).stream()
+                .filter(slot -> !slot.getStartTime().isBefore(from) && slot.getStartTime().isBefore(to))
+                .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                .toList();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public void forwardReservation(TimeSlot slot) {
+        reservations.reserve(slot);
+    }
+
+    @Override
+    public void forwardRelease(TimeSlot slot) {
+        reservations.release(slot);
+    }
+
+    @Override
+    public TimeSlot save(TimeSlot slot) {
+        throw new UnsupportedOperationException("Les créneaux ne peuvent être modifiés que par le service restaurant");
+    }
+
+    @Override
+    public void update(TimeSlot slot) {
+        throw new UnsupportedOperationException("Les créneaux ne peuvent être modifiés que par le service restaurant");
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        throw new UnsupportedOperationException("Les créneaux ne peuvent être modifiés que par le service restaurant");
+    }
+
+    private List<TimeSlot> slotsOf(UUID restaurantId) {
+        return catalog.findById(restaurantId)
+                .map(restaurant -> restaurant.getDeliverySchedule().getAllSlots())
+                .orElse(List.of());
+    }
+}
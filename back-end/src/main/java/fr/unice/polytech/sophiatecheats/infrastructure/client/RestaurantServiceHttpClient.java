@@ -1 +1,474 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.client;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import fr.unice.polytech.sophiatecheats.application.dto.delivery.DeliverySlotDTO;
+import fr.unice.polytech.sophiatecheats.application.dto.delivery.SlotBatchDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantBatchDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantSnapshotDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Accès au catalogue du service restaurant par HTTP, pour les services qui n'en détiennent pas
+ * les données (le service consommateur quand il tourne dans son propre processus).
+ *
+ * <ul>
+ *     <li><b>Appels asynchrones</b> : {@link #findByIdAsync(UUID)} et
+ *     {@link #findAllByIdAsync(Collection)} ne bloquent aucun thread ; les méthodes de
+ *     {@link RestaurantRepository} attendent au plus {@value #TIMEOUT_PROPERTY} ms.</li>
+ *     <li><b>Regroupement</b> : les recherches par identifiant lancées pendant
+ *     {@value #BATCH_DELAY_PROPERTY} ms (2 par défaut) partent en un seul appel
+ *     {@code GET /internal/restaurants?ids=...}, d'au plus {@value #MAX_BATCH_PROPERTY}
+ *     identifiants (100 par défaut). Un identifiant déjà en attente n'est demandé qu'une fois.</li>
+ *     <li><b>Cache local</b> : chaque restaurant reçu est gardé avec sa version. Pendant
+ *     {@value #FRESH_PROPERTY} ms (1000 par défaut) il est servi sans appel ; ensuite il est
+ *     revalidé en envoyant la version connue, et le service ne renvoie que les restaurants dont
+ *     la version a changé. La liste complète est revalidée de la même façon par l'ETag du
+ *     catalogue.</li>
+ *     <li><b>Panne</b> : si le service ne répond pas, la dernière copie connue est servie ;
+ *     sans copie, {@link RestaurantServiceUnavailableException} est levée.</li>
+ *     <li><b>Créneaux</b> : {@link #timeSlots()} lit les créneaux de livraison dans les plannings
+ *     des restaurants ; un créneau cherché par son seul identifiant (celui du panier) est relu à
+ *     chaque fois par {@code GET /internal/slots?ids=...}, sans cache.</li>
+ * </ul>
+ *
+ * <p>Le catalogue appartient au service restaurant : {@link #save(Restaurant)} et
+ * {@link #deleteById(UUID)} ne sont pas disponibles ici, et les réservations de créneaux lui
+ * sont transmises.</p>
+ */
+public class RestaurantServiceHttpClient implements RestaurantRepository, AutoCloseable {
+
+    public static final String URL_PROPERTY = "ste.restaurantService.url";
+    public static final String TIMEOUT_PROPERTY = "ste.restaurantService.timeoutMs";
+    public static final String FRESH_PROPERTY = "ste.restaurantService.freshMs";
+    public static final String BATCH_DELAY_PROPERTY = "ste.restaurantService.batchDelayMs";
+    public static final String MAX_BATCH_PROPERTY = "ste.restaurantService.maxBatch";
+
+    static final String SNAPSHOT_PATH = "/internal/restaurants";
+    static final String SLOTS_PATH = "/internal/slots";
+
+    /**
+     * @param requests      appels HTTP émis vers le service
+     * @param lookups       identifiants demandés au service, tous appels confondus
+     * @param cacheHits     recherches servies par le cache sans appel
+     * @param unchanged     restaurants revalidés sans être retransférés
+     * @param staleServed   recherches servies par une copie périmée faute de réponse du service
+     */
+    public record Stats(long requests, long lookups, long cacheHits, long unchanged, long staleServed, int cached) {
+    }
+
+    private record Cached(long version, Restaurant restaurant, long fetchedAt) {
+    }
+
+    private record CatalogList(String etag, List<Restaurant> restaurants, long fetchedAt) {
+    }
+
+    private final URI baseUrl;
+    private final Duration timeout;
+    private final long freshNanos;
+    private final Duration batchDelay;
+    private final int maxBatch;
+    private final LongSupplier nanoClock;
+    private final HttpClient httpClient;
+    private final ObjectMapper mapper;
+    private final ScheduledExecutorService scheduler;
+    private final TimeSlotRepository timeSlots;
+
+    private final ConcurrentHashMap<UUID, Cached> cache = new ConcurrentHashMap<>();
+    private volatile CatalogList catalogList;
+
+    // Recherches en attente du prochain appel groupé, protégées par le moniteur de this
+    private Map<UUID, CompletableFuture<Optional<Restaurant>>> pending = new HashMap<>();
+    private boolean flushScheduled;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+
+    public RestaurantServiceHttpClient(URI baseUrl, Duration timeout, Duration freshFor, Duration batchDelay, int maxBatch) {
+        this(baseUrl, timeout, freshFor, batchDelay, maxBatch, System::nanoTime);
+    }
+
+    RestaurantServiceHttpClient(URI baseUrl, Duration timeout, Duration freshFor, Duration batchDelay, int maxBatch,
+                                LongSupplier nanoClock) {
+        if (maxBatch <= 0 || maxBatch > 200) {
+            throw new IllegalArgumentException("La taille des lots doit être comprise entre 1 et 200");
+        }
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.freshNanos = freshFor.toNanos();
+        this.batchDelay = batchDelay;
+        this.maxBatch = maxBatch;
+        this.nanoClock = nanoClock;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "restaurant-client-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeSlots = new CatalogTimeSlots(this, this::findSlot,
+                new SlotReservationClient(baseUrl, httpClient, timeout));
+    }
+
+    /**
+     * @return le client configuré, ou {@code null} si {@value #URL_PROPERTY} n'est pas défini
+     * (le service utilise alors son propre dépôt). Par défaut : 2 s d'attente, copies fraîches
+     * pendant 1 s, lots de 100 identifiants regroupés sur 2 ms.
+     */
+    public static RestaurantServiceHttpClient fromSystemProperties() {
+        String url = System.getProperty(URL_PROPERTY);
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        return new RestaurantServiceHttpClient(
+                URI.create(url),
+                Duration.ofMillis(Long.getLong(TIMEOUT_PROPERTY, 2_000)),
+                Duration.ofMillis(Long.getLong(FRESH_PROPERTY, 1_000)),
+                Duration.ofMillis(Long.getLong(BATCH_DELAY_PROPERTY, 2)),
+                Integer.getInteger(MAX_BATCH_PROPERTY, 100));
+    }
+
+    /**
+     * Recherche asynchrone d'un restaurant, regroupée avec les recherches simultanées.
+     */
+    public CompletableFuture<Optional<Restaurant>> findByIdAsync(UUID id) {
+        Cached cached = cache.get(id);
+        if (cached != null && isFresh(cached.fetchedAt())) {
+            cacheHits.increment();
+            return CompletableFuture.completedFuture(Optional.of(cached.restaurant()));
+        }
+        Map<UUID, CompletableFuture<Optional<Restaurant>>> full = null;
+        CompletableFuture<Optional<Restaurant>> future;
+        synchronized (this) {
+            future = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (pending.size() >= maxBatch) {
+                full = pending;
+                pending = new HashMap<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flushPending, batchDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            fetch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Recherche asynchrone de plusieurs restaurants, en autant d'appels que de lots nécessaires.
+     *
+     * @return les restaurants trouvés, par identifiant ; les identifiants inconnus sont absents
+     */
+    public CompletableFuture<Map<UUID, Restaurant>> findAllByIdAsync(Collection<UUID> ids) {
+        Map<UUID, CompletableFuture<Optional<Restaurant>>> futures = new HashMap<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            futures.put(id, findByIdAsync(id));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<UUID, Restaurant> found = new HashMap<>();
+                    futures.forEach((id, future) -> future.join().ifPresent(r -> found.put(id, r)));
+                    return found;
+                });
+    }
+
+    @Override
+    public Optional<Restaurant> findById(UUID id) {
+        return await(findByIdAsync(id));
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<Restaurant> findAll() {
+        return await(findAllAsync());
+    }
+
+    /**
+     * Liste complète du catalogue, revalidée par l'ETag du catalogue une fois périmée.
+     */
+    public CompletableFuture<List<Restaurant>> findAllAsync() {
+        CatalogList current = catalogList;
+        if (current != null && isFresh(current.fetchedAt())) {
+            cacheHits.increment();
+            return CompletableFuture.completedFuture(current.restaurants());
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(SNAPSHOT_PATH)).timeout(timeout).GET();
+        if (current != null) {
+            request.header("If-None-Match", current.etag());
+        }
+        requests.increment();
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    long now = nanoClock.getAsLong();
+                    if (response.statusCode() == 304 && current != null) {
+                        catalogList = new CatalogList(current.etag(), current.restaurants(), now);
+                        return current.restaurants();
+                    }
+                    RestaurantBatchDto batch = decode(response);
+                    List<Restaurant> restaurants = batch.restaurants().stream().map(this::store).toList();
+                    catalogList = new CatalogList(response.headers().firstValue("ETag").orElse(null), restaurants, now);
+                    return restaurants;
+                })
+                .exceptionally(error -> {
+                    if (current == null) {
+                        throw unavailable(error);
+                    }
+                    staleServed.increment();
+                    return current.restaurants();
+                });
+    }
+
+    @Override
+    public List<Restaurant> findByAvailability(boolean isOpen) {
+        return findAll().stream()
+                .filter(restaurant -> restaurant.isOpen() == isOpen)
+                .toList();
+    }
+
+    @Override
+    public List<Restaurant> findByDishCategory(DishCategory category) {
+        return findAll().stream()
+                .filter(restaurant -> restaurant.getMenu().stream().anyMatch(dish -> dish.getCategory() == category))
+                .toList();
+    }
+
+    @Override
+    public List<Restaurant> findOpenByDishCategory(DishCategory category) {
+        return findByDishCategory(category).stream()
+                .filter(Restaurant::isOpen)
+                .toList();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public Restaurant save(Restaurant entity) {
+        throw new UnsupportedOperationException("Le catalogue ne peut être modifié que par le service restaurant");
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        throw new UnsupportedOperationException("Le catalogue ne peut être modifié que par le service restaurant");
+    }
+
+    /**
+     * @return les créneaux de livraison du service restaurant, en lecture seule
+     */
+    public TimeSlotRepository timeSlots() {
+        return timeSlots;
+    }
+
+    /**
+     * Oublie la copie locale d'un restaurant, par exemple sur notification de modification.
+     */
+    public void invalidate(UUID id) {
+        cache.remove(id);
+        catalogList = null;
+    }
+
+    public Stats stats() {
+        return new Stats(requests.sum(), lookups.sum(), cacheHits.sum(), unchanged.sum(), staleServed.sum(), cache.size());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        httpClient.close();
+    }
+
+    private void flushPending() {
+        Map<UUID, CompletableFuture<Optional<Restaurant>>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new HashMap<>();
+            flushScheduled = false;
+        }
+        if (!batch.isEmpty()) {
+            fetch(batch);
+        }
+    }
+
+    private void fetch(Map<UUID, CompletableFuture<Optional<Restaurant>>> batch) {
+        List<UUID> ids = new ArrayList<>(batch.keySet());
+        String query = "ids=" + ids.stream().map(UUID::toString).collect(Collectors.joining(","))
+                + "&versions=" + ids.stream()
+                .map(id -> {
+                    Cached cached = cache.get(id);
+                    return Long.toString(cached != null ? cached.version() : 0);
+                })
+                .collect(Collectors.joining(","));
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(SNAPSHOT_PATH + "?" + query))
+                .timeout(timeout)
+                .GET()
+                .build();
+        requests.increment();
+        lookups.add(ids.size());
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::decode)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        batch.forEach((id, future) -> completeStale(id, future, error));
+                        return;
+                    }
+                    long now = nanoClock.getAsLong();
+                    for (RestaurantSnapshotDto snapshot : result.restaurants()) {
+                        Restaurant restaurant = store(snapshot);
+                        complete(batch.get(snapshot.id()), Optional.of(restaurant));
+                    }
+                    for (UUID id : result.unchanged()) {
+                        Cached cached = cache.computeIfPresent(id,
+                                (key, old) -> new Cached(old.version(), old.restaurant(), now));
+                        if (cached != null) {
+                            unchanged.increment();
+                            complete(batch.get(id), Optional.of(cached.restaurant()));
+                        } else {
+                            // Copie oubliée pendant l'appel (invalidate) : redemandée en entier
+                            refetch(id, batch.remove(id));
+                        }
+                    }
+                    for (UUID id : result.missing()) {
+                        cache.remove(id);
+                        complete(batch.get(id), Optional.empty());
+                    }
+                    // Identifiant absent de la réponse : traité comme inconnu
+                    batch.values().forEach(future -> future.complete(Optional.empty()));
+                });
+    }
+
+    private Optional<TimeSlot> findSlot(UUID slotId) {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(SLOTS_PATH + "?ids=" + slotId))
+                .timeout(timeout)
+                .GET()
+                .build();
+        requests.increment();
+        return await(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> decode(response, SlotBatchDto.class).slots().stream()
+                        .filter(slot -> slot.id().equals(slotId))
+                        .findFirst()
+                        .map(DeliverySlotDTO::toEntity)));
+    }
+
+    private void refetch(UUID id, CompletableFuture<Optional<Restaurant>> future) {
+        if (future == null) {
+            return;
+        }
+        findByIdAsync(id).whenComplete((restaurant, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(restaurant);
+            }
+        });
+    }
+
+    private Restaurant store(RestaurantSnapshotDto snapshot) {
+        Restaurant restaurant = snapshot.toEntity();
+        cache.put(snapshot.id(), new Cached(snapshot.version(), restaurant, nanoClock.getAsLong()));
+        return restaurant;
+    }
+
+    private void completeStale(UUID id, CompletableFuture<Optional<Restaurant>> future, Throwable error) {
+        Cached cached = cache.get(id);
+        if (cached != null) {
+            staleServed.increment();
+            future.complete(Optional.of(cached.restaurant()));
+        } else {
+            future.completeExceptionally(unavailable(error));
+        }
+    }
+
+    private static void complete(CompletableFuture<Optional<Restaurant>> future, Optional<Restaurant> value) {
+        if (future != null) {
+            future.complete(value);
+        }
+    }
+
+    private RestaurantBatchDto decode(HttpResponse<byte[]> response) {
+        return decode(response, RestaurantBatchDto.class);
+    }
+
+    private <T> T decode(HttpResponse<byte[]> response, Class<T> type) {
+        if (response.statusCode() != 200) {
+            throw new RestaurantServiceUnavailableException(
+                    "Réponse inattendue du service restaurant : " + response.statusCode());
+        }
+        try {
+            return mapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new RestaurantServiceUnavailableException("Réponse illisible du service restaurant", e);
+        }
+    }
+
+    private boolean isFresh(long fetchedAt) {
+        return nanoClock.getAsLong() - fetchedAt < freshNanos;
+    }
+
+    private RestaurantServiceUnavailableException unavailable(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RestaurantServiceUnavailableException unavailable) {
+            return unavailable;
+        }
+        return new RestaurantServiceUnavailableException("Service restaurant injoignable : " + baseUrl, cause);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            // Marge pour le regroupement : l'appel lui-même est déjà borné par timeout
+            return future.get(timeout.plus(batchDelay).toMillis() + 100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestaurantServiceUnavailableException("Attente du service restaurant interrompue", e);
+        } catch (ExecutionException e) {
+            throw unavailable(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RestaurantServiceUnavailableException("Service restaurant trop lent : " + baseUrl, e);
+        }
+    }
+}
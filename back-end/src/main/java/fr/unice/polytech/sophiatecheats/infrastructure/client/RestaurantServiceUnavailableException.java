@@ -0,0 +1,16 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.client;
+
+/**
+ * Exception lancée lorsque le service restaurant ne répond pas et qu'aucune copie locale
+ * du restaurant demandé n'est disponible.
+ */
+public class RestaurantServiceUnavailableException extends RuntimeException {
+
+    public RestaurantServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public RestaurantServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
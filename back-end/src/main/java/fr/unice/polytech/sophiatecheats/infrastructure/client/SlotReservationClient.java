@@ -0,0 +1,85 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.SlotNotFoundException;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Réservation et libération des créneaux auprès du service restaurant, qui en détient la
+ * capacité ({@code POST /restaurants/{id}/delivery-slots/{slotId}}).
+ *
+ * <p>Le service publie ensuite le restaurant modifié : les copies locales (réplica, cache du
+ * client HTTP) ne voient la nouvelle capacité qu'à la réception de cette modification.</p>
+ */
+class SlotReservationClient {
+
+    static final String SLOT_PATH = "/restaurants/%s/delivery-slots/%s";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI baseUrl;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    SlotReservationClient(URI baseUrl, HttpClient httpClient, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @throws SlotNotFoundException si le créneau est inconnu ou n'est plus disponible
+     * @throws ValidationException si le créneau est complet
+     */
+    void reserve(TimeSlot slot) {
+        send(slot, "reserve");
+    }
+
+    void release(TimeSlot slot) {
+        send(slot, "release");
+    }
+
+    private void send(TimeSlot slot, String action) {
+        URI uri = baseUrl.resolve(String.format(SLOT_PATH, slot.getRestaurantId(), slot.getId()));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofString(action))
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestaurantServiceUnavailableException("Attente du service restaurant interrompue", e);
+        } catch (IOException e) {
+            throw new RestaurantServiceUnavailableException("Service restaurant injoignable : " + baseUrl, e);
+        }
+        switch (response.statusCode()) {
+            case 200 -> {
+                // Action appliquée par le service restaurant
+            }
+            case 404 -> throw new SlotNotFoundException(errorOf(response));
+            case 400 -> throw new ValidationException(errorOf(response));
+            default -> throw new RestaurantServiceUnavailableException(
+                    "Réponse inattendue du service restaurant : " + response.statusCode());
+        }
+    }
+
+    private static String errorOf(HttpResponse<String> response) {
+        try {
+            JsonNode error = MAPPER.readTree(response.body()).get("error");
+            return error != null ? error.asText() : response.body();
+        } catch (IOException e) {
+            return response.body();
+        }
+    }
+}
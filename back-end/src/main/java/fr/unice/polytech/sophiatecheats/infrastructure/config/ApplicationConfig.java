@@ -8,6 +8,9 @@ import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.AddDishT
 import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.RemoveDishFromRestaurantUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.UpdateDishUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.GetDishesUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.GetRestaurantDetailsUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.RestaurantDtoCache;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.delivery.GetAvailableDeliverySlotsUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.delivery.ValidateDeliverySlotUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.order.GetOrderUseCase;
@@ -17,6 +20,8 @@ import fr.unice.polytech.sophiatecheats.domain.services.DeliveryService;
 import fr.unice.polytech.sophiatecheats.domain.services.RestaurantService;
 import fr.unice.polytech.sophiatecheats.domain.services.photoai.PhotoAnalysisService;
 import fr.unice.polytech.sophiatecheats.infrastructure.external.MockAIPhotoAnalysisService;
+import fr.unice.polytech.sophiatecheats.infrastructure.feed.CatalogChangeLog;
+import fr.unice.polytech.sophiatecheats.infrastructure.feed.OrderEventLog;
 import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.*;
 import org.picocontainer.DefaultPicoContainer;
 import org.picocontainer.MutablePicoContainer;
@@ -46,21 +51,54 @@ public class ApplicationConfig {
     private final MutablePicoContainer container;
 
     public ApplicationConfig() {
+        this(null);
+    }
+
+    /**
+     * Configuration dont le catalogue est lu dans un autre service.
+     *
+     * @param restaurantRepository dépôt des restaurants à utiliser, ou {@code null} pour le dépôt en mémoire
+     */
+    public ApplicationConfig(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, null);
+    }
+
+    /**
+     * Configuration dont le catalogue et ses créneaux de livraison sont lus dans un autre service.
+     *
+     * @param restaurantRepository dépôt des restaurants à utiliser, ou {@code null} pour le dépôt en mémoire
+     * @param timeSlotRepository   dépôt des créneaux à utiliser, ou {@code null} pour le dépôt en mémoire
+     */
+    public ApplicationConfig(RestaurantRepository restaurantRepository, TimeSlotRepository timeSlotRepository) {
         this.container = new DefaultPicoContainer(new Caching());
-        configure();
+        configure(restaurantRepository, timeSlotRepository);
     }
 
     /**
      * Configure l'injection de dépendances.
      * Enregistre les implementations concrètes pour les interfaces.
      */
-    private void configure() {
+    private void configure(RestaurantRepository restaurantRepository, TimeSlotRepository timeSlotRepository) {
         // Repositories - using caching behavior for singleton instances
         container.addComponent(UserRepository.class, InMemoryUserRepository.class);
-        container.addComponent(RestaurantRepository.class, InMemoryRestaurantRepository.class);
+        if (restaurantRepository != null) {
+            container.addComponent(RestaurantRepository.class, restaurantRepository);
+        } else {
+            container.addComponent(RestaurantRepository.class, InMemoryRestaurantRepository.class);
+        }
         container.addComponent(OrderRepository.class, InMemoryOrderRepository.class);
         container.addComponent(CartRepository.class, InMemoryCartRepository.class);
-        container.addComponent(TimeSlotRepository.class, InMemoryTimeSlotRepository.class);
+        if (timeSlotRepository != null) {
+            container.addComponent(TimeSlotRepository.class, timeSlotRepository);
+        } else {
+            container.addComponent(TimeSlotRepository.class, InMemoryTimeSlotRepository.class);
+        }
+
+        // Journal des modifications du catalogue, suivi par les réplicas (CatalogChangePublisher)
+        container.addComponent(CatalogChangeLog.class, new CatalogChangeLog());
+
+        // Journal des commandes, suivi par les tableaux de bord des restaurants (OrderEventPublisher)
+        container.addComponent(OrderEventLog.class, new OrderEventLog());
 
         // Services
         container.addComponent(PhotoAnalysisService.class, MockAIPhotoAnalysisService.class);
@@ -68,7 +106,10 @@ public class ApplicationConfig {
         container.addComponent(DeliveryService.class);
 
         // Use Cases
+        container.addComponent(RestaurantDtoCache.class);
         container.addComponent(BrowseRestaurantsUseCase.class);
+        container.addComponent(GetRestaurantDetailsUseCase.class);
+        container.addComponent(GetDishesUseCase.class);
         container.addComponent(PlaceOrderUseCase.class);
         container.addComponent(GetOrderUseCase.class);
 
@@ -88,6 +129,7 @@ public class ApplicationConfig {
         container.addComponent(CancelCartUseCase.class);
         container.addComponent(RemoveDishFromCartUseCase.class);
         container.addComponent(UpdateCartItemUseCase.class);
+        container.addComponent(BatchCartUseCase.class);
 
         // Dish Management Use Cases - Restaurant Administration
         container.addComponent(AddDishToRestaurantUseCase.class);
@@ -0,0 +1,98 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.feed;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.CatalogEventDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantSnapshotDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
+import fr.unice.polytech.sophiatecheats.domain.services.CatalogChangePublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Journal des modifications du catalogue, lu par les réplicas du service consommateur.
+ *
+ * <p>Les {@value #CAPACITY_PROPERTY} derniers événements (4096 par défaut) sont gardés dans un
+ * {@link EventRing} ; chaque événement reçoit une séquence strictement croissante et une copie
+ * de l'état du restaurant prise au moment de la publication. Un réplica qui demande une
+ * séquence sortie du tampon, ou postérieure à la dernière émise, doit repartir d'un instantané.</p>
+ *
+ * <p>Les séquences repartent de 1 à chaque démarrage : l'{@link #epoch() époque}, tirée au
+ * hasard à la création du journal, distingue deux journaux successifs. Un réplica présente
+ * celle de son instantané pour reprendre le flux ; si elle a changé, il repart d'un instantané
+ * même si sa séquence existe dans le nouveau journal.</p>
+ */
+public class CatalogChangeLog implements CatalogChangePublisher {
+
+    public static final String CAPACITY_PROPERTY = "ste.catalog.feed.capacity";
+
+    /**
+     * @param lastSequence   dernière séquence émise
+     * @param oldestSequence plus ancienne séquence encore lisible dans le tampon
+     */
+    public record Stats(long lastSequence, long oldestSequence, int retained, int waiting) {
+    }
+
+    private final EventRing<CatalogEventDto> events;
+    private final LongSupplier wallClock;
+    private final String epoch = UUID.randomUUID().toString();
+
+    /**
+     * Par défaut : {@value #CAPACITY_PROPERTY} = 4096.
+     */
+    public CatalogChangeLog() {
+        this(Integer.getInteger(CAPACITY_PROPERTY, 4096), System::currentTimeMillis);
+    }
+
+    public CatalogChangeLog(int capacity, LongSupplier wallClock) {
+        this.events = new EventRing<>(capacity);
+        this.wallClock = wallClock;
+    }
+
+    @Override
+    public void publish(CatalogChangeType type, UUID restaurantId, Restaurant restaurant) {
+        events.append(sequence -> new CatalogEventDto(sequence, type, restaurantId, wallClock.getAsLong(),
+                restaurant != null ? RestaurantSnapshotDto.fromEntity(restaurant) : null));
+    }
+
+    /**
+     * Identifiant de ce journal, différent à chaque démarrage du service.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    public long lastSequence() {
+        return events.lastSequence();
+    }
+
+    /**
+     * Événements qui suivent {@code after}, dans l'ordre.
+     *
+     * @return au plus {@code max} événements, ou {@code null} si certains ne sont plus dans le
+     * tampon (le lecteur doit repartir d'un instantané)
+     */
+    public List<CatalogEventDto> eventsAfter(long after, int max) {
+        return events.eventsAfter(after, max);
+    }
+
+    /**
+     * Comme {@link #eventsAfter(long, int)}, en attendant au plus {@code maxWait} qu'un événement arrive.
+     *
+     * @return une liste vide si rien n'a été publié pendant l'attente
+     */
+    public List<CatalogEventDto> awaitEventsAfter(long after, int max, Duration maxWait) throws InterruptedException {
+        return events.awaitEventsAfter(after, max, maxWait);
+    }
+
+    public Stats stats() {
+        EventRing.State state = events.state();
+        return new Stats(state.lastSequence(), state.oldestSequence(), state.retained(), state.waiting());
+    }
+
+    public long now() {
+        return wallClock.getAsLong();
+    }
+}
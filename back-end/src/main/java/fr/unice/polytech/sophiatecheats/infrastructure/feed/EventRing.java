@@ -0,0 +1,130 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.feed;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Tampon circulaire d'événements numérotés à partir de 1, commun à {@link CatalogChangeLog}
+ * et aux canaux de {@link OrderEventLog} : ajout sous verrou, lecture de ce qui suit une
+ * séquence et attente bornée d'un nouvel événement.
+ *
+ * <p>Un lecteur dont la séquence est sortie du tampon, ou postérieure à la dernière émise,
+ * reçoit {@code null} : il doit repartir d'un état complet.</p>
+ */
+final class EventRing<E> {
+
+    /**
+     * État du tampon lu sous un même verrou.
+     *
+     * @param oldestSequence plus ancienne séquence encore lisible
+     */
+    record State(long lastSequence, long oldestSequence, int retained, int waiting) {
+    }
+
+    private final Object[] events;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long lastSequence;
+    private int waiting;
+
+    EventRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité du journal doit être positive");
+        }
+        this.events = new Object[capacity];
+    }
+
+    /**
+     * Ajoute l'événement créé pour la séquence suivante. La fabrique est appelée sous le
+     * verrou : l'ordre des séquences suit celui des états qu'elle copie.
+     */
+    E append(LongFunction<E> factory) {
+        lock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            E event = factory.apply(sequence);
+            events[(int) (sequence % events.length)] = event;
+            lastSequence = sequence;
+            if (waiting > 0) {
+                appended.signalAll();
+            }
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    State state() {
+        lock.lock();
+        try {
+            return new State(lastSequence, oldestSequence(), (int) Math.min(lastSequence, events.length), waiting);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return au plus {@code max} événements qui suivent {@code after}, ou {@code null} si
+     * certains ne sont plus dans le tampon
+     */
+    List<E> eventsAfter(long after, int max) {
+        lock.lock();
+        try {
+            return read(after, max);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Comme {@link #eventsAfter(long, int)}, en attendant au plus {@code maxWait} qu'un événement arrive.
+     *
+     * @return une liste vide si rien n'a été ajouté pendant l'attente
+     */
+    List<E> awaitEventsAfter(long after, int max, Duration maxWait) throws InterruptedException {
+        long remaining = maxWait.toNanos();
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (lastSequence <= after && remaining > 0) {
+                    remaining = appended.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+            return read(after, max);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> read(long after, int max) {
+        if (after < oldestSequence() - 1 || after > lastSequence) {
+            return null;
+        }
+        List<E> result = new ArrayList<>((int) Math.min(max, lastSequence - after));
+        for (long sequence = after + 1; sequence <= lastSequence && result.size() < max; sequence++) {
+            result.add((E) events[(int) (sequence % events.length)]);
+        }
+        return result;
+    }
+
+    private long oldestSequence() {
+        return Math.max(1, lastSequence - events.length + 1);
+    }
+}
@@ -0,0 +1,122 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.feed;
+
+import fr.unice.polytech.sophiatecheats.application.dto.order.OrderEventDto;
+import fr.unice.polytech.sophiatecheats.application.dto.order.RestaurantOrderDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.services.OrderEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Journal des commandes visibles par les restaurants (payées, confirmées ou en préparation),
+ * lu par les tableaux de bord via {@code GET /restaurants/{id}/orders/stream}. Une commande
+ * visible qui cesse de l'être (expirée, par exemple) est publiée une dernière fois, marquée
+ * {@link OrderEventDto#removed() retirée}.
+ *
+ * <p>Chaque restaurant a son propre canal : un {@link EventRing} des
+ * {@value #CAPACITY_PROPERTY} derniers événements (256 par défaut), numérotés à partir de 1, et
+ * sa propre condition d'attente. Une commande ne réveille donc que les tableaux de bord de son
+ * restaurant, et la mémoire reste bornée quel que soit le nombre d'abonnés : un lecteur trop
+ * lent n'a pas de file à lui, il est dépassé par le tampon et doit repartir de la liste complète.</p>
+ *
+ * <p>Les séquences repartent de 1 à chaque démarrage : l'{@link #epoch() époque}, tirée au
+ * hasard à la création du journal, accompagne chaque position transmise aux tableaux de bord.
+ * Une position d'une autre époque n'est pas reprise.</p>
+ */
+public class OrderEventLog implements OrderEventPublisher {
+
+    public static final String CAPACITY_PROPERTY = "ste.orders.stream.capacity";
+
+    private final int capacity;
+    private final Map<UUID, EventRing<OrderEventDto>> channels = new ConcurrentHashMap<>();
+    // Commandes actuellement sur un tableau de bord, pour publier leur sortie
+    private final Set<String> visibleOrderIds = ConcurrentHashMap.newKeySet();
+    private final String epoch = UUID.randomUUID().toString();
+
+    /**
+     * Par défaut : {@value #CAPACITY_PROPERTY} = 256.
+     */
+    public OrderEventLog() {
+        this(Integer.getInteger(CAPACITY_PROPERTY, 256));
+    }
+
+    public OrderEventLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité du journal doit être positive");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void publish(Order order) {
+        if (order.getRestaurant() == null || order.getRestaurant().getId() == null) {
+            return;
+        }
+        boolean visible = order.getStatus().isVisibleToRestaurant();
+        if (visible) {
+            visibleOrderIds.add(order.getOrderId());
+        } else if (!visibleOrderIds.remove(order.getOrderId())) {
+            // Jamais montrée au restaurant : rien à retirer
+            return;
+        }
+        // Copie prise sous le verrou du canal : l'ordre des séquences suit celui des états copiés
+        channel(order.getRestaurant().getId())
+                .append(sequence -> new OrderEventDto(sequence, RestaurantOrderDto.fromEntity(order), !visible));
+    }
+
+    /**
+     * Identifiant de ce journal, différent à chaque démarrage du service.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Dernière séquence émise pour le restaurant, {@code 0} si aucune.
+     */
+    public long lastSequence(UUID restaurantId) {
+        EventRing<OrderEventDto> channel = channels.get(restaurantId);
+        return channel == null ? 0 : channel.lastSequence();
+    }
+
+    /**
+     * Événements du restaurant qui suivent {@code after}, dans l'ordre.
+     *
+     * @return au plus {@code max} événements, ou {@code null} si certains ne sont plus dans le
+     * tampon (le lecteur doit repartir de la liste complète)
+     */
+    public List<OrderEventDto> eventsAfter(UUID restaurantId, long after, int max) {
+        return channel(restaurantId).eventsAfter(after, max);
+    }
+
+    /**
+     * Comme {@link #eventsAfter(UUID, long, int)}, en attendant au plus {@code maxWait} qu'un
+     * événement du restaurant arrive.
+     *
+     * @return une liste vide si rien n'a été publié pendant l'attente
+     */
+    public List<OrderEventDto> awaitEventsAfter(UUID restaurantId, long after, int max, Duration maxWait)
+            throws InterruptedException {
+        return channel(restaurantId).awaitEventsAfter(after, max, maxWait);
+    }
+
+    /**
+     * Nombre de lecteurs en attente d'un événement, tous restaurants confondus.
+     */
+    public int waiting() {
+        int waiting = 0;
+        for (EventRing<OrderEventDto> channel : channels.values()) {
+            waiting += channel.state().waiting();
+        }
+        return waiting;
+    }
+
+    private EventRing<OrderEventDto> channel(UUID restaurantId) {
+        return channels.computeIfAbsent(restaurantId, id -> new EventRing<>(capacity));
+    }
+}
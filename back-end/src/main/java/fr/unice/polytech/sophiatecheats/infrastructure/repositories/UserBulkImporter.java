@@ -0,0 +1,373 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Import en masse d'utilisateurs depuis un fichier CSV ou NDJSON, pour charger la population
+ * du campus (quelques dizaines de milliers de comptes) dans un {@link UserRepository}.
+ *
+ * <p>Le fichier est lu en flux par le thread appelant et découpé en lots de
+ * {@value #BATCH_SIZE_PROPERTY} lignes (1000 par défaut), analysés et sauvegardés en parallèle
+ * par {@value #PARALLELISM_PROPERTY} threads (le nombre de cœurs par défaut). Au plus deux lots
+ * par thread sont en attente : le fichier n'est jamais chargé en entier.</p>
+ *
+ * <ul>
+ *     <li><strong>CSV</strong> : une ligne d'en-tête nommant les colonnes {@code email},
+ *     {@code name} et, en option, {@code id} et {@code studentCredit} (dans n'importe quel
+ *     ordre, séparées par des virgules, champs entre guillemets acceptés).</li>
+ *     <li><strong>NDJSON</strong> : un objet JSON par ligne avec les mêmes champs.</li>
+ * </ul>
+ *
+ * <p>Une ligne invalide (email ou nom manquant, identifiant ou crédit illisible) est rejetée
+ * sans interrompre l'import ; un email déjà connu, à la casse près, est compté comme doublon
+ * et ignoré. Jusqu'à 20 erreurs sont gardées dans le {@link Report}.</p>
+ */
+public class UserBulkImporter {
+
+    public static final String FILE_PROPERTY = "ste.users.import";
+    public static final String BATCH_SIZE_PROPERTY = "ste.users.import.batchSize";
+    public static final String PARALLELISM_PROPERTY = "ste.users.import.parallelism";
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * Format du fichier importé.
+     */
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * @return le format déduit de l'extension : {@code .ndjson}, {@code .jsonl} et
+         * {@code .json} pour NDJSON, CSV sinon
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json") ? NDJSON : CSV;
+        }
+    }
+
+    /**
+     * Bilan d'un import.
+     *
+     * @param imported   utilisateurs sauvegardés
+     * @param duplicates lignes ignorées car leur email existait déjà
+     * @param rejected   lignes invalides
+     * @param errors     au plus 20 erreurs, avec leur numéro de ligne
+     * @param elapsed    durée de l'import
+     */
+    public record Report(long imported, long duplicates, long rejected, List<String> errors, Duration elapsed) {
+
+        public double usersPerSecond() {
+            return elapsed.isZero() ? imported : imported * 1_000_000_000.0 / elapsed.toNanos();
+        }
+    }
+
+    private final UserRepository repository;
+    private final int batchSize;
+    private final int parallelism;
+
+    public UserBulkImporter(UserRepository repository) {
+        this(repository,
+                Integer.getInteger(BATCH_SIZE_PROPERTY, 1_000),
+                Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public UserBulkImporter(UserRepository repository, int batchSize, int parallelism) {
+        if (batchSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("batchSize and parallelism must be positive");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Importe le fichier, au format déduit de son extension.
+     */
+    public Report importFile(Path file) throws IOException {
+        return importFile(file, Format.of(file));
+    }
+
+    public Report importFile(Path file, Format format) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, format);
+        }
+    }
+
+    /**
+     * Importe les utilisateurs lus dans {@code source}, qui n'est pas fermé.
+     */
+    public Report importFrom(Reader source, Format format) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        Counters counters = new Counters();
+
+        LineParser parser;
+        int lineNumber = 0;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                return counters.report(start);
+            }
+            parser = new CsvLineParser(header);
+        } else {
+            parser = UserBulkImporter::parseJsonLine;
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        // Limite les lots lus en avance : le fichier n'est jamais chargé en entier
+        Semaphore pending = new Semaphore(parallelism * 2);
+        List<Future<?>> submitted = new ArrayList<>();
+        try {
+            List<String> batch = new ArrayList<>(batchSize);
+            int batchStart = lineNumber + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    submitted.add(submit(workers, pending, parser, batch, batchStart, counters));
+                    collectDone(submitted);
+                    batch = new ArrayList<>(batchSize);
+                    batchStart = lineNumber + 1;
+                }
+            }
+            if (!batch.isEmpty()) {
+                submitted.add(submit(workers, pending, parser, batch, batchStart, counters));
+            }
+            for (Future<?> future : submitted) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("User import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("User import failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        return counters.report(start);
+    }
+
+    /**
+     * Retire les lots terminés, en remontant l'échec éventuel de l'un d'eux.
+     */
+    private static void collectDone(List<Future<?>> submitted) throws InterruptedException, ExecutionException {
+        Iterator<Future<?>> iterator = submitted.iterator();
+        while (iterator.hasNext()) {
+            Future<?> future = iterator.next();
+            if (future.isDone()) {
+                future.get();
+                iterator.remove();
+            }
+        }
+    }
+
+    private Future<?> submit(ExecutorService workers, Semaphore pending, LineParser parser, List<String> lines,
+                             int firstLine, Counters counters) throws InterruptedException {
+        pending.acquire();
+        try {
+            return workers.submit(() -> {
+                try {
+                    importBatch(parser, lines, firstLine, counters);
+                } finally {
+                    pending.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.release();
+            throw e;
+        }
+    }
+
+    private void importBatch(LineParser parser, List<String> lines, int firstLine, Counters counters) {
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            int lineNumber = firstLine + i;
+            User user;
+            try {
+                user = parser.parse(line);
+            } catch (IllegalArgumentException | IOException e) {
+                counters.reject(lineNumber, e.getMessage());
+                continue;
+            }
+            if (repository.saveIfEmailAvailable(user)) {
+                counters.imported.increment();
+            } else {
+                counters.duplicates.increment();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+        User parse(String line) throws IOException;
+    }
+
+    private static User parseJsonLine(String line) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        try (JsonParser parser = JSON.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                } else if (value != JsonToken.VALUE_NULL) {
+                    fields.put(name, parser.getText());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("malformed JSON: " + e.getOriginalMessage());
+        }
+        return toUser(fields.get("id"), fields.get("email"), fields.get("name"), fields.get("studentCredit"));
+    }
+
+    private static User toUser(String id, String email, String name, String credit) {
+        if (UserRepository.normalizeEmail(email) == null || !email.contains("@")) {
+            throw new IllegalArgumentException("missing or invalid email");
+        }
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("missing name");
+        }
+        BigDecimal studentCredit = credit == null || credit.isBlank() ? BigDecimal.ZERO : new BigDecimal(credit.trim());
+        if (studentCredit.signum() < 0) {
+            throw new IllegalArgumentException("negative studentCredit");
+        }
+        UUID userId = id == null || id.isBlank() ? UUID.randomUUID() : UUID.fromString(id.trim());
+        return new User(userId, email.trim(), name.trim(), studentCredit);
+    }
+
+    /**
+     * Lignes CSV dont les colonnes sont nommées par l'en-tête.
+     */
+    private static final class CsvLineParser implements LineParser {
+
+        private final int id;
+        private final int email;
+        private final int name;
+        private final int credit;
+
+        CsvLineParser(String header) {
+            List<String> columns = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            this.id = indexOf(columns, "id");
+            this.email = indexOf(columns, "email");
+            this.name = indexOf(columns, "name");
+            this.credit = indexOf(columns, "studentcredit");
+            if (email < 0 || name < 0) {
+                throw new IllegalArgumentException("CSV header must name the email and name columns: " + header);
+            }
+        }
+
+        @Override
+        public User parse(String line) {
+            List<String> values = splitCsv(line);
+            return toUser(get(values, id), get(values, email), get(values, name), get(values, credit));
+        }
+
+        private static int indexOf(List<String> columns, String column) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).trim().equalsIgnoreCase(column)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static String get(List<String> values, int index) {
+            return index >= 0 && index < values.size() ? values.get(index) : null;
+        }
+
+        private static List<String> splitCsv(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            values.add(current.toString());
+            return values;
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final Queue<String> errors = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger reportedErrors = new AtomicInteger();
+
+        void reject(int lineNumber, String reason) {
+            rejected.increment();
+            if (reportedErrors.getAndIncrement() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+
+        Report report(long start) {
+            List<String> sortedErrors = errors.stream()
+                    .sorted((a, b) -> Integer.compare(lineOf(a), lineOf(b)))
+                    .toList();
+            return new Report(imported.sum(), duplicates.sum(), rejected.sum(), sortedErrors,
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        private static int lineOf(String error) {
+            return Integer.parseInt(error.substring("line ".length(), error.indexOf(':')));
+        }
+    }
+}
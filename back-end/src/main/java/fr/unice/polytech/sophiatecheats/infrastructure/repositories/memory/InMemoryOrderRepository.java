@@ -3,10 +3,18 @@ package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
 import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
 import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
 import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository.Position;
+import fr.unice.polytech.sophiatecheats.domain.services.OrderEventPublisher;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * In-memory implementation of OrderRepository for MVP.
@@ -16,12 +24,69 @@ public class InMemoryOrderRepository extends InMemoryRepository<Order, String> i
     private final fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository restaurantRepository;
     private final fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository userRepository;
 
+    /**
+     * Reçoit chaque commande sauvegardée (flux des tableaux de bord des restaurants).
+     */
+    private final OrderEventPublisher eventPublisher;
+
+    // Index secondaires, mis à jour à chaque sauvegarde et suppression : une recherche ne lit que
+    // les commandes qu'elle renvoie. Leur état courant est revérifié à la lecture, si bien qu'une
+    // commande modifiée sans être sauvegardée n'est jamais renvoyée à tort.
+
+    /**
+     * Commandes de chaque restaurant triées chronologiquement, pour les lectures par page.
+     */
+    private final Map<UUID, ConcurrentSkipListMap<Position, Order>> ordersByRestaurant = new ConcurrentHashMap<>();
+
+    /**
+     * Commandes visibles ({@link OrderStatus#isVisibleToRestaurant()}) de chaque restaurant, triées
+     * chronologiquement : une page du tableau de bord ne lit que les commandes qu'elle affiche.
+     */
+    private final Map<UUID, ConcurrentSkipListMap<Position, Order>> visibleOrdersByRestaurant = new ConcurrentHashMap<>();
+
+    /**
+     * Commandes par statut, pour le job d'expiration.
+     */
+    private final Map<OrderStatus, Map<String, Order>> ordersByStatus = newStatusIndex();
+
+    /**
+     * Commandes actives ({@link OrderStatus#isActive()}) de chaque client : en général aucune ou une seule.
+     */
+    private final Map<UUID, Map<String, Order>> activeOrdersByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Clés sous lesquelles chaque commande est indexée, pour la retirer des index qui ne la
+     * concernent plus si son restaurant, sa date, son client ou son statut changent entre deux
+     * sauvegardes.
+     */
+    private final Map<String, IndexKey> indexKeys = new ConcurrentHashMap<>();
+
+    private record IndexKey(UUID restaurantId, Position position, UUID userId, OrderStatus status) {
+
+        static IndexKey of(Order order) {
+            return new IndexKey(
+                    order.getRestaurant() == null ? null : order.getRestaurant().getId(),
+                    Position.of(order),
+                    order.getUser() == null ? null : order.getUser().getId(),
+                    order.getStatus());
+        }
+
+        boolean active() {
+            return userId != null && status != null && status.isActive();
+        }
+
+        boolean visible() {
+            return restaurantId != null && status != null && status.isVisibleToRestaurant();
+        }
+    }
+
     /**
      * Constructeur par défaut pour les tests (sans données mockées).
      */
     public InMemoryOrderRepository() {
         this.restaurantRepository = null;
         this.userRepository = null;
+        this.eventPublisher = OrderEventPublisher.NONE;
         // Pas d'initialisation de données mockées pour les tests
     }
 
@@ -31,8 +96,20 @@ public class InMemoryOrderRepository extends InMemoryRepository<Order, String> i
     public InMemoryOrderRepository(
             fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository restaurantRepository,
             fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository userRepository) {
+        this(restaurantRepository, userRepository, OrderEventPublisher.NONE);
+    }
+
+    /**
+     * Comme {@link #InMemoryOrderRepository(fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository,
+     * fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository)}, en publiant chaque commande sauvegardée.
+     */
+    public InMemoryOrderRepository(
+            fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository restaurantRepository,
+            fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository userRepository,
+            OrderEventPublisher eventPublisher) {
         this.restaurantRepository = restaurantRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
         initializeMockOrders();
     }
 
@@ -107,11 +184,109 @@ public class InMemoryOrderRepository extends InMemoryRepository<Order, String> i
         return order.getOrderId();
     }
 
+    @Override
+    public Order save(Order order) {
+        Order saved = super.save(order);
+        IndexKey key = IndexKey.of(order);
+        // Les mises à jour d'une même commande sont sérialisées par compute
+        indexKeys.compute(order.getOrderId(), (orderId, previous) -> {
+            if (previous != null) {
+                unindex(orderId, previous, key);
+            }
+            index(orderId, key, order);
+            return key;
+        });
+        eventPublisher.publish(order);
+        return saved;
+    }
+
+    @Override
+    public boolean deleteById(String orderId) {
+        boolean removed = super.deleteById(orderId);
+        if (orderId != null) {
+            indexKeys.computeIfPresent(orderId, (id, key) -> {
+                unindex(id, key, null);
+                return null;
+            });
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        indexKeys.clear();
+        ordersByRestaurant.clear();
+        visibleOrdersByRestaurant.clear();
+        ordersByStatus.values().forEach(Map::clear);
+        activeOrdersByUser.clear();
+    }
+
+    private void index(String orderId, IndexKey key, Order order) {
+        if (key.restaurantId() != null) {
+            ordersByRestaurant.computeIfAbsent(key.restaurantId(), id -> new ConcurrentSkipListMap<>())
+                    .put(key.position(), order);
+        }
+        if (key.visible()) {
+            visibleOrdersByRestaurant.computeIfAbsent(key.restaurantId(), id -> new ConcurrentSkipListMap<>())
+                    .put(key.position(), order);
+        }
+        if (key.status() != null) {
+            ordersByStatus.get(key.status()).put(orderId, order);
+        }
+        if (key.active()) {
+            activeOrdersByUser.computeIfAbsent(key.userId(), id -> new ConcurrentHashMap<>()).put(orderId, order);
+        }
+    }
+
+    /**
+     * Retire la commande des index de {@code previous} qui ne valent plus pour {@code current}
+     * ({@code null} : de tous).
+     */
+    private void unindex(String orderId, IndexKey previous, IndexKey current) {
+        if (previous.restaurantId() != null && (current == null
+                || !previous.restaurantId().equals(current.restaurantId())
+                || !previous.position().equals(current.position()))) {
+            ConcurrentSkipListMap<Position, Order> orders = ordersByRestaurant.get(previous.restaurantId());
+            if (orders != null) {
+                orders.remove(previous.position());
+            }
+        }
+        if (previous.visible() && (current == null || !current.visible()
+                || !previous.restaurantId().equals(current.restaurantId())
+                || !previous.position().equals(current.position()))) {
+            ConcurrentSkipListMap<Position, Order> orders = visibleOrdersByRestaurant.get(previous.restaurantId());
+            if (orders != null) {
+                orders.remove(previous.position());
+            }
+        }
+        if (previous.status() != null && (current == null || previous.status() != current.status())) {
+            ordersByStatus.get(previous.status()).remove(orderId);
+        }
+        if (previous.active() && (current == null || !current.active() || !previous.userId().equals(current.userId()))) {
+            activeOrdersByUser.computeIfPresent(previous.userId(), (userId, orders) -> {
+                orders.remove(orderId);
+                return orders.isEmpty() ? null : orders;
+            });
+        }
+    }
+
+    private static Map<OrderStatus, Map<String, Order>> newStatusIndex() {
+        Map<OrderStatus, Map<String, Order>> index = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            index.put(status, new ConcurrentHashMap<>());
+        }
+        return index;
+    }
+
     @Override
     public boolean existsActiveOrderByUserId(UUID userId) {
-        for (Order order : storage.values()) {
-            if (order.getUser().getId().equals(userId) &&
-                    (order.getStatus() == OrderStatus.PENDING || order.getStatus() == OrderStatus.CREATED || order.getStatus() == OrderStatus.PAID)) {
+        Map<String, Order> orders = userId == null ? null : activeOrdersByUser.get(userId);
+        if (orders == null) {
+            return false;
+        }
+        for (Order order : orders.values()) {
+            if (order.getStatus() != null && order.getStatus().isActive()) {
                 return true;
             }
         }
@@ -120,15 +295,36 @@ public class InMemoryOrderRepository extends InMemoryRepository<Order, String> i
 
     @Override
     public List<Order> findAllByStatus(OrderStatus status) {
-        return storage.values().stream()
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return ordersByStatus.get(status).values().stream()
                 .filter(order -> order.getStatus() == status)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Order> findAllByRestaurantId(UUID restaurantId) {
-        return storage.values().stream()
-                .filter(order -> order.getRestaurant().getId().equals(restaurantId))
-                .collect(Collectors.toList());
+        ConcurrentSkipListMap<Position, Order> orders = restaurantId == null ? null : ordersByRestaurant.get(restaurantId);
+        return orders == null ? new ArrayList<>() : new ArrayList<>(orders.values());
+    }
+
+    @Override
+    public Stream<Order> streamByRestaurantId(UUID restaurantId, Position after) {
+        ConcurrentSkipListMap<Position, Order> orders = ordersByRestaurant.get(restaurantId);
+        if (orders == null) {
+            return Stream.empty();
+        }
+        return (after == null ? orders : orders.tailMap(after, false)).values().stream();
+    }
+
+    @Override
+    public Stream<Order> streamVisibleByRestaurantId(UUID restaurantId, Position after) {
+        ConcurrentSkipListMap<Position, Order> orders = visibleOrdersByRestaurant.get(restaurantId);
+        if (orders == null) {
+            return Stream.empty();
+        }
+        return (after == null ? orders : orders.tailMap(after, false)).values().stream()
+                .filter(order -> order.getStatus() != null && order.getStatus().isVisibleToRestaurant());
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.CatalogVersion;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
@@ -10,9 +11,20 @@ import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository
 import java.math.BigDecimal;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
 
 /**
  * In-memory implementation of RestaurantRepository for MVP.
@@ -25,6 +37,38 @@ public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant,
 
     // Shared static storage across all instances (all microservices)
     private static final java.util.concurrent.ConcurrentHashMap<UUID, Restaurant> SHARED_STORAGE = new java.util.concurrent.ConcurrentHashMap<>();
+    // Identifiants triés du stockage partagé, pour les lectures par page
+    private static final ConcurrentSkipListSet<UUID> SHARED_SORTED_IDS = new ConcurrentSkipListSet<>();
+
+    // Index secondaires du stockage partagé, mis à jour à chaque sauvegarde et suppression :
+    // une recherche ne lit que les restaurants qu'elle renvoie, sans parcourir les menus
+    private static final Map<DishCategory, Set<UUID>> SHARED_IDS_BY_CATEGORY = newIndex(DishCategory.class);
+    private static final Map<DietType, Set<UUID>> SHARED_IDS_BY_DIET = newIndex(DietType.class);
+    private static final Set<UUID> SHARED_OPEN_IDS = ConcurrentHashMap.newKeySet();
+    private static final Set<UUID> SHARED_CLOSED_IDS = ConcurrentHashMap.newKeySet();
+
+    // Restaurant de chaque plat du catalogue, pour retrouver un plat sans parcourir les menus
+    private static final ConcurrentHashMap<UUID, UUID> SHARED_RESTAURANT_ID_BY_DISH = new ConcurrentHashMap<>();
+
+    // Clés sous lesquelles chaque restaurant est indexé, pour ne retirer que celles qui changent
+    private static final ConcurrentHashMap<UUID, IndexKeys> SHARED_INDEX_KEYS = new ConcurrentHashMap<>();
+
+    private record IndexKeys(Set<DishCategory> categories, Set<DietType> dietTypes, Set<UUID> dishIds, boolean open) {
+
+        static IndexKeys of(Restaurant restaurant) {
+            Set<DishCategory> categories = EnumSet.noneOf(DishCategory.class);
+            Set<DietType> dietTypes = EnumSet.noneOf(DietType.class);
+            Set<UUID> dishIds = new HashSet<>();
+            for (Dish dish : restaurant.getMenu()) {
+                if (dish.getCategory() != null) {
+                    categories.add(dish.getCategory());
+                }
+                dietTypes.addAll(dish.getDietTypes());
+                dishIds.add(dish.getId());
+            }
+            return new IndexKeys(categories, dietTypes, dishIds, restaurant.isOpen());
+        }
+    }
     private static volatile boolean initialized = false;
 
     public InMemoryRestaurantRepository() {
@@ -73,29 +117,103 @@ public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant,
 
     @Override
     public List<Restaurant> findByAvailability(boolean isOpen) {
-        return findAll().stream()
-                .filter(restaurant -> restaurant.isOpen() == isOpen)
-                .toList();
+        return resolve(isOpen ? SHARED_OPEN_IDS : SHARED_CLOSED_IDS);
     }
 
     @Override
     public List<Restaurant> findByDishCategory(DishCategory category) {
-        return findAll().stream()
-                .filter(restaurant -> hasMenuCategory(restaurant, category))
-                .toList();
+        return resolve(SHARED_IDS_BY_CATEGORY.get(category));
     }
 
     @Override
     public List<Restaurant> findOpenByDishCategory(DishCategory category) {
-        return findAll().stream()
-                .filter(Restaurant::isOpen)
-                .filter(restaurant -> hasMenuCategory(restaurant, category))
+        // Parcours du plus petit des deux ensembles
+        Set<UUID> byCategory = SHARED_IDS_BY_CATEGORY.get(category);
+        boolean categoryFirst = byCategory.size() <= SHARED_OPEN_IDS.size();
+        Set<UUID> scanned = categoryFirst ? byCategory : SHARED_OPEN_IDS;
+        Set<UUID> probed = categoryFirst ? SHARED_OPEN_IDS : byCategory;
+        return scanned.stream()
+                .filter(probed::contains)
+                .map(storage::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
-    private boolean hasMenuCategory(Restaurant restaurant, DishCategory category) {
-        return restaurant.getMenu().stream()
-                .anyMatch(dish -> dish.getCategory() == category);
+    @Override
+    public List<Restaurant> findByDietType(DietType dietType) {
+        return resolve(SHARED_IDS_BY_DIET.get(dietType));
+    }
+
+    @Override
+    public Optional<DishWithRestaurant> findDishWithRestaurant(UUID dishId) {
+        UUID restaurantId = dishId == null ? null : SHARED_RESTAURANT_ID_BY_DISH.get(dishId);
+        Restaurant restaurant = restaurantId == null ? null : storage.get(restaurantId);
+        if (restaurant == null) {
+            return Optional.empty();
+        }
+        // Le menu du restaurant fait foi : un plat retiré depuis la dernière sauvegarde n'est pas renvoyé
+        return restaurant.findDishById(dishId).map(dish -> new DishWithRestaurant(dish, restaurant));
+    }
+
+    @Override
+    public Map<UUID, DishWithRestaurant> findDishesWithRestaurants(Collection<UUID> dishIds) {
+        Map<UUID, DishWithRestaurant> found = new HashMap<>();
+        for (UUID dishId : dishIds) {
+            findDishWithRestaurant(dishId).ifPresent(entry -> found.put(dishId, entry));
+        }
+        return found;
+    }
+
+    private List<Restaurant> resolve(Set<UUID> ids) {
+        // Un identifiant peut survivre brièvement à son restaurant : il est alors ignoré
+        return ids.stream()
+                .map(storage::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static <K extends Enum<K>> Map<K, Set<UUID>> newIndex(Class<K> keyType) {
+        Map<K, Set<UUID>> index = new EnumMap<>(keyType);
+        for (K key : keyType.getEnumConstants()) {
+            index.put(key, ConcurrentHashMap.newKeySet());
+        }
+        return index;
+    }
+
+    /**
+     * Met à jour les index secondaires avec l'état courant du restaurant (menu et ouverture).
+     * Les mises à jour d'un même restaurant sont sérialisées par {@link ConcurrentHashMap#compute}.
+     */
+    private static void index(Restaurant restaurant) {
+        IndexKeys keys = IndexKeys.of(restaurant);
+        UUID id = restaurant.getId();
+        SHARED_INDEX_KEYS.compute(id, (key, previous) -> {
+            if (previous != null) {
+                previous.categories().stream().filter(c -> !keys.categories().contains(c))
+                        .forEach(c -> SHARED_IDS_BY_CATEGORY.get(c).remove(id));
+                previous.dietTypes().stream().filter(d -> !keys.dietTypes().contains(d))
+                        .forEach(d -> SHARED_IDS_BY_DIET.get(d).remove(id));
+                previous.dishIds().stream().filter(d -> !keys.dishIds().contains(d))
+                        .forEach(d -> SHARED_RESTAURANT_ID_BY_DISH.remove(d, id));
+            }
+            keys.categories().forEach(c -> SHARED_IDS_BY_CATEGORY.get(c).add(id));
+            keys.dietTypes().forEach(d -> SHARED_IDS_BY_DIET.get(d).add(id));
+            keys.dishIds().forEach(d -> SHARED_RESTAURANT_ID_BY_DISH.put(d, id));
+            (keys.open() ? SHARED_OPEN_IDS : SHARED_CLOSED_IDS).add(id);
+            (keys.open() ? SHARED_CLOSED_IDS : SHARED_OPEN_IDS).remove(id);
+            return keys;
+        });
+    }
+
+    private static void unindex(UUID id) {
+        SHARED_INDEX_KEYS.computeIfPresent(id, (key, previous) -> {
+            previous.categories().forEach(c -> SHARED_IDS_BY_CATEGORY.get(c).remove(id));
+            previous.dietTypes().forEach(d -> SHARED_IDS_BY_DIET.get(d).remove(id));
+            previous.dishIds().forEach(d -> SHARED_RESTAURANT_ID_BY_DISH.remove(d, id));
+            SHARED_OPEN_IDS.remove(id);
+            SHARED_CLOSED_IDS.remove(id);
+            return null;
+        });
     }
 
 //    private void initializeWithSampleData() {
@@ -603,10 +721,28 @@ public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant,
     @Override
     public Restaurant save(Restaurant restaurant) {
         isDuplicate(restaurant);
+        restaurant.markModified();
         storage.put(restaurant.getId(), restaurant);
+        SHARED_SORTED_IDS.add(restaurant.getId());
+        index(restaurant);
         return restaurant;
     }
 
+    @Override
+    public Stream<Restaurant> streamOrderedById(UUID afterId) {
+        // Un identifiant peut survivre brièvement à son restaurant : il est alors ignoré
+        return (afterId == null ? SHARED_SORTED_IDS : SHARED_SORTED_IDS.tailSet(afterId, false)).stream()
+                .map(storage::get)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        SHARED_SORTED_IDS.clear();
+        SHARED_INDEX_KEYS.keySet().forEach(InMemoryRestaurantRepository::unindex);
+    }
+
     @Override
     public Optional<Restaurant> findById(UUID uuid) {
         return Optional.ofNullable(storage.get(uuid));
@@ -628,7 +764,11 @@ public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant,
     }
 
     public void delete(Restaurant restaurant) {
-        storage.remove(restaurant.getId());
+        if (storage.remove(restaurant.getId()) != null) {
+            SHARED_SORTED_IDS.remove(restaurant.getId());
+            unindex(restaurant.getId());
+            CatalogVersion.next();
+        }
     }
 
     public Restaurant findByName(String name) {
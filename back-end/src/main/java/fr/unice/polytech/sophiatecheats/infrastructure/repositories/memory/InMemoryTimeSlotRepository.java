@@ -4,99 +4,227 @@ import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
 import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Créneaux de livraison en mémoire, indexés par date puis par restaurant dans des
+ * {@link ConcurrentSkipListMap} triées par heure de début : les créneaux d'un restaurant pour
+ * une date, ou entre deux instants, se lisent en O(log n + k) sans parcourir tout le stockage.
+ *
+ * <p>Les dates passées sont purgées automatiquement (index et stockage) au premier accès du
+ * jour : leurs créneaux ne peuvent plus être réservés. La purge porte sur la date de début,
+ * un créneau à cheval sur minuit disparaît donc à minuit.</p>
+ */
 public class InMemoryTimeSlotRepository implements TimeSlotRepository {
 
     // Shared static storage across all instances (all microservices)
-    private static final Map<UUID, TimeSlot> SHARED_STORAGE = new java.util.concurrent.ConcurrentHashMap<>();
+    private static final Map<UUID, TimeSlot> SHARED_STORAGE = new ConcurrentHashMap<>();
+    private static final ConcurrentSkipListMap<LocalDate, Map<UUID, ConcurrentSkipListMap<SlotKey, TimeSlot>>> SHARED_SLOTS_BY_DATE =
+            new ConcurrentSkipListMap<>();
 
     private final Map<UUID, TimeSlot> storage = SHARED_STORAGE;
+    private final ConcurrentSkipListMap<LocalDate, Map<UUID, ConcurrentSkipListMap<SlotKey, TimeSlot>>> slotsByDate =
+            SHARED_SLOTS_BY_DATE;
+
+    /**
+     * Clé de tri d'un créneau : l'identifiant départage deux créneaux qui commencent à la même
+     * heure. Un identifiant {@code null} place la clé avant tous les créneaux de cette heure,
+     * pour servir de borne aux recherches par intervalle.
+     */
+    private record SlotKey(LocalDateTime startTime, UUID id) implements Comparable<SlotKey> {
+
+        private static final Comparator<SlotKey> ORDER = Comparator.comparing(SlotKey::startTime)
+                .thenComparing(SlotKey::id, Comparator.nullsFirst(Comparator.naturalOrder()));
 
-    public InMemoryTimeSlotRepository() {
-        System.out.println("🕒 [InMemoryTimeSlotRepository] Created with shared storage, current size: " + storage.size());
+        static SlotKey of(TimeSlot slot) {
+            return new SlotKey(slot.getStartTime(), slot.getId());
+        }
+
+        static SlotKey from(LocalDateTime time) {
+            return new SlotKey(time, null);
+        }
+
+        @Override
+        public int compareTo(SlotKey other) {
+            return ORDER.compare(this, other);
+        }
     }
 
     @Override
     public List<TimeSlot> findAvailableSlots(LocalDate date) {
-        return storage.values().stream()
-                .filter(slot -> slot.getStartTime().toLocalDate().equals(date))
-                .filter(TimeSlot::isAvailable)
-                .toList();
+        prunePastDates();
+        Map<UUID, ConcurrentSkipListMap<SlotKey, TimeSlot>> byRestaurant = slotsByDate.get(date);
+        if (byRestaurant == null) {
+            return List.of();
+        }
+        List<TimeSlot> result = new ArrayList<>();
+        for (ConcurrentSkipListMap<SlotKey, TimeSlot> slots : byRestaurant.values()) {
+            for (TimeSlot slot : slots.values()) {
+                if (slot.isAvailable()) {
+                    result.add(slot);
+                }
+            }
+        }
+        return result;
     }
 
     @Override
     public TimeSlot save(TimeSlot slot) {
-        storage.put(slot.getId(), slot);
-        System.out.println("💾 [InMemoryTimeSlotRepository] Saved slot: " + slot.getId() + " | Total slots in storage: " + storage.size());
+        prunePastDates();
+        storage.compute(slot.getId(), (id, previous) -> {
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(slot);
+            return slot;
+        });
         return slot;
     }
 
     @Override
     public void update(TimeSlot slot) {
-        storage.put(slot.getId(), slot);
+        save(slot);
     }
 
     @Override
     public Optional<TimeSlot> findById(UUID id) {
-        TimeSlot slot = storage.get(id);
-        System.out.println("🔍 [InMemoryTimeSlotRepository] findById(" + id + ") - Found: " + (slot != null) + " | Total slots: " + storage.size());
-        if (slot == null && !storage.isEmpty()) {
-            System.out.println("📋 [InMemoryTimeSlotRepository] Available slot IDs:");
-            storage.keySet().stream().limit(5).forEach(slotId ->
-                System.out.println("  - " + slotId)
-            );
-        }
-        return Optional.ofNullable(slot);
+        prunePastDates();
+        return Optional.ofNullable(storage.get(id));
     }
 
     @Override
     public List<TimeSlot> findAll() {
+        prunePastDates();
         return new ArrayList<>(storage.values());
     }
 
     @Override
     public boolean deleteById(UUID id) {
-        return storage.remove(id) != null;
+        boolean[] removed = new boolean[1];
+        storage.computeIfPresent(id, (key, previous) -> {
+            unindex(previous);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
     }
 
     @Override
     public boolean existsById(UUID id) {
+        prunePastDates();
         return storage.containsKey(id);
     }
 
     @Override
     public Optional<TimeSlot> findByIdAndRestaurantId(UUID slotId, UUID restaurantId) {
-        TimeSlot slot = storage.get(slotId);
-        System.out.println("🔍 [InMemoryTimeSlotRepository] findByIdAndRestaurantId(slotId=" + slotId + ", restaurantId=" + restaurantId + ")");
-
-        if (slot != null) {
-            System.out.println("  ✅ Slot found with restaurantId: " + slot.getRestaurantId());
-            // Vérifier que le créneau appartient bien au restaurant
-            if (slot.getRestaurantId().equals(restaurantId)) {
-                System.out.println("  ✅ Slot belongs to restaurant!");
-                return Optional.of(slot);
-            } else {
-                System.out.println("  ❌ Slot does NOT belong to restaurant (expected: " + restaurantId + ", got: " + slot.getRestaurantId() + ")");
-            }
-        } else {
-            System.out.println("  ❌ Slot not found in storage");
-        }
-
-        return Optional.empty();
+        // Vérifier que le créneau appartient bien au restaurant
+        return findById(slotId).filter(slot -> slot.getRestaurantId().equals(restaurantId));
     }
 
     @Override
     public List<TimeSlot> findAvailableSlotsByRestaurantAndDate(UUID restaurantId, LocalDate date) {
-        System.out.println("🔍 [InMemoryTimeSlotRepository] findAvailableSlotsByRestaurantAndDate(restaurantId=" + restaurantId + ", date=" + date + ")");
-
-        List<TimeSlot> slots = storage.values().stream()
-                .filter(slot -> slot.getRestaurantId().equals(restaurantId))
-                .filter(slot -> slot.getStartTime().toLocalDate().equals(date))
+        prunePastDates();
+        Map<UUID, ConcurrentSkipListMap<SlotKey, TimeSlot>> byRestaurant = slotsByDate.get(date);
+        ConcurrentSkipListMap<SlotKey, TimeSlot> slots = byRestaurant == null ? null : byRestaurant.get(restaurantId);
+        if (slots == null) {
+            return List.of();
+        }
+        return slots.values().stream()
                 .filter(TimeSlot::isAvailable)
                 .toList();
+    }
 
-        System.out.println("  ✅ Found " + slots.size() + " available slots for restaurant " + restaurantId);
-        return slots;
+    @Override
+    public List<TimeSlot> findAvailableSlotsAfter(UUID restaurantId, LocalDateTime from, int limit) {
+        prunePastDates();
+        List<TimeSlot> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+        SlotKey lower = SlotKey.from(from);
+        for (Map<UUID, ConcurrentSkipListMap<SlotKey, TimeSlot>> byRestaurant
+                : slotsByDate.tailMap(from.toLocalDate(), true).values()) {
+            ConcurrentSkipListMap<SlotKey, TimeSlot> slots = byRestaurant.get(restaurantId);
+            if (slots == null) {
+                continue;
+            }
+            for (TimeSlot slot : slots.tailMap(lower, true).values()) {
+                if (slot.isAvailable()) {
+                    result.add(slot);
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<TimeSlot> findSlotsBetween(UUID restaurantId, LocalDateTime from, LocalDateTime to) {
+        prunePastDates();
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        List<TimeSlot> result = new ArrayList<>();
+        SlotKey lower = SlotKey.from(from);
+        SlotKey upper = SlotKey.from(to);
+        for (Map<UUID, ConcurrentSkipListMap<SlotKey, TimeSlot>> byRestaurant
+                : slotsByDate.subMap(from.toLocalDate(), true, to.toLocalDate(), true).values()) {
+            ConcurrentSkipListMap<SlotKey, TimeSlot> slots = byRestaurant.get(restaurantId);
+            if (slots != null) {
+                result.addAll(slots.subMap(lower, true, upper, false).values());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Vide le stockage partagé et ses index.
+     */
+    public void clear() {
+        storage.clear();
+        slotsByDate.clear();
+    }
+
+    private void index(TimeSlot slot) {
+        slotsByDate.computeIfAbsent(slot.getStartTime().toLocalDate(), date -> new ConcurrentHashMap<>())
+                .compute(slot.getRestaurantId(), (restaurantId, slots) -> {
+                    ConcurrentSkipListMap<SlotKey, TimeSlot> target = slots != null ? slots : new ConcurrentSkipListMap<>();
+                    target.put(SlotKey.of(slot), slot);
+                    return target;
+                });
+    }
+
+    private void unindex(TimeSlot slot) {
+        Map<UUID, ConcurrentSkipListMap<SlotKey, TimeSlot>> byRestaurant = slotsByDate.get(slot.getStartTime().toLocalDate());
+        if (byRestaurant == null) {
+            return;
+        }
+        byRestaurant.computeIfPresent(slot.getRestaurantId(), (restaurantId, slots) -> {
+            slots.remove(SlotKey.of(slot));
+            return slots.isEmpty() ? null : slots;
+        });
+    }
+
+    /**
+     * Retire les dates antérieures à aujourd'hui. Une seule lecture de la première date
+     * suffit tant qu'il n'y a rien à purger.
+     */
+    private void prunePastDates() {
+        LocalDate today = LocalDate.now();
+        Map.Entry<LocalDate, Map<UUID, ConcurrentSkipListMap<SlotKey, TimeSlot>>> oldest;
+        while ((oldest = slotsByDate.firstEntry()) != null && oldest.getKey().isBefore(today)) {
+            if (slotsByDate.remove(oldest.getKey(), oldest.getValue())) {
+                for (ConcurrentSkipListMap<SlotKey, TimeSlot> slots : oldest.getValue().values()) {
+                    for (TimeSlot slot : slots.values()) {
+                        storage.remove(slot.getId(), slot);
+                    }
+                }
+            }
+        }
     }
 }
@@ -10,10 +10,15 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Implémentation en mémoire du repository utilisateur.
  * Utilisée pour les tests et le développement.
+ *
+ * <p>Un index email → identifiant, sur l'email normalisé ({@link UserRepository#normalizeEmail}),
+ * sert {@link #findByEmail} sans parcourir les utilisateurs. Il est mis à jour sous le verrou
+ * de l'utilisateur dans {@code users}.</p>
  */
 public class InMemoryUserRepository implements UserRepository {
 
     private final Map<UUID, User> users = new ConcurrentHashMap<>();
+    private final Map<String, UUID> idsByEmail = new ConcurrentHashMap<>();
 
     public InMemoryUserRepository() {
         initializeTestUsers();
@@ -27,9 +32,9 @@ public class InMemoryUserRepository implements UserRepository {
         User student2 = new User(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"), "etudiant2@unice.fr", "Marie Martin", new BigDecimal("75.50"));
         User student3 = new User(UUID.fromString("550e8400-e29b-41d4-a716-446655440002"), "etudiant3@unice.fr", "Pierre Durand", new BigDecimal("25.00"));
 
-        users.put(student1.getId(), student1);
-        users.put(student2.getId(), student2);
-        users.put(student3.getId(), student3);
+        save(student1);
+        save(student2);
+        save(student3);
     }
 
     @Override
@@ -37,10 +42,41 @@ public class InMemoryUserRepository implements UserRepository {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
-        users.put(user.getId(), user);
+        users.compute(user.getId(), (id, previous) -> {
+            unindex(previous);
+            String email = UserRepository.normalizeEmail(user.getEmail());
+            if (email != null) {
+                // Comme avant l'index, le dernier utilisateur sauvegardé avec un email l'emporte
+                idsByEmail.put(email, id);
+            }
+            return user;
+        });
         return user;
     }
 
+    @Override
+    public boolean saveIfEmailAvailable(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        String email = UserRepository.normalizeEmail(user.getEmail());
+        boolean[] saved = new boolean[1];
+        users.compute(user.getId(), (id, previous) -> {
+            if (email != null) {
+                UUID owner = idsByEmail.putIfAbsent(email, id);
+                if (owner != null && !owner.equals(id)) {
+                    return previous;
+                }
+            }
+            if (previous != null && !Objects.equals(UserRepository.normalizeEmail(previous.getEmail()), email)) {
+                unindex(previous);
+            }
+            saved[0] = true;
+            return user;
+        });
+        return saved[0];
+    }
+
     @Override
     public Optional<User> findById(UUID id) {
         return Optional.ofNullable(users.get(id));
@@ -48,9 +84,13 @@ public class InMemoryUserRepository implements UserRepository {
 
     @Override
     public Optional<User> findByEmail(String email) {
-        return users.values().stream()
-                .filter(user -> user.getEmail().equals(email))
-                .findFirst();
+        String normalized = UserRepository.normalizeEmail(email);
+        UUID id = normalized == null ? null : idsByEmail.get(normalized);
+        User user = id == null ? null : users.get(id);
+        if (user == null || !normalized.equals(UserRepository.normalizeEmail(user.getEmail()))) {
+            return Optional.empty();
+        }
+        return Optional.of(user);
     }
 
     @Override
@@ -60,7 +100,13 @@ public class InMemoryUserRepository implements UserRepository {
 
     @Override
     public boolean deleteById(UUID id) {
-        return users.remove(id) != null;
+        boolean[] removed = new boolean[1];
+        users.computeIfPresent(id, (key, previous) -> {
+            unindex(previous);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
     }
 
     @Override
@@ -74,6 +120,7 @@ public class InMemoryUserRepository implements UserRepository {
 
     public void clear() {
         users.clear();
+        idsByEmail.clear();
     }
 
     public User createTestUser(String email, String name, BigDecimal credit) {
@@ -83,4 +130,11 @@ public class InMemoryUserRepository implements UserRepository {
         }
         return save(user);
     }
+
+    private void unindex(User previous) {
+        String email = previous == null ? null : UserRepository.normalizeEmail(previous.getEmail());
+        if (email != null) {
+            idsByEmail.remove(email, previous.getId());
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Copie en mémoire d'un corps de réponse relayé, abandonnée dès qu'elle dépasse {@code limit} octets.
+ */
+final class BoundedCapture extends OutputStream {
+
+    private final int limit;
+    private byte[] buffer = new byte[1024];
+    private int count;
+    private boolean overflowed;
+
+    BoundedCapture(int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        if (overflowed) {
+            return;
+        }
+        if (count + length > limit) {
+            overflowed = true;
+            buffer = null;
+            return;
+        }
+        if (count + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(limit, Math.max(buffer.length * 2, count + length)));
+        }
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+
+    /**
+     * @return le corps capturé, ou {@code null} s'il était trop gros
+     */
+    byte[] toByteArray() {
+        return overflowed ? null : Arrays.copyOf(buffer, count);
+    }
+}
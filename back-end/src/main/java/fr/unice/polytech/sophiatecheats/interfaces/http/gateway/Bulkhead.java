@@ -0,0 +1,62 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cloison limitant le nombre d'appels simultanés vers un service amont.
+ *
+ * <p>Un service qui ralentit n'immobilise ainsi qu'un nombre borné de threads du gateway :
+ * au-delà, les appels vers ce service échouent immédiatement au lieu de s'empiler, et les
+ * autres services restent servis normalement.</p>
+ */
+public final class Bulkhead {
+
+    public static final String MAX_CONCURRENT_PROPERTY = "ste.gateway.bulkhead.maxConcurrent";
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(int maxConcurrent) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Le nombre d'appels simultanés doit être positif");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * 64 appels simultanés par défaut.
+     */
+    public static Bulkhead fromSystemProperties() {
+        return new Bulkhead(Integer.getInteger(MAX_CONCURRENT_PROPERTY, 64));
+    }
+
+    /**
+     * @return {@code true} si l'appel peut démarrer ; il faudra alors appeler {@link #release()}
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,247 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjoncteur d'un service amont.
+ *
+ * <ul>
+ *     <li><strong>CLOSED</strong> : les appels passent ; succès et échecs sont comptés sur une
+ *     fenêtre glissante découpée en tranches d'une seconde. Dès que la fenêtre contient au moins
+ *     {@code minimumCalls} appels et que le taux d'échec atteint le seuil, le disjoncteur s'ouvre.</li>
+ *     <li><strong>OPEN</strong> : les appels sont refusés immédiatement pendant {@code openDuration}.</li>
+ *     <li><strong>HALF_OPEN</strong> : {@code halfOpenCalls} appels d'essai sont autorisés ; s'ils
+ *     réussissent tous, le disjoncteur se referme, au premier échec il se rouvre.</li>
+ * </ul>
+ *
+ * <p>Chaque appel autorisé par {@link #tryAcquire()} reçoit un {@link Permit}, qui doit être
+ * conclu par {@link Permit#onSuccess()}, {@link Permit#onFailure()} ou {@link Permit#onIgnored()}.
+ * Le verdict n'est compté que si le disjoncteur n'a pas changé d'état depuis l'autorisation : un
+ * appel lent autorisé quand il était fermé ne peut ni le refermer, ni libérer un essai.</p>
+ */
+public final class CircuitBreaker {
+
+    public static final String FAILURE_RATE_PROPERTY = "ste.gateway.breaker.failureRate";
+    public static final String MINIMUM_CALLS_PROPERTY = "ste.gateway.breaker.minimumCalls";
+    public static final String WINDOW_PROPERTY = "ste.gateway.breaker.windowSeconds";
+    public static final String OPEN_DURATION_PROPERTY = "ste.gateway.breaker.openMs";
+    public static final String HALF_OPEN_CALLS_PROPERTY = "ste.gateway.breaker.halfOpenCalls";
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * @param failureRateThreshold taux d'échec (en %) à partir duquel le disjoncteur s'ouvre
+     */
+    public record Settings(double failureRateThreshold, int minimumCalls, int windowSeconds,
+                           Duration openDuration, int halfOpenCalls) {
+
+        public Settings {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+                throw new IllegalArgumentException("Le seuil d'échec doit être compris entre 0 et 100 %");
+            }
+            if (minimumCalls <= 0 || windowSeconds <= 0 || halfOpenCalls <= 0) {
+                throw new IllegalArgumentException("Les paramètres du disjoncteur doivent être positifs");
+            }
+        }
+
+        /**
+         * Par défaut : ouverture à 50 % d'échecs sur 10 s (20 appels minimum), 5 s d'ouverture,
+         * 3 appels d'essai.
+         */
+        public static Settings fromSystemProperties() {
+            String rate = System.getProperty(FAILURE_RATE_PROPERTY);
+            return new Settings(
+                    rate == null ? 50 : Double.parseDouble(rate),
+                    Integer.getInteger(MINIMUM_CALLS_PROPERTY, 20),
+                    Integer.getInteger(WINDOW_PROPERTY, 10),
+                    Duration.ofMillis(Long.getLong(OPEN_DURATION_PROPERTY, 5_000)),
+                    Integer.getInteger(HALF_OPEN_CALLS_PROPERTY, 3));
+        }
+    }
+
+    public record Snapshot(State state, double failureRate, int calls, int failures, long openRemainingMillis) {
+    }
+
+    /**
+     * Autorisation d'un appel, liée à l'état du disjoncteur au moment où elle a été donnée.
+     * Seul son premier verdict compte.
+     */
+    public final class Permit {
+
+        private final long generation;
+        // Protégé par le moniteur du disjoncteur
+        private boolean concluded;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+
+        public void onSuccess() {
+            conclude(this, Outcome.SUCCESS);
+        }
+
+        public void onFailure() {
+            conclude(this, Outcome.FAILURE);
+        }
+
+        /**
+         * Conclut un appel abandonné sans verdict sur la santé du service (requête client
+         * invalide, tentative annulée, par exemple).
+         */
+        public void onIgnored() {
+            conclude(this, Outcome.IGNORED);
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        FAILURE,
+        IGNORED
+    }
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Settings settings;
+    private final LongSupplier clock;
+
+    // Fenêtre glissante : une tranche par seconde, identifiée par son numéro de seconde
+    private final long[] bucketSecond;
+    private final int[] bucketCalls;
+    private final int[] bucketFailures;
+
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+    // Avance à chaque changement d'état : les autorisations plus anciennes n'ont plus d'effet
+    private long generation;
+
+    public CircuitBreaker(Settings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    CircuitBreaker(Settings settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.clock = nanoClock;
+        this.bucketSecond = new long[settings.windowSeconds()];
+        this.bucketCalls = new int[settings.windowSeconds()];
+        this.bucketFailures = new int[settings.windowSeconds()];
+        Arrays.fill(bucketSecond, Long.MIN_VALUE);
+    }
+
+    /**
+     * @return l'autorisation de tenter l'appel, ou {@code null} si l'appel est refusé
+     */
+    public synchronized Permit tryAcquire() {
+        long now = clock.getAsLong();
+        if (state == State.OPEN) {
+            if (now - openUntil < 0) {
+                return null;
+            }
+            state = State.HALF_OPEN;
+            generation++;
+            halfOpenInFlight = 0;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight + halfOpenSuccesses >= settings.halfOpenCalls()) {
+                return null;
+            }
+            halfOpenInFlight++;
+        }
+        return new Permit(generation);
+    }
+
+    private synchronized void conclude(Permit permit, Outcome outcome) {
+        if (permit.concluded) {
+            return;
+        }
+        permit.concluded = true;
+        if (permit.generation != generation) {
+            // Autorisé dans un état précédent : ni essai de HALF_OPEN, ni appel de la fenêtre courante
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+            if (outcome == Outcome.FAILURE) {
+                open();
+            } else if (outcome == Outcome.SUCCESS && ++halfOpenSuccesses >= settings.halfOpenCalls()) {
+                close();
+            }
+        } else if (state == State.CLOSED && outcome != Outcome.IGNORED) {
+            record(outcome == Outcome.FAILURE);
+            if (outcome == Outcome.FAILURE) {
+                int[] totals = totals(clock.getAsLong() / SECOND);
+                if (totals[0] >= settings.minimumCalls()
+                        && 100.0 * totals[1] / totals[0] >= settings.failureRateThreshold()) {
+                    open();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return le temps restant avant le passage en HALF_OPEN, {@code 0} si le disjoncteur n'est pas ouvert
+     */
+    public synchronized long openRemainingNanos() {
+        return state == State.OPEN ? Math.max(0, openUntil - clock.getAsLong()) : 0;
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && clock.getAsLong() - openUntil >= 0) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized Snapshot snapshot() {
+        int[] totals = totals(clock.getAsLong() / SECOND);
+        double rate = totals[0] == 0 ? 0 : 100.0 * totals[1] / totals[0];
+        return new Snapshot(state(), rate, totals[0], totals[1], TimeUnit.NANOSECONDS.toMillis(openRemainingNanos()));
+    }
+
+    private void record(boolean failure) {
+        long second = clock.getAsLong() / SECOND;
+        int index = (int) Math.floorMod(second, (long) bucketSecond.length);
+        if (bucketSecond[index] != second) {
+            bucketSecond[index] = second;
+            bucketCalls[index] = 0;
+            bucketFailures[index] = 0;
+        }
+        bucketCalls[index]++;
+        if (failure) {
+            bucketFailures[index]++;
+        }
+    }
+
+    private int[] totals(long currentSecond) {
+        int calls = 0;
+        int failures = 0;
+        for (int i = 0; i < bucketSecond.length; i++) {
+            if (bucketSecond[i] > currentSecond - bucketSecond.length) {
+                calls += bucketCalls[i];
+                failures += bucketFailures[i];
+            }
+        }
+        return new int[]{calls, failures};
+    }
+
+    private void open() {
+        state = State.OPEN;
+        generation++;
+        openUntil = clock.getAsLong() + settings.openDuration().toNanos();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        generation++;
+        Arrays.fill(bucketSecond, Long.MIN_VALUE);
+    }
+}
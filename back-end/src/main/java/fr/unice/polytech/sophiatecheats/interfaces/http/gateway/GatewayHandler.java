@@ -0,0 +1,717 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ConditionalRequests;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JsonCodec;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseCompression;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Routage des requêtes du gateway vers les microservices :
+ * <ul>
+ *     <li>Consumer Service : {@code /api/cart/*}, {@code /api/orders/*}</li>
+ *     <li>Restaurant Service : {@code /restaurants/*}, {@code /dishes}</li>
+ * </ul>
+ *
+ * <p>Un service injoignable donne un 503, un service qui ne répond pas dans les délais
+ * un 504. Une erreur survenant pendant la recopie du corps (en-têtes déjà envoyés)
+ * interrompt la connexion avec le client.</p>
+ *
+ * <p>Si un {@link GatewayResponseCache} est fourni, les GET cacheables sont servis depuis le
+ * cache (en-tête {@code X-Cache: HIT|MISS}) et les écritures sur {@code /restaurants...}
+ * l'invalident. Ses compteurs sont exposés sur {@code GET /gateway/cache}.</p>
+ *
+ * <p>Si un {@link RateLimiter} est fourni, chaque requête routée consomme un jeton du budget
+ * de sa route ; un client à court de jetons reçoit un 429 avec {@code Retry-After}, sans que
+ * la requête n'atteigne le service. Compteurs sur {@code GET /gateway/rate-limit}.</p>
+ *
+ * <p>Chaque {@link UpstreamService} a son disjoncteur et sa cloison : un service en panne ou
+ * saturé donne un 503 immédiat pour ses seules routes (avec {@code Retry-After} si le
+ * disjoncteur est ouvert). Une réponse 5xx, un délai dépassé ou une connexion refusée comptent
+ * comme des échecs. Leur état est exposé sur {@code GET /gateway/upstreams}.</p>
+ *
+ * <p>Un service peut compter plusieurs instances ({@link UpstreamService#choose(String)}) : les
+ * requêtes portant un identifiant utilisateur (panier, commandes d'un utilisateur, ainsi que
+ * {@code POST /api/cart/items} et {@code POST /api/orders} dont le corps est lu pour y trouver
+ * {@code userId}) vont toujours à la même instance, qui conserve le panier et les commandes en
+ * mémoire. {@code /api/orders/{id}...} suit l'utilisateur de la commande, appris par
+ * {@link OrderAffinity} à sa création. Les autres requêtes vont à l'instance la moins chargée.
+ * Chaque instance a son propre disjoncteur.</p>
+ *
+ * <p>Si un {@link RequestCoalescer} est fourni, les GET identiques simultanés (sans
+ * {@code Authorization}) partagent un seul appel amont dont la réponse est recopiée à chacun.
+ * Le taux de regroupement est exposé sur {@code GET /gateway/coalescing}.</p>
+ *
+ * <p>Si un {@link Hedging} est fourni, un GET qui tarde au-delà du percentile configuré est
+ * doublé, dans la limite du budget, et la première réponse l'emporte
+ * (compteurs sur {@code GET /gateway/hedging}).</p>
+ */
+public class GatewayHandler implements HttpHandler {
+
+    public static final String CACHE_STATS_PATH = "/gateway/cache";
+    public static final String RATE_LIMIT_STATS_PATH = "/gateway/rate-limit";
+    public static final String UPSTREAMS_PATH = "/gateway/upstreams";
+    public static final String COALESCING_STATS_PATH = "/gateway/coalescing";
+    public static final String HEDGING_STATS_PATH = "/gateway/hedging";
+    public static final String X_CACHE = "X-Cache";
+
+    static final String CART_ITEMS_PATH = "/api/cart/items";
+    static final int AFFINITY_BODY_LIMIT = 64 * 1024;
+
+    private static final Logger logger = Logger.getLogger(GatewayHandler.class.getName());
+
+    private final UpstreamService consumerService;
+    private final UpstreamService restaurantService;
+    private final UpstreamClient upstreamClient;
+    private final GatewayResponseCache cache;
+    private final RateLimiter rateLimiter;
+    private final RequestCoalescer coalescer;
+    private final Hedging hedging;
+    private final OrderAffinity orderAffinity = new OrderAffinity();
+
+    private GatewayHandler(Builder builder) {
+        this.consumerService = builder.consumerService;
+        this.restaurantService = builder.restaurantService;
+        this.upstreamClient = builder.upstreamClient;
+        this.cache = builder.cache;
+        this.rateLimiter = builder.rateLimiter;
+        this.coalescer = builder.coalescer;
+        this.hedging = builder.hedging;
+    }
+
+    /**
+     * Retourne un nouveau Builder pour configurer le gateway.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        // CORS headers pour toutes les réponses
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
+        exchange.getResponseHeaders().set("Access-Control-Allow-Headers", "Content-Type, Authorization, Accept, x-request-id");
+
+        if ("OPTIONS".equals(method)) {
+            exchange.sendResponseHeaders(HttpUtils.NO_CONTENT, -1);
+            exchange.close();
+            return;
+        }
+
+        if (cache != null && CACHE_STATS_PATH.equals(path) && "GET".equals(method)) {
+            sendJson(exchange, HttpUtils.OK, JaxsonUtils.toJson(cache.stats()));
+            return;
+        }
+        if (rateLimiter != null && RATE_LIMIT_STATS_PATH.equals(path) && "GET".equals(method)) {
+            sendJson(exchange, HttpUtils.OK, JaxsonUtils.toJson(rateLimiter.stats()));
+            return;
+        }
+        if (coalescer != null && COALESCING_STATS_PATH.equals(path) && "GET".equals(method)) {
+            sendJson(exchange, HttpUtils.OK, JaxsonUtils.toJson(coalescer.stats()));
+            return;
+        }
+        if (hedging != null && HEDGING_STATS_PATH.equals(path) && "GET".equals(method)) {
+            sendJson(exchange, HttpUtils.OK, JaxsonUtils.toJson(hedging.stats()));
+            return;
+        }
+        if (UPSTREAMS_PATH.equals(path) && "GET".equals(method)) {
+            sendJson(exchange, HttpUtils.OK, JaxsonUtils.toJson(
+                    List.of(consumerService.status(), restaurantService.status())));
+            return;
+        }
+
+        UpstreamService targetService = determineTargetService(path);
+
+        if (targetService == null) {
+            sendErrorResponse(exchange, HttpUtils.RESOURCE_NOT_FOUND, "Service not found for path: " + path);
+            return;
+        }
+
+        if (rateLimiter != null) {
+            String clientKey = RateLimiter.clientKey(path, exchange.getRemoteAddress().getAddress().getHostAddress());
+            RateLimiter.Decision decision = rateLimiter.tryAcquire(clientKey, RateLimiter.budgetFor(path));
+            if (!decision.allowed()) {
+                exchange.getResponseHeaders().set(HttpUtils.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+                sendErrorResponse(exchange, HttpUtils.TOO_MANY_REQUESTS, "Trop de requêtes, réessayez plus tard");
+                return;
+            }
+        }
+
+        route(exchange, targetService);
+    }
+
+    UpstreamService determineTargetService(String path) {
+        // Routes Consumer Service - Actions clients
+        if (path.startsWith("/api/cart") || path.startsWith("/api/orders")) {
+            return consumerService;
+        }
+
+        // Routes Restaurant Management et lecture des plats → Restaurant Service
+        if (path.startsWith("/restaurants") || path.equals("/dishes")) {
+            return restaurantService;
+        }
+
+        return null;
+    }
+
+    private void route(HttpExchange exchange, UpstreamService service) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+
+        if ("GET".equals(method) && isEventStream(exchange)) {
+            relayEventStream(exchange, service);
+            return;
+        }
+
+        String cacheKey = null;
+        long epoch = 0;
+        if (isCacheable(exchange, method, path)) {
+            cacheKey = GatewayResponseCache.key(path, exchange.getRequestURI().getRawQuery(),
+                    exchange.getRequestHeaders().getFirst(ResponseCompression.ACCEPT_ENCODING));
+            GatewayResponseCache.Entry entry = cache.get(cacheKey);
+            if (entry != null) {
+                sendCached(exchange, entry);
+                return;
+            }
+            epoch = cache.epoch();
+            exchange.getResponseHeaders().set(X_CACHE, "MISS");
+        }
+
+        RequestCoalescer.Flight flight = null;
+        if (coalescer != null && "GET".equals(method) && exchange.getRequestHeaders().getFirst("Authorization") == null) {
+            RequestCoalescer.Ticket ticket = coalescer.join(coalescingKey(exchange, path));
+            if (ticket != null && ticket.leader()) {
+                flight = ticket.flight();
+            } else if (ticket != null) {
+                RequestCoalescer.Response shared = ticket.flight().await();
+                if (shared != null) {
+                    sendShared(exchange, shared);
+                    return;
+                }
+            }
+        }
+        try {
+            proxyRequest(exchange, service, method, path, cacheKey, epoch, flight);
+        } finally {
+            if (flight != null) {
+                flight.abandon();
+            }
+        }
+    }
+
+    private void proxyRequest(HttpExchange exchange, UpstreamService service, String method, String path,
+                              String cacheKey, long epoch, RequestCoalescer.Flight flight) throws IOException {
+        String affinityKey = RateLimiter.userIdOf(path);
+        byte[] body = null;
+        if (affinityKey == null && service.instances().size() > 1) {
+            if ("POST".equals(method) && (CART_ITEMS_PATH.equals(path) || OrderAffinity.ORDERS_PATH.equals(path))) {
+                body = bufferSmallBody(exchange);
+                affinityKey = body != null ? userIdOf(body) : null;
+            } else {
+                affinityKey = orderAffinity.userOf(path);
+            }
+        }
+
+        Bulkhead bulkhead = service.bulkhead();
+        if (!bulkhead.tryAcquire()) {
+            sendErrorResponse(exchange, HttpUtils.SERVICE_UNAVAILABLE, "Service " + service.name() + " saturé");
+            return;
+        }
+        try {
+            UpstreamInstance instance = service.choose(affinityKey);
+            CircuitBreaker.Permit permit = instance != null ? instance.circuitBreaker().tryAcquire() : null;
+            if (permit == null) {
+                sendUnavailable(exchange, service);
+                return;
+            }
+            instance.requestStarted();
+            try {
+                forward(exchange, service, instance, permit, affinityKey, body, method, path, cacheKey, epoch, flight);
+            } finally {
+                instance.requestFinished();
+                // Invalidation après l'écriture, même sans réponse : l'amont a pu l'appliquer avant
+                // l'expiration du délai. Un GET lancé pendant celle-ci ne sera pas conservé
+                if (cache != null && !"GET".equals(method) && !"HEAD".equals(method)) {
+                    cache.invalidate(path);
+                }
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void forward(HttpExchange exchange, UpstreamService service, UpstreamInstance instance,
+                         CircuitBreaker.Permit permit, String affinityKey, byte[] body, String method, String path,
+                         String cacheKey, long epoch, RequestCoalescer.Flight flight) throws IOException {
+        boolean hedgeable = hedging != null && body == null && "GET".equals(method);
+        HttpResponse<InputStream> response;
+        try {
+            if (hedgeable) {
+                Attempt winner = sendHedged(exchange, service, instance, permit, affinityKey);
+                permit = winner.permit();
+                response = winner.response();
+            } else {
+                response = (body != null ? upstreamClient.send(exchange, instance.baseUrl(), body)
+                        : upstreamClient.send(exchange, instance.baseUrl())).join();
+            }
+        } catch (CompletionException e) {
+            if (!hedgeable) {
+                permit.onFailure();
+            }
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warning("Erreur lors du routage vers " + instance.baseUrl() + ": " + cause);
+            int status = cause instanceof HttpTimeoutException ? HttpUtils.GATEWAY_TIMEOUT : HttpUtils.SERVICE_UNAVAILABLE;
+            String message = status == HttpUtils.GATEWAY_TIMEOUT ? "Service trop lent à répondre" : "Service temporairement indisponible";
+            if (flight != null) {
+                // Les requêtes en attente partagent l'échec plutôt que de relancer chacune l'appel
+                flight.complete(new RequestCoalescer.Response(status,
+                        Map.of(HttpUtils.CONTENT_TYPE, List.of(HttpUtils.APPLICATION_JSON)), errorJson(message)));
+            }
+            sendErrorResponse(exchange, status, message);
+            return;
+        } catch (IllegalArgumentException e) {
+            permit.onIgnored();
+            sendErrorResponse(exchange, HttpUtils.BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (response.statusCode() >= HttpUtils.INTERNAL_SERVER_ERROR) {
+            permit.onFailure();
+        } else {
+            permit.onSuccess();
+        }
+
+        boolean storable = cacheKey != null && isStorable(response);
+        // Commande créée pour un utilisateur : ses prochaines requêtes doivent suivre la même instance
+        boolean learnsOrder = affinityKey != null && service.instances().size() > 1
+                && response.statusCode() / 100 == 2 && OrderAffinity.createsOrder(method, path);
+        int captureLimit = Math.max(storable ? cache.maxEntryBytes() : 0, flight != null ? coalescer.maxBytes() : 0);
+        BoundedCapture capture = storable || flight != null || learnsOrder
+                ? new BoundedCapture(Math.max(captureLimit, learnsOrder ? OrderAffinity.MAX_BODY_BYTES : 0))
+                : null;
+        try {
+            upstreamClient.relay(response, exchange, capture);
+        } catch (IOException e) {
+            logger.warning("Réponse de " + instance.baseUrl() + " interrompue: " + e.getMessage());
+            exchange.close();
+            return;
+        }
+
+        byte[] captured = capture != null ? capture.toByteArray() : null;
+        if (captured != null && learnsOrder) {
+            orderAffinity.learn(affinityKey, captured,
+                    response.headers().firstValue(ResponseCompression.CONTENT_ENCODING).orElse(null));
+        }
+        if (captured != null && (storable || flight != null)) {
+            Map<String, List<String>> headers = UpstreamClient.relayableHeaders(response);
+            if (storable) {
+                cache.put(cacheKey, path, epoch, response.statusCode(), headers, captured);
+            }
+            if (flight != null && captured.length <= coalescer.maxBytes()) {
+                flight.complete(new RequestCoalescer.Response(response.statusCode(), headers, captured));
+            }
+        }
+    }
+
+    /**
+     * Envoie un GET et, s'il n'a pas répondu après le délai de {@link Hedging}, une seconde
+     * tentative : vers une autre instance disponible, ou vers la même (sur une autre connexion)
+     * si la requête doit rester sur son instance ou qu'il n'y en a pas d'autre. La première réponse
+     * reçue l'emporte, l'autre tentative est annulée.
+     *
+     * <p>Conclut les autorisations de toutes les tentatives sauf celle de la gagnante, renvoyée à
+     * l'appelant ; si toutes échouent, lève la {@link CompletionException} de la première.</p>
+     */
+    private Attempt sendHedged(HttpExchange exchange, UpstreamService service, UpstreamInstance instance,
+                               CircuitBreaker.Permit permit, String affinityKey) {
+        long delay = hedging.onRequest(service.name());
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<InputStream>> primary = upstreamClient.send(exchange, instance.baseUrl());
+        AtomicBoolean measured = new AtomicBoolean();
+        primary.thenRun(() -> {
+            if (measured.compareAndSet(false, true)) {
+                hedging.record(service.name(), System.nanoTime() - start);
+            }
+        });
+        if (delay < 0) {
+            return joinAlone(instance, permit, primary);
+        }
+        try {
+            return new Attempt(instance, permit, primary.get(delay, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            // Première tentative trop lente : doublement ci-dessous
+        } catch (ExecutionException e) {
+            permit.onFailure();
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            permit.onIgnored();
+            throw new CompletionException(e);
+        }
+
+        UpstreamInstance other = affinityKey != null ? null : service.chooseOther(instance);
+        UpstreamInstance second = other != null ? other : instance;
+        if (!hedging.tryHedge()) {
+            return joinAlone(instance, permit, primary);
+        }
+        CircuitBreaker.Permit hedgePermit = second.circuitBreaker().tryAcquire();
+        if (hedgePermit == null) {
+            return joinAlone(instance, permit, primary);
+        }
+        second.requestStarted();
+        CompletableFuture<HttpResponse<InputStream>> hedge = upstreamClient.send(exchange, second.baseUrl());
+        hedge.whenComplete((response, error) -> second.requestFinished());
+
+        List<UpstreamInstance> targets = List.of(instance, second);
+        List<CircuitBreaker.Permit> permits = List.of(permit, hedgePermit);
+        List<CompletableFuture<HttpResponse<InputStream>>> calls = List.of(primary, hedge);
+        CompletableFuture<Integer> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < calls.size(); i++) {
+            int index = i;
+            CircuitBreaker.Permit target = permits.get(i);
+            calls.get(i).whenComplete((response, error) -> {
+                if (error == null) {
+                    if (!winner.complete(index)) {
+                        // Réponse arrivée après celle de la gagnante : on libère sa connexion
+                        discard(response);
+                        target.onIgnored();
+                    }
+                } else if (error instanceof CancellationException) {
+                    target.onIgnored();
+                } else {
+                    target.onFailure();
+                    if (failures.incrementAndGet() == calls.size()) {
+                        winner.completeExceptionally(cause(primary));
+                    }
+                }
+            });
+        }
+        int won = winner.join();
+        // Annule la perdante ; sans effet si elle a déjà répondu (sa réponse est alors libérée ci-dessus)
+        calls.get(1 - won).cancel(true);
+        if (won == 1) {
+            hedging.hedgeWon();
+            // Première tentative abandonnée : le temps écoulé jusqu'ici minore son temps de réponse,
+            // l'ignorer ferait baisser le percentile
+            if (measured.compareAndSet(false, true)) {
+                hedging.record(service.name(), System.nanoTime() - start);
+            }
+        }
+        return new Attempt(targets.get(won), permits.get(won), calls.get(won).join());
+    }
+
+    private static Attempt joinAlone(UpstreamInstance instance, CircuitBreaker.Permit permit,
+                                     CompletableFuture<HttpResponse<InputStream>> call) {
+        try {
+            return new Attempt(instance, permit, call.join());
+        } catch (CompletionException e) {
+            permit.onFailure();
+            throw e;
+        }
+    }
+
+    private static Throwable cause(CompletableFuture<?> failed) {
+        try {
+            failed.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+    }
+
+    private static void discard(HttpResponse<InputStream> response) {
+        try {
+            response.body().close();
+        } catch (IOException e) {
+            // Connexion déjà fermée
+        }
+    }
+
+    /**
+     * Tentative d'appel : instance visée, autorisation de son disjoncteur et réponse reçue.
+     */
+    private record Attempt(UpstreamInstance instance, CircuitBreaker.Permit permit, HttpResponse<InputStream> response) {
+    }
+
+    /**
+     * Relaie un flux Server-Sent Events. La connexion reste ouverte indéfiniment : pas de cache,
+     * de regroupement ni de doublement, et pas de place prise dans la cloison du service, que
+     * quelques tableaux de bord suffiraient à remplir. Chaque bloc reçu est transmis aussitôt.
+     */
+    private void relayEventStream(HttpExchange exchange, UpstreamService service) throws IOException {
+        UpstreamInstance instance = service.choose(null);
+        CircuitBreaker.Permit permit = instance != null ? instance.circuitBreaker().tryAcquire() : null;
+        if (permit == null) {
+            sendUnavailable(exchange, service);
+            return;
+        }
+        HttpResponse<InputStream> response;
+        try {
+            response = upstreamClient.send(exchange, instance.baseUrl()).join();
+        } catch (CompletionException e) {
+            permit.onFailure();
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warning("Erreur lors du routage vers " + instance.baseUrl() + ": " + cause);
+            if (cause instanceof HttpTimeoutException) {
+                sendErrorResponse(exchange, HttpUtils.GATEWAY_TIMEOUT, "Service trop lent à répondre");
+            } else {
+                sendErrorResponse(exchange, HttpUtils.SERVICE_UNAVAILABLE, "Service temporairement indisponible");
+            }
+            return;
+        }
+        if (response.statusCode() >= HttpUtils.INTERNAL_SERVER_ERROR) {
+            permit.onFailure();
+        } else {
+            permit.onSuccess();
+        }
+        try {
+            upstreamClient.relayStreaming(response, exchange);
+        } catch (IOException e) {
+            // Client ou service déconnecté : fin normale d'un flux
+            exchange.close();
+        }
+    }
+
+    private static boolean isEventStream(HttpExchange exchange) {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return accept != null && accept.contains("text/event-stream");
+    }
+
+    /**
+     * 503 quand aucune instance ne peut prendre la requête ; {@code Retry-After} indique la
+     * prochaine réouverture d'un disjoncteur s'il y en a une.
+     */
+    private void sendUnavailable(HttpExchange exchange, UpstreamService service) throws IOException {
+        long remaining = Long.MAX_VALUE;
+        for (UpstreamInstance instance : service.instances()) {
+            long open = instance.circuitBreaker().openRemainingNanos();
+            if (open > 0) {
+                remaining = Math.min(remaining, open);
+            }
+        }
+        if (remaining != Long.MAX_VALUE) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999));
+            exchange.getResponseHeaders().set(HttpUtils.RETRY_AFTER, String.valueOf(retryAfter));
+        }
+        sendErrorResponse(exchange, HttpUtils.SERVICE_UNAVAILABLE, "Service " + service.name() + " indisponible");
+    }
+
+    /**
+     * Lit un corps de longueur annoncée et d'au plus {@value #AFFINITY_BODY_LIMIT} octets ;
+     * au-delà, ou sans longueur, le corps n'est pas lu et sera transmis au fil de l'eau.
+     */
+    private static byte[] bufferSmallBody(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength == null || exchange.getRequestHeaders().getFirst("Transfer-Encoding") != null) {
+            return null;
+        }
+        long length;
+        try {
+            length = Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (length <= 0 || length > AFFINITY_BODY_LIMIT) {
+            return null;
+        }
+        return exchange.getRequestBody().readNBytes((int) length);
+    }
+
+    /**
+     * @return le champ {@code userId} d'un corps JSON, ou {@code null}
+     */
+    static String userIdOf(byte[] body) {
+        try {
+            JsonNode userId = JsonCodec.of(JsonNode.class).read(new ByteArrayInputStream(body)).get("userId");
+            return userId != null && userId.isTextual() && !userId.asText().isEmpty() ? userId.asText() : null;
+        } catch (RuntimeException e) {
+            // Corps invalide : le service répondra lui-même 400
+            return null;
+        }
+    }
+
+    private boolean isCacheable(HttpExchange exchange, String method, String path) {
+        if (cache == null || !"GET".equals(method) || cache.ttlNanos(path) == 0) {
+            return false;
+        }
+        Headers headers = exchange.getRequestHeaders();
+        String cacheControl = headers.getFirst("Cache-Control");
+        return headers.getFirst("Authorization") == null
+                && (cacheControl == null || !(cacheControl.contains("no-cache") || cacheControl.contains("no-store")));
+    }
+
+    private static boolean isStorable(HttpResponse<InputStream> response) {
+        if (response.statusCode() != HttpUtils.OK || response.headers().firstValue("Set-Cookie").isPresent()) {
+            return false;
+        }
+        String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+        return !cacheControl.contains("no-store") && !cacheControl.contains("private");
+    }
+
+    /**
+     * Clé de regroupement : celle du cache, complétée de {@code If-None-Match} dont dépend la réponse.
+     */
+    private static String coalescingKey(HttpExchange exchange, String path) {
+        Headers headers = exchange.getRequestHeaders();
+        String key = GatewayResponseCache.key(path, exchange.getRequestURI().getRawQuery(),
+                headers.getFirst(ResponseCompression.ACCEPT_ENCODING));
+        String ifNoneMatch = headers.getFirst(HttpUtils.IF_NONE_MATCH);
+        return ifNoneMatch == null ? key : key + "|" + ifNoneMatch;
+    }
+
+    private void sendShared(HttpExchange exchange, RequestCoalescer.Response shared) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        shared.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        int status = shared.status();
+        byte[] body = shared.body();
+        if (body.length == 0 || status == HttpUtils.NO_CONTENT || status == HttpUtils.NOT_MODIFIED) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private void sendCached(HttpExchange exchange, GatewayResponseCache.Entry entry) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        entry.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        headers.set(X_CACHE, "HIT");
+
+        String etag = headers.getFirst(HttpUtils.ETAG);
+        if (etag != null && ConditionalRequests.matches(exchange, etag)) {
+            exchange.sendResponseHeaders(HttpUtils.NOT_MODIFIED, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = entry.body();
+        exchange.sendResponseHeaders(entry.status(), body.length == 0 ? -1 : body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private void sendJson(HttpExchange exchange, int statusCode, String json) throws IOException {
+        byte[] response = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON);
+        exchange.sendResponseHeaders(statusCode, response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+
+    private void sendErrorResponse(HttpExchange exchange, int statusCode, String message) throws IOException {
+        exchange.getResponseHeaders().remove(X_CACHE);
+        sendJson(exchange, statusCode, new String(errorJson(message), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] errorJson(String message) {
+        return ("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builder du gateway : les services et le client sont obligatoires,
+     * le cache, le limiteur de débit, le regroupement et le doublement des requêtes sont facultatifs.
+     */
+    public static class Builder {
+        private UpstreamService consumerService;
+        private UpstreamService restaurantService;
+        private UpstreamClient upstreamClient;
+        private GatewayResponseCache cache;
+        private RateLimiter rateLimiter;
+        private RequestCoalescer coalescer;
+        private Hedging hedging;
+
+        private Builder() {
+        }
+
+        public Builder consumerService(UpstreamService consumerService) {
+            this.consumerService = consumerService;
+            return this;
+        }
+
+        public Builder restaurantService(UpstreamService restaurantService) {
+            this.restaurantService = restaurantService;
+            return this;
+        }
+
+        /**
+         * Consumer Service à une instance, avec disjoncteur et cloison configurés par les propriétés système.
+         */
+        public Builder consumerServiceUrl(String consumerServiceUrl) {
+            return consumerService(UpstreamService.of("consumer", consumerServiceUrl));
+        }
+
+        /**
+         * Restaurant Service à une instance, avec disjoncteur et cloison configurés par les propriétés système.
+         */
+        public Builder restaurantServiceUrl(String restaurantServiceUrl) {
+            return restaurantService(UpstreamService.of("restaurant", restaurantServiceUrl));
+        }
+
+        public Builder upstreamClient(UpstreamClient upstreamClient) {
+            this.upstreamClient = upstreamClient;
+            return this;
+        }
+
+        public Builder responseCache(GatewayResponseCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        public Builder coalescer(RequestCoalescer coalescer) {
+            this.coalescer = coalescer;
+            return this;
+        }
+
+        public Builder hedging(Hedging hedging) {
+            this.hedging = hedging;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException si un service ou le client manque
+         */
+        public GatewayHandler build() {
+            if (consumerService == null || restaurantService == null || upstreamClient == null) {
+                throw new IllegalArgumentException("Les services et le client HTTP sont obligatoires");
+            }
+            return new GatewayHandler(this);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseCompression;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache des réponses {@code GET /restaurants*} conservé dans le gateway.
+ *
+ * <ul>
+ *     <li><strong>Clé</strong> : chemin, requête et encodage négocié à partir de
+ *     {@code Accept-Encoding} (deux clients acceptant gzip partagent la même entrée).</li>
+ *     <li><strong>Durée de vie</strong> : fixée par route ({@link #route(String, Duration)}) ;
+ *     une route sans durée n'est jamais mise en cache.</li>
+ *     <li><strong>Taille</strong> : bornée en octets ({@value #MAX_BYTES_PROPERTY}, 16 Mio par défaut),
+ *     les entrées les moins récemment lues étant évincées en premier. Une réponse plus grosse
+ *     que {@value #MAX_ENTRY_BYTES_PROPERTY} n'est pas conservée.</li>
+ *     <li><strong>Invalidation</strong> : une écriture sur {@code /restaurants/{id}...} supprime
+ *     les entrées de ce restaurant ainsi que les listes ({@code /restaurants?...}), qui
+ *     l'incluent.</li>
+ * </ul>
+ *
+ * <p>Une réponse obtenue pendant une invalidation n'est pas conservée : elle peut refléter
+ * l'état antérieur à l'écriture.</p>
+ */
+public final class GatewayResponseCache {
+
+    public static final String MAX_BYTES_PROPERTY = "ste.gateway.cache.maxBytes";
+    public static final String MAX_ENTRY_BYTES_PROPERTY = "ste.gateway.cache.maxEntryBytes";
+    public static final String LIST_TTL_PROPERTY = "ste.gateway.cache.listTtlMs";
+    public static final String RESTAURANT_TTL_PROPERTY = "ste.gateway.cache.restaurantTtlMs";
+    public static final String SLOTS_TTL_PROPERTY = "ste.gateway.cache.slotsTtlMs";
+
+    private static final String RESTAURANTS = "restaurants";
+    private static final String LIST_TAG = "";
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final LongSupplier clock;
+    private final List<Route> routes = new ArrayList<>();
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<String>> keysByRestaurant = new HashMap<>();
+    private long currentBytes;
+
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public GatewayResponseCache(long maxBytes, int maxEntryBytes) {
+        this(maxBytes, maxEntryBytes, System::nanoTime);
+    }
+
+    GatewayResponseCache(long maxBytes, int maxEntryBytes, LongSupplier nanoClock) {
+        if (maxBytes <= 0 || maxEntryBytes <= 0) {
+            throw new IllegalArgumentException("Les tailles du cache doivent être positives");
+        }
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = (int) Math.min(maxEntryBytes, maxBytes);
+        this.clock = nanoClock;
+    }
+
+    /**
+     * Construit le cache à partir des propriétés système, avec les routes du catalogue :
+     * liste (10 s), restaurant et menu (30 s), créneaux de livraison (5 s).
+     * Une durée nulle désactive la route.
+     */
+    public static GatewayResponseCache fromSystemProperties() {
+        GatewayResponseCache cache = new GatewayResponseCache(
+                Long.getLong(MAX_BYTES_PROPERTY, 16L * 1024 * 1024),
+                Integer.getInteger(MAX_ENTRY_BYTES_PROPERTY, 1024 * 1024));
+        Duration list = Duration.ofMillis(Long.getLong(LIST_TTL_PROPERTY, 10_000));
+        Duration restaurant = Duration.ofMillis(Long.getLong(RESTAURANT_TTL_PROPERTY, 30_000));
+        Duration slots = Duration.ofMillis(Long.getLong(SLOTS_TTL_PROPERTY, 5_000));
+        return cache
+                .route("/restaurants", list)
+                .route("/restaurants/{id}", restaurant)
+                .route("/restaurants/{id}/menu", restaurant)
+                .route("/restaurants/{id}/delivery-slots", slots);
+    }
+
+    /**
+     * Déclare une route cacheable, ex : {@code route("/restaurants/{id}/menu", Duration.ofSeconds(30))}.
+     */
+    public GatewayResponseCache route(String template, Duration ttl) {
+        if (!ttl.isZero() && !ttl.isNegative()) {
+            routes.add(new Route(segments(template), ttl.toNanos()));
+        }
+        return this;
+    }
+
+    /**
+     * @return la durée de vie des réponses pour ce chemin, ou {@code 0} s'il n'est pas cacheable
+     */
+    public long ttlNanos(String path) {
+        String[] segments = segments(path);
+        for (Route route : routes) {
+            if (route.matches(segments)) {
+                return route.ttlNanos;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Clé d'une requête GET : {@code chemin?requête|encodage}.
+     */
+    public static String key(String path, String query, String acceptEncoding) {
+        String encoding = ResponseCompression.negotiate(acceptEncoding);
+        return path + (query == null ? "" : "?" + query) + "|" + (encoding == null ? "identity" : encoding);
+    }
+
+    /**
+     * @return l'entrée encore valide pour cette clé, ou {@code null} (compté comme un défaut)
+     */
+    public Entry get(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt - clock.getAsLong() <= 0) {
+                remove(key);
+                entry = null;
+            }
+        }
+        (entry == null ? misses : hits).increment();
+        return entry;
+    }
+
+    /**
+     * Époque d'invalidation à relever avant d'interroger le service, puis à passer à {@link #put}.
+     */
+    public long epoch() {
+        return invalidationEpoch.get();
+    }
+
+    /**
+     * Conserve une réponse si aucune invalidation n'a eu lieu depuis {@code epoch}.
+     *
+     * @return {@code true} si la réponse a été conservée
+     */
+    public boolean put(String key, String path, long epoch, int status, Map<String, List<String>> headers, byte[] body) {
+        long ttl = ttlNanos(path);
+        if (ttl == 0 || body.length > maxEntryBytes) {
+            return false;
+        }
+        Entry entry = new Entry(status, copy(headers), body, clock.getAsLong() + ttl, restaurantTag(path), size(key, headers, body));
+        synchronized (this) {
+            if (invalidationEpoch.get() != epoch) {
+                return false;
+            }
+            remove(key);
+            entries.put(key, entry);
+            keysByRestaurant.computeIfAbsent(entry.tag, t -> new HashSet<>()).add(key);
+            currentBytes += entry.size;
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> victim = eldest.next();
+                eldest.remove();
+                forget(victim.getKey(), victim.getValue());
+                evictions.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invalide les entrées touchées par une écriture sur ce chemin :
+     * celles du restaurant visé et toutes les listes.
+     */
+    public void invalidate(String path) {
+        String tag = restaurantTag(path);
+        if (tag == null) {
+            return;
+        }
+        synchronized (this) {
+            invalidationEpoch.incrementAndGet();
+            removeTag(LIST_TAG);
+            if (!LIST_TAG.equals(tag)) {
+                removeTag(tag);
+            }
+        }
+        invalidations.increment();
+    }
+
+    public Stats stats() {
+        synchronized (this) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(),
+                    entries.size(), currentBytes, maxBytes);
+        }
+    }
+
+    /**
+     * @return la taille maximale d'une entrée
+     */
+    public int maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    private void removeTag(String tag) {
+        Set<String> keys = keysByRestaurant.remove(tag);
+        if (keys != null) {
+            for (String key : keys) {
+                Entry entry = entries.remove(key);
+                if (entry != null) {
+                    currentBytes -= entry.size;
+                }
+            }
+        }
+    }
+
+    private void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            forget(key, previous);
+        }
+    }
+
+    private void forget(String key, Entry entry) {
+        currentBytes -= entry.size;
+        Set<String> keys = keysByRestaurant.get(entry.tag);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByRestaurant.remove(entry.tag);
+            }
+        }
+    }
+
+    /**
+     * {@code /restaurants} → étiquette des listes, {@code /restaurants/{id}/...} → {@code id},
+     * tout autre chemin → {@code null}.
+     */
+    static String restaurantTag(String path) {
+        String[] segments = segments(path);
+        if (segments.length == 0 || !RESTAURANTS.equals(segments[0])) {
+            return null;
+        }
+        return segments.length == 1 ? LIST_TAG : segments[1];
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static long size(String key, Map<String, List<String>> headers, byte[] body) {
+        long size = ENTRY_OVERHEAD + 2L * key.length() + body.length;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            size += 2L * header.getKey().length();
+            for (String value : header.getValue()) {
+                size += 2L * value.length();
+            }
+        }
+        return size;
+    }
+
+    private static Map<String, List<String>> copy(Map<String, List<String>> headers) {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        headers.forEach((name, values) -> copy.put(name, List.copyOf(values)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Réponse conservée ; {@code headers} et {@code body} ne doivent pas être modifiés.
+     */
+    public record Entry(int status, Map<String, List<String>> headers, byte[] body,
+                        long expiresAt, String tag, long size) {
+    }
+
+    public record Stats(long hits, long misses, long evictions, long invalidations,
+                        int entries, long bytes, long maxBytes) {
+    }
+
+    private record Route(String[] segments, long ttlNanos) {
+        boolean matches(String[] path) {
+            if (path.length != segments.length) {
+                return false;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                if (!segments[i].startsWith("{") && !segments[i].equals(path[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Politique de doublement ("hedging") des GET lents.
+ *
+ * <p>Si un GET n'a pas reçu de réponse au bout d'un délai égal au percentile
+ * {@value #PERCENTILE_PROPERTY} (95 par défaut) des temps de réponse récents du service, le
+ * gateway envoie une seconde tentative et garde la première réponse arrivée. Le délai est calculé
+ * par service sur les {@value #WINDOW} derniers appels et borné entre
+ * {@value #MIN_DELAY_PROPERTY} et {@value #MAX_DELAY_PROPERTY} ; tant que
+ * {@value #MIN_SAMPLES} mesures n'ont pas été recueillies, aucune requête n'est doublée.</p>
+ *
+ * <p>Le surcoût est plafonné par un budget : chaque GET éligible crédite
+ * {@value #BUDGET_PROPERTY} % d'une tentative (10 % par défaut), chaque doublement en consomme
+ * une. Une panne générale, où toutes les requêtes deviennent lentes, ne peut donc pas doubler
+ * la charge du service.</p>
+ */
+public final class Hedging {
+
+    public static final String ENABLED_PROPERTY = "ste.gateway.hedge.enabled";
+    public static final String PERCENTILE_PROPERTY = "ste.gateway.hedge.percentile";
+    public static final String MIN_DELAY_PROPERTY = "ste.gateway.hedge.minDelayMs";
+    public static final String MAX_DELAY_PROPERTY = "ste.gateway.hedge.maxDelayMs";
+    public static final String BUDGET_PROPERTY = "ste.gateway.hedge.budgetPercent";
+
+    static final int WINDOW = 1024;
+    static final int MIN_SAMPLES = 100;
+
+    // Budget exprimé en millionièmes de tentative
+    private static final long ONE_HEDGE = 1_000_000;
+    private static final long MAX_BALANCE = 10 * ONE_HEDGE;
+
+    public record Stats(long eligible, long hedged, long hedgeWins, long budgetExhausted, double budgetBalance) {
+    }
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long creditPerRequest;
+    private final ConcurrentHashMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong balance = new AtomicLong();
+
+    private final LongAdder eligible = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public Hedging(double percentile, long minDelayMillis, long maxDelayMillis, double budgetPercent) {
+        if (percentile <= 0 || percentile >= 100 || budgetPercent <= 0 || budgetPercent > 100) {
+            throw new IllegalArgumentException("Percentile et budget doivent être compris entre 0 et 100");
+        }
+        if (minDelayMillis < 0 || maxDelayMillis < minDelayMillis) {
+            throw new IllegalArgumentException("Bornes du délai de doublement invalides");
+        }
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.creditPerRequest = (long) (ONE_HEDGE * budgetPercent / 100);
+    }
+
+    /**
+     * @return la politique configurée, ou {@code null} si {@value #ENABLED_PROPERTY} n'est pas
+     * activé. Par défaut : p95, délai entre 5 ms et 1 s, budget de 10 %.
+     */
+    public static Hedging fromSystemProperties() {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return null;
+        }
+        return new Hedging(
+                doubleProperty(PERCENTILE_PROPERTY, 95),
+                Long.getLong(MIN_DELAY_PROPERTY, 5),
+                Long.getLong(MAX_DELAY_PROPERTY, 1_000),
+                doubleProperty(BUDGET_PROPERTY, 10));
+    }
+
+    /**
+     * Crédite le budget pour une requête éligible.
+     *
+     * @return le délai avant doublement pour ce service, ou {@code -1} s'il n'est pas encore connu
+     */
+    public long onRequest(String service) {
+        eligible.increment();
+        balance.accumulateAndGet(creditPerRequest, (current, credit) -> Math.min(MAX_BALANCE, current + credit));
+        LatencyWindow window = windows.get(service);
+        return window == null ? -1 : window.delayNanos();
+    }
+
+    /**
+     * Enregistre le temps de réponse d'une première tentative, ou le temps écoulé avant son
+     * abandon si le doublement a répondu avant elle.
+     */
+    public void record(String service, long latencyNanos) {
+        windows.computeIfAbsent(service, s -> new LatencyWindow()).record(latencyNanos);
+    }
+
+    /**
+     * Consomme une tentative du budget.
+     *
+     * @return {@code false} si le budget est épuisé
+     */
+    public boolean tryHedge() {
+        while (true) {
+            long current = balance.get();
+            if (current < ONE_HEDGE) {
+                budgetExhausted.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - ONE_HEDGE)) {
+                hedged.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Signale qu'une seconde tentative a répondu la première.
+     */
+    public void hedgeWon() {
+        hedgeWins.increment();
+    }
+
+    public Stats stats() {
+        return new Stats(eligible.sum(), hedged.sum(), hedgeWins.sum(), budgetExhausted.sum(),
+                (double) balance.get() / ONE_HEDGE);
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * Derniers temps de réponse d'un service ; le percentile est recalculé tous les 64 appels.
+     */
+    private final class LatencyWindow {
+        private final long[] samples = new long[WINDOW];
+        private int count;
+        private int next;
+        private volatile long delayNanos = -1;
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % WINDOW;
+            count = Math.min(WINDOW, count + 1);
+            if (count >= MIN_SAMPLES && (count == MIN_SAMPLES || next % 64 == 0)) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = Math.max(0, (int) Math.ceil(percentile / 100 * count) - 1);
+                delayNanos = Math.min(maxDelayNanos, Math.max(minDelayNanos, sorted[index]));
+            }
+        }
+
+        long delayNanos() {
+            return delayNanos;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JsonCodec;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseCompression;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Propriétaire de chaque commande créée au travers du gateway, pour que
+ * {@code /api/orders/{id}} et {@code /api/orders/{id}/confirm} aillent à l'instance qui conserve
+ * la commande en mémoire, comme le panier de son utilisateur.
+ *
+ * <p>Le lien commande → utilisateur est appris sur les réponses 2xx des routes qui créent une
+ * commande ({@code POST /api/orders}, {@code POST /api/cart/{userId}/payment}) : leur corps
+ * porte {@code orderId}, la requête portait déjà l'utilisateur. Les
+ * {@value #CAPACITY_PROPERTY} dernières commandes (50000 par défaut) sont retenues ; une
+ * commande inconnue (plus ancienne, ou créée avant le démarrage du gateway) va à l'instance
+ * la moins chargée.</p>
+ */
+final class OrderAffinity {
+
+    public static final String CAPACITY_PROPERTY = "ste.gateway.orderAffinity.capacity";
+
+    static final String ORDERS_PATH = "/api/orders";
+    static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private static final String ORDER_PREFIX = ORDERS_PATH + "/";
+    private static final String PAYMENT_SUFFIX = "/payment";
+
+    private final Map<String, String> userByOrder;
+
+    OrderAffinity() {
+        this(Integer.getInteger(CAPACITY_PROPERTY, 50_000));
+    }
+
+    OrderAffinity(int capacity) {
+        this.userByOrder = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return l'utilisateur de la commande visée par le chemin, {@code null} si le chemin ne
+     * vise pas une commande ou si elle est inconnue
+     */
+    String userOf(String path) {
+        String orderId = orderIdOf(path);
+        if (orderId == null) {
+            return null;
+        }
+        synchronized (userByOrder) {
+            return userByOrder.get(orderId);
+        }
+    }
+
+    /**
+     * Retient la commande d'une réponse de création.
+     *
+     * @param body            corps capturé, éventuellement compressé
+     * @param contentEncoding {@code Content-Encoding} de la réponse, ou {@code null}
+     */
+    void learn(String userId, byte[] body, String contentEncoding) {
+        String orderId = orderIdOfBody(body, contentEncoding);
+        if (orderId != null) {
+            synchronized (userByOrder) {
+                userByOrder.put(orderId, userId);
+            }
+        }
+    }
+
+    int size() {
+        synchronized (userByOrder) {
+            return userByOrder.size();
+        }
+    }
+
+    /**
+     * Indique une requête qui crée une commande pour l'utilisateur de la requête.
+     */
+    static boolean createsOrder(String method, String path) {
+        return "POST".equals(method)
+                && (ORDERS_PATH.equals(path) || path.startsWith("/api/cart/") && path.endsWith(PAYMENT_SUFFIX));
+    }
+
+    /**
+     * @return l'identifiant d'un chemin {@code /api/orders/{id}...}, {@code null} pour tout autre chemin
+     */
+    static String orderIdOf(String path) {
+        if (!path.startsWith(ORDER_PREFIX)) {
+            return null;
+        }
+        int end = path.indexOf('/', ORDER_PREFIX.length());
+        String orderId = end < 0 ? path.substring(ORDER_PREFIX.length()) : path.substring(ORDER_PREFIX.length(), end);
+        return orderId.isEmpty() || "user".equals(orderId) ? null : orderId;
+    }
+
+    private static String orderIdOfBody(byte[] body, String contentEncoding) {
+        try (InputStream in = decoded(body, contentEncoding)) {
+            JsonNode orderId = JsonCodec.of(JsonNode.class).read(in).get("orderId");
+            return orderId != null && orderId.isTextual() && !orderId.asText().isEmpty() ? orderId.asText() : null;
+        } catch (IOException | RuntimeException e) {
+            // Corps illisible : la commande ira à l'instance la moins chargée
+            return null;
+        }
+    }
+
+    private static InputStream decoded(byte[] body, String contentEncoding) throws IOException {
+        InputStream in = new ByteArrayInputStream(body);
+        if (ResponseCompression.GZIP.equalsIgnoreCase(contentEncoding)) {
+            return new GZIPInputStream(in);
+        }
+        if (ResponseCompression.DEFLATE.equalsIgnoreCase(contentEncoding)) {
+            return new InflaterInputStream(in);
+        }
+        return in;
+    }
+}
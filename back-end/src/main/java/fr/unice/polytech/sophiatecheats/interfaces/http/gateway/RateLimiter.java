@@ -0,0 +1,207 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiteur de débit par client, sans verrou, avec un budget distinct par famille de routes
+ * ({@link Budget#BROWSE} pour le catalogue, {@link Budget#CHECKOUT} pour panier et commandes).
+ *
+ * <p>Chaque clé (identifiant utilisateur ou adresse IP) possède un seau de jetons de débit
+ * {@code rate} par seconde et de capacité {@code burst}. Le seau est représenté par une seule
+ * valeur, l'instant théorique auquel il sera de nouveau plein (algorithme GCRA) : consommer un
+ * jeton revient à avancer cet instant par un unique {@code compareAndSet}.</p>
+ *
+ * <p>La table des clés est bornée ({@value #MAX_KEYS_PROPERTY}) : au-delà, les seaux pleins, qui
+ * ne portent plus aucune information, sont purgés. Si la table reste saturée (trafic de balayage),
+ * les nouvelles clés partagent un seau de débordement par budget, si bien que le limiteur ne peut
+ * ni grossir indéfiniment ni être contourné en multipliant les clés.</p>
+ */
+public final class RateLimiter {
+
+    public static final String MAX_KEYS_PROPERTY = "ste.gateway.rateLimit.maxKeys";
+    public static final String BROWSE_RATE_PROPERTY = "ste.gateway.rateLimit.browse.rate";
+    public static final String BROWSE_BURST_PROPERTY = "ste.gateway.rateLimit.browse.burst";
+    public static final String CHECKOUT_RATE_PROPERTY = "ste.gateway.rateLimit.checkout.rate";
+    public static final String CHECKOUT_BURST_PROPERTY = "ste.gateway.rateLimit.checkout.burst";
+
+    public enum Budget {
+        BROWSE,
+        CHECKOUT
+    }
+
+    /**
+     * Résultat d'une demande de jeton ; {@code retryAfterNanos} vaut 0 si la requête est acceptée.
+     */
+    public record Decision(boolean allowed, long retryAfterNanos) {
+
+        private static final Decision ALLOWED = new Decision(true, 0);
+
+        /**
+         * @return le délai d'attente en secondes entières, pour l'en-tête {@code Retry-After}
+         */
+        public long retryAfterSeconds() {
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+    }
+
+    public record Stats(long allowed, long rejected, int keys, long overflowed) {
+    }
+
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Limits[] limits = new Limits[Budget.values().length];
+    private final AtomicLong[] overflow = new AtomicLong[Budget.values().length];
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    public RateLimiter(double browseRate, int browseBurst, double checkoutRate, int checkoutBurst, int maxKeys) {
+        this(browseRate, browseBurst, checkoutRate, checkoutBurst, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(double browseRate, int browseBurst, double checkoutRate, int checkoutBurst, int maxKeys,
+                LongSupplier nanoClock) {
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("La table des clés doit avoir une taille positive");
+        }
+        this.maxKeys = maxKeys;
+        this.clock = nanoClock;
+        limits[Budget.BROWSE.ordinal()] = new Limits(browseRate, browseBurst);
+        limits[Budget.CHECKOUT.ordinal()] = new Limits(checkoutRate, checkoutBurst);
+        long now = clock.getAsLong();
+        for (int i = 0; i < overflow.length; i++) {
+            overflow[i] = new AtomicLong(now);
+        }
+    }
+
+    /**
+     * Construit le limiteur à partir des propriétés système. Par défaut : catalogue 20 req/s
+     * (rafale 40), panier et commandes 5 req/s (rafale 10), 100 000 clés.
+     */
+    public static RateLimiter fromSystemProperties() {
+        return new RateLimiter(
+                doubleProperty(BROWSE_RATE_PROPERTY, 20),
+                Integer.getInteger(BROWSE_BURST_PROPERTY, 40),
+                doubleProperty(CHECKOUT_RATE_PROPERTY, 5),
+                Integer.getInteger(CHECKOUT_BURST_PROPERTY, 10),
+                Integer.getInteger(MAX_KEYS_PROPERTY, 100_000));
+    }
+
+    /**
+     * Budget d'un chemin : panier et commandes → {@link Budget#CHECKOUT}, le reste → {@link Budget#BROWSE}.
+     */
+    public static Budget budgetFor(String path) {
+        return path.startsWith("/api/cart") || path.startsWith("/api/orders") ? Budget.CHECKOUT : Budget.BROWSE;
+    }
+
+    /**
+     * Clé du client : l'identifiant utilisateur du chemin ({@code /api/cart/{userId}...},
+     * {@code /api/orders/user/{userId}}) s'il y en a un, sinon l'adresse IP.
+     */
+    public static String clientKey(String path, String remoteAddress) {
+        String userId = userIdOf(path);
+        return userId != null ? "u:" + userId : "ip:" + remoteAddress;
+    }
+
+    /**
+     * @return l'identifiant utilisateur d'un chemin {@code /api/cart/{userId}...} ou
+     * {@code /api/orders/user/{userId}}, {@code null} pour tout autre chemin
+     */
+    public static String userIdOf(String path) {
+        String userId = null;
+        if (path.startsWith("/api/cart/")) {
+            userId = segment(path, "/api/cart/".length());
+        } else if (path.startsWith("/api/orders/user/")) {
+            userId = segment(path, "/api/orders/user/".length());
+        }
+        return userId != null && !userId.isEmpty() && !"items".equals(userId) ? userId : null;
+    }
+
+    /**
+     * Consomme un jeton du budget pour cette clé.
+     */
+    public Decision tryAcquire(String clientKey, Budget budget) {
+        Limits limit = limits[budget.ordinal()];
+        long now = clock.getAsLong();
+        AtomicLong bucket = bucket(budget.name() + '|' + clientKey, budget, now);
+
+        while (true) {
+            long full = bucket.get();
+            long tat = Math.max(full, now);
+            long next = tat + limit.intervalNanos;
+            long earliest = next - limit.toleranceNanos;
+            if (earliest - now > 0) {
+                rejected.increment();
+                return new Decision(false, earliest - now);
+            }
+            if (bucket.compareAndSet(full, next)) {
+                allowed.increment();
+                return Decision.ALLOWED;
+            }
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(allowed.sum(), rejected.sum(), buckets.size(), overflowed.sum());
+    }
+
+    private AtomicLong bucket(String key, Budget budget, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            sweep(now);
+            if (buckets.size() >= maxKeys) {
+                overflowed.increment();
+                return overflow[budget.ordinal()];
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * Retire les seaux redevenus pleins : les recréer plus tard donne exactement le même état.
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static String segment(String path, int start) {
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static final class Limits {
+        final long intervalNanos;
+        final long toleranceNanos;
+
+        Limits(double ratePerSecond, int burst) {
+            if (ratePerSecond <= 0 || burst <= 0) {
+                throw new IllegalArgumentException("Le débit et la rafale doivent être positifs");
+            }
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+            this.toleranceNanos = intervalNanos * burst;
+        }
+    }
+}
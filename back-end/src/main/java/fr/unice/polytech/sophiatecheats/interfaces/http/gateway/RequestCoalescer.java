@@ -0,0 +1,177 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Regroupement des GET identiques en cours ("single flight").
+ *
+ * <p>La première requête pour une clé devient le <em>leader</em> : elle seule interroge le
+ * service. Les requêtes identiques qui arrivent pendant ce temps attendent sa réponse et en
+ * reçoivent une copie, au lieu de solliciter le service chacune à leur tour. Un restaurant partagé
+ * sur le campus donne ainsi un seul appel amont par vague de requêtes.</p>
+ *
+ * <ul>
+ *     <li>Au plus {@value #MAX_WAITERS_PROPERTY} requêtes (256 par défaut) attendent un même
+ *     leader ; les suivantes sont traitées normalement.</li>
+ *     <li>Seules les réponses d'au plus {@value #MAX_BYTES_PROPERTY} octets (1 Mio par défaut)
+ *     sont partagées. Si le leader n'obtient pas de réponse partageable (réponse trop grosse,
+ *     client parti), ou si l'attente dépasse {@value #WAIT_PROPERTY} ms, chaque requête en
+ *     attente interroge le service elle-même.</li>
+ * </ul>
+ */
+public final class RequestCoalescer {
+
+    public static final String MAX_WAITERS_PROPERTY = "ste.gateway.coalesce.maxWaiters";
+    public static final String MAX_BYTES_PROPERTY = "ste.gateway.coalesce.maxBytes";
+    public static final String WAIT_PROPERTY = "ste.gateway.coalesce.waitMs";
+
+    /**
+     * Réponse partagée ; {@code headers} et {@code body} ne doivent pas être modifiés.
+     */
+    public record Response(int status, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    /**
+     * Place d'une requête dans un vol : leader (qui doit conclure le vol) ou requête en attente.
+     */
+    public record Ticket(Flight flight, boolean leader) {
+    }
+
+    /**
+     * @param collapseRatio part des requêtes servies par la réponse d'un leader
+     */
+    public record Stats(long leaders, long followers, long overflowed, long fallbacks,
+                        int inFlight, double collapseRatio) {
+    }
+
+    private final int maxWaiters;
+    private final int maxBytes;
+    private final Duration maxWait;
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public RequestCoalescer(int maxWaiters, int maxBytes, Duration maxWait) {
+        if (maxWaiters <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Les limites du regroupement doivent être positives");
+        }
+        this.maxWaiters = maxWaiters;
+        this.maxBytes = maxBytes;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Par défaut : 256 requêtes en attente par vol, réponses d'au plus 1 Mio, 15 s d'attente.
+     */
+    public static RequestCoalescer fromSystemProperties() {
+        return new RequestCoalescer(
+                Integer.getInteger(MAX_WAITERS_PROPERTY, 256),
+                Integer.getInteger(MAX_BYTES_PROPERTY, 1024 * 1024),
+                Duration.ofMillis(Long.getLong(WAIT_PROPERTY, 15_000)));
+    }
+
+    /**
+     * Rejoint le vol en cours pour cette clé, ou en démarre un.
+     *
+     * @return le ticket, ou {@code null} si le vol en cours a déjà trop de requêtes en attente
+     */
+    public Ticket join(String key) {
+        Flight created = new Flight(key);
+        Flight current = flights.putIfAbsent(key, created);
+        if (current == null) {
+            leaders.increment();
+            return new Ticket(created, true);
+        }
+        if (current.addWaiter()) {
+            followers.increment();
+            return new Ticket(current, false);
+        }
+        overflowed.increment();
+        return null;
+    }
+
+    public int maxBytes() {
+        return maxBytes;
+    }
+
+    public Stats stats() {
+        long led = leaders.sum();
+        long followed = followers.sum();
+        return new Stats(led, followed, overflowed.sum(), fallbacks.sum(), flights.size(),
+                led + followed == 0 ? 0 : (double) followed / (led + followed));
+    }
+
+    /**
+     * Appel amont partagé par les requêtes d'une même clé.
+     */
+    public final class Flight {
+        private final String key;
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+
+        private Flight(String key) {
+            this.key = key;
+        }
+
+        private boolean addWaiter() {
+            while (true) {
+                int current = waiters.get();
+                if (current >= maxWaiters) {
+                    return false;
+                }
+                if (waiters.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Transmet la réponse du leader aux requêtes en attente (appelé par le leader).
+         */
+        public void complete(Response response) {
+            flights.remove(key, this);
+            result.complete(response);
+        }
+
+        /**
+         * Termine le vol sans réponse partageable : chaque requête en attente interrogera le
+         * service elle-même. Sans effet si le vol est déjà terminé.
+         */
+        public void abandon() {
+            complete(null);
+        }
+
+        /**
+         * Attend la réponse du leader (appelé par une requête en attente).
+         *
+         * @return la réponse partagée, ou {@code null} s'il n'y en a pas
+         */
+        public Response await() {
+            Response response;
+            try {
+                response = result.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response = null;
+            } catch (ExecutionException | TimeoutException e) {
+                response = null;
+            }
+            if (response == null) {
+                fallbacks.increment();
+            }
+            return response;
+        }
+    }
+}
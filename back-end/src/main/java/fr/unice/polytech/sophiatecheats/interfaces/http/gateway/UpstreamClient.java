@@ -0,0 +1,211 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client HTTP partagé par le gateway pour joindre les microservices.
+ *
+ * <p>Un unique {@link HttpClient} est réutilisé pour toutes les requêtes : les connexions
+ * vers chaque service restent ouvertes (keep-alive) et sont recyclées d'une requête à l'autre,
+ * là où l'ancien proxy ouvrait une {@code HttpURLConnection} par requête.</p>
+ *
+ * <p>Les corps ne sont jamais chargés entièrement en mémoire :</p>
+ * <ul>
+ *     <li>le corps de la requête est publié au fil de l'eau vers le service, avec sa longueur
+ *     si le client l'a annoncée, en chunked sinon (un upload chunked n'est donc plus perdu) ;</li>
+ *     <li>le corps de la réponse est recopié vers le client par blocs de
+ *     {@value #BUFFER_SIZE_PROPERTY} octets (16 Kio par défaut).</li>
+ * </ul>
+ *
+ * <p>Délais : {@value #CONNECT_TIMEOUT_PROPERTY} borne l'établissement d'une connexion,
+ * {@value #READ_TIMEOUT_PROPERTY} l'attente des en-têtes de réponse du service.</p>
+ */
+public final class UpstreamClient {
+
+    public static final String CONNECT_TIMEOUT_PROPERTY = "ste.gateway.connectTimeoutMs";
+    public static final String READ_TIMEOUT_PROPERTY = "ste.gateway.readTimeoutMs";
+    public static final String BUFFER_SIZE_PROPERTY = "ste.gateway.bufferSize";
+
+    private static final long DEFAULT_CONNECT_TIMEOUT_MS = 2_000;
+    private static final long DEFAULT_READ_TIMEOUT_MS = 10_000;
+    private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * En-têtes propres à une connexion (RFC 9110 §7.6.1) ou recalculés par chaque saut :
+     * ils ne sont jamais recopiés d'un côté à l'autre du gateway.
+     */
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "keep-alive", "proxy-connection", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length", "expect"
+    );
+
+    private final HttpClient client;
+    private final Duration readTimeout;
+    private final int bufferSize;
+
+    public UpstreamClient(Duration connectTimeout, Duration readTimeout, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("La taille du tampon doit être positive");
+        }
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.readTimeout = readTimeout;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Construit le client à partir des propriétés système
+     * (ex : {@code -Dste.gateway.connectTimeoutMs=500 -Dste.gateway.readTimeoutMs=5000}).
+     */
+    public static UpstreamClient fromSystemProperties() {
+        return new UpstreamClient(
+                Duration.ofMillis(Long.getLong(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT_MS)),
+                Duration.ofMillis(Long.getLong(READ_TIMEOUT_PROPERTY, DEFAULT_READ_TIMEOUT_MS)),
+                Integer.getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE)
+        );
+    }
+
+    /**
+     * Transmet la requête de l'échange au service {@code baseUrl}, sans attendre sa réponse.
+     *
+     * <p>Le futur échoue avec une {@link java.net.http.HttpTimeoutException} si le service ne
+     * répond pas dans les délais, ou une {@link java.net.ConnectException} s'il est injoignable.</p>
+     */
+    public CompletableFuture<HttpResponse<InputStream>> send(HttpExchange exchange, String baseUrl) {
+        return send(exchange, baseUrl, bodyPublisher(exchange));
+    }
+
+    /**
+     * Comme {@link #send(HttpExchange, String)}, avec un corps déjà lu par le gateway.
+     */
+    public CompletableFuture<HttpResponse<InputStream>> send(HttpExchange exchange, String baseUrl, byte[] body) {
+        return send(exchange, baseUrl, HttpRequest.BodyPublishers.ofByteArray(body));
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> send(HttpExchange exchange, String baseUrl,
+                                                              HttpRequest.BodyPublisher body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + exchange.getRequestURI()))
+                .timeout(readTimeout)
+                .method(exchange.getRequestMethod(), body);
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase())) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * Recopie la réponse du service vers le client : statut, en-têtes puis corps, tel quel
+     * (un corps compressé par le service reste compressé).
+     */
+    public void relay(HttpResponse<InputStream> response, HttpExchange exchange) throws IOException {
+        relay(response, exchange, null);
+    }
+
+    /**
+     * Comme {@link #relay(HttpResponse, HttpExchange)}, en recopiant aussi le corps dans {@code capture}.
+     *
+     * @param capture flux recevant une copie du corps, peut être {@code null}
+     */
+    public void relay(HttpResponse<InputStream> response, HttpExchange exchange, OutputStream capture) throws IOException {
+        relay(response, exchange, capture, false);
+    }
+
+    /**
+     * Comme {@link #relay(HttpResponse, HttpExchange)}, pour un corps sans fin (Server-Sent Events) :
+     * chaque bloc lu est envoyé au client sans attendre que le tampon de sortie soit plein.
+     */
+    public void relayStreaming(HttpResponse<InputStream> response, HttpExchange exchange) throws IOException {
+        relay(response, exchange, null, true);
+    }
+
+    private void relay(HttpResponse<InputStream> response, HttpExchange exchange, OutputStream capture,
+                       boolean flushEachRead) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        relayableHeaders(response).forEach((name, values) -> values.forEach(value -> headers.add(name, value)));
+
+        int status = response.statusCode();
+        long contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        try (InputStream in = response.body()) {
+            if (contentLength == 0 || status == 204 || status == 304 || "HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+                return;
+            }
+            // Longueur connue → Content-Length, sinon chunked
+            exchange.sendResponseHeaders(status, contentLength > 0 ? contentLength : 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                copy(in, out, capture, flushEachRead);
+            }
+        }
+    }
+
+    /**
+     * @return les en-têtes de la réponse du service à transmettre au client
+     */
+    public static Map<String, List<String>> relayableHeaders(HttpResponse<?> response) {
+        Map<String, List<String>> relayable = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            String name = header.getKey();
+            String lower = name.toLowerCase();
+            if (!HOP_BY_HOP.contains(lower) && !lower.startsWith("access-control-") && !lower.startsWith(":")) {
+                relayable.put(name, header.getValue());
+            }
+        }
+        return relayable;
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(HttpExchange exchange) {
+        Headers headers = exchange.getRequestHeaders();
+        String contentLength = headers.getFirst("Content-Length");
+        boolean chunked = headers.getFirst("Transfer-Encoding") != null;
+        long length = -1;
+        if (contentLength != null) {
+            try {
+                length = Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Content-Length invalide : " + contentLength);
+            }
+        }
+
+        // Ni Content-Length ni Transfer-Encoding : la requête n'a pas de corps (RFC 9112 §6.3)
+        if (!chunked && length <= 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        HttpRequest.BodyPublisher stream = HttpRequest.BodyPublishers.ofInputStream(exchange::getRequestBody);
+        return length > 0 ? HttpRequest.BodyPublishers.fromPublisher(stream, length) : stream;
+    }
+
+    private void copy(InputStream in, OutputStream out, OutputStream capture, boolean flushEachRead) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (flushEachRead) {
+                out.flush();
+            }
+            if (capture != null) {
+                capture.write(buffer, 0, read);
+            }
+        }
+    }
+}
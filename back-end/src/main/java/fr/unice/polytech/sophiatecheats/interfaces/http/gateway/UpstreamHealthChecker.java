@@ -0,0 +1,113 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Sondes de santé actives des instances amont.
+ *
+ * <p>Toutes les {@value #INTERVAL_PROPERTY} millisecondes (2 s par défaut), chaque instance reçoit
+ * un {@code GET} sur {@value #PATH_PROPERTY} ({@code /health} par défaut). Une réponse 2xx dans
+ * le délai imparti est un succès, tout le reste un échec. Une instance est retirée du service
+ * après {@value #THRESHOLD_PROPERTY} échecs consécutifs (2 par défaut) et y revient après autant
+ * de succès consécutifs, ce qui évite qu'une sonde isolée ne la fasse osciller.</p>
+ */
+public final class UpstreamHealthChecker implements AutoCloseable {
+
+    public static final String INTERVAL_PROPERTY = "ste.gateway.health.intervalMs";
+    public static final String TIMEOUT_PROPERTY = "ste.gateway.health.timeoutMs";
+    public static final String PATH_PROPERTY = "ste.gateway.health.path";
+    public static final String THRESHOLD_PROPERTY = "ste.gateway.health.threshold";
+
+    private static final Logger logger = Logger.getLogger(UpstreamHealthChecker.class.getName());
+
+    private final List<UpstreamService> services;
+    private final Duration interval;
+    private final Duration timeout;
+    private final String path;
+    private final int threshold;
+    private final HttpClient client;
+    private final ScheduledExecutorService scheduler;
+
+    public UpstreamHealthChecker(List<UpstreamService> services, Duration interval, Duration timeout,
+                                 String path, int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Le seuil des sondes doit être positif");
+        }
+        this.services = List.copyOf(services);
+        this.interval = interval;
+        this.timeout = timeout;
+        this.path = path;
+        this.threshold = threshold;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gateway-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Par défaut : sonde {@code GET /health} toutes les 2 s, délai de 1 s, seuil de 2.
+     */
+    public static UpstreamHealthChecker fromSystemProperties(List<UpstreamService> services) {
+        return new UpstreamHealthChecker(services,
+                Duration.ofMillis(Long.getLong(INTERVAL_PROPERTY, 2_000)),
+                Duration.ofMillis(Long.getLong(TIMEOUT_PROPERTY, 1_000)),
+                System.getProperty(PATH_PROPERTY, "/health"),
+                Integer.getInteger(THRESHOLD_PROPERTY, 2));
+    }
+
+    /**
+     * Lance les sondes périodiques, la première immédiatement.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::probeAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sonde une fois toutes les instances et attend les résultats.
+     */
+    public void probeAll() {
+        services.stream()
+                .flatMap(service -> service.instances().stream())
+                .map(this::probe)
+                .toList()
+                .forEach(CompletableFuture::join);
+    }
+
+    private CompletableFuture<Void> probe(UpstreamInstance instance) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(instance.baseUrl() + path))
+                .timeout(timeout)
+                .GET()
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    boolean success = error == null && response.statusCode() / 100 == 2;
+                    boolean wasHealthy = instance.isHealthy();
+                    instance.recordProbe(success, threshold);
+                    if (wasHealthy != instance.isHealthy()) {
+                        logger.warning("Instance " + instance.baseUrl()
+                                + (instance.isHealthy() ? " rétablie" : " retirée du service"));
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,78 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Instance d'un service amont : son URL, son disjoncteur, son nombre de requêtes en cours
+ * et son état de santé, tenu à jour par {@link UpstreamHealthChecker}.
+ */
+public final class UpstreamInstance {
+
+    private final String baseUrl;
+    private final CircuitBreaker circuitBreaker;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private int consecutiveSuccesses;
+    private int consecutiveFailures;
+
+    public UpstreamInstance(String baseUrl, CircuitBreaker circuitBreaker) {
+        this.baseUrl = baseUrl;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return {@code true} si l'instance est saine et que son disjoncteur n'est pas ouvert
+     */
+    public boolean isAvailable() {
+        return healthy && circuitBreaker.state() != CircuitBreaker.State.OPEN;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Enregistre le résultat d'une sonde : l'instance change d'état après {@code threshold}
+     * résultats consécutifs contraires.
+     */
+    synchronized void recordProbe(boolean success, int threshold) {
+        if (success) {
+            consecutiveFailures = 0;
+            if (!healthy && ++consecutiveSuccesses >= threshold) {
+                healthy = true;
+            }
+        } else {
+            consecutiveSuccesses = 0;
+            if (healthy && ++consecutiveFailures >= threshold) {
+                healthy = false;
+            }
+        }
+    }
+
+    public Status status() {
+        return new Status(baseUrl, healthy, outstanding.get(), circuitBreaker.snapshot());
+    }
+
+    public record Status(String baseUrl, boolean healthy, int outstanding, CircuitBreaker.Snapshot circuitBreaker) {
+    }
+}
@@ -0,0 +1,181 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service amont vu par le gateway : un groupe d'instances derrière une même cloison.
+ *
+ * <p>Choix de l'instance ({@link #choose(String)}) parmi celles qui sont saines et dont le
+ * disjoncteur n'est pas ouvert :</p>
+ * <ul>
+ *     <li>avec une clé d'affinité (l'identifiant utilisateur), par hachage cohérent : chaque
+ *     instance occupe plusieurs points d'un anneau ({@value #VIRTUAL_NODES_PROPERTY}, 128 par
+ *     défaut) et la clé revient à la première instance disponible rencontrée après son propre
+ *     point. Le panier et les commandes d'un utilisateur, conservés en mémoire par l'instance,
+ *     restent donc au même endroit ; si une instance tombe, seuls ses utilisateurs sont
+ *     redirigés ;</li>
+ *     <li>sans clé, l'instance ayant le moins de requêtes en cours (les ex æquo sont départagés
+ *     au hasard).</li>
+ * </ul>
+ *
+ * <p>Chaque instance a son disjoncteur : une instance en panne n'empêche pas les autres de servir.</p>
+ */
+public final class UpstreamService {
+
+    public static final String VIRTUAL_NODES_PROPERTY = "ste.gateway.ring.virtualNodes";
+
+    private final String name;
+    private final List<UpstreamInstance> instances;
+    private final Bulkhead bulkhead;
+
+    // Anneau de hachage : positions triées et instance associée à chaque position
+    private final long[] ringPositions;
+    private final UpstreamInstance[] ringInstances;
+
+    public UpstreamService(String name, List<UpstreamInstance> instances, Bulkhead bulkhead) {
+        this(name, instances, bulkhead, Integer.getInteger(VIRTUAL_NODES_PROPERTY, 128));
+    }
+
+    UpstreamService(String name, List<UpstreamInstance> instances, Bulkhead bulkhead, int virtualNodes) {
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("Le service " + name + " doit avoir au moins une instance");
+        }
+        this.name = name;
+        this.instances = List.copyOf(instances);
+        this.bulkhead = bulkhead;
+
+        TreeMap<Long, UpstreamInstance> ring = new TreeMap<>();
+        for (UpstreamInstance instance : this.instances) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(instance.baseUrl() + "#" + i), instance);
+            }
+        }
+        this.ringPositions = new long[ring.size()];
+        this.ringInstances = new UpstreamInstance[ring.size()];
+        int index = 0;
+        for (Map.Entry<Long, UpstreamInstance> node : ring.entrySet()) {
+            ringPositions[index] = node.getKey();
+            ringInstances[index++] = node.getValue();
+        }
+    }
+
+    /**
+     * Service à une seule instance, configuré à partir des propriétés système.
+     */
+    public static UpstreamService of(String name, String baseUrl) {
+        return of(name, List.of(baseUrl));
+    }
+
+    /**
+     * Service configuré à partir des propriétés système ({@link CircuitBreaker.Settings} pour
+     * chaque instance, {@link Bulkhead} pour le service).
+     */
+    public static UpstreamService of(String name, List<String> baseUrls) {
+        List<UpstreamInstance> instances = new ArrayList<>();
+        for (String baseUrl : baseUrls) {
+            instances.add(new UpstreamInstance(baseUrl, new CircuitBreaker(CircuitBreaker.Settings.fromSystemProperties())));
+        }
+        return new UpstreamService(name, instances, Bulkhead.fromSystemProperties());
+    }
+
+    /**
+     * Service dont les instances sont lues dans {@code ste.gateway.<name>.urls}
+     * (liste séparée par des virgules), {@code defaultUrl} sinon.
+     */
+    public static UpstreamService fromSystemProperties(String name, String defaultUrl) {
+        String configured = System.getProperty("ste.gateway." + name + ".urls", defaultUrl);
+        List<String> urls = Arrays.stream(configured.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        return of(name, urls);
+    }
+
+    /**
+     * @param affinityKey clé d'affinité (identifiant utilisateur), {@code null} pour équilibrer la charge
+     * @return l'instance choisie, ou {@code null} si aucune n'est disponible
+     */
+    public UpstreamInstance choose(String affinityKey) {
+        return affinityKey != null ? byHash(affinityKey) : leastOutstanding();
+    }
+
+    private UpstreamInstance byHash(String key) {
+        int start = Arrays.binarySearch(ringPositions, hash(key));
+        if (start < 0) {
+            start = -start - 1;
+        }
+        for (int i = 0; i < ringPositions.length; i++) {
+            UpstreamInstance instance = ringInstances[(start + i) % ringPositions.length];
+            if (instance.isAvailable()) {
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return l'instance disponible la moins chargée autre que {@code excluded}, ou {@code null}
+     */
+    public UpstreamInstance chooseOther(UpstreamInstance excluded) {
+        return leastOutstanding(excluded);
+    }
+
+    private UpstreamInstance leastOutstanding() {
+        return leastOutstanding(null);
+    }
+
+    private UpstreamInstance leastOutstanding(UpstreamInstance excluded) {
+        int size = instances.size();
+        int offset = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+        UpstreamInstance best = null;
+        for (int i = 0; i < size; i++) {
+            UpstreamInstance instance = instances.get((offset + i) % size);
+            if (instance != excluded && instance.isAvailable()
+                    && (best == null || instance.outstanding() < best.outstanding())) {
+                best = instance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * FNV-1a 64 bits suivi du mélange final de MurmurHash3, pour bien répartir des clés proches
+     * (UUID, URL numérotées).
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<UpstreamInstance> instances() {
+        return instances;
+    }
+
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    public Status status() {
+        return new Status(name, instances.stream().map(UpstreamInstance::status).toList(),
+                bulkhead.inFlight(), bulkhead.maxConcurrent(), bulkhead.rejected());
+    }
+
+    public record Status(String name, List<UpstreamInstance.Status> instances,
+                         int inFlight, int maxConcurrent, long bulkheadRejected) {
+    }
+}
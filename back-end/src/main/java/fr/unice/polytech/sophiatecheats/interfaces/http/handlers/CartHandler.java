@@ -5,23 +5,37 @@ import fr.unice.polytech.sophiatecheats.application.dto.FindCartRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.FindCartResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.order.OrderDto;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.AddDishToCartRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BatchCartRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.PlaceOrderRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.RemoveFromCartRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.SelectDeliverySlotRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.UpdateCartItemRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.AddDishToCartResponse;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BatchCartResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.PlaceOrderResponse;
 import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.EntityNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.InvalidRequestBodyException;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JsonCodec;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
 
 import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class CartHandler implements RouteHandler {
+    private static final Logger logger = Logger.getLogger(CartHandler.class.getName());
+    private static final JsonCodec<AddDishToCartRequest> ADD_DISH_CODEC = JsonCodec.of(AddDishToCartRequest.class);
+    private static final JsonCodec<BatchCartRequest> BATCH_CODEC = JsonCodec.of(BatchCartRequest.class);
+    private static final JsonCodec<UpdateCartItemRequest> UPDATE_ITEM_CODEC = JsonCodec.of(UpdateCartItemRequest.class);
+    private static final JsonCodec<PlaceOrderRequest> PLACE_ORDER_CODEC = JsonCodec.of(PlaceOrderRequest.class);
+    private static final JsonCodec<SelectDeliverySlotRequest> SELECT_SLOT_CODEC = JsonCodec.of(SelectDeliverySlotRequest.class);
+
     private final SophiaTechEatsFacade facade;
 
     public CartHandler(SophiaTechEatsFacade facade) {
@@ -45,6 +59,8 @@ public class CartHandler implements RouteHandler {
                     } else if (path.contains("/delivery-slot")) {
                         // SÉLECTION DU CRÉNEAU  Onn l Ajouter au panier
                         selectDeliverySlotForCart(exchange, pathParams.get("userId"), sender);
+                    } else if (path.endsWith("/items:batch")) {
+                        applyBatch(exchange, pathParams.get("userId"), sender);
                     } else if (path.contains("/items")) {
                         addItemToCart(exchange, sender);
                     }
@@ -83,14 +99,25 @@ public class CartHandler implements RouteHandler {
     }
 
     private void addItemToCart(HttpExchange exchange, ResponseSender sender) throws IOException {
-        String json = new String(exchange.getRequestBody().readAllBytes());
-        AddDishToCartRequest request = JaxsonUtils.fromJson(json, AddDishToCartRequest.class);
+        AddDishToCartRequest request = ADD_DISH_CODEC.read(exchange);
         AddDishToCartResponse response = facade.addDishToCart(request);
 
         sender.send(HttpUtils.CREATED, JaxsonUtils.toJson(response),
                 Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
     }
 
+    /**
+     * Applique un lot d'opérations au panier : {@code 200} si tout a été appliqué,
+     * {@code 422} sinon (le panier est inchangé et chaque refus est détaillé).
+     */
+    private void applyBatch(HttpExchange exchange, String userId, ResponseSender sender) throws IOException {
+        BatchCartRequest body = BATCH_CODEC.read(exchange);
+        BatchCartResponse response = facade.applyCartOperations(
+                new BatchCartRequest(UUID.fromString(userId), body.operations()));
+
+        sender.sendJson(response.success() ? HttpUtils.OK : HttpUtils.UNPROCESSABLE_ENTITY, response, null);
+    }
+
     private void getCart(String userId, ResponseSender sender) throws IOException {
         try {
             FindCartRequest request = new FindCartRequest(UUID.fromString(userId));
@@ -142,8 +169,7 @@ public class CartHandler implements RouteHandler {
     }
 
     private void updateCartItem(Map<String, String> params, HttpExchange exchange, ResponseSender sender) throws IOException {
-        String json = new String(exchange.getRequestBody().readAllBytes());
-        UpdateCartItemRequest request = JaxsonUtils.fromJson(json, UpdateCartItemRequest.class);
+        UpdateCartItemRequest request = UPDATE_ITEM_CODEC.read(exchange);
 
         facade.updateCartItem(request);
 
@@ -154,8 +180,7 @@ public class CartHandler implements RouteHandler {
     private void processPayment(HttpExchange exchange, String userId, ResponseSender sender) throws IOException {
         try {
 
-            String json = new String(exchange.getRequestBody().readAllBytes());
-            PlaceOrderRequest placeOrderRequest = JaxsonUtils.fromJson(json, PlaceOrderRequest.class);
+            PlaceOrderRequest placeOrderRequest = PLACE_ORDER_CODEC.read(exchange);
 
 
             PlaceOrderResponse orderResponse = facade.placeOrder(placeOrderRequest);
@@ -169,6 +194,9 @@ public class CartHandler implements RouteHandler {
                     Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON)
             );
 
+        } catch (InvalidRequestBodyException e) {
+            sendPaymentError(sender, e.getMessage(), e.getStatusCode());
+
         } catch (ValidationException e) {
             sendPaymentError(sender, e.getMessage(), HttpUtils.BAD_REQUEST);
 
@@ -199,25 +227,9 @@ public class CartHandler implements RouteHandler {
 
     private void selectDeliverySlotForCart(HttpExchange exchange, String userId, ResponseSender sender) throws IOException {
         try {
-            // Lire le body
-            String json = new String(exchange.getRequestBody().readAllBytes());
-            System.out.println("🎯 [selectDeliverySlotForCart] Received JSON: " + json);
-            System.out.println("🆔 [selectDeliverySlotForCart] UserId: " + userId);
+            UUID deliverySlotId = SELECT_SLOT_CODEC.read(exchange).deliverySlotId();
 
-            var request = JaxsonUtils.fromJson(json, java.util.Map.class);
-            String deliverySlotId = (String) request.get("deliverySlotId");
-
-            if (deliverySlotId == null) {
-                System.err.println("❌ [selectDeliverySlotForCart] deliverySlotId is null!");
-                sendPaymentError(sender, "deliverySlotId est requis", HttpUtils.BAD_REQUEST);
-                return;
-            }
-
-            System.out.println("📦 [selectDeliverySlotForCart] Attempting to select slot: " + deliverySlotId + " for user: " + userId);
-
-            facade.setDeliverySlotToCart(UUID.fromString(userId), UUID.fromString(deliverySlotId));
-
-            System.out.println("✅ [selectDeliverySlotForCart] Slot selected successfully!");
+            facade.setDeliverySlotToCart(UUID.fromString(userId), deliverySlotId);
 
             sender.send(
                     HttpUtils.OK,
@@ -229,17 +241,14 @@ public class CartHandler implements RouteHandler {
                     java.util.Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON)
             );
 
+        } catch (InvalidRequestBodyException e) {
+            sendPaymentError(sender, e.getMessage(), e.getStatusCode());
         } catch (EntityNotFoundException e) {
-            System.err.println("❌ [selectDeliverySlotForCart] EntityNotFoundException: " + e.getMessage());
-            e.printStackTrace();
             sendPaymentError(sender, e.getMessage(), HttpUtils.RESOURCE_NOT_FOUND);
-        } catch (ValidationException e) {
-            System.err.println("❌ [selectDeliverySlotForCart] ValidationException: " + e.getMessage());
-            e.printStackTrace();
+        } catch (ValidationException | IllegalArgumentException e) {
             sendPaymentError(sender, e.getMessage(), HttpUtils.BAD_REQUEST);
         } catch (Exception e) {
-            System.err.println("❌ [selectDeliverySlotForCart] Exception: " + e.getMessage());
-            e.printStackTrace();
+            logger.log(Level.WARNING, "Sélection du créneau impossible pour " + userId, e);
             sendPaymentError(sender, "Erreur lors de la sélection du créneau: " + e.getMessage(), HttpUtils.INTERNAL_SERVER_ERROR);
         }
     }
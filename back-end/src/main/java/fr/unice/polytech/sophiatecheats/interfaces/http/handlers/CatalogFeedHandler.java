@@ -0,0 +1,141 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.CatalogEventDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.CatalogSnapshotDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantSnapshotDto;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantService;
+import fr.unice.polytech.sophiatecheats.infrastructure.feed.CatalogChangeLog;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flux de modifications du catalogue pour les réplicas du service consommateur.
+ *
+ * <ul>
+ *     <li>{@code GET /internal/catalog/snapshot} : tous les restaurants, l'époque du journal et
+ *     la séquence du flux à partir de laquelle les suivre.</li>
+ *     <li>{@code GET /internal/catalog/feed?after=N&epoch=E} : connexion longue qui transmet les
+ *     événements postérieurs à {@code N}, un objet JSON par ligne, puis chaque nouvel événement
+ *     dès sa publication. En l'absence d'activité, un battement de cœur (événement sans type)
+ *     part toutes les {@value #HEARTBEAT_PROPERTY} ms (5000 par défaut). Si {@code E} n'est pas
+ *     l'époque du journal (service redémarré depuis l'instantané) ou si {@code N} n'y est plus,
+ *     la réponse est {@code 410 Gone} : le réplica doit repartir d'un instantané.
+ *     Le flux se ferme aussi lorsqu'un réplica trop lent est dépassé par le journal.</li>
+ * </ul>
+ *
+ * <p>Chaque connexion occupe un thread de requête : le mode {@code VIRTUAL} par défaut de
+ * {@link fr.unice.polytech.sophiatecheats.interfaces.http.server.RequestExecution} s'y prête.</p>
+ */
+public class CatalogFeedHandler implements RouteHandler {
+
+    public static final String SNAPSHOT_PATH = "/internal/catalog/snapshot";
+    public static final String FEED_PATH = "/internal/catalog/feed";
+    public static final String HEARTBEAT_PROPERTY = "ste.catalog.feed.heartbeatMs";
+
+    private static final int MAX_EVENTS_PER_WRITE = 256;
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final RestaurantService restaurantService;
+    private final CatalogChangeLog changeLog;
+    private final Duration heartbeat;
+
+    public CatalogFeedHandler(RestaurantService restaurantService, CatalogChangeLog changeLog) {
+        this(restaurantService, changeLog, Duration.ofMillis(Long.getLong(HEARTBEAT_PROPERTY, 5_000)));
+    }
+
+    public CatalogFeedHandler(RestaurantService restaurantService, CatalogChangeLog changeLog, Duration heartbeat) {
+        this.restaurantService = restaurantService;
+        this.changeLog = changeLog;
+        this.heartbeat = heartbeat;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange, Map<String, String> pathParams, ResponseSender sender) throws IOException {
+        if (SNAPSHOT_PATH.equals(exchange.getRequestURI().getPath())) {
+            sendSnapshot(sender);
+        } else {
+            stream(exchange, sender);
+        }
+    }
+
+    private void sendSnapshot(ResponseSender sender) throws IOException {
+        // Séquence lue avant la liste : les événements rejoués ensuite sont déjà inclus ou plus récents
+        long sequence = changeLog.lastSequence();
+        List<RestaurantSnapshotDto> restaurants = restaurantService.listRestaurants().stream()
+                .map(RestaurantSnapshotDto::fromEntity)
+                .toList();
+        sender.sendJson(HttpUtils.OK, new CatalogSnapshotDto(changeLog.epoch(), sequence, restaurants), null);
+    }
+
+    private void stream(HttpExchange exchange, ResponseSender sender) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        long after;
+        try {
+            after = Long.parseLong(queryParam(query, "after"));
+        } catch (NumberFormatException e) {
+            sender.send(HttpUtils.BAD_REQUEST, "Missing or invalid 'after' sequence", null);
+            return;
+        }
+        // Journal recréé depuis l'instantané du réplica (redémarrage) : ses séquences n'ont plus le même sens
+        if (!changeLog.epoch().equals(queryParam(query, "epoch"))) {
+            sender.send(HttpUtils.GONE, "{\"error\":\"Catalog feed epoch changed\"}", null);
+            return;
+        }
+        if (changeLog.eventsAfter(after, 0) == null) {
+            sender.send(HttpUtils.GONE, "{\"error\":\"Sequence " + after + " is no longer available\"}", null);
+            return;
+        }
+
+        exchange.getResponseHeaders().set(HttpUtils.CONTENT_TYPE, "application/x-ndjson");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(HttpUtils.OK, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            while (true) {
+                List<CatalogEventDto> events = changeLog.awaitEventsAfter(after, MAX_EVENTS_PER_WRITE, heartbeat);
+                if (events == null) {
+                    // Réplica dépassé par le journal : il se resynchronisera à la reconnexion
+                    return;
+                }
+                if (events.isEmpty()) {
+                    writeLine(out, CatalogEventDto.heartbeat(changeLog.lastSequence(), changeLog.now()));
+                } else {
+                    for (CatalogEventDto event : events) {
+                        writeLine(out, event);
+                    }
+                    after = events.getLast().sequence();
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Réplica déconnecté
+        }
+    }
+
+    private static void writeLine(OutputStream out, CatalogEventDto event) throws IOException {
+        JaxsonUtils.writeJson(out, event);
+        out.write(NEW_LINE);
+    }
+
+    private static String queryParam(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2 && parts[0].equals(name)) {
+                return parts[1];
+            }
+        }
+        return null;
+    }
+}
@@ -3,19 +3,20 @@ package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
 import com.sun.net.httpserver.HttpExchange;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
 import fr.unice.polytech.sophiatecheats.domain.services.RestaurantService;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ConditionalRequests;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
-import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JsonCodec;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.UUID;
 
 public class CatalogHandler implements RouteHandler {
 
+    private static final JsonCodec<DishDto> DISH_CODEC = JsonCodec.of(DishDto.class);
+
     private final RestaurantService restaurantService;
 
     public CatalogHandler(RestaurantService restaurantService) {
@@ -52,17 +53,16 @@ public class CatalogHandler implements RouteHandler {
     }
 
     private void getMenu(HttpExchange exchange, UUID restaurantId, ResponseSender sender) throws IOException {
-        sender.send(HttpUtils.OK,
-                JaxsonUtils.toJson(restaurantService.getRestaurantMenu(restaurantId)),
-                Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
+        String etag = ConditionalRequests.etag("m", restaurantService.getRestaurantById(restaurantId).getVersion());
+        if (ConditionalRequests.sendNotModifiedIfMatches(exchange, etag, sender)) {
+            return;
+        }
+        sender.sendJson(HttpUtils.OK, restaurantService.getRestaurantMenu(restaurantId), Map.of(HttpUtils.ETAG, etag));
     }
 
     private void addDish(HttpExchange exchange, UUID restaurantId, ResponseSender sender) throws IOException {
-        InputStream is = exchange.getRequestBody();
-        String json = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-        DishDto dto = JaxsonUtils.fromJson(json, DishDto.class);
+        DishDto dto = DISH_CODEC.read(exchange);
 
-        assert dto != null;
         restaurantService.addDishToRestaurant(
                 restaurantId,
                 dto.name(),
@@ -75,11 +75,8 @@ public class CatalogHandler implements RouteHandler {
     }
 
     private void updateDish(HttpExchange exchange, UUID restaurantId, UUID dishId, ResponseSender sender) throws IOException {
-        InputStream is = exchange.getRequestBody();
-        String json = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-        DishDto dto = JaxsonUtils.fromJson(json, DishDto.class);
+        DishDto dto = DISH_CODEC.read(exchange);
 
-        assert dto != null;
         if (dto.name() != null) restaurantService.updateDishName(restaurantId, dishId, dto.name());
         if (dto.description() != null) restaurantService.updateDishDescription(restaurantId, dishId, dto.description());
         if (dto.price() != null) restaurantService.updateDishPrice(restaurantId, dishId, dto.price());
@@ -2,23 +2,31 @@ package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
 import fr.unice.polytech.sophiatecheats.application.dto.GetAvailableDeliverySlotsRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.delivery.CreateDeliverySlotsRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.delivery.DeliverySlotDTO;
 import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ConditionalRequests;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.InvalidRequestBodyException;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JsonCodec;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class DeliverySlotApiHandler implements RouteHandler {
 
+    private static final Logger logger = Logger.getLogger(DeliverySlotApiHandler.class.getName());
+    private static final JsonCodec<CreateDeliverySlotsRequest> CREATE_SLOTS_CODEC = JsonCodec.of(CreateDeliverySlotsRequest.class);
+
     private final SophiaTechEatsFacade facade;
 
     public DeliverySlotApiHandler(SophiaTechEatsFacade facade) {
@@ -36,7 +44,7 @@ public class DeliverySlotApiHandler implements RouteHandler {
         switch (method) {
             case "GET":
                 LocalDate date = pathParams.containsKey("date") ? LocalDate.parse(pathParams.get("date")) : LocalDate.now();
-                getSlots(restaurantId, date, sender);
+                getSlots(exchange, restaurantId, date, sender);
                 break;
             case "POST":
                 if (slotId != null) reserveOrReleaseSlot(restaurantId, slotId, sender, exchange);
@@ -47,47 +55,30 @@ public class DeliverySlotApiHandler implements RouteHandler {
         }
     }
 
-    private void getSlots(UUID restaurantId, LocalDate date, ResponseSender sender) throws IOException {
+    private void getSlots(HttpExchange exchange, UUID restaurantId, LocalDate date, ResponseSender sender) throws IOException {
+        // Les créneaux passés disparaissent avec le temps : l'ETag change aussi à chaque minute
+        String etag = "\"s" + facade.getRestaurantVersion(restaurantId) + "-" + date
+                + "-" + System.currentTimeMillis() / 60_000 + "\"";
+        if (ConditionalRequests.sendNotModifiedIfMatches(exchange, etag, sender)) {
+            return;
+        }
+
         GetAvailableDeliverySlotsRequest request = new GetAvailableDeliverySlotsRequest(restaurantId, date);
         List<DeliverySlotDTO> slots = facade.getAvailableDeliverySlots(request);
-        sender.send(HttpUtils.OK, JaxsonUtils.toJson(slots), Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
+        sender.send(HttpUtils.OK, JaxsonUtils.toJson(slots), Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON, HttpUtils.ETAG, etag));
     }
 
     private void createSlots(HttpExchange exchange, UUID restaurantId, ResponseSender sender) throws IOException {
         try {
-            InputStream is = exchange.getRequestBody();
-            String json = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-            System.out.println("📥 Received JSON for createSlots: " + json);
-
-            Map<?, ?> data = JaxsonUtils.fromJson(json, Map.class);
-
-            if (data == null) {
-                sender.send(HttpUtils.BAD_REQUEST, "{\"error\":\"Invalid JSON data\"}", Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
-                return;
-            }
-
-            System.out.println("📊 Parsed data: " + data);
-
-            // Valider que tous les champs requis sont présents
-            if (!data.containsKey("date") || !data.containsKey("start") ||
-                !data.containsKey("end") || !data.containsKey("maxCapacityPerSlot")) {
-                String errorMsg = String.format("{\"error\":\"Missing required fields. Received: %s\"}", data.keySet());
-                sender.send(HttpUtils.BAD_REQUEST, errorMsg, Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
-                return;
-            }
-
-            LocalDate date = LocalDate.parse((String) data.get("date"));
-            LocalTime start = LocalTime.parse((String) data.get("start"));
-            LocalTime end = LocalTime.parse((String) data.get("end"));
-            int maxCapacity = (Integer) data.get("maxCapacityPerSlot");
-
-            System.out.println("✅ Generating slots: date=" + date + ", start=" + start + ", end=" + end + ", maxCapacity=" + maxCapacity);
+            CreateDeliverySlotsRequest request = CREATE_SLOTS_CODEC.read(exchange);
 
-            facade.generateDeliverySlots(restaurantId, date, start, end, maxCapacity);
+            facade.generateDeliverySlots(restaurantId, request.date(), request.start(), request.end(), request.maxCapacityPerSlot());
             sender.send(HttpUtils.CREATED, "Delivery slots created", Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.TEXT_PLAIN));
+        } catch (InvalidRequestBodyException e) {
+            String errorMsg = JaxsonUtils.toJson(Map.of("error", e.getMessage()));
+            sender.send(e.getStatusCode(), errorMsg, Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
         } catch (Exception e) {
-            System.err.println("❌ Error in createSlots: " + e.getMessage());
-            e.printStackTrace();
+            logger.log(Level.FINE, "Création des créneaux refusée pour " + restaurantId, e);
             String errorMsg = String.format("{\"error\":\"Failed to create slots: %s\"}", e.getMessage().replace("\"", "\\\""));
             sender.send(HttpUtils.BAD_REQUEST, errorMsg, Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
         }
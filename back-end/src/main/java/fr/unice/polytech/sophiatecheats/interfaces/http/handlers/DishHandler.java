@@ -0,0 +1,83 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@code GET /dishes?ids=id1,id2,...} : plusieurs plats du catalogue, avec leur restaurant, en
+ * une seule requête (le paramètre {@code ids} peut aussi être répété).
+ *
+ * <p>Les identifiants inconnus sont listés dans {@code notFound} plutôt que de faire échouer la
+ * demande : un panier peut contenir un plat retiré du menu depuis.</p>
+ */
+public class DishHandler implements RouteHandler {
+
+    public static final String PATH = "/dishes";
+
+    private final SophiaTechEatsFacade facade;
+
+    public DishHandler(SophiaTechEatsFacade facade) {
+        this.facade = facade;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange, Map<String, String> pathParams, ResponseSender sender) throws IOException {
+        String method = exchange.getRequestMethod();
+
+        try {
+            if ("GET".equals(method)) {
+                getDishes(exchange, sender);
+            } else if ("OPTIONS".equals(method)) {
+                sender.send(HttpUtils.OK, "", null);
+            } else {
+                sender.send(HttpUtils.BAD_REQUEST, "Method not supported", null);
+            }
+        } catch (Exception e) {
+            GlobalExceptionHandler.callWithGlobalExceptionHandling(exchange, () -> {
+                throw e;
+            });
+        }
+    }
+
+    private void getDishes(HttpExchange exchange, ResponseSender sender) throws IOException {
+        List<UUID> dishIds;
+        try {
+            dishIds = parseIds(exchange.getRequestURI().getRawQuery());
+        } catch (IllegalArgumentException e) {
+            sender.send(HttpUtils.BAD_REQUEST, "Invalid dish ID format", null);
+            return;
+        }
+        try {
+            sender.sendJson(HttpUtils.OK, facade.getDishes(dishIds), null);
+        } catch (IllegalArgumentException e) {
+            sender.send(HttpUtils.BAD_REQUEST, e.getMessage(), null);
+        }
+    }
+
+    private static List<UUID> parseIds(String query) {
+        List<UUID> ids = new ArrayList<>();
+        if (query == null || query.isEmpty()) {
+            return ids;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2 && parts[0].equals("ids")) {
+                // Virgule éventuellement encodée par le client
+                for (String id : parts[1].replace("%2C", ",").replace("%2c", ",").split(",")) {
+                    if (!id.isBlank()) {
+                        ids.add(UUID.fromString(id.trim()));
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
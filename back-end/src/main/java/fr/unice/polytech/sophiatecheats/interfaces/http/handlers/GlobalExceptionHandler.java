@@ -2,7 +2,9 @@ package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.*;
+import fr.unice.polytech.sophiatecheats.infrastructure.client.RestaurantServiceUnavailableException;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.InvalidRequestBodyException;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -98,6 +100,16 @@ public class GlobalExceptionHandler {
         sendErrorResponse(exchange, HttpUtils.BAD_REQUEST, e.getMessage());
     }
 
+    public static void handleException(HttpExchange exchange, InvalidRequestBodyException e) throws IOException {
+        logger.info("InvalidRequestBodyException: " + e.getMessage());
+        sendErrorResponse(exchange, e.getStatusCode(), e.getMessage());
+    }
+
+    public static void handleException(HttpExchange exchange, RestaurantServiceUnavailableException e) throws IOException {
+        logger.info("RestaurantServiceUnavailableException: " + e.getMessage());
+        sendErrorResponse(exchange, HttpUtils.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
     public static void handleException(HttpExchange exchange, IllegalArgumentException e) throws IOException {
         logger.info("IllegalArgumentException: " + e.getMessage());
         sendErrorResponse(exchange, HttpUtils.BAD_REQUEST, e.getMessage());
@@ -141,6 +153,10 @@ public class GlobalExceptionHandler {
             handleException(exchange, e);
         } catch (ValidationException e) {
             handleException(exchange, e);
+        } catch (InvalidRequestBodyException e) {
+            handleException(exchange, e);
+        } catch (RestaurantServiceUnavailableException e) {
+            handleException(exchange, e);
         } catch (IllegalArgumentException e) {
             handleException(exchange, e);
         } catch (Exception e) {
@@ -0,0 +1,21 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * {@code GET /health} : sonde interrogée par le gateway pour savoir si une instance peut recevoir du trafic.
+ */
+public class HealthHandler implements RouteHandler {
+
+    public static final String PATH = "/health";
+
+    @Override
+    public void handle(HttpExchange exchange, Map<String, String> pathParams, ResponseSender sender) throws IOException {
+        sender.send(HttpUtils.OK, "{\"status\":\"UP\"}", Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
+    }
+}
@@ -7,6 +7,7 @@ import fr.unice.polytech.sophiatecheats.application.dto.user.request.PlaceOrderR
 import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JsonCodec;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
 
 import java.io.IOException;
@@ -14,6 +15,9 @@ import java.util.Map;
 
 public class OrderHandler implements RouteHandler {
 
+    private static final JsonCodec<PlaceOrderRequest> PLACE_ORDER_CODEC = JsonCodec.of(PlaceOrderRequest.class);
+    private static final JsonCodec<SelectDeliverySlotRequest> SELECT_SLOT_CODEC = JsonCodec.of(SelectDeliverySlotRequest.class);
+
     private final SophiaTechEatsFacade facade;
 
     public OrderHandler(SophiaTechEatsFacade facade) {
@@ -67,16 +71,14 @@ public class OrderHandler implements RouteHandler {
     }
 
     private void createOrder(HttpExchange exchange, ResponseSender sender) throws IOException {
-        String json = new String(exchange.getRequestBody().readAllBytes());
-        PlaceOrderRequest request = JaxsonUtils.fromJson(json, PlaceOrderRequest.class);
+        PlaceOrderRequest request = PLACE_ORDER_CODEC.read(exchange);
         var response = facade.placeOrder(request);
         sender.send(HttpUtils.CREATED, JaxsonUtils.toJson(response),
                 Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
     }
 
     private void selectDeliverySlot(HttpExchange exchange, String orderId, ResponseSender sender) throws IOException {
-        String json = new String(exchange.getRequestBody().readAllBytes());
-        SelectDeliverySlotRequest request = JaxsonUtils.fromJson(json, SelectDeliverySlotRequest.class);
+        SelectDeliverySlotRequest request = SELECT_SLOT_CODEC.read(exchange);
         var response = facade.selectDeliverySlot(request);
         sender.send(HttpUtils.OK, JaxsonUtils.toJson(response),
                 Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
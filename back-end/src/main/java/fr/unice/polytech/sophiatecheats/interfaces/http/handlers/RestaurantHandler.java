@@ -1,20 +1,25 @@
 package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
+import fr.unice.polytech.sophiatecheats.application.dto.PageCursor;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.ProjectedRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
-import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantFields;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.CatalogVersion;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
 import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ConditionalRequests;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
-import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JsonCodec;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +31,8 @@ import java.util.stream.Collectors;
  */
 public class RestaurantHandler implements RouteHandler {
 
+    private static final JsonCodec<RestaurantDto> RESTAURANT_CODEC = JsonCodec.of(RestaurantDto.class);
+
     private final SophiaTechEatsFacade facade;
 
     public RestaurantHandler(SophiaTechEatsFacade facade) {
@@ -41,7 +48,7 @@ public class RestaurantHandler implements RouteHandler {
             switch (method) {
                 case "GET":
                     if (pathParams.containsKey("id")) {
-                        getRestaurantById(UUID.fromString(pathParams.get("id")), sender);
+                        getRestaurantById(exchange, UUID.fromString(pathParams.get("id")), sender);
                     } else {
                         handleFilteredRestaurantList(exchange, sender);
                     }
@@ -78,57 +85,61 @@ public class RestaurantHandler implements RouteHandler {
         URI requestUri = exchange.getRequestURI();
         Map<String, String> queryParams = parseQueryParams(requestUri.getQuery());
 
-        List<RestaurantDto> restaurants = facade.browseAllRestaurants().restaurants();
+        // La liste (et ses filtres) ne dépend que de la version du catalogue
+        String etag = ConditionalRequests.etag("c", CatalogVersion.current());
+        if (ConditionalRequests.sendNotModifiedIfMatches(exchange, etag, sender)) {
+            return;
+        }
 
-        // Filter: cuisineType
+        // Les filtres sont appliqués par le use case, en un seul parcours du catalogue
+        DietType dietType = null;
         if (queryParams.containsKey("cuisineType")) {
             try {
-                DietType category = DietType.valueOf(queryParams.get("cuisineType").toUpperCase());
-                restaurants = restaurants.stream()
-                        .filter(r -> r.dishes().stream().anyMatch(d -> d.dietTypes().contains(category)))
-                        .toList();
+                dietType = DietType.valueOf(queryParams.get("cuisineType").toUpperCase());
             } catch (IllegalArgumentException e) {
                 sender.send(HttpUtils.BAD_REQUEST, "Invalid cuisineType value", null);
                 return;
             }
         }
 
-        // Filter: restaurantType
+        RestaurantType restaurantType = null;
         if (queryParams.containsKey("restaurantType")) {
             try {
-                RestaurantType type = RestaurantType.valueOf(queryParams.get("restaurantType").toUpperCase());
-                restaurants = restaurants.stream()
-                        .filter(r -> type.equals(r.restaurantType()))
-                        .toList();
+                restaurantType = RestaurantType.valueOf(queryParams.get("restaurantType").toUpperCase());
             } catch (IllegalArgumentException e) {
                 sender.send(HttpUtils.BAD_REQUEST, "Invalid restaurantType value", null);
                 return;
             }
         }
 
-        // Filter: isOpen
-        if (queryParams.containsKey("isOpen")) {
-            boolean open = Boolean.parseBoolean(queryParams.get("isOpen"));
-            restaurants = restaurants.stream()
-                    .filter(r -> r.isOpen() == open)
-                    .toList();
+        Boolean open = queryParams.containsKey("isOpen") ? Boolean.parseBoolean(queryParams.get("isOpen")) : null;
+
+        BrowseRestaurantsRequest request = new BrowseRestaurantsRequest(null, open, dietType, null, null, restaurantType);
+
+        // Pagination à la demande : sans limit ni cursor, la liste complète reste un tableau
+        boolean paged = queryParams.containsKey("limit") || queryParams.containsKey("cursor");
+        try {
+            RestaurantFields fields = RestaurantFields.parse(queryParams.get("fields"), queryParams.get("view"));
+            if (fields != null) {
+                ProjectedRestaurantsResponse projected = facade.browseRestaurants(request, fields, queryParams.get("cursor"),
+                        paged ? PageCursor.parseLimit(queryParams.get("limit")) : null);
+                sender.sendJson(HttpUtils.OK, paged ? projected : projected.restaurants(), Map.of(HttpUtils.ETAG, etag));
+                return;
+            }
+            if (paged) {
+                BrowseRestaurantsResponse page = facade.browseRestaurants(request, queryParams.get("cursor"),
+                        PageCursor.parseLimit(queryParams.get("limit")));
+                sender.sendJson(HttpUtils.OK, page, Map.of(HttpUtils.ETAG, etag));
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            sender.send(HttpUtils.BAD_REQUEST, e.getMessage(), null);
+            return;
         }
 
-        List<RestaurantDto> restaurantDtos = restaurants.stream()
-                .map(r -> new RestaurantDto(
-                        r.id(), r.name(), r.address(),
-                        r.openingTime(), r.closingTime(), r.isOpen(),
-                        r.dishes().stream().map(d -> new DishDto(
-                                d.id(), d.name(), d.description(), d.price(),
-                                d.category(), d.available(), d.dietTypes())
-                        ).toList(), r.restaurantType())
-                )
-                .toList();
-
-        sender.send(
-                HttpUtils.OK, JaxsonUtils.toJson(restaurantDtos),
-                Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON)
-        );
+        List<RestaurantDto> restaurants = facade.browseRestaurants(request).restaurants();
+
+        sender.sendJson(HttpUtils.OK, restaurants, Map.of(HttpUtils.ETAG, etag));
     }
 
     private Map<String, String> parseQueryParams(String query) {
@@ -140,23 +151,39 @@ public class RestaurantHandler implements RouteHandler {
                 .collect(Collectors.toMap(arr -> arr[0], arr -> arr[1]));
     }
 
-    private void getRestaurantById(UUID id, ResponseSender sender) throws IOException {
-        RestaurantDto r = facade.browseAllRestaurants().restaurants().stream()
-                .filter(rest -> rest.id().equals(id))
-                .findFirst()
-                .orElse(null);
-        if (r == null) {
+    private void getRestaurantById(HttpExchange exchange, UUID id, ResponseSender sender) throws IOException {
+        Map<String, String> queryParams = parseQueryParams(exchange.getRequestURI().getQuery());
+        RestaurantFields fields;
+        try {
+            fields = RestaurantFields.parse(queryParams.get("fields"), queryParams.get("view"));
+        } catch (IllegalArgumentException e) {
+            sender.send(HttpUtils.BAD_REQUEST, e.getMessage(), null);
+            return;
+        }
+
+        String etag;
+        try {
+            etag = ConditionalRequests.etag("r", facade.getRestaurantVersion(id));
+        } catch (RestaurantNotFoundException e) {
+            sender.send(HttpUtils.RESOURCE_NOT_FOUND, "Restaurant not found", null);
+            return;
+        }
+        if (ConditionalRequests.sendNotModifiedIfMatches(exchange, etag, sender)) {
+            return;
+        }
+
+        Object r;
+        try {
+            r = fields != null ? facade.getRestaurantDetails(id, fields) : facade.getRestaurantDetails(id);
+        } catch (RestaurantNotFoundException e) {
             sender.send(HttpUtils.RESOURCE_NOT_FOUND, "Restaurant not found", null);
             return;
         }
-        sender.send(HttpUtils.OK, JaxsonUtils.toJson(r), Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON));
+        sender.sendJson(HttpUtils.OK, r, Map.of(HttpUtils.ETAG, etag));
     }
 
     private void createRestaurant(HttpExchange exchange, ResponseSender sender) throws IOException {
-        InputStream is = exchange.getRequestBody();
-        String json = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-        RestaurantDto dto = JaxsonUtils.fromJson(json, RestaurantDto.class);
-        if (dto == null) throw new IllegalArgumentException("Invalid restaurant JSON");
+        RestaurantDto dto = RESTAURANT_CODEC.read(exchange);
 
         Restaurant r = facade.createRestaurant(dto.name(), dto.address());
 
@@ -164,10 +191,7 @@ public class RestaurantHandler implements RouteHandler {
     }
 
     private void updateRestaurant(HttpExchange exchange, UUID id, ResponseSender sender) throws IOException {
-        InputStream is = exchange.getRequestBody();
-        String json = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-        RestaurantDto dto = JaxsonUtils.fromJson(json, RestaurantDto.class);
-        if (dto == null) throw new IllegalArgumentException("Invalid restaurant JSON");
+        RestaurantDto dto = RESTAURANT_CODEC.read(exchange);
 
         if (dto.name() != null) facade.updateRestaurantName(id, dto.name());
         if (dto.address() != null) facade.updateRestaurantAddress(id, dto.address());
@@ -0,0 +1,182 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import fr.unice.polytech.sophiatecheats.application.dto.order.OrderEventDto;
+import fr.unice.polytech.sophiatecheats.application.dto.order.RestaurantOrderDto;
+import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
+import fr.unice.polytech.sophiatecheats.infrastructure.feed.OrderEventLog;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@code GET /restaurants/{id}/orders/stream} : les commandes du restaurant poussées en
+ * Server-Sent Events au tableau de bord, à la place de l'interrogation périodique de
+ * {@code GET /restaurants/{id}/orders}.
+ *
+ * <ul>
+ *     <li>À l'ouverture, un événement {@code snapshot} contient toutes les commandes visibles
+ *     (payées, confirmées ou en préparation).</li>
+ *     <li>Chaque commande visible nouvelle ou modifiée arrive ensuite dans un événement
+ *     {@code order}, qui remplace la copie du tableau de bord ; une commande qui n'est plus
+ *     visible (expirée, par exemple) arrive dans un événement {@code removed}, et le tableau de
+ *     bord la retire.</li>
+ *     <li>Chaque événement porte un {@code id} de la forme {@code époque:séquence} : à la
+ *     reconnexion, le navigateur le renvoie dans l'en-tête {@code Last-Event-ID} (ou le client
+ *     dans {@code ?lastEventId=}) et le flux reprend juste après. Si l'époque n'est plus celle du
+ *     journal (service redémarré) ou si cet événement n'y est plus, un nouveau {@code snapshot}
+ *     est envoyé.</li>
+ *     <li>En l'absence d'activité, un commentaire part toutes les {@value #HEARTBEAT_PROPERTY} ms
+ *     (15000 par défaut), pour garder la connexion ouverte à travers les proxys.</li>
+ * </ul>
+ *
+ * <p>Les événements ne sont pas mis en file par abonné : un tableau de bord qui ne lit plus
+ * est dépassé par le journal de {@link OrderEventLog}, et son flux est fermé ; il reprendra
+ * d'un {@code snapshot} à la reconnexion. Chaque connexion occupe un thread de requête en
+ * attente sur le seul canal de son restaurant : le mode {@code VIRTUAL} par défaut de
+ * {@link fr.unice.polytech.sophiatecheats.interfaces.http.server.RequestExecution} s'y prête.</p>
+ */
+public class RestaurantOrderStreamHandler implements RouteHandler {
+
+    public static final String HEARTBEAT_PROPERTY = "ste.orders.stream.heartbeatMs";
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+    public static final String EVENT_STREAM = "text/event-stream";
+
+    /**
+     * Délai de reconnexion conseillé au navigateur.
+     */
+    private static final int RETRY_MS = 3_000;
+    private static final int MAX_EVENTS_PER_WRITE = 64;
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final SophiaTechEatsFacade facade;
+    private final OrderEventLog eventLog;
+    private final Duration heartbeat;
+
+    public RestaurantOrderStreamHandler(SophiaTechEatsFacade facade, OrderEventLog eventLog) {
+        this(facade, eventLog, Duration.ofMillis(Long.getLong(HEARTBEAT_PROPERTY, 15_000)));
+    }
+
+    public RestaurantOrderStreamHandler(SophiaTechEatsFacade facade, OrderEventLog eventLog, Duration heartbeat) {
+        this.facade = facade;
+        this.eventLog = eventLog;
+        this.heartbeat = heartbeat;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange, Map<String, String> pathParams, ResponseSender sender) throws IOException {
+        UUID restaurantId;
+        try {
+            restaurantId = UUID.fromString(pathParams.get("id"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            sender.send(HttpUtils.BAD_REQUEST, "Invalid restaurant ID format", null);
+            return;
+        }
+        try {
+            facade.getRestaurantVersion(restaurantId);
+        } catch (RestaurantNotFoundException e) {
+            sender.send(HttpUtils.RESOURCE_NOT_FOUND, "Restaurant not found", null);
+            return;
+        }
+
+        exchange.getResponseHeaders().set(HttpUtils.CONTENT_TYPE, EVENT_STREAM);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(HttpUtils.OK, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(("retry: " + RETRY_MS + "\n\n").getBytes(StandardCharsets.US_ASCII));
+
+            long after = lastEventId(exchange);
+            if (after < 0 || eventLog.eventsAfter(restaurantId, after, 0) == null) {
+                after = sendSnapshot(out, restaurantId);
+            }
+            out.flush();
+
+            while (true) {
+                List<OrderEventDto> events = eventLog.awaitEventsAfter(restaurantId, after, MAX_EVENTS_PER_WRITE, heartbeat);
+                if (events == null) {
+                    // Tableau de bord dépassé par le journal : il repartira d'un snapshot
+                    return;
+                }
+                if (events.isEmpty()) {
+                    out.write(HEARTBEAT);
+                } else {
+                    for (OrderEventDto event : events) {
+                        writeEvent(out, event.sequence(), event.removed() ? "removed" : "order", event.order());
+                    }
+                    after = events.getLast().sequence();
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Tableau de bord déconnecté
+        }
+    }
+
+    /**
+     * @return la séquence à partir de laquelle suivre le journal
+     */
+    private long sendSnapshot(OutputStream out, UUID restaurantId) throws IOException {
+        // Séquence lue avant la liste : les événements rejoués ensuite sont déjà inclus ou plus récents
+        long sequence = eventLog.lastSequence(restaurantId);
+        List<RestaurantOrderDto> orders = facade.getRestaurantOrders(restaurantId).orders();
+        writeEvent(out, sequence, "snapshot", orders);
+        return sequence;
+    }
+
+    private void writeEvent(OutputStream out, long sequence, String type, Object data) throws IOException {
+        out.write(("id: " + eventLog.epoch() + ":" + sequence + "\nevent: " + type + "\ndata: ")
+                .getBytes(StandardCharsets.US_ASCII));
+        // JSON sur une ligne : aucun retour à la ligne ne coupe le champ data
+        out.write(JaxsonUtils.toJson(data).getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+        out.write('\n');
+    }
+
+    /**
+     * @return la séquence du dernier événement reçu par le client, {@code -1} s'il n'en indique pas
+     * ou s'il l'a reçu d'un journal précédent
+     */
+    private long lastEventId(HttpExchange exchange) {
+        String value = exchange.getRequestHeaders().getFirst(LAST_EVENT_ID);
+        if (value == null) {
+            value = queryParam(exchange.getRequestURI().getRawQuery(), "lastEventId");
+        }
+        if (value == null) {
+            return -1;
+        }
+        // Séquences reparties de 1 depuis : reprendre à cette position sauterait des commandes
+        int separator = value.lastIndexOf(':');
+        if (separator < 0 || !value.substring(0, separator).trim().equals(eventLog.epoch())) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.substring(separator + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String queryParam(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2 && parts[0].equals(name)) {
+                return parts[1];
+            }
+        }
+        return null;
+    }
+}
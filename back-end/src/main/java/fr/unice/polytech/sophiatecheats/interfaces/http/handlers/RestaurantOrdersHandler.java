@@ -1,13 +1,14 @@
 package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
+import fr.unice.polytech.sophiatecheats.application.dto.PageCursor;
 import fr.unice.polytech.sophiatecheats.application.dto.order.response.GetRestaurantOrdersResponse;
 import fr.unice.polytech.sophiatecheats.application.facade.SophiaTechEatsFacade;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
-import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
 import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -28,7 +29,7 @@ public class RestaurantOrdersHandler implements RouteHandler {
 
         try {
             if ("GET".equals(method)) {
-                getRestaurantOrders(pathParams, sender);
+                getRestaurantOrders(exchange, pathParams, sender);
             } else if ("OPTIONS".equals(method)) {
                 sender.send(HttpUtils.OK, "", null);
             } else {
@@ -41,24 +42,49 @@ public class RestaurantOrdersHandler implements RouteHandler {
         }
     }
 
-    private void getRestaurantOrders(Map<String, String> pathParams, ResponseSender sender) throws IOException {
+    private void getRestaurantOrders(HttpExchange exchange, Map<String, String> pathParams, ResponseSender sender) throws IOException {
         if (!pathParams.containsKey("id")) {
             sender.send(HttpUtils.BAD_REQUEST, "Restaurant ID is required", null);
             return;
         }
 
+        UUID restaurantId;
         try {
-            UUID restaurantId = UUID.fromString(pathParams.get("id"));
-            GetRestaurantOrdersResponse response = facade.getRestaurantOrders(restaurantId);
-
-            sender.send(
-                    HttpUtils.OK,
-                    JaxsonUtils.toJson(response),
-                    Map.of(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON)
-            );
+            restaurantId = UUID.fromString(pathParams.get("id"));
         } catch (IllegalArgumentException e) {
             sender.send(HttpUtils.BAD_REQUEST, "Invalid restaurant ID format", null);
+            return;
+        }
+
+        // Pagination à la demande (?limit=&cursor=), dans l'ordre chronologique
+        Map<String, String> query = parseQueryParams(exchange.getRequestURI().getRawQuery());
+        GetRestaurantOrdersResponse response;
+        if (query.containsKey("limit") || query.containsKey("cursor")) {
+            try {
+                response = facade.getRestaurantOrders(restaurantId, query.get("cursor"),
+                        PageCursor.parseLimit(query.get("limit")));
+            } catch (IllegalArgumentException e) {
+                sender.send(HttpUtils.BAD_REQUEST, e.getMessage(), null);
+                return;
+            }
+        } else {
+            response = facade.getRestaurantOrders(restaurantId);
+        }
+
+        sender.sendJson(HttpUtils.OK, response, null);
+    }
+
+    private Map<String, String> parseQueryParams(String query) {
+        if (query == null || query.isEmpty()) return Map.of();
+
+        Map<String, String> params = new HashMap<>();
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2) {
+                params.put(parts[0], parts[1]);
+            }
         }
+        return params;
     }
 }
 
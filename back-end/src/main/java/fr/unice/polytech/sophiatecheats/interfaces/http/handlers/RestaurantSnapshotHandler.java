@@ -0,0 +1,130 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantBatchDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantSnapshotDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.CatalogVersion;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantService;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ConditionalRequests;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@code GET /internal/restaurants} : lecture du catalogue par les autres services.
+ *
+ * <ul>
+ *     <li>Sans paramètre : tous les restaurants, avec l'ETag du catalogue ({@code 304} si inchangé).</li>
+ *     <li>{@code ?ids=a,b&versions=3,0} : lecture groupée d'au plus {@value #MAX_IDS} restaurants.
+ *     {@code versions} donne, dans le même ordre, la version déjà connue du demandeur
+ *     ({@code 0} si aucune) : un restaurant inchangé est seulement cité dans {@code unchanged}.</li>
+ * </ul>
+ */
+public class RestaurantSnapshotHandler implements RouteHandler {
+
+    public static final String PATH = "/internal/restaurants";
+    public static final int MAX_IDS = 200;
+
+    private final RestaurantService restaurantService;
+
+    public RestaurantSnapshotHandler(RestaurantService restaurantService) {
+        this.restaurantService = restaurantService;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange, Map<String, String> pathParams, ResponseSender sender) throws IOException {
+        Map<String, String> query = parseQueryParams(exchange.getRequestURI().getRawQuery());
+        String ids = query.get("ids");
+        if (ids == null) {
+            sendAll(exchange, sender);
+            return;
+        }
+
+        List<UUID> requested = new ArrayList<>();
+        List<Long> known = new ArrayList<>();
+        try {
+            for (String id : ids.split(",")) {
+                requested.add(UUID.fromString(id));
+            }
+            String versions = query.get("versions");
+            if (versions != null) {
+                for (String version : versions.split(",")) {
+                    known.add(Long.parseLong(version));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            sender.send(HttpUtils.BAD_REQUEST, "Invalid ids or versions", null);
+            return;
+        }
+        if (requested.size() > MAX_IDS || (!known.isEmpty() && known.size() != requested.size())) {
+            sender.send(HttpUtils.BAD_REQUEST, "At most " + MAX_IDS + " ids, with one version per id", null);
+            return;
+        }
+        sender.sendJson(HttpUtils.OK, lookup(requested, known), null);
+    }
+
+    private void sendAll(HttpExchange exchange, ResponseSender sender) throws IOException {
+        // Lue avant la liste : au pire la réponse est plus récente que son ETag
+        long catalogVersion = CatalogVersion.current();
+        String etag = ConditionalRequests.etag("c", catalogVersion);
+        if (ConditionalRequests.sendNotModifiedIfMatches(exchange, etag, sender)) {
+            return;
+        }
+        List<RestaurantSnapshotDto> restaurants = restaurantService.listRestaurants().stream()
+                .map(RestaurantSnapshotDto::fromEntity)
+                .toList();
+        sender.sendJson(HttpUtils.OK, new RestaurantBatchDto(catalogVersion, restaurants, List.of(), List.of()),
+                Map.of(HttpUtils.ETAG, etag));
+    }
+
+    private RestaurantBatchDto lookup(List<UUID> requested, List<Long> known) {
+        long catalogVersion = CatalogVersion.current();
+        List<RestaurantSnapshotDto> restaurants = new ArrayList<>();
+        List<UUID> unchanged = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        Set<UUID> seen = new LinkedHashSet<>();
+        for (int i = 0; i < requested.size(); i++) {
+            UUID id = requested.get(i);
+            if (!seen.add(id)) {
+                continue;
+            }
+            Restaurant restaurant;
+            try {
+                restaurant = restaurantService.getRestaurantById(id);
+            } catch (RestaurantNotFoundException e) {
+                missing.add(id);
+                continue;
+            }
+            // 0 : aucune copie chez le demandeur, même pour un restaurant jamais enregistré
+            if (!known.isEmpty() && known.get(i) != 0 && known.get(i) == restaurant.getVersion()) {
+                unchanged.add(id);
+            } else {
+                restaurants.add(RestaurantSnapshotDto.fromEntity(restaurant));
+            }
+        }
+        return new RestaurantBatchDto(catalogVersion, restaurants, unchanged, missing);
+    }
+
+    private Map<String, String> parseQueryParams(String query) {
+        if (query == null || query.isEmpty()) return Map.of();
+
+        Map<String, String> params = new HashMap<>();
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2) {
+                params.put(parts[0], parts[1]);
+            }
+        }
+        return params;
+    }
+}
@@ -0,0 +1,80 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import fr.unice.polytech.sophiatecheats.application.dto.delivery.DeliverySlotDTO;
+import fr.unice.polytech.sophiatecheats.application.dto.delivery.SlotBatchDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.ResponseSender;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@code GET /internal/slots?ids=a,b} : lecture groupée d'au plus {@value #MAX_IDS} créneaux de
+ * livraison par les autres services, qui ne connaissent d'un créneau que son identifiant (celui
+ * gardé dans le panier). Les identifiants inconnus sont cités dans {@code missing}.
+ */
+public class SlotSnapshotHandler implements RouteHandler {
+
+    public static final String PATH = "/internal/slots";
+    public static final int MAX_IDS = 200;
+
+    private final TimeSlotRepository timeSlotRepository;
+
+    public SlotSnapshotHandler(TimeSlotRepository timeSlotRepository) {
+        this.timeSlotRepository = timeSlotRepository;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange, Map<String, String> pathParams, ResponseSender sender) throws IOException {
+        Set<UUID> requested = new LinkedHashSet<>();
+        try {
+            requested.addAll(parseIds(exchange.getRequestURI().getRawQuery()));
+        } catch (IllegalArgumentException e) {
+            sender.send(HttpUtils.BAD_REQUEST, "Invalid slot ids", null);
+            return;
+        }
+        if (requested.isEmpty() || requested.size() > MAX_IDS) {
+            sender.send(HttpUtils.BAD_REQUEST, "Between 1 and " + MAX_IDS + " ids", null);
+            return;
+        }
+
+        List<DeliverySlotDTO> slots = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : requested) {
+            Optional<TimeSlot> slot = timeSlotRepository.findById(id);
+            if (slot.isPresent()) {
+                slots.add(DeliverySlotDTO.fromEntity(slot.get()));
+            } else {
+                missing.add(id);
+            }
+        }
+        sender.sendJson(HttpUtils.OK, new SlotBatchDto(slots, missing), null);
+    }
+
+    private static List<UUID> parseIds(String query) {
+        List<UUID> ids = new ArrayList<>();
+        if (query == null || query.isEmpty()) {
+            return ids;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2 && parts[0].equals("ids")) {
+                for (String id : parts[1].replace("%2C", ",").replace("%2c", ",").split(",")) {
+                    if (!id.isBlank()) {
+                        ids.add(UUID.fromString(id.trim()));
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,99 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.routing;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Vue en lecture seule des paramètres de chemin d'une requête.
+ *
+ * <p>Plutôt que de copier les valeurs dans une {@code HashMap}, la vue conserve le chemin
+ * de la requête et les bornes (début, fin) de chaque segment paramétré. Une valeur n'est
+ * extraite ({@code substring}) que lorsqu'un handler la demande.</p>
+ */
+public final class PathParams extends AbstractMap<String, String> {
+
+    private static final String[] NO_NAMES = new String[0];
+    private static final PathParams EMPTY = new PathParams("", NO_NAMES, new int[0]);
+
+    private final String path;
+    private final String[] names;
+    private final int[] bounds;
+
+    PathParams(String path, String[] names, int[] bounds) {
+        this.path = path;
+        this.names = names;
+        this.bounds = bounds;
+    }
+
+    public static PathParams empty() {
+        return EMPTY;
+    }
+
+    private int indexOf(Object name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String valueAt(int index) {
+        return path.substring(bounds[2 * index], bounds[2 * index + 1]);
+    }
+
+    @Override
+    public String get(Object name) {
+        int index = indexOf(name);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return indexOf(name) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int index = next++;
+                        return new SimpleImmutableEntry<>(names[index], valueAt(index));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.routing;
+
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RouteHandler;
+
+/**
+ * Résultat de la résolution d'une route : le handler et les paramètres extraits du chemin.
+ */
+public record RouteMatch(RouteHandler handler, PathParams pathParams) {
+}
@@ -0,0 +1,138 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.routing;
+
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RouteHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arbre de routes indexé par segment de chemin, pour une méthode HTTP donnée.
+ *
+ * <p>Chaque nœud possède des arêtes littérales ({@code /restaurants}) et au plus une arête
+ * paramétrée ({@code /{id}}). La résolution parcourt le chemin segment par segment, sans
+ * expression régulière ni découpage du chemin : son coût est proportionnel au nombre de
+ * segments, et non au nombre de routes enregistrées. Les arêtes littérales sont prioritaires ;
+ * en cas d'échec plus profond, la résolution revient en arrière sur l'arête paramétrée.</p>
+ */
+public final class RouteTrie {
+
+    private final Node root = new Node();
+    private int maxParams;
+
+    /**
+     * Enregistre une route, ex : {@code /restaurants/{id}/menu/{dishId}}.
+     *
+     * @throws IllegalArgumentException si le chemin est invalide ou déjà enregistré
+     */
+    public void insert(String path, RouteHandler handler) {
+        if (path == null || !path.startsWith("/")) {
+            throw new IllegalArgumentException("Le chemin de la route doit commencer par '/' : " + path);
+        }
+        Node node = root;
+        List<String> paramNames = new ArrayList<>();
+        for (String segment : path.substring(1).split("/", -1)) {
+            if (segment.isEmpty()) {
+                if (path.length() == 1) {
+                    break;
+                }
+                throw new IllegalArgumentException("Segment vide dans la route : " + path);
+            }
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                paramNames.add(segment.substring(1, segment.length() - 1));
+                node = node.paramChild();
+            } else {
+                node = node.literalChild(segment);
+            }
+        }
+        if (node.handler != null) {
+            throw new IllegalArgumentException("Route déjà enregistrée : " + path);
+        }
+        node.handler = handler;
+        node.paramNames = paramNames.toArray(String[]::new);
+        maxParams = Math.max(maxParams, paramNames.size());
+    }
+
+    /**
+     * Résout un chemin de requête.
+     *
+     * @return la route correspondante, ou {@code null} si aucune ne correspond
+     */
+    public RouteMatch match(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        if (path.length() == 1) {
+            return root.handler != null ? new RouteMatch(root.handler, PathParams.empty()) : null;
+        }
+        int[] bounds = maxParams == 0 ? null : new int[2 * maxParams];
+        Node node = find(root, path, 1, bounds, 0);
+        if (node == null) {
+            return null;
+        }
+        PathParams params = node.paramNames.length == 0
+                ? PathParams.empty()
+                : new PathParams(path, node.paramNames, bounds);
+        return new RouteMatch(node.handler, params);
+    }
+
+    private Node find(Node node, String path, int start, int[] bounds, int paramIndex) {
+        if (start > path.length()) {
+            return node.handler != null ? node : null;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int length = end - start;
+
+        for (int i = 0; i < node.literalCount; i++) {
+            String key = node.literalKeys[i];
+            if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                Node found = find(node.literalChildren[i], path, end + 1, bounds, paramIndex);
+                if (found != null) {
+                    return found;
+                }
+                break;
+            }
+        }
+
+        if (node.param != null && length > 0) {
+            bounds[2 * paramIndex] = start;
+            bounds[2 * paramIndex + 1] = end;
+            return find(node.param, path, end + 1, bounds, paramIndex + 1);
+        }
+        return null;
+    }
+
+    private static final class Node {
+        private String[] literalKeys = new String[0];
+        private Node[] literalChildren = new Node[0];
+        private int literalCount;
+        private Node param;
+        private RouteHandler handler;
+        private String[] paramNames;
+
+        private Node literalChild(String segment) {
+            for (int i = 0; i < literalCount; i++) {
+                if (literalKeys[i].equals(segment)) {
+                    return literalChildren[i];
+                }
+            }
+            literalKeys = Arrays.copyOf(literalKeys, literalCount + 1);
+            literalChildren = Arrays.copyOf(literalChildren, literalCount + 1);
+            Node child = new Node();
+            literalKeys[literalCount] = segment;
+            literalChildren[literalCount] = child;
+            literalCount++;
+            return child;
+        }
+
+        private Node paramChild() {
+            if (param == null) {
+                param = new Node();
+            }
+            return param;
+        }
+    }
+}
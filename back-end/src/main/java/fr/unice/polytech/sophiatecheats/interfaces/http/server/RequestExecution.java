@@ -0,0 +1,204 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.HttpUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mode d'exécution des requêtes pour les services basés sur {@link HttpServer}.
+ *
+ * <p>Sans exécuteur, {@link HttpServer} traite chaque requête sur son unique thread
+ * de dispatch : un paiement par carte (100 ms) ou un saut de proxy bloque alors
+ * toutes les autres requêtes. Cette classe fournit deux modes :</p>
+ * <ul>
+ *     <li><strong>VIRTUAL</strong> : un thread virtuel par requête (mode par défaut)</li>
+ *     <li><strong>BOUNDED</strong> : un pool de threads plateforme borné avec une file
+ *     d'attente limitée ; au-delà, la requête reçoit immédiatement un 503</li>
+ * </ul>
+ *
+ * <p>Le mode est choisi via les propriétés système {@value #MODE_PROPERTY},
+ * {@value #THREADS_PROPERTY} et {@value #QUEUE_PROPERTY}.</p>
+ */
+public final class RequestExecution {
+
+    public static final String MODE_PROPERTY = "ste.http.mode";
+    public static final String THREADS_PROPERTY = "ste.http.threads";
+    public static final String QUEUE_PROPERTY = "ste.http.queue";
+
+    /**
+     * Propriété du {@link HttpServer} du JDK activant {@code TCP_NODELAY} sur les connexions acceptées.
+     */
+    public static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private static final int DEFAULT_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 4);
+    private static final int DEFAULT_QUEUE = 256;
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * Positionné sur le thread de dispatch lorsque le pool borné refuse une requête :
+     * la requête est alors exécutée sur place mais court-circuitée par {@link #guard(HttpHandler)}.
+     */
+    private static final ThreadLocal<Boolean> REJECTED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    static {
+        // Sans TCP_NODELAY, en-têtes et corps partent en deux segments et le second attend
+        // l'acquittement retardé du client : ~40 ms par requête, donc par saut via le gateway.
+        // La propriété est lue à la création du premier HttpServer, d'où ce bloc statique.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+    }
+
+    public enum Mode {
+        VIRTUAL,
+        BOUNDED
+    }
+
+    private final Mode mode;
+    private final int threads;
+    private final int queueCapacity;
+    private final LongAdder rejectedCount = new LongAdder();
+    private ExecutorService executor;
+
+    private RequestExecution(Mode mode, int threads, int queueCapacity) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("La capacité de la file ne peut pas être négative");
+        }
+        this.mode = mode;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public static RequestExecution virtualThreads() {
+        return new RequestExecution(Mode.VIRTUAL, 1, 0);
+    }
+
+    public static RequestExecution boundedPool(int threads, int queueCapacity) {
+        return new RequestExecution(Mode.BOUNDED, threads, queueCapacity);
+    }
+
+    /**
+     * Construit le mode d'exécution à partir des propriétés système
+     * (ex : {@code -Dste.http.mode=bounded -Dste.http.threads=32 -Dste.http.queue=128}).
+     */
+    public static RequestExecution fromSystemProperties() {
+        String configured = System.getProperty(MODE_PROPERTY, Mode.VIRTUAL.name());
+        Mode mode;
+        try {
+            mode = Mode.valueOf(configured.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Mode d'exécution inconnu : " + configured, e);
+        }
+        if (mode == Mode.VIRTUAL) {
+            return virtualThreads();
+        }
+        return boundedPool(
+                Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS),
+                Integer.getInteger(QUEUE_PROPERTY, DEFAULT_QUEUE)
+        );
+    }
+
+    /**
+     * Enregistre le handler sur le contexte donné et configure l'exécuteur du serveur.
+     */
+    public void install(HttpServer server, String contextPath, HttpHandler handler) {
+        server.createContext(contextPath, guard(handler));
+        server.setExecutor(executor());
+    }
+
+    /**
+     * Retourne (en le créant au premier appel) l'exécuteur correspondant au mode.
+     */
+    public synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = switch (mode) {
+                case VIRTUAL -> Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("http-vt-", 0).factory());
+                case BOUNDED -> newBoundedPool();
+            };
+        }
+        return executor;
+    }
+
+    private ExecutorService newBoundedPool() {
+        BlockingQueue<Runnable> queue = queueCapacity == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger index = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "http-worker-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, factory,
+                (task, pool) -> {
+                    // HttpServer ferme la connexion sans réponse si execute() lève une exception :
+                    // on exécute donc la tâche sur le thread de dispatch, marquée comme rejetée.
+                    REJECTED.set(Boolean.TRUE);
+                    try {
+                        task.run();
+                    } finally {
+                        REJECTED.remove();
+                    }
+                });
+    }
+
+    /**
+     * Enveloppe un handler pour répondre 503 lorsque la requête a été refusée par le pool.
+     */
+    public HttpHandler guard(HttpHandler handler) {
+        return exchange -> {
+            if (Boolean.TRUE.equals(REJECTED.get())) {
+                rejectedCount.increment();
+                sendServiceUnavailable(exchange);
+                return;
+            }
+            handler.handle(exchange);
+        };
+    }
+
+    private static void sendServiceUnavailable(HttpExchange exchange) throws IOException {
+        byte[] body = "{\"error\":\"Service surchargé, réessayez plus tard\"}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HttpUtils.CONTENT_TYPE, HttpUtils.APPLICATION_JSON);
+        exchange.getResponseHeaders().set(HttpUtils.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        exchange.sendResponseHeaders(HttpUtils.SERVICE_UNAVAILABLE, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    public void shutdown() {
+        ExecutorService current;
+        synchronized (this) {
+            current = executor;
+        }
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public String describe() {
+        return mode == Mode.VIRTUAL
+                ? "threads virtuels (un par requête)"
+                : "pool borné (" + threads + " threads, file de " + queueCapacity + ", 503 au-delà)";
+    }
+}
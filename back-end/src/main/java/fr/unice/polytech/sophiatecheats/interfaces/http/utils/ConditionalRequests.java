@@ -0,0 +1,104 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Requêtes conditionnelles ({@code If-None-Match} / {@code 304 Not Modified}).
+ *
+ * <p>Les handlers calculent un ETag à partir d'une version (celle d'un restaurant ou celle du
+ * catalogue) <em>avant</em> d'appeler le moindre use case : si le client possède déjà cette
+ * version, la réponse 304 part sans reconstruire ni sérialiser les DTO.</p>
+ */
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Construit un ETag fort, ex : {@code etag("r", 42)} → {@code "r42"}.
+     */
+    public static String etag(String prefix, long version) {
+        return "\"" + prefix + version + "\"";
+    }
+
+    /**
+     * @return {@code true} si l'en-tête {@code If-None-Match} de la requête désigne {@code etag}
+     */
+    public static boolean matches(HttpExchange exchange, String etag) {
+        return matches(exchange.getRequestHeaders().getFirst(HttpUtils.IF_NONE_MATCH), etag);
+    }
+
+    /**
+     * Compare un en-tête {@code If-None-Match} à un ETag (comparaison faible, RFC 9110 §13.1.2).
+     * Les variantes compressées ({@code "r42-gzip"}), de part et d'autre, désignent la même version.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String expected = withoutEncoding(opaque(etag));
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || expected.equals(withoutEncoding(opaque(tag)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Répond {@code 304 Not Modified} si le client possède déjà la version courante, avec le même
+     * ETag que la réponse 200 qu'il détient (variante compressée comprise).
+     *
+     * @return {@code true} si la réponse a été envoyée et que le handler doit s'arrêter
+     */
+    public static boolean sendNotModifiedIfMatches(HttpExchange exchange, String etag, ResponseSender sender) throws IOException {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst(HttpUtils.IF_NONE_MATCH);
+        if (!matches(ifNoneMatch, etag)) {
+            return false;
+        }
+        String sent = notModifiedEtag(ifNoneMatch, etag, ResponseCompression.negotiate(exchange));
+        if (!sent.equals(etag)) {
+            ResponseCompression.addVary(exchange.getResponseHeaders());
+        }
+        sender.send(HttpUtils.NOT_MODIFIED, "", Map.of(HttpUtils.ETAG, sent));
+        return true;
+    }
+
+    /**
+     * ETag d'une réponse 304 : la variante compressée citée par le client si elle correspond
+     * encore à l'encodage négocié (la réponse 200 l'aurait portée), sinon {@code etag}.
+     */
+    static String notModifiedEtag(String ifNoneMatch, String etag, String encoding) {
+        if (encoding == null || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            return etag;
+        }
+        String variant = etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (opaque(candidate.trim()).equals(opaque(variant))) {
+                return variant;
+            }
+        }
+        return etag;
+    }
+
+    private static String opaque(String tag) {
+        String value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static String withoutEncoding(String tag) {
+        for (String suffix : new String[]{"-" + ResponseCompression.GZIP, "-" + ResponseCompression.DEFLATE}) {
+            if (tag.endsWith(suffix)) {
+                return tag.substring(0, tag.length() - suffix.length());
+            }
+        }
+        return tag;
+    }
+}
@@ -4,12 +4,16 @@ public class HttpUtils {
     public static final int OK = 200;
     public static final int CREATED = 201;
     public static final int NO_CONTENT = 204;
+    public static final int NOT_MODIFIED = 304;
 
     public static final int BAD_REQUEST = 400;
     public static final int RESOURCE_NOT_FOUND = 404;
     public static final int CONFLICT = 409;
     public static final int UNPROCESSABLE_ENTITY = 422;
     public static final int GONE = 410;
+    public static final int PAYLOAD_TOO_LARGE = 413;
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final int SERVICE_UNAVAILABLE = 503;
     public static final int GATEWAY_TIMEOUT = 504;
 
 
@@ -18,6 +22,9 @@ public class HttpUtils {
     public static final String CONTENT_TYPE = "Content-Type";
     public static final String APPLICATION_JSON = "application/json";
     public static final String TEXT_PLAIN = "text/plain";
+    public static final String RETRY_AFTER = "Retry-After";
+    public static final String ETAG = "ETag";
+    public static final String IF_NONE_MATCH = "If-None-Match";
 
     private HttpUtils() {
         throw new IllegalStateException("Utility class");
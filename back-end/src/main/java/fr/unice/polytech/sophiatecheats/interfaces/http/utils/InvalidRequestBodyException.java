@@ -0,0 +1,27 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+/**
+ * Levée lorsque le corps d'une requête HTTP ne peut pas être lu : JSON mal formé,
+ * type incompatible ou taille supérieure à la limite autorisée.
+ */
+public class InvalidRequestBodyException extends RuntimeException {
+
+    private final int statusCode;
+
+    public InvalidRequestBodyException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public InvalidRequestBodyException(int statusCode, String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * @return le code HTTP à renvoyer au client (400 ou 413)
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -1,29 +1,49 @@
 package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Utilitaires pour sérialisation et désérialisation JSON.
  * Gère les types java.time et lève des exceptions en cas d'erreur.
+ *
+ * <p>Les accesseurs générés par Blackbird (au lieu de la réflexion) s'activent avec
+ * {@code -D}{@value #BLACKBIRD_PROPERTY}{@code =true}. Pour les DTO connus, préférer
+ * {@link JsonCodec}.</p>
  */
 public class JaxsonUtils {
 
+    public static final String BLACKBIRD_PROPERTY = "ste.json.blackbird";
+
     private static final ObjectMapper mapper;
 
     static {
         mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (Boolean.getBoolean(BLACKBIRD_PROPERTY)) {
+            mapper.registerModule(new BlackbirdModule());
+        }
     }
 
     private JaxsonUtils() {
     }
 
+    static ObjectMapper mapper() {
+        return mapper;
+    }
+
     /**
      * Convertit un objet Java en JSON.
      */
@@ -31,15 +51,23 @@ public class JaxsonUtils {
         return mapper.writeValueAsString(object);
     }
 
+    /**
+     * Sérialise un objet Java en JSON (UTF-8) directement dans un flux, sans passer par une
+     * {@code String} intermédiaire. Le flux n'est pas fermé.
+     */
+    public static void writeJson(OutputStream out, Object object) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            mapper.writeValue(generator, object);
+        }
+    }
+
     /**
      * Convertit un JSON en objet Java.
+     *
+     * @throws InvalidRequestBodyException si le JSON est vide ou invalide
      */
     public static <T> T fromJson(String json, Class<T> clazz) {
-        try {
-            return mapper.readValue(json, clazz);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null; // À améliorer : lever une exception et éviter de retourner null
-        }
+        byte[] bytes = json != null ? json.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return JsonCodec.of(clazz).read(new ByteArrayInputStream(bytes));
     }
 }
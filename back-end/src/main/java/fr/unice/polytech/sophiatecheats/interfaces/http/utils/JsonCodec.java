@@ -0,0 +1,190 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Codec JSON typé pour un DTO donné.
+ *
+ * <p>L'{@link ObjectReader} et l'{@link ObjectWriter} sont résolus une seule fois par type
+ * puis réutilisés (ils sont immuables et partageables entre threads). La lecture se fait
+ * directement depuis le flux de la requête, sans copie intermédiaire dans une {@code String},
+ * et s'arrête avec un 413 dès que la taille maximale ({@value #MAX_BODY_PROPERTY}, 1 Mio par
+ * défaut) est dépassée.</p>
+ *
+ * <p>Exemple : {@code JsonCodec.of(PlaceOrderRequest.class).read(exchange)}.</p>
+ */
+public final class JsonCodec<T> {
+
+    public static final String MAX_BODY_PROPERTY = "ste.http.maxBodyBytes";
+
+    private static final long MAX_BODY_BYTES = Long.getLong(MAX_BODY_PROPERTY, 1024 * 1024);
+
+    private static final ClassValue<JsonCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected JsonCodec<?> computeValue(Class<?> type) {
+            return new JsonCodec<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    private JsonCodec(Class<T> type) {
+        this.type = type;
+        this.reader = JaxsonUtils.mapper().readerFor(type);
+        this.writer = JaxsonUtils.mapper().writerFor(type);
+    }
+
+    /**
+     * @return le codec associé au type, créé au premier appel
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonCodec<T> of(Class<T> type) {
+        return (JsonCodec<T>) CODECS.get(type);
+    }
+
+    /**
+     * Lit le corps de la requête. Un {@code Content-Length} annoncé au-delà de la limite
+     * est refusé avant toute lecture.
+     *
+     * @throws InvalidRequestBodyException si le corps est absent, mal formé ou trop volumineux
+     */
+    public T read(HttpExchange exchange) {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength.trim()) > MAX_BODY_BYTES) {
+                    throw tooLarge();
+                }
+            } catch (NumberFormatException e) {
+                throw new InvalidRequestBodyException(HttpUtils.BAD_REQUEST, "En-tête Content-Length invalide");
+            }
+        }
+        return read(exchange.getRequestBody());
+    }
+
+    /**
+     * Lit un document JSON depuis un flux, dans la limite de taille configurée.
+     *
+     * @throws InvalidRequestBodyException si le document est absent, mal formé ou trop volumineux
+     * @throws IllegalArgumentException    si le constructeur du DTO rejette les valeurs reçues
+     */
+    public T read(InputStream in) {
+        T value;
+        try {
+            value = reader.readValue(new BoundedInputStream(in, MAX_BODY_BYTES));
+        } catch (BodyTooLargeException e) {
+            throw tooLarge();
+        } catch (ValueInstantiationException e) {
+            // Validation faite dans le constructeur compact du record : on conserve le message métier
+            if (e.getCause() instanceof IllegalArgumentException cause) {
+                throw cause;
+            }
+            throw invalid(e);
+        } catch (JsonProcessingException e) {
+            // Jackson enveloppe le dépassement quand il survient au milieu d'une valeur
+            if (hasTooLargeCause(e)) {
+                throw tooLarge();
+            }
+            throw invalid(e);
+        } catch (IOException e) {
+            throw new InvalidRequestBodyException(HttpUtils.BAD_REQUEST, "Lecture du corps de la requête impossible", e);
+        }
+        if (value == null) {
+            throw new InvalidRequestBodyException(HttpUtils.BAD_REQUEST, "Corps de requête vide, " + type.getSimpleName() + " attendu");
+        }
+        return value;
+    }
+
+    /**
+     * Écrit la valeur en JSON (UTF-8) dans le flux, sans le fermer.
+     */
+    public void write(OutputStream out, T value) throws IOException {
+        writer.writeValue(out, value);
+    }
+
+    public String writeAsString(T value) throws JsonProcessingException {
+        return writer.writeValueAsString(value);
+    }
+
+    private InvalidRequestBodyException invalid(JsonProcessingException e) {
+        return new InvalidRequestBodyException(HttpUtils.BAD_REQUEST,
+                "JSON invalide pour " + type.getSimpleName() + " : " + e.getOriginalMessage(), e);
+    }
+
+    private static boolean hasTooLargeCause(Throwable e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BodyTooLargeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static InvalidRequestBodyException tooLarge() {
+        return new InvalidRequestBodyException(HttpUtils.PAYLOAD_TOO_LARGE,
+                "Corps de requête trop volumineux (maximum " + MAX_BODY_BYTES + " octets)");
+    }
+
+    /**
+     * Levée par {@link BoundedInputStream} : une {@link IOException} que Jackson laisse passer
+     * telle quelle ou enveloppe, et que {@link #read(InputStream)} reconnaît dans les deux cas.
+     */
+    private static final class BodyTooLargeException extends IOException {
+        private BodyTooLargeException() {
+            super("Corps de requête trop volumineux (maximum " + MAX_BODY_BYTES + " octets)");
+        }
+    }
+
+    /**
+     * Flux qui échoue dès que plus de {@code limit} octets ont été lus.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                consume(n);
+            }
+            return n;
+        }
+
+        private void consume(long n) throws BodyTooLargeException {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new BodyTooLargeException();
+            }
+        }
+
+        @Override
+        public void close() {
+            // Le flux de la requête appartient à l'échange HTTP
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Corps de réponse JSON écrit directement dans {@code exchange.getResponseBody()}.
+ *
+ * <p>Les premiers octets produits par le {@code JsonGenerator} sont retenus dans un tampon
+ * borné ({@value #THRESHOLD_PROPERTY}, 8 Kio par défaut) :</p>
+ * <ul>
+ *     <li>si le document tient dans le tampon, la réponse part avec un {@code Content-Length}
+ *     exact à la fermeture ;</li>
+ *     <li>sinon, les en-têtes sont envoyés en {@code Transfer-Encoding: chunked} dès que le
+ *     tampon déborde, puis la suite du document est recopiée au fil de l'eau vers la socket.</li>
+ * </ul>
+ *
+ * <p>Si le client l'accepte, le corps est compressé ({@link ResponseCompression}) : d'un bloc
+ * pour un document bufferisé, au fil de l'eau pour un document envoyé en chunks.</p>
+ *
+ * <p>Une erreur de sérialisation survenant avant l'envoi des en-têtes laisse l'échange intact :
+ * le {@link fr.unice.polytech.sophiatecheats.interfaces.http.handlers.GlobalExceptionHandler}
+ * peut encore répondre normalement. Après l'envoi, le flux n'est pas fermé proprement afin que
+ * le client ne reçoive pas un document tronqué présenté comme complet ; le compresseur est
+ * tout de même libéré.</p>
+ */
+public final class JsonResponseStream extends OutputStream {
+
+    public static final String THRESHOLD_PROPERTY = "ste.http.streamThreshold";
+
+    private static final int THRESHOLD = Integer.getInteger(THRESHOLD_PROPERTY, 8192);
+
+    private final HttpExchange exchange;
+    private final int statusCode;
+    private final String encoding;
+    private final byte[] buffer;
+    private int count;
+    private OutputStream body;
+    private boolean closed;
+
+    private JsonResponseStream(HttpExchange exchange, int statusCode, String encoding, int threshold) {
+        this.exchange = exchange;
+        this.statusCode = statusCode;
+        this.encoding = encoding;
+        this.buffer = new byte[threshold];
+    }
+
+    /**
+     * Sérialise {@code value} en JSON directement vers le client.
+     *
+     * @param headers en-têtes supplémentaires, peut être {@code null}
+     */
+    public static void send(HttpExchange exchange, int statusCode, Object value, Map<String, String> headers) throws IOException {
+        if (headers != null) {
+            headers.forEach(exchange.getResponseHeaders()::set);
+        }
+        exchange.getResponseHeaders().set(HttpUtils.CONTENT_TYPE, "application/json; charset=UTF-8");
+
+        String encoding = ResponseCompression.negotiate(exchange);
+        JsonResponseStream stream = new JsonResponseStream(exchange, statusCode, encoding, THRESHOLD);
+        boolean written = false;
+        try {
+            JaxsonUtils.writeJson(stream, value);
+            written = true;
+        } finally {
+            if (!written) {
+                stream.abandon();
+            }
+        }
+        stream.close();
+    }
+
+    /**
+     * @return {@code true} si les en-têtes ont déjà été envoyés au client
+     */
+    public boolean isCommitted() {
+        return body != null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Flux de réponse déjà fermé");
+        }
+        if (body != null) {
+            body.write(bytes, offset, length);
+            return;
+        }
+        if (count + length <= buffer.length) {
+            System.arraycopy(bytes, offset, buffer, count, length);
+            count += length;
+            return;
+        }
+        if (ResponseCompression.shouldCompress(encoding, (long) count + length)) {
+            ResponseCompression.applyHeaders(exchange.getResponseHeaders(), encoding);
+            exchange.sendResponseHeaders(statusCode, 0);
+            body = ResponseCompression.wrap(exchange.getResponseBody(), encoding);
+        } else {
+            exchange.sendResponseHeaders(statusCode, 0);
+            body = exchange.getResponseBody();
+        }
+        body.write(buffer, 0, count);
+        body.write(bytes, offset, length);
+        count = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Tant que les en-têtes ne sont pas partis, on garde la possibilité d'envoyer un Content-Length.
+        if (body != null) {
+            body.flush();
+        }
+    }
+
+    /**
+     * Arrête le flux après une erreur d'écriture, sans rien envoyer de plus : un corps compressé
+     * rend son {@link java.util.zip.Deflater} sans être terminé.
+     */
+    private void abandon() {
+        closed = true;
+        if (body != null) {
+            ResponseCompression.abandon(body);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (body == null) {
+            byte[] bytes = buffer;
+            int length = count;
+            if (ResponseCompression.shouldCompress(encoding, count)) {
+                bytes = ResponseCompression.compress(buffer, 0, count, encoding);
+                length = bytes.length;
+                ResponseCompression.applyHeaders(exchange.getResponseHeaders(), encoding);
+            }
+            exchange.sendResponseHeaders(statusCode, length == 0 ? -1 : length);
+            body = exchange.getResponseBody();
+            body.write(bytes, 0, length);
+        }
+        body.close();
+    }
+}
@@ -0,0 +1,256 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compression des réponses HTTP négociée via {@code Accept-Encoding} ({@code gzip} puis {@code deflate}).
+ *
+ * <p>Seuls les corps d'au moins {@value #THRESHOLD_PROPERTY} octets (1 Kio par défaut) sont
+ * compressés : en dessous, l'en-tête gzip et le coût CPU ne sont pas rentabilisés. Les
+ * {@link Deflater} (et leurs tampons natifs) sont recyclés via un pool borné plutôt que
+ * recréés à chaque réponse. Le niveau de compression se règle avec {@value #LEVEL_PROPERTY}.</p>
+ */
+public final class ResponseCompression {
+
+    public static final String THRESHOLD_PROPERTY = "ste.http.compressionThreshold";
+    public static final String LEVEL_PROPERTY = "ste.http.compressionLevel";
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String VARY = "Vary";
+
+    static final int THRESHOLD = Integer.getInteger(THRESHOLD_PROPERTY, 1024);
+
+    private static final int LEVEL = Integer.getInteger(LEVEL_PROPERTY, Deflater.DEFAULT_COMPRESSION);
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    // gzip : flux deflate brut (nowrap) encadré par l'en-tête et le trailer gzip ; deflate : format zlib
+    private static final BlockingQueue<Deflater> GZIP_POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Deflater> DEFLATE_POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private static final byte[] GZIP_HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private ResponseCompression() {
+    }
+
+    /**
+     * Choisit l'encodage à appliquer à la réponse d'un échange.
+     *
+     * @return {@link #GZIP}, {@link #DEFLATE}, ou {@code null} si le client n'en accepte aucun
+     * ou si la réponse est déjà encodée
+     */
+    public static String negotiate(HttpExchange exchange) {
+        if (exchange.getResponseHeaders().containsKey(CONTENT_ENCODING)) {
+            return null;
+        }
+        return negotiate(exchange.getRequestHeaders().getFirst(ACCEPT_ENCODING));
+    }
+
+    /**
+     * Analyse un en-tête {@code Accept-Encoding} (valeurs {@code q} comprises), gzip étant préféré.
+     */
+    public static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double wildcard = -1;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case GZIP, "x-gzip" -> gzip = q;
+                case DEFLATE -> deflate = q;
+                case "*" -> wildcard = q;
+                default -> {
+                    // identity, br, zstd... non pris en charge
+                }
+            }
+        }
+        if (gzip < 0) gzip = wildcard;
+        if (deflate < 0) deflate = wildcard;
+        if (gzip > 0 && gzip >= deflate) return GZIP;
+        if (deflate > 0) return DEFLATE;
+        return null;
+    }
+
+    /**
+     * @return {@code true} si un corps de cette taille doit être compressé avec l'encodage négocié
+     */
+    public static boolean shouldCompress(String encoding, long length) {
+        return encoding != null && length >= THRESHOLD;
+    }
+
+    /**
+     * Positionne {@code Content-Encoding} et {@code Vary} pour une réponse compressée.
+     */
+    public static void applyHeaders(Headers headers, String encoding) {
+        headers.set(CONTENT_ENCODING, encoding);
+        addVary(headers);
+        // Un ETag fort identifie une représentation exacte : la version compressée a le sien
+        String etag = headers.getFirst(HttpUtils.ETAG);
+        if (etag != null && etag.startsWith("\"") && etag.endsWith("\"")) {
+            headers.set(HttpUtils.ETAG, etag.substring(0, etag.length() - 1) + "-" + encoding + "\"");
+        }
+    }
+
+    /**
+     * Indique aux caches que la représentation dépend de {@code Accept-Encoding}.
+     */
+    public static void addVary(Headers headers) {
+        String vary = headers.getFirst(VARY);
+        if (vary == null) {
+            headers.set(VARY, ACCEPT_ENCODING);
+        } else if (!vary.toLowerCase().contains("accept-encoding")) {
+            headers.set(VARY, vary + ", " + ACCEPT_ENCODING);
+        }
+    }
+
+    /**
+     * Compresse un tampon complet.
+     */
+    public static byte[] compress(byte[] data, int offset, int length, String encoding) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 4));
+        try (OutputStream compressed = wrap(out, encoding)) {
+            compressed.write(data, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Enveloppe un flux dans un flux compressant. La fermeture termine la compression,
+     * rend le {@link Deflater} au pool et ferme le flux sous-jacent.
+     */
+    public static OutputStream wrap(OutputStream out, String encoding) throws IOException {
+        return switch (encoding) {
+            case GZIP -> {
+                Deflater deflater = acquire(GZIP_POOL, true);
+                try {
+                    yield new GzipStream(out, deflater);
+                } catch (IOException | RuntimeException e) {
+                    // L'en-tête gzip n'a pas pu être écrit : aucun flux ne rendra le Deflater
+                    release(GZIP_POOL, deflater);
+                    throw e;
+                }
+            }
+            case DEFLATE -> new PooledDeflaterStream(out, acquire(DEFLATE_POOL, false), DEFLATE_POOL);
+            default -> throw new IllegalArgumentException("Encodage non pris en charge : " + encoding);
+        };
+    }
+
+    /**
+     * Abandonne un flux obtenu par {@link #wrap} sans terminer la compression ni fermer le flux
+     * sous-jacent, par exemple après une erreur d'écriture : seul le {@link Deflater} est rendu.
+     */
+    public static void abandon(OutputStream compressed) {
+        if (compressed instanceof PooledDeflaterStream pooled) {
+            pooled.releaseDeflater();
+        }
+    }
+
+    private static Deflater acquire(BlockingQueue<Deflater> pool, boolean nowrap) {
+        Deflater deflater = pool.poll();
+        return deflater != null ? deflater : new Deflater(LEVEL, nowrap);
+    }
+
+    private static void release(BlockingQueue<Deflater> pool, Deflater deflater) {
+        deflater.reset();
+        if (!pool.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private static class PooledDeflaterStream extends DeflaterOutputStream {
+        private final BlockingQueue<Deflater> pool;
+        private boolean released;
+
+        PooledDeflaterStream(OutputStream out, Deflater deflater, BlockingQueue<Deflater> pool) {
+            super(out, deflater, 8192);
+            this.pool = pool;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (released) {
+                return;
+            }
+            try {
+                finish();
+                out.close();
+            } finally {
+                releaseDeflater();
+            }
+        }
+
+        void releaseDeflater() {
+            if (!released) {
+                released = true;
+                release(pool, def);
+            }
+        }
+    }
+
+    /**
+     * Flux gzip (RFC 1952) sur un {@link Deflater} brut issu du pool.
+     */
+    private static final class GzipStream extends PooledDeflaterStream {
+        private final CRC32 crc = new CRC32();
+
+        GzipStream(OutputStream out, Deflater deflater) throws IOException {
+            super(out, deflater, GZIP_POOL);
+            out.write(GZIP_HEADER);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (def.finished()) {
+                return;
+            }
+            super.finish();
+            writeInt((int) crc.getValue());
+            writeInt((int) def.getBytesRead());
+        }
+
+        private void writeInt(int value) throws IOException {
+            out.write(value & 0xff);
+            out.write((value >>> 8) & 0xff);
+            out.write((value >>> 16) & 0xff);
+            out.write((value >>> 24) & 0xff);
+        }
+    }
+}
@@ -9,7 +9,7 @@ import java.util.Map;
 @FunctionalInterface
 public interface ResponseSender {
     static ResponseSender fromExchange(HttpExchange exchange) {
-        return (statusCode, response, headers) -> {
+        return streaming(exchange, (statusCode, response, headers) -> {
             if (headers != null) {
                 headers.forEach(exchange.getResponseHeaders()::set);
             }
@@ -18,9 +18,35 @@ public interface ResponseSender {
             try (var os = exchange.getResponseBody()) {
                 os.write(bytes);
             }
+        });
+    }
+
+    /**
+     * Ajoute à un sender textuel l'écriture JSON en flux de {@link #sendJson}.
+     */
+    static ResponseSender streaming(HttpExchange exchange, ResponseSender textSender) {
+        return new ResponseSender() {
+            @Override
+            public void send(int statusCode, String response, Map<String, String> headers) throws IOException {
+                textSender.send(statusCode, response, headers);
+            }
+
+            @Override
+            public void sendJson(int statusCode, Object body, Map<String, String> headers) throws IOException {
+                JsonResponseStream.send(exchange, statusCode, body, headers);
+            }
         };
     }
 
     void send(int statusCode, String response, Map<String, String> headers) throws IOException;
+
+    /**
+     * Envoie un objet sérialisé en JSON. Les senders liés à un échange HTTP écrivent
+     * directement dans le corps de la réponse (voir {@link JsonResponseStream}) ;
+     * par défaut, l'objet est converti en {@code String} puis transmis à {@link #send}.
+     */
+    default void sendJson(int statusCode, Object body, Map<String, String> headers) throws IOException {
+        send(statusCode, JaxsonUtils.toJson(body), headers);
+    }
 }
 
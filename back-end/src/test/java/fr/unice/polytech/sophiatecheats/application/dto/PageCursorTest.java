@@ -0,0 +1,38 @@
+package fr.unice.polytech.sophiatecheats.application.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void should_round_trip_time_and_id_through_opaque_form() {
+        LocalDateTime time = LocalDateTime.of(2025, 11, 3, 12, 30, 15, 123_456_789);
+        PageCursor cursor = PageCursor.of(time, "order-42");
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(time, decoded.time());
+        assertFalse(cursor.encode().contains("order-42"));
+    }
+
+    @Test
+    void should_reject_tampered_cursor() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("Zm9v"));
+        assertNull(PageCursor.decode(null));
+    }
+
+    @Test
+    void should_bound_page_size() {
+        assertEquals(PageCursor.DEFAULT_LIMIT, PageCursor.parseLimit(null));
+        assertEquals(5, PageCursor.parseLimit("5"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.parseLimit("0"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.parseLimit(String.valueOf(PageCursor.MAX_LIMIT + 1)));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.parseLimit("ten"));
+    }
+}
@@ -0,0 +1,53 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantFieldsTest {
+
+    private final Restaurant restaurant = new Restaurant("Chez Marcel", "Campus");
+
+    @Test
+    void should_return_null_for_full_representation() {
+        assertNull(RestaurantFields.parse(null, null));
+        assertNull(RestaurantFields.parse(null, "full"));
+    }
+
+    @Test
+    void should_project_only_requested_fields_in_declaration_order() {
+        RestaurantFields fields = RestaurantFields.parse("name, id", null);
+
+        Map<String, Object> view = fields.project(restaurant, r -> fail("dishes ne doit pas être calculé"));
+
+        assertEquals(List.of("id", "name"), List.copyOf(view.keySet()));
+        assertEquals(restaurant.getId(), view.get("id"));
+        assertEquals("Chez Marcel", view.get("name"));
+    }
+
+    @Test
+    void should_not_build_dishes_for_summary_view() {
+        AtomicInteger dishCalls = new AtomicInteger();
+
+        Map<String, Object> view = RestaurantFields.parse(null, "summary").project(restaurant, r -> {
+            dishCalls.incrementAndGet();
+            return List.of();
+        });
+
+        assertEquals(0, dishCalls.get());
+        assertEquals(List.of("id", "name", "isOpen", "restaurantType"), List.copyOf(view.keySet()));
+    }
+
+    @Test
+    void should_reject_unknown_field_or_view_and_combined_parameters() {
+        assertThrows(IllegalArgumentException.class, () -> RestaurantFields.parse("id,secret", null));
+        assertThrows(IllegalArgumentException.class, () -> RestaurantFields.parse(null, "compact"));
+        assertThrows(IllegalArgumentException.class, () -> RestaurantFields.parse("id", "summary"));
+        assertThrows(IllegalArgumentException.class, () -> RestaurantFields.parse(" , ", null));
+    }
+}
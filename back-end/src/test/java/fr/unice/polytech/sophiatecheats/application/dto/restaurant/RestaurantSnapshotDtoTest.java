@@ -0,0 +1,46 @@
+package fr.unice.polytech.sophiatecheats.application.dto.restaurant;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.CatalogVersion;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Schedule;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RestaurantSnapshotDtoTest {
+
+    @Test
+    void toEntityKeepsTheRemoteVersionAndSlotsWithoutAdvancingTheCatalogClock() {
+        Restaurant original = new Restaurant("Snapshot Bistro", "3 rue des Copies");
+        original.addDish(Dish.builder()
+                .name("Pissaladière")
+                .description("Oignons et anchois")
+                .price(new BigDecimal("6.00"))
+                .category(DishCategory.STARTER)
+                .available(true)
+                .build());
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        original.getDeliverySchedule().generateDailySlots(tomorrow, new Schedule(LocalTime.of(12, 0), LocalTime.of(13, 0)), 4);
+        TimeSlot reserved = original.getDeliverySchedule().getSlotsForDate(tomorrow).getFirst();
+        reserved.reserve();
+        original.markModified();
+        RestaurantSnapshotDto snapshot = RestaurantSnapshotDto.fromEntity(original);
+        long catalogVersion = CatalogVersion.current();
+
+        Restaurant copy = snapshot.toEntity();
+
+        assertEquals(catalogVersion, CatalogVersion.current());
+        assertEquals(original.getVersion(), copy.getVersion());
+        assertEquals(2, copy.getDeliverySchedule().getSlotsForDate(tomorrow).size());
+        TimeSlot copiedSlot = copy.getDeliverySchedule().findSlotById(reserved.getId()).orElseThrow();
+        assertEquals(1, copiedSlot.getReservedCount());
+        assertEquals(reserved.getStartTime(), copiedSlot.getStartTime());
+    }
+}
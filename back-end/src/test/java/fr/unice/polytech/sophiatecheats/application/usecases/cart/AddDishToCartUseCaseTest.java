@@ -70,6 +70,9 @@ class AddDishToCartUseCaseTest {
 
         testRestaurant = new Restaurant("Test Restaurant", "Test Address");
         testRestaurant.addDish(testDish);
+
+        // Recherche du plat par l'implémentation par défaut, qui parcourt findAll()
+        when(restaurantRepository.findDishWithRestaurant(any())).thenCallRealMethod();
     }
 
     /**
@@ -103,7 +106,7 @@ class AddDishToCartUseCaseTest {
 
         // Vérification des interactions
         verify(userRepository).findById(userId);
-        verify(restaurantRepository, times(2)).findAll();
+        verify(restaurantRepository, times(1)).findAll();
         verify(cartRepository).findActiveCartByUserId(userId);
         verify(cartRepository).save(any(Cart.class));
     }
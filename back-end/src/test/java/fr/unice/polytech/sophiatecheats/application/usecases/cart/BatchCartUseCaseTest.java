@@ -0,0 +1,147 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.cart;
+
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BatchCartRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BatchCartRequest.Operation;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BatchCartRequest.OperationType;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BatchCartResponse;
+import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.EntityNotFoundException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.CartRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour BatchCartUseCase : lot appliqué en tout ou rien, une seule sauvegarde.
+ */
+class BatchCartUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    private BatchCartUseCase useCase;
+
+    private UUID userId;
+    private Dish tacos;
+    private Dish burger;
+    private Dish sushi;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        useCase = new BatchCartUseCase(userRepository, restaurantRepository, cartRepository);
+
+        userId = UUID.randomUUID();
+        tacos = dish("Tacos", 8.50);
+        burger = dish("Burger", 10.00);
+        sushi = dish("Sushi", 12.00);
+
+        Restaurant snack = new Restaurant("Snack", "Campus");
+        snack.addDish(tacos);
+        snack.addDish(burger);
+        Restaurant japonais = new Restaurant("Japonais", "Centre");
+        japonais.addDish(sushi);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(new User("marcel@example.com", "Marcel Dupont")));
+        when(restaurantRepository.findAll()).thenReturn(List.of(snack, japonais));
+        when(restaurantRepository.findDishesWithRestaurants(any())).thenCallRealMethod();
+    }
+
+    @Test
+    void should_apply_all_operations_with_a_single_save() {
+        Cart cart = new Cart(userId);
+        cart.addDish(burger, 1);
+        when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.of(cart));
+
+        BatchCartResponse response = useCase.execute(new BatchCartRequest(userId, List.of(
+                new Operation(OperationType.ADD, tacos.getId(), 2),
+                new Operation(OperationType.UPDATE, tacos.getId(), 3),
+                new Operation(OperationType.REMOVE, burger.getId(), 0))));
+
+        assertTrue(response.success());
+        assertEquals(cart.getId(), response.cartId());
+        assertEquals(3, response.totalItems());
+        assertEquals(0, BigDecimal.valueOf(25.5).compareTo(response.totalAmount()));
+        assertTrue(response.results().stream().allMatch(BatchCartResponse.OperationResult::success));
+        verify(restaurantRepository, times(1)).findAll();
+        verify(cartRepository, times(1)).save(cart);
+    }
+
+    @Test
+    void should_leave_cart_unchanged_and_report_each_failure() {
+        Cart cart = new Cart(userId);
+        cart.addDish(tacos, 2);
+        when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.of(cart));
+
+        BatchCartResponse response = useCase.execute(new BatchCartRequest(userId, List.of(
+                new Operation(OperationType.ADD, burger.getId(), 1),
+                new Operation(OperationType.ADD, sushi.getId(), 1),
+                new Operation(OperationType.REMOVE, tacos.getId(), 0),
+                new Operation(OperationType.UPDATE, UUID.randomUUID(), 2))));
+
+        assertFalse(response.success());
+        assertEquals(List.of(true, false, true, false),
+                response.results().stream().map(BatchCartResponse.OperationResult::success).toList());
+        assertNotNull(response.results().get(1).error());
+
+        // Le panier retrouve exactement son contenu initial
+        assertEquals(1, cart.getItems().size());
+        assertEquals(tacos.getId(), cart.getItems().getFirst().getDishId());
+        assertEquals(2, cart.getTotalItems());
+        assertEquals(2, response.totalItems());
+        verify(cartRepository, never()).save(any());
+    }
+
+    @Test
+    void should_not_create_cart_when_batch_fails() {
+        when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.empty());
+
+        BatchCartResponse response = useCase.execute(new BatchCartRequest(userId, List.of(
+                new Operation(OperationType.ADD, tacos.getId(), 11))));
+
+        assertFalse(response.success());
+        assertNull(response.cartId());
+        verify(cartRepository, never()).save(any());
+    }
+
+    @Test
+    void should_reject_unknown_user() {
+        UUID stranger = UUID.randomUUID();
+        when(userRepository.findById(stranger)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> useCase.execute(new BatchCartRequest(stranger, List.of(
+                new Operation(OperationType.ADD, tacos.getId(), 1)))));
+    }
+
+    private static Dish dish(String name, double price) {
+        return Dish.builder()
+                .name(name)
+                .description(name)
+                .price(BigDecimal.valueOf(price))
+                .category(DishCategory.MAIN_COURSE)
+                .available(true)
+                .build();
+    }
+}
@@ -44,7 +44,7 @@ class TimeSlotUseCasesTest {
         restaurantService = new RestaurantService(repository, timeSlotRepository);
         deliveryService = Mockito.mock(DeliveryService.class);
 
-        getAvailableUC = new GetAvailableDeliverySlotsUseCase(restaurantService);
+        getAvailableUC = new GetAvailableDeliverySlotsUseCase(timeSlotRepository);
         selectSlotUC = new SelectSlotUseCase(deliveryService);
         validateSlotUC = new ValidateDeliverySlotUseCase(deliveryService);
         restaurantId = UUID.randomUUID();
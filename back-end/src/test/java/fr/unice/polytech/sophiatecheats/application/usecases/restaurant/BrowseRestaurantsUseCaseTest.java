@@ -1,14 +1,26 @@
 package fr.unice.polytech.sophiatecheats.application.usecases.restaurant;
 
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
 import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class BrowseRestaurantsUseCaseTest {
 
@@ -139,4 +151,46 @@ class BrowseRestaurantsUseCaseTest {
                 restaurant.dishes().forEach(dish ->
                         assertTrue(dish.available())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_page_through_filtered_restaurants_by_id() {
+        BrowseRestaurantsRequest request = new BrowseRestaurantsRequest(null, true, null, null, null, null);
+        List<UUID> all = useCase.execute(request).restaurants().stream().map(RestaurantDto::id).sorted().toList();
+
+        List<UUID> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            BrowseRestaurantsResponse page = useCase.execute(request, cursor, 3);
+            assertTrue(page.restaurants().size() <= 3);
+            page.restaurants().forEach(restaurant -> {
+                assertTrue(restaurant.isOpen());
+                paged.add(restaurant.id());
+            });
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(all, paged);
+    }
+
+    @Test
+    void should_ignore_unavailable_dishes_when_filtering_by_diet() {
+        Restaurant restaurant = new Restaurant("Chez Léa", "Campus SophiaTech");
+        restaurant.addDish(Dish.builder().name("Buddha bowl").description("Bol vegan").price(new BigDecimal("9.00"))
+                .category(DishCategory.MAIN_COURSE).addDietType(DietType.VEGAN).available(false).build());
+        restaurant.addDish(Dish.builder().name("Burger").description("Boeuf").price(new BigDecimal("11.00"))
+                .category(DishCategory.MAIN_COURSE).build());
+        // The diet index covers the whole menu, so it still returns this restaurant
+        RestaurantRepository repository = mock(RestaurantRepository.class);
+        when(repository.findByDietType(DietType.VEGAN)).thenReturn(List.of(restaurant));
+        when(repository.findAll()).thenReturn(List.of(restaurant));
+        BrowseRestaurantsUseCase browse = new BrowseRestaurantsUseCase(repository);
+
+        BrowseRestaurantsResponse vegan = browse.execute(
+                new BrowseRestaurantsRequest(null, null, DietType.VEGAN, null, null, null));
+        BrowseRestaurantsResponse cheap = browse.execute(
+                new BrowseRestaurantsRequest(null, null, null, null, new BigDecimal("10.00"), null));
+
+        assertTrue(vegan.restaurants().isEmpty());
+        assertTrue(cheap.restaurants().isEmpty());
+    }
+}
@@ -0,0 +1,102 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.restaurant;
+
+import fr.unice.polytech.sophiatecheats.application.dto.order.RestaurantOrderDto;
+import fr.unice.polytech.sophiatecheats.application.dto.order.response.GetRestaurantOrdersResponse;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GetRestaurantOrdersUseCaseTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 12, 0);
+
+    private InMemoryOrderRepository orderRepository;
+    private GetRestaurantOrdersUseCase useCase;
+    private Restaurant restaurant;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        useCase = new GetRestaurantOrdersUseCase(orderRepository);
+        restaurant = new Restaurant("Chez Marcel", "Campus");
+        user = new User("marcel@example.com", "Marcel Dupont");
+    }
+
+    @Test
+    void should_page_visible_orders_in_chronological_order() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Order order = save(START.plusMinutes(i), i == 3 ? OrderStatus.PENDING : OrderStatus.PAID);
+            if (i != 3) {
+                expected.add(order.getOrderId());
+            }
+        }
+        save(START, OrderStatus.PAID, new Restaurant("Autre", "Ailleurs"));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            GetRestaurantOrdersResponse page = useCase.execute(restaurant.getId(), cursor, 2);
+            assertTrue(page.orders().size() <= 2);
+            page.orders().stream().map(RestaurantOrderDto::orderId).forEach(seen::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void should_neither_repeat_nor_skip_orders_added_between_pages() {
+        Order first = save(START, OrderStatus.PAID);
+        Order second = save(START.plusMinutes(1), OrderStatus.PAID);
+        Order third = save(START.plusMinutes(2), OrderStatus.PAID);
+
+        GetRestaurantOrdersResponse page1 = useCase.execute(restaurant.getId(), null, 2);
+        assertEquals(List.of(first.getOrderId(), second.getOrderId()), ids(page1));
+
+        // Une commande plus ancienne arrive entre deux pages : elle est derrière le curseur
+        save(START.minusMinutes(5), OrderStatus.PAID);
+        Order later = save(START.plusMinutes(3), OrderStatus.CONFIRMED);
+
+        GetRestaurantOrdersResponse page2 = useCase.execute(restaurant.getId(), page1.nextCursor(), 2);
+        assertEquals(List.of(third.getOrderId(), later.getOrderId()), ids(page2));
+        assertNull(page2.nextCursor());
+    }
+
+    @Test
+    void should_reject_invalid_cursor() {
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(restaurant.getId(), "%%%", 2));
+    }
+
+    private Order save(LocalDateTime time, OrderStatus status) {
+        return save(time, status, restaurant);
+    }
+
+    private Order save(LocalDateTime time, OrderStatus status, Restaurant owner) {
+        Order order = new Order(user, owner, Collections.emptyList(), PaymentMethod.STUDENT_CREDIT);
+        order.setOrderDateTime(time);
+        order.setStatus(status);
+        orderRepository.save(order);
+        return order;
+    }
+
+    private static List<String> ids(GetRestaurantOrdersResponse response) {
+        return response.orders().stream().map(RestaurantOrderDto::orderId).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.response.GetDishesResponse;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository.DishWithRestaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GetDishesUseCaseTest {
+
+    private RestaurantRepository restaurantRepository;
+    private GetDishesUseCase useCase;
+    private Restaurant restaurant;
+    private Dish tacos;
+    private Dish burger;
+
+    @BeforeEach
+    void setUp() {
+        restaurantRepository = mock(RestaurantRepository.class);
+        useCase = new GetDishesUseCase(restaurantRepository);
+
+        restaurant = new Restaurant("Chez Marcel", "Campus");
+        tacos = dish("Tacos");
+        burger = dish("Burger");
+        restaurant.addDish(tacos);
+        restaurant.addDish(burger);
+    }
+
+    @Test
+    void should_return_dishes_in_requested_order_and_list_unknown_ids() {
+        UUID unknown = UUID.randomUUID();
+        when(restaurantRepository.findDishesWithRestaurants(any())).thenReturn(Map.of(
+                tacos.getId(), new DishWithRestaurant(tacos, restaurant),
+                burger.getId(), new DishWithRestaurant(burger, restaurant)));
+
+        GetDishesResponse response = useCase.execute(List.of(burger.getId(), unknown, tacos.getId(), burger.getId()));
+
+        assertEquals(List.of("Burger", "Tacos"), response.dishes().stream().map(entry -> entry.dish().name()).toList());
+        assertEquals(restaurant.getId(), response.dishes().getFirst().restaurantId());
+        assertEquals("Chez Marcel", response.dishes().getFirst().restaurantName());
+        assertEquals(List.of(unknown), response.notFound());
+        verify(restaurantRepository, never()).findAll();
+    }
+
+    @Test
+    void should_reject_empty_or_oversized_requests() {
+        List<UUID> tooMany = IntStream.rangeClosed(0, GetDishesUseCase.MAX_IDS).mapToObj(i -> UUID.randomUUID()).toList();
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(tooMany));
+    }
+
+    private static Dish dish(String name) {
+        return Dish.builder()
+                .name(name)
+                .description(name)
+                .price(BigDecimal.valueOf(8.50))
+                .category(DishCategory.MAIN_COURSE)
+                .available(true)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GetRestaurantDetailsUseCaseTest {
+
+    private RestaurantRepository restaurantRepository;
+    private RestaurantDtoCache dtoCache;
+    private GetRestaurantDetailsUseCase useCase;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        restaurantRepository = mock(RestaurantRepository.class);
+        dtoCache = new RestaurantDtoCache();
+        useCase = new GetRestaurantDetailsUseCase(restaurantRepository, dtoCache);
+
+        restaurant = new Restaurant("Chez Marcel", "Campus");
+        restaurant.addDish(Dish.builder()
+                .name("Tacos")
+                .description("Tacos 3 viandes")
+                .price(BigDecimal.valueOf(8.50))
+                .category(DishCategory.MAIN_COURSE)
+                .available(true)
+                .build());
+        when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
+    }
+
+    @Test
+    void should_read_restaurant_by_id_without_scanning_catalog() {
+        RestaurantDto dto = useCase.execute(restaurant.getId());
+
+        assertEquals("Chez Marcel", dto.name());
+        assertEquals(1, dto.dishes().size());
+        verify(restaurantRepository).findById(restaurant.getId());
+        verify(restaurantRepository, never()).findAll();
+    }
+
+    @Test
+    void should_reuse_dto_until_restaurant_version_changes() {
+        RestaurantDto first = useCase.execute(restaurant.getId());
+        assertSame(first, useCase.execute(restaurant.getId()));
+
+        restaurant.close();
+        restaurant.markModified();
+
+        RestaurantDto updated = useCase.execute(restaurant.getId());
+        assertNotSame(first, updated);
+        assertFalse(updated.isOpen());
+    }
+
+    @Test
+    void should_throw_and_evict_when_restaurant_is_missing() {
+        useCase.execute(restaurant.getId());
+        assertEquals(1, dtoCache.size());
+        when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.empty());
+
+        assertThrows(RestaurantNotFoundException.class, () -> useCase.execute(restaurant.getId()));
+        assertThrows(RestaurantNotFoundException.class, () -> useCase.execute(UUID.randomUUID()));
+        assertEquals(0, dtoCache.size());
+    }
+}
@@ -0,0 +1,98 @@
+package fr.unice.polytech.sophiatecheats.benchmark;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantFields;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.RestaurantDtoCache;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Compare, pour {@code GET /restaurants}, la liste complète ({@code RestaurantDto} avec ses plats)
+ * à la vue {@code ?view=summary} : taille du corps JSON et coût construction + sérialisation.
+ *
+ * <p>Deux cas : cache de DTO chaud (réponse répétée sans changement du catalogue) et cache
+ * froid (un catalogue qui vient de changer, où chaque DTO de plat est reconstruit).</p>
+ *
+ * <p>Lancement : voir {@link CheckoutConcurrencyBenchmark}. Propriétés {@code bench.iterations},
+ * {@code bench.restaurants} et {@code bench.dishes} (plats par restaurant).</p>
+ */
+public class CatalogProjectionBenchmark {
+
+    private interface Op {
+        Object run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = Integer.getInteger("bench.iterations", 2_000);
+        int restaurantCount = Integer.getInteger("bench.restaurants", 100);
+        int dishCount = Integer.getInteger("bench.dishes", 20);
+
+        InMemoryRestaurantRepository repository = new InMemoryRestaurantRepository(false);
+        repository.clear();
+        for (int i = 0; i < restaurantCount; i++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + i, i + " route des Lucioles");
+            for (int d = 0; d < dishCount; d++) {
+                restaurant.addDish(Dish.builder()
+                        .name("Plat " + d)
+                        .description("Description détaillée du plat " + d + " du restaurant " + i)
+                        .price(new BigDecimal("9.50"))
+                        .category(DishCategory.MAIN_COURSE)
+                        .dietTypes(Set.of(DietType.VEGETARIAN))
+                        .available(true)
+                        .build());
+            }
+            repository.save(restaurant);
+        }
+
+        BrowseRestaurantsRequest request = new BrowseRestaurantsRequest(null, null, null, null, null, null);
+        RestaurantFields summary = RestaurantFields.parse(null, "summary");
+        BrowseRestaurantsUseCase warm = new BrowseRestaurantsUseCase(repository, new RestaurantDtoCache());
+
+        int fullBytes = JaxsonUtils.toJson(warm.execute(request).restaurants()).getBytes(StandardCharsets.UTF_8).length;
+        int summaryBytes = JaxsonUtils.toJson(warm.execute(request, summary, null, null).restaurants())
+                .getBytes(StandardCharsets.UTF_8).length;
+
+        System.out.printf("Catalog projection benchmark - %d restaurants x %d plats, %d itérations%n",
+                restaurantCount, dishCount, iterations);
+        System.out.printf("  corps JSON : complet %d octets   summary %d octets   (-%.1f%%)%n",
+                fullBytes, summaryBytes, 100.0 * (fullBytes - summaryBytes) / fullBytes);
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("round %d%n", round);
+            report("cache chaud", iterations,
+                    time(iterations, () -> JaxsonUtils.toJson(warm.execute(request).restaurants())),
+                    time(iterations, () -> JaxsonUtils.toJson(warm.execute(request, summary, null, null).restaurants())));
+            report("cache froid", iterations,
+                    time(iterations, () -> JaxsonUtils.toJson(new BrowseRestaurantsUseCase(repository, new RestaurantDtoCache())
+                            .execute(request).restaurants())),
+                    time(iterations, () -> JaxsonUtils.toJson(new BrowseRestaurantsUseCase(repository, new RestaurantDtoCache())
+                            .execute(request, summary, null, null).restaurants())));
+        }
+    }
+
+    private static long time(int iterations, Op op) throws Exception {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += op.run().hashCode() & 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return elapsed;
+    }
+
+    private static void report(String label, int iterations, long fullNs, long summaryNs) {
+        System.out.printf("  %s : complet %9.1f µs/op   summary %9.1f µs/op   (x%.2f)%n",
+                label, fullNs / 1_000.0 / iterations, summaryNs / 1_000.0 / iterations, (double) fullNs / summaryNs);
+    }
+}
@@ -0,0 +1,138 @@
+package fr.unice.polytech.sophiatecheats.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.ExternalCardStrategy;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentResult;
+import fr.unice.polytech.sophiatecheats.interfaces.http.server.RequestExecution;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark de débit : N clients concurrents effectuent un paiement par carte
+ * (délai simulé de 100 ms dans {@link ExternalCardStrategy}) sur un HttpServer
+ * configuré avec chaque mode de {@link RequestExecution}.
+ *
+ * <p>Lancement (après {@code mvn test-compile}) :</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *      fr.unice.polytech.sophiatecheats.benchmark.CheckoutConcurrencyBenchmark
+ * </pre>
+ *
+ * <p>Propriétés : {@code bench.clients} (1000 par défaut), {@code bench.threads},
+ * {@code bench.queue}, {@code bench.singleThread=true} pour inclure l'ancien
+ * fonctionnement mono-thread (≈ clients × 100 ms).</p>
+ */
+public class CheckoutConcurrencyBenchmark {
+
+    private static final User CLIENT = new User("bench@unice.fr", "Bench Client");
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("bench.clients", 1000);
+        int threads = Integer.getInteger("bench.threads", 64);
+        int queue = Integer.getInteger("bench.queue", 256);
+
+        System.out.printf("Checkout benchmark - %d clients concurrents, paiement carte 100 ms%n", clients);
+        if (Boolean.getBoolean("bench.singleThread")) {
+            run("mono-thread (sans exécuteur)", null, clients);
+        }
+        run("threads virtuels", RequestExecution.virtualThreads(), clients);
+        run("pool borné " + threads + "/" + queue, RequestExecution.boundedPool(threads, queue), clients);
+    }
+
+    private static void run(String label, RequestExecution execution, int clients) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), clients);
+        ExternalCardStrategy payment = new ExternalCardStrategy();
+        com.sun.net.httpserver.HttpHandler checkout = exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            PaymentResult result = payment.processPayment(new BigDecimal("12.50"), CLIENT);
+            byte[] body = ("{\"success\":" + result.success() + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        };
+        if (execution != null) {
+            execution.install(server, "/", checkout);
+        } else {
+            server.createContext("/", checkout);
+        }
+        server.start();
+
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/api/cart/bench/payment");
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Long> latencies = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long begin;
+        try (ExecutorService clientsPool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(clientsPool.submit(() -> {
+                    start.await();
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(
+                                HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString("{}")).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            ok.incrementAndGet();
+                            latencies.add(System.nanoTime() - t0);
+                        } else if (response.statusCode() == 503) {
+                            rejected.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        server.stop(0);
+        if (execution != null) {
+            execution.shutdown();
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        sorted.sort(Long::compare);
+        System.out.printf("%-28s %7.1f req/s  ok=%d  503=%d  erreurs=%d  p50=%s  p99=%s  (%.2f s)%n",
+                label, ok.get() / seconds, ok.get(), rejected.get(), failed.get(),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), seconds);
+    }
+
+    private static String percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return "-";
+        }
+        long nanos = sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(p * sorted.size()) - 1));
+        return (nanos / 1_000_000) + " ms";
+    }
+}
@@ -0,0 +1,189 @@
+package fr.unice.polytech.sophiatecheats.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.GatewayHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.gateway.UpstreamClient;
+import fr.unice.polytech.sophiatecheats.interfaces.http.server.RequestExecution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Surcoût d'un saut par le gateway : latence d'un GET (catalogue JSON de 20 Kio) et d'un
+ * POST de 4 Kio, en direct sur le service puis à travers l'ancien proxy
+ * ({@code HttpURLConnection} par requête, corps bufferisés) et à travers {@link GatewayHandler}.
+ *
+ * <p>Le débit est ensuite mesuré avec {@code bench.clients} clients concurrents (64 par défaut).</p>
+ *
+ * <p>Comme les services, le benchmark active {@code TCP_NODELAY} (voir {@link RequestExecution}) ;
+ * {@code -Dsun.net.httpserver.nodelay=false} montre le délai d'acquittement de ~40 ms par saut.</p>
+ *
+ * <p>Lancement : voir {@link CheckoutConcurrencyBenchmark}. Propriété {@code bench.iterations}.</p>
+ */
+public class GatewayOverheadBenchmark {
+
+    private static final byte[] CATALOG = ("[" + "{\"name\":\"plat\",\"price\":12.5},".repeat(700) + "{}]")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ORDER = ("{\"items\":\"" + "x".repeat(4096) + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        int iterations = Integer.getInteger("bench.iterations", 5_000);
+        int concurrency = Integer.getInteger("bench.clients", 64);
+        System.setProperty(RequestExecution.NODELAY_PROPERTY, System.getProperty(RequestExecution.NODELAY_PROPERTY, "true"));
+
+        HttpServer upstream = server(exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            byte[] response = "POST".equals(exchange.getRequestMethod())
+                    ? ("{\"received\":" + body.length + "}").getBytes(StandardCharsets.UTF_8)
+                    : CATALOG;
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response);
+            }
+        });
+        String upstreamUrl = "http://localhost:" + upstream.getAddress().getPort();
+
+        HttpServer legacy = server(exchange -> LegacyProxy.proxy(exchange, upstreamUrl));
+        HttpServer gateway = server(GatewayHandler.builder()
+                .consumerServiceUrl(upstreamUrl)
+                .restaurantServiceUrl(upstreamUrl)
+                .upstreamClient(UpstreamClient.fromSystemProperties())
+                .build());
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String[][] targets = {
+                {"direct", upstreamUrl},
+                {"ancien proxy", "http://localhost:" + legacy.getAddress().getPort()},
+                {"gateway", "http://localhost:" + gateway.getAddress().getPort()},
+        };
+
+        System.out.printf("Gateway overhead benchmark - %d requêtes par mesure%n", iterations);
+        for (int round = 0; round < 3; round++) {
+            double[] direct = new double[2];
+            for (int t = 0; t < targets.length; t++) {
+                double get = measure(client, iterations, HttpRequest.newBuilder(URI.create(targets[t][1] + "/restaurants")).build());
+                double post = measure(client, iterations, HttpRequest.newBuilder(URI.create(targets[t][1] + "/api/orders"))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(ORDER)).build());
+                if (t == 0) {
+                    direct[0] = get;
+                    direct[1] = post;
+                }
+                System.out.printf("round %d : %-13s GET p50 %7.1f µs (+%6.1f)   POST p50 %7.1f µs (+%6.1f)%n",
+                        round, targets[t][0], get, get - direct[0], post, post - direct[1]);
+            }
+        }
+
+        System.out.printf("Débit avec %d clients concurrents (GET)%n", concurrency);
+        for (int round = 0; round < 2; round++) {
+            for (String[] target : targets) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(target[1] + "/restaurants")).build();
+                double throughput = throughput(client, concurrency, iterations, request);
+                System.out.printf("round %d : %-13s %8.0f req/s%n", round, target[0], throughput);
+            }
+        }
+
+        gateway.stop(0);
+        legacy.stop(0);
+        upstream.stop(0);
+        System.exit(0);
+    }
+
+    private static HttpServer server(HttpHandler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", handler);
+        server.start();
+        return server;
+    }
+
+    /**
+     * @return requêtes par seconde, {@code clients} threads virtuels se partageant {@code requests} requêtes
+     */
+    private static double throughput(HttpClient client, int clients, int requests, HttpRequest request) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    }
+                    return null;
+                });
+            }
+        }
+        return requests / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * @return latence médiane en microsecondes
+     */
+    private static double measure(HttpClient client, int iterations, HttpRequest request) throws Exception {
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            samples[i] = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Statut inattendu : " + response.statusCode());
+            }
+        }
+        Arrays.sort(samples);
+        return samples[iterations / 2] / 1_000.0;
+    }
+
+    /**
+     * Reproduction de l'ancien {@code ApiGatewayApplication.proxyRequest} pour comparaison.
+     */
+    private static final class LegacyProxy {
+
+        static void proxy(HttpExchange exchange, String targetServiceUrl) throws IOException {
+            URL url = new URL(targetServiceUrl + exchange.getRequestURI());
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            String method = exchange.getRequestMethod();
+            connection.setRequestMethod(method);
+            connection.setDoInput(true);
+            exchange.getRequestHeaders().forEach((key, values) -> {
+                if (!"Host".equalsIgnoreCase(key)) {
+                    values.forEach(value -> connection.setRequestProperty(key, value));
+                }
+            });
+            if (!"GET".equals(method) && !"DELETE".equals(method) && exchange.getRequestBody().available() > 0) {
+                connection.setDoOutput(true);
+                connection.getOutputStream().write(exchange.getRequestBody().readAllBytes());
+                connection.getOutputStream().flush();
+            }
+            int responseCode = connection.getResponseCode();
+            byte[] body;
+            try (InputStream in = connection.getInputStream()) {
+                body = in.readAllBytes();
+            }
+            connection.getHeaderFields().forEach((key, values) -> {
+                if (key != null && !"Transfer-Encoding".equalsIgnoreCase(key) && !"Content-Length".equalsIgnoreCase(key)) {
+                    values.forEach(value -> exchange.getResponseHeaders().add(key, value));
+                }
+            });
+            exchange.sendResponseHeaders(responseCode, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+            connection.disconnect();
+        }
+    }
+}
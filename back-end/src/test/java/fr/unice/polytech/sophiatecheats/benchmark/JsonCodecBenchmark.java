@@ -0,0 +1,114 @@
+package fr.unice.polytech.sophiatecheats.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import fr.unice.polytech.sophiatecheats.application.dto.order.OrderDto;
+import fr.unice.polytech.sophiatecheats.application.dto.order.OrderItemDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.AddDishToCartRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.PlaceOrderRequest;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JaxsonUtils;
+import fr.unice.polytech.sophiatecheats.interfaces.http.utils.JsonCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compare, sur les DTO du parcours de commande, l'ancien chemin
+ * ({@code new String(readAllBytes())} puis {@code ObjectMapper.readValue(String, Class)})
+ * au {@link JsonCodec} (reader/writer mis en cache, lecture directe depuis le flux).
+ *
+ * <p>Lancement : voir {@link CheckoutConcurrencyBenchmark}. Ajouter
+ * {@code -Dste.json.blackbird=true} pour mesurer les accesseurs Blackbird.</p>
+ */
+public class JsonCodecBenchmark {
+
+    private interface Op {
+        Object run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = Integer.getInteger("bench.iterations", 500_000);
+
+        ObjectMapper legacyMapper = new ObjectMapper();
+        legacyMapper.registerModule(new JavaTimeModule());
+        legacyMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        byte[] placeOrder = ("{\"userId\":\"" + UUID.randomUUID() + "\",\"restaurantId\":\"" + UUID.randomUUID()
+                + "\",\"paymentMethod\":\"STUDENT_CREDIT\",\"deliverySlotId\":\"" + UUID.randomUUID() + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] addDish = ("{\"userId\":\"" + UUID.randomUUID() + "\",\"dishId\":\"" + UUID.randomUUID() + "\",\"quantity\":2}")
+                .getBytes(StandardCharsets.UTF_8);
+        OrderDto order = sampleOrder();
+
+        JsonCodec<PlaceOrderRequest> placeOrderCodec = JsonCodec.of(PlaceOrderRequest.class);
+        JsonCodec<AddDishToCartRequest> addDishCodec = JsonCodec.of(AddDishToCartRequest.class);
+        JsonCodec<OrderDto> orderCodec = JsonCodec.of(OrderDto.class);
+
+        System.out.printf("JsonCodec benchmark - %d itérations, blackbird=%s%n",
+                iterations, Boolean.getBoolean(JaxsonUtils.BLACKBIRD_PROPERTY));
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("round %d%n", round);
+            report("PlaceOrderRequest   lecture",
+                    time(iterations, () -> legacyMapper.readValue(legacyBody(placeOrder), PlaceOrderRequest.class)),
+                    time(iterations, () -> placeOrderCodec.read(new ByteArrayInputStream(placeOrder))), iterations);
+            report("AddDishToCartRequest lecture",
+                    time(iterations, () -> legacyMapper.readValue(legacyBody(addDish), AddDishToCartRequest.class)),
+                    time(iterations, () -> addDishCodec.read(new ByteArrayInputStream(addDish))), iterations);
+            report("OrderDto            écriture",
+                    time(iterations, () -> legacyMapper.writeValueAsString(order).getBytes(StandardCharsets.UTF_8)),
+                    time(iterations, () -> {
+                        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+                        orderCodec.write(out, order);
+                        return out;
+                    }), iterations);
+        }
+    }
+
+    private static String legacyBody(byte[] body) throws Exception {
+        InputStream in = new ByteArrayInputStream(body);
+        return new String(in.readAllBytes());
+    }
+
+    private static OrderDto sampleOrder() {
+        List<OrderItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            DishDto dish = new DishDto(UUID.randomUUID(), "Plat " + i, "Description du plat " + i,
+                    new BigDecimal("9.50"), DishCategory.MAIN_COURSE, true, Set.of(DietType.VEGETARIAN));
+            items.add(new OrderItemDto(dish, dish.name(), 2, "19.00"));
+        }
+        return new OrderDto(UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                items, new BigDecimal("76.00"), "PAID", LocalDateTime.now(), LocalDateTime.now().plusHours(1),
+                PaymentMethod.STUDENT_CREDIT.name(), UUID.randomUUID().toString());
+    }
+
+    private static long time(int iterations, Op op) throws Exception {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += op.run().hashCode() & 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return elapsed;
+    }
+
+    private static void report(String label, long legacyNs, long codecNs, int iterations) {
+        System.out.printf("  %s : ancien %7.1f ns/op   codec %7.1f ns/op   (x%.2f)%n",
+                label, (double) legacyNs / iterations, (double) codecNs / iterations, (double) legacyNs / codecNs);
+    }
+}
@@ -0,0 +1,114 @@
+package fr.unice.polytech.sophiatecheats.benchmark;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compare les recherches de {@link InMemoryRestaurantRepository} par catégorie de plat, régime
+ * et ouverture, servies par les index secondaires, au parcours de tous les restaurants et de
+ * leurs menus qu'elles faisaient auparavant.
+ *
+ * <p>Le catalogue est volontairement sélectif : une catégorie ou un régime rare n'est proposé
+ * que par un restaurant sur cent, ce qui correspond au cas d'un filtre de recherche.</p>
+ *
+ * <p>Lancement : voir {@link CheckoutConcurrencyBenchmark}. Propriétés {@code bench.iterations},
+ * {@code bench.restaurants} et {@code bench.dishes} (plats par restaurant).</p>
+ */
+public class RestaurantIndexBenchmark {
+
+    private interface Op {
+        Object run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = Integer.getInteger("bench.iterations", 200);
+        int restaurantCount = Integer.getInteger("bench.restaurants", 10_000);
+        int dishCount = Integer.getInteger("bench.dishes", 10);
+
+        InMemoryRestaurantRepository repository = new InMemoryRestaurantRepository(false);
+        repository.clear();
+        for (int i = 0; i < restaurantCount; i++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + i, i + " route des Lucioles");
+            boolean rare = i % 100 == 0;
+            for (int d = 0; d < dishCount; d++) {
+                restaurant.addDish(Dish.builder()
+                        .name("Plat " + d)
+                        .description("Plat " + d + " du restaurant " + i)
+                        .price(new BigDecimal("9.50"))
+                        .category(rare && d == 0 ? DishCategory.DESSERT : DishCategory.MAIN_COURSE)
+                        .dietTypes(Set.of(rare && d == 0 ? DietType.KOSHER : DietType.VEGETARIAN))
+                        .available(true)
+                        .build());
+            }
+            if (i % 2 == 0) {
+                restaurant.open();
+            } else {
+                restaurant.close();
+            }
+            repository.save(restaurant);
+        }
+
+        System.out.printf("Restaurant index benchmark - %d restaurants x %d plats, %d itérations%n",
+                restaurantCount, dishCount, iterations);
+        System.out.printf("  résultats : catégorie %d   ouverts + catégorie %d   régime %d   ouverts %d%n",
+                repository.findByDishCategory(DishCategory.DESSERT).size(),
+                repository.findOpenByDishCategory(DishCategory.DESSERT).size(),
+                repository.findByDietType(DietType.KOSHER).size(),
+                repository.findByAvailability(true).size());
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("round %d%n", round);
+            report("catégorie", iterations,
+                    time(iterations, () -> scanByCategory(repository, DishCategory.DESSERT, false)),
+                    time(iterations, () -> repository.findByDishCategory(DishCategory.DESSERT)));
+            report("ouverts + catégorie", iterations,
+                    time(iterations, () -> scanByCategory(repository, DishCategory.DESSERT, true)),
+                    time(iterations, () -> repository.findOpenByDishCategory(DishCategory.DESSERT)));
+            report("régime", iterations,
+                    time(iterations, () -> scanByDiet(repository, DietType.KOSHER)),
+                    time(iterations, () -> repository.findByDietType(DietType.KOSHER)));
+            report("ouverts", iterations,
+                    time(iterations, () -> repository.findAll().stream().filter(Restaurant::isOpen).toList()),
+                    time(iterations, () -> repository.findByAvailability(true)));
+        }
+    }
+
+    // Recherches telles qu'elles étaient faites avant les index
+    private static List<Restaurant> scanByCategory(InMemoryRestaurantRepository repository, DishCategory category,
+                                                   boolean openOnly) {
+        return repository.findAll().stream()
+                .filter(restaurant -> !openOnly || restaurant.isOpen())
+                .filter(restaurant -> restaurant.getMenu().stream().anyMatch(dish -> dish.getCategory() == category))
+                .toList();
+    }
+
+    private static List<Restaurant> scanByDiet(InMemoryRestaurantRepository repository, DietType dietType) {
+        return repository.findAll().stream()
+                .filter(restaurant -> restaurant.getMenu().stream().anyMatch(dish -> dish.hasDietType(dietType)))
+                .toList();
+    }
+
+    private static long time(int iterations, Op op) throws Exception {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += op.run().hashCode() & 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return elapsed;
+    }
+
+    private static void report(String label, int iterations, long scanNs, long indexNs) {
+        System.out.printf("  %-20s : parcours %9.1f µs/op   index %9.1f µs/op   (x%.1f)%n",
+                label, scanNs / 1_000.0 / iterations, indexNs / 1_000.0 / iterations, (double) scanNs / indexNs);
+    }
+}
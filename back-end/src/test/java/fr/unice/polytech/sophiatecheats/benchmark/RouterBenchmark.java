@@ -0,0 +1,143 @@
+package fr.unice.polytech.sophiatecheats.benchmark;
+
+import fr.unice.polytech.sophiatecheats.interfaces.http.ApiRegistry;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RouteHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.routing.RouteMatch;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compare la résolution de routes de {@link ApiRegistry} (arbre de segments) avec
+ * l'ancien dispatcher (parcours linéaire des regex + {@code HashMap} de paramètres),
+ * sur les routes enregistrées par les services consumer et restaurant.
+ *
+ * <p>Lancement : voir {@link CheckoutConcurrencyBenchmark}. Propriété {@code bench.iterations}.</p>
+ */
+public class RouterBenchmark {
+
+    private static final String[][] ROUTES = {
+            {"POST", "/api/cart/items"},
+            {"GET", "/api/cart/{userId}"},
+            {"PUT", "/api/cart/{userId}/items"},
+            {"DELETE", "/api/cart/{userId}"},
+            {"DELETE", "/api/cart/{userId}/cancel"},
+            {"DELETE", "/api/cart/{userId}/items/{dishId}"},
+            {"POST", "/api/cart/{userId}/delivery-slot"},
+            {"POST", "/api/cart/{userId}/payment"},
+            {"GET", "/api/orders/{id}"},
+            {"GET", "/api/orders/user/{userId}"},
+            {"POST", "/api/orders/{id}/confirm"},
+            {"GET", "/restaurants"},
+            {"GET", "/restaurants/{id}"},
+            {"GET", "/restaurants/{id}/orders"},
+            {"GET", "/restaurants/{id}/menu"},
+            {"POST", "/restaurants/{id}/menu"},
+            {"PUT", "/restaurants/{id}/menu/{dishId}"},
+            {"DELETE", "/restaurants/{id}/menu/{dishId}"},
+            {"GET", "/restaurants/{id}/delivery-slots"},
+            {"POST", "/restaurants/{id}/delivery-slots"},
+            {"POST", "/restaurants/{id}/delivery-slots/{slotId}"},
+            {"POST", "/restaurants"},
+            {"PUT", "/restaurants/{id}"},
+            {"DELETE", "/restaurants/{id}"},
+    };
+
+    private static final String ID = "750e8400-e29b-41d4-a716-446655440001";
+    private static final String DISH = "650e8400-e29b-41d4-a716-446655440001";
+
+    private static final String[][] REQUESTS = {
+            {"GET", "/restaurants"},
+            {"GET", "/restaurants/" + ID},
+            {"GET", "/restaurants/" + ID + "/menu"},
+            {"GET", "/restaurants/" + ID + "/delivery-slots"},
+            {"GET", "/restaurants/" + ID + "/orders"},
+            {"PUT", "/restaurants/" + ID + "/menu/" + DISH},
+            {"POST", "/restaurants/" + ID + "/delivery-slots/" + DISH},
+            {"GET", "/api/cart/" + ID},
+            {"DELETE", "/api/cart/" + ID + "/items/" + DISH},
+            {"POST", "/api/cart/" + ID + "/payment"},
+            {"GET", "/api/orders/user/" + ID},
+            {"GET", "/unknown/path"},
+    };
+
+    public static void main(String[] args) {
+        int iterations = Integer.getInteger("bench.iterations", 2_000_000);
+        RouteHandler handler = (exchange, params, sender) -> { };
+
+        ApiRegistry registry = new ApiRegistry();
+        LegacyRegexRouter legacy = new LegacyRegexRouter();
+        for (String[] route : ROUTES) {
+            registry.registerRoute(route[0], route[1], handler);
+            legacy.register(route[0], route[1], handler);
+        }
+
+        System.out.printf("Router benchmark - %d routes, %d chemins, %d itérations%n",
+                ROUTES.length, REQUESTS.length, iterations);
+        for (int round = 0; round < 3; round++) {
+            long legacyNs = time(iterations, i -> {
+                String[] request = REQUESTS[i % REQUESTS.length];
+                Map<String, String> params = legacy.match(request[0], request[1]);
+                return params == null ? 0 : params.size();
+            });
+            long trieNs = time(iterations, i -> {
+                String[] request = REQUESTS[i % REQUESTS.length];
+                RouteMatch match = registry.match(request[0], request[1]);
+                return match == null ? 0 : match.pathParams().size();
+            });
+            System.out.printf("round %d : regex linéaire %6.1f ns/op   arbre de segments %6.1f ns/op   (x%.1f)%n",
+                    round, (double) legacyNs / iterations, (double) trieNs / iterations, (double) legacyNs / trieNs);
+        }
+    }
+
+    private interface Op {
+        int run(int i);
+    }
+
+    private static long time(int iterations, Op op) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += op.run(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return elapsed;
+    }
+
+    /**
+     * Reproduction de l'ancien {@code ApiRegistry.dispatch} pour comparaison.
+     */
+    private static final class LegacyRegexRouter {
+        private final Map<String, List<Object[]>> routes = new HashMap<>();
+
+        void register(String method, String path, RouteHandler handler) {
+            Matcher paramMatcher = Pattern.compile("\\{([^/]+)}").matcher(path);
+            List<String> names = new ArrayList<>();
+            while (paramMatcher.find()) {
+                names.add(paramMatcher.group(1));
+            }
+            Pattern pattern = Pattern.compile(path.replaceAll("\\{[^/]+}", "([^/]+)"));
+            routes.computeIfAbsent(method, k -> new ArrayList<>()).add(new Object[]{pattern, names, handler});
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> match(String method, String path) {
+            for (Object[] entry : routes.getOrDefault(method, Collections.emptyList())) {
+                Matcher matcher = ((Pattern) entry[0]).matcher(path);
+                if (matcher.matches()) {
+                    List<String> names = (List<String>) entry[1];
+                    Map<String, String> params = new HashMap<>();
+                    for (int i = 0; i < names.size(); i++) {
+                        params.put(names.get(i), matcher.group(i + 1));
+                    }
+                    return params;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package fr.unice.polytech.sophiatecheats.benchmark;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryTimeSlotRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compare les lectures de créneaux de {@link InMemoryTimeSlotRepository}, servies par l'index
+ * date / restaurant / heure de début, au parcours de tous les créneaux qu'elles faisaient
+ * auparavant (filtre sur le restaurant et {@code toLocalDate()} sur chaque créneau).
+ *
+ * <p>Lancement : voir {@link CheckoutConcurrencyBenchmark}. Propriétés {@code bench.iterations},
+ * {@code bench.restaurants} et {@code bench.days} (jours de créneaux générés, 24 par jour).</p>
+ */
+public class TimeSlotIndexBenchmark {
+
+    private interface Op {
+        Object run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = Integer.getInteger("bench.iterations", 200);
+        int restaurantCount = Integer.getInteger("bench.restaurants", 500);
+        int days = Integer.getInteger("bench.days", 14);
+
+        InMemoryTimeSlotRepository repository = new InMemoryTimeSlotRepository();
+        repository.clear();
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        UUID target = null;
+        for (int i = 0; i < restaurantCount; i++) {
+            UUID restaurantId = UUID.randomUUID();
+            if (i == restaurantCount / 2) {
+                target = restaurantId;
+            }
+            for (int d = 0; d < days; d++) {
+                LocalDateTime start = tomorrow.plusDays(d).atTime(LocalTime.of(11, 0));
+                for (int s = 0; s < 24; s++) {
+                    LocalDateTime slotStart = start.plusMinutes(30L * s);
+                    repository.save(new TimeSlot(restaurantId, slotStart, slotStart.plusMinutes(30), 10));
+                }
+            }
+        }
+        UUID restaurantId = target;
+        LocalDate date = tomorrow.plusDays(days / 2);
+        LocalDateTime from = date.atTime(14, 0);
+        LocalDateTime to = date.atTime(18, 0);
+
+        System.out.printf("Time slot index benchmark - %d restaurants x %d jours x 24 créneaux, %d itérations%n",
+                restaurantCount, days, iterations);
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("round %d%n", round);
+            report("restaurant + date", iterations,
+                    time(iterations, () -> scanByRestaurantAndDate(repository, restaurantId, date)),
+                    time(iterations, () -> repository.findAvailableSlotsByRestaurantAndDate(restaurantId, date)));
+            report("5 prochains", iterations,
+                    time(iterations, () -> scanAfter(repository, restaurantId, from)),
+                    time(iterations, () -> repository.findAvailableSlotsAfter(restaurantId, from, 5)));
+            report("entre t1 et t2", iterations,
+                    time(iterations, () -> scanBetween(repository, restaurantId, from, to)),
+                    time(iterations, () -> repository.findSlotsBetween(restaurantId, from, to)));
+        }
+    }
+
+    // Lectures telles qu'elles étaient faites avant l'index
+    private static List<TimeSlot> scanByRestaurantAndDate(InMemoryTimeSlotRepository repository, UUID restaurantId,
+                                                          LocalDate date) {
+        return repository.findAll().stream()
+                .filter(slot -> slot.getRestaurantId().equals(restaurantId))
+                .filter(slot -> slot.getStartTime().toLocalDate().equals(date))
+                .filter(TimeSlot::isAvailable)
+                .toList();
+    }
+
+    private static List<TimeSlot> scanAfter(InMemoryTimeSlotRepository repository, UUID restaurantId,
+                                            LocalDateTime from) {
+        return repository.findAll().stream()
+                .filter(slot -> slot.getRestaurantId().equals(restaurantId))
+                .filter(slot -> !slot.getStartTime().isBefore(from))
+                .filter(TimeSlot::isAvailable)
+                .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                .limit(5)
+                .toList();
+    }
+
+    private static List<TimeSlot> scanBetween(InMemoryTimeSlotRepository repository, UUID restaurantId,
+                                              LocalDateTime from, LocalDateTime to) {
+        return repository.findAll().stream()
+                .filter(slot -> slot.getRestaurantId().equals(restaurantId))
+                .filter(slot -> !slot.getStartTime().isBefore(from) && slot.getStartTime().isBefore(to))
+                .sorted(Comparator.comparing(TimeSlot::getStartTime))
+                .toList();
+    }
+
+    private static long time(int iterations, Op op) throws Exception {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += op.run().hashCode() & 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return elapsed;
+    }
+
+    private static void report(String label, int iterations, long scanNs, long indexNs) {
+        System.out.printf("  %-20s : parcours %9.1f µs/op   index %9.1f µs/op   (x%.1f)%n",
+                label, scanNs / 1_000.0 / iterations, indexNs / 1_000.0 / iterations, (double) scanNs / indexNs);
+    }
+}
@@ -0,0 +1,122 @@
+package fr.unice.polytech.sophiatecheats.benchmark;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.UserBulkImporter;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryUserRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Mesure le débit de {@link UserBulkImporter} sur un fichier de la taille de la population du
+ * campus, en CSV et en NDJSON, avec un seul thread puis avec {@code bench.parallelism} threads,
+ * et compare {@code findByEmail} servi par l'index au parcours de tous les utilisateurs qu'il
+ * faisait auparavant.
+ *
+ * <p>Lancement : voir {@link CheckoutConcurrencyBenchmark}. Propriétés {@code bench.users}
+ * (lignes générées), {@code bench.batch}, {@code bench.parallelism} et {@code bench.iterations}
+ * (recherches par email).</p>
+ */
+public class UserImportBenchmark {
+
+    private interface Op {
+        Object run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int userCount = Integer.getInteger("bench.users", 40_000);
+        int batchSize = Integer.getInteger("bench.batch", 1_000);
+        int parallelism = Integer.getInteger("bench.parallelism", Runtime.getRuntime().availableProcessors());
+        int iterations = Integer.getInteger("bench.iterations", 2_000);
+
+        Path dir = Files.createTempDirectory("user-import-bench");
+        Path csv = dir.resolve("users.csv");
+        Path ndjson = dir.resolve("users.ndjson");
+        try {
+            writeFiles(csv, ndjson, userCount);
+            System.out.printf("User import benchmark - %d utilisateurs, lots de %d, %d threads (%.1f Mo en CSV)%n",
+                    userCount, batchSize, parallelism, Files.size(csv) / 1_048_576.0);
+            for (int round = 0; round < 3; round++) {
+                System.out.printf("round %d%n", round);
+                reportImport("CSV", csv, batchSize, parallelism);
+                reportImport("NDJSON", ndjson, batchSize, parallelism);
+            }
+
+            InMemoryUserRepository repository = new InMemoryUserRepository();
+            new UserBulkImporter(repository, batchSize, parallelism).importFile(csv);
+            String[] emails = new String[1_024];
+            for (int i = 0; i < emails.length; i++) {
+                emails[i] = "Student" + (i * 37 % userCount) + "@Etu.Unice.fr";
+            }
+            for (int round = 0; round < 3; round++) {
+                System.out.printf("findByEmail round %d%n", round);
+                int[] next = new int[1];
+                long scanNs = time(iterations, () -> scanByEmail(repository, emails[next[0]++ & 1023]));
+                next[0] = 0;
+                long indexNs = time(iterations, () -> repository.findByEmail(emails[next[0]++ & 1023]));
+                System.out.printf("  %-20s : parcours %9.1f µs/op   index %9.1f µs/op   (x%.1f)%n",
+                        "findByEmail", scanNs / 1_000.0 / iterations, indexNs / 1_000.0 / iterations,
+                        (double) scanNs / indexNs);
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(ndjson);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void reportImport(String label, Path file, int batchSize, int parallelism) throws IOException {
+        UserBulkImporter.Report sequential = new UserBulkImporter(emptyRepository(), batchSize, 1).importFile(file);
+        UserBulkImporter.Report parallel = new UserBulkImporter(emptyRepository(), batchSize, parallelism).importFile(file);
+        System.out.printf("  %-20s : 1 thread %9.0f u/s   %d threads %9.0f u/s   (x%.1f, %d importés)%n",
+                label, sequential.usersPerSecond(), parallelism, parallel.usersPerSecond(),
+                parallel.usersPerSecond() / sequential.usersPerSecond(), parallel.imported());
+    }
+
+    private static InMemoryUserRepository emptyRepository() {
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        repository.clear();
+        return repository;
+    }
+
+    // Parcours tel que le faisait findByEmail avant l'index, casse ignorée pour trouver les mêmes utilisateurs
+    private static Optional<User> scanByEmail(InMemoryUserRepository repository, String email) {
+        return repository.findAll().stream()
+                .filter(user -> user.getEmail().equalsIgnoreCase(email))
+                .findFirst();
+    }
+
+    private static void writeFiles(Path csv, Path ndjson, int userCount) throws IOException {
+        try (BufferedWriter csvOut = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+             BufferedWriter jsonOut = Files.newBufferedWriter(ndjson, StandardCharsets.UTF_8)) {
+            csvOut.write("id,email,name,studentCredit\n");
+            for (int i = 0; i < userCount; i++) {
+                UUID id = UUID.randomUUID();
+                String email = "student" + i + "@etu.unice.fr";
+                String name = "Etudiant " + i;
+                String credit = (i % 50) + ".50";
+                csvOut.write(id + "," + email + ",\"" + name + "\"," + credit + "\n");
+                jsonOut.write("{\"id\":\"" + id + "\",\"email\":\"" + email + "\",\"name\":\"" + name
+                        + "\",\"studentCredit\":" + credit + "}\n");
+            }
+        }
+    }
+
+    private static long time(int iterations, Op op) throws Exception {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += op.run().hashCode() & 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return elapsed;
+    }
+}
@@ -507,4 +507,25 @@ class RestaurantTest {
         assertTrue(availableDishes.contains(availableDish));
         assertFalse(availableDishes.contains(unavailableDish));
     }
-}
\ No newline at end of file
+
+    @Test
+    void markModifiedShouldAdvanceRestaurantAndCatalogVersions() {
+        Restaurant restaurant = new Restaurant("Version Bistro", "1 rue des Versions");
+        long before = restaurant.getVersion();
+
+        restaurant.markModified();
+
+        assertTrue(restaurant.getVersion() > before);
+        assertTrue(CatalogVersion.current() >= restaurant.getVersion());
+    }
+
+    @Test
+    void buildingARestaurantShouldNotAdvanceTheCatalogVersion() {
+        long before = CatalogVersion.current();
+
+        Restaurant restaurant = new Restaurant("Copy Bistro", "2 rue des Copies");
+
+        assertEquals(0, restaurant.getVersion());
+        assertEquals(before, CatalogVersion.current());
+    }
+}
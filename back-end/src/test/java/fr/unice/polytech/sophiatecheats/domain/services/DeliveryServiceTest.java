@@ -1,8 +1,11 @@
 package fr.unice.polytech.sophiatecheats.domain.services;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.SlotNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
 import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryTimeSlotRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -79,7 +82,7 @@ class DeliveryServiceTest {
     void testReleaseSlotSuccess() {
         UUID slotId = UUID.randomUUID();
         TimeSlot slot = new TimeSlot(UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now().plusMinutes(30), 3);
-        slot.reserve();
+        assertTrue(slot.reserve());
 
         when(repository.findById(slotId)).thenReturn(Optional.of(slot));
 
@@ -117,4 +120,54 @@ class DeliveryServiceTest {
         assertEquals(1, slot.getReservedCount());
     }
 
+    @Test
+    void testReserveSlotSavesOwningRestaurantToBumpItsVersion() {
+        RestaurantRepository restaurantRepository = Mockito.mock(RestaurantRepository.class);
+        DeliveryService serviceWithRestaurants = new DeliveryService(repository, restaurantRepository);
+        Restaurant restaurant = new Restaurant("Slot Bistro", "2 rue des Créneaux");
+        TimeSlot slot = new TimeSlot(restaurant.getId(), LocalDateTime.now(), LocalDateTime.now().plusMinutes(30), 2);
+
+        when(repository.findById(slot.getId())).thenReturn(Optional.of(slot));
+        when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
+
+        serviceWithRestaurants.reserveSlot(slot.getId());
+
+        verify(restaurantRepository).save(restaurant);
+    }
+
+    @Test
+    void testReleaseSlotPublishesOwningRestaurantToTheCatalogFeed() {
+        RestaurantRepository restaurantRepository = Mockito.mock(RestaurantRepository.class);
+        CatalogChangePublisher publisher = Mockito.mock(CatalogChangePublisher.class);
+        DeliveryService publishingService = new DeliveryService(repository, restaurantRepository, publisher);
+        Restaurant restaurant = new Restaurant("Slot Bistro", "2 rue des Créneaux");
+        TimeSlot slot = new TimeSlot(restaurant.getId(), LocalDateTime.now(), LocalDateTime.now().plusMinutes(30), 2);
+        assertTrue(slot.reserve());
+
+        when(repository.findById(slot.getId())).thenReturn(Optional.of(slot));
+        when(restaurantRepository.findById(restaurant.getId())).thenReturn(Optional.of(restaurant));
+
+        publishingService.releaseSlot(slot.getId());
+
+        assertEquals(0, slot.getReservedCount());
+        verify(restaurantRepository).save(restaurant);
+        verify(publisher, times(1)).publish(CatalogChangeType.SLOT_CAPACITY_CHANGED, restaurant.getId(), restaurant);
+    }
+
+    @Test
+    void testReadOnlyRepositoryForwardsReservationAndReleaseToTheSlotOwner() {
+        TimeSlot slot = new TimeSlot(UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now().plusMinutes(30), 2);
+
+        when(repository.isReadOnly()).thenReturn(true);
+        when(repository.findById(slot.getId())).thenReturn(Optional.of(slot));
+
+        service.reserveSlot(slot.getId());
+        service.releaseSlot(slot.getId());
+
+        verify(repository).forwardReservation(slot);
+        verify(repository).forwardRelease(slot);
+        verify(repository, never()).update(any());
+        assertEquals(0, slot.getReservedCount());
+    }
+
 }
@@ -0,0 +1,231 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.client;
+
+import com.sun.net.httpserver.HttpServer;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.request.AddDishToRestaurantRequest;
+import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.AddDishToRestaurantUseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.SlotNotFoundException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.DeliveryService;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantService;
+import fr.unice.polytech.sophiatecheats.infrastructure.feed.CatalogChangeLog;
+import fr.unice.polytech.sophiatecheats.interfaces.http.ApiRegistry;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.CatalogFeedHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogReplicaTest {
+
+    private final Map<UUID, Restaurant> restaurants = new ConcurrentHashMap<>();
+    private final RestaurantRepository repository = mock(RestaurantRepository.class);
+    private HttpServer server;
+    private CatalogReplica replica;
+
+    {
+        when(repository.findById(any())).thenAnswer(call -> Optional.ofNullable(restaurants.get(call.<UUID>getArgument(0))));
+        when(repository.findAll()).thenAnswer(call -> new ArrayList<>(restaurants.values()));
+        when(repository.save(any())).thenAnswer(call -> {
+            Restaurant restaurant = call.getArgument(0);
+            restaurant.markModified();
+            restaurants.put(restaurant.getId(), restaurant);
+            return restaurant;
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        if (replica != null) {
+            replica.close();
+        }
+        server.stop(0);
+    }
+
+    private RestaurantService startService(CatalogChangeLog log, int port) throws Exception {
+        RestaurantService service = new RestaurantService(repository, mock(TimeSlotRepository.class), log);
+        CatalogFeedHandler handler = new CatalogFeedHandler(service, log, Duration.ofMillis(50));
+        ApiRegistry registry = new ApiRegistry();
+        registry.registerRoute("GET", CatalogFeedHandler.SNAPSHOT_PATH, handler);
+        registry.registerRoute("GET", CatalogFeedHandler.FEED_PATH, handler);
+        registry.registerRoute("POST", "/restaurants/{id}/delivery-slots/{slotId}", (exchange, params, sender) -> {
+            UUID restaurantId = UUID.fromString(params.get("id"));
+            UUID slotId = UUID.fromString(params.get("slotId"));
+            if (new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).contains("reserve")) {
+                service.reserveDeliverySlot(restaurantId, slotId);
+            } else {
+                service.releaseDeliverySlot(restaurantId, slotId);
+            }
+            sender.send(200, "Action performed", null);
+        });
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", registry::dispatch);
+        server.start();
+        return service;
+    }
+
+    private Restaurant restaurant(String name) {
+        Restaurant restaurant = new Restaurant(name, "Campus SophiaTech");
+        restaurants.put(restaurant.getId(), restaurant);
+        return restaurant;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition non atteinte");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void replica_bootstraps_from_a_snapshot_then_applies_deltas() throws Exception {
+        Restaurant a = restaurant("Chez A");
+        restaurant("Chez B");
+        CatalogChangeLog log = new CatalogChangeLog(64, System::currentTimeMillis);
+        RestaurantService service = startService(log, 0);
+        replica = new CatalogReplica(URI.create("http://localhost:" + server.getAddress().getPort()), Duration.ofMillis(50))
+                .start();
+
+        await(() -> replica.isBootstrapped() && replica.stats().connected());
+        assertEquals(2, replica.findAll().size());
+        assertTrue(replica.findById(a.getId()).orElseThrow().getMenu().isEmpty());
+
+        service.addDishToRestaurant(a.getId(), "Ratatouille", "Légumes du soleil", new BigDecimal("8.50"), DishCategory.MAIN_COURSE);
+        service.closeRestaurant(a.getId());
+
+        await(() -> replica.stats().appliedSequence() == 2);
+        Restaurant replicated = replica.findById(a.getId()).orElseThrow();
+        assertEquals("Ratatouille", replicated.getMenu().getFirst().getName());
+        assertFalse(replicated.isOpen());
+        assertEquals(1, replica.findByAvailability(false).size());
+        assertEquals(0, replica.stats().lagEvents());
+        assertEquals(2, replica.stats().eventsApplied());
+
+        log.publish(CatalogChangeType.RESTAURANT_DELETED, a.getId(), null);
+        await(() -> replica.findById(a.getId()).isEmpty());
+        assertEquals(0, replica.stats().resyncs());
+    }
+
+    @Test
+    void replica_sees_dishes_added_through_the_use_case() throws Exception {
+        Restaurant a = restaurant("Chez A");
+        CatalogChangeLog log = new CatalogChangeLog(64, System::currentTimeMillis);
+        startService(log, 0);
+        replica = new CatalogReplica(URI.create("http://localhost:" + server.getAddress().getPort()), Duration.ofMillis(50))
+                .start();
+        await(() -> replica.stats().connected());
+
+        new AddDishToRestaurantUseCase(repository, log).execute(new AddDishToRestaurantRequest(
+                a.getId(), "Socca", "Galette de pois chiches", new BigDecimal("4.00"), DishCategory.STARTER, true));
+
+        await(() -> replica.stats().appliedSequence() == 1);
+        assertEquals("Socca", replica.findById(a.getId()).orElseThrow().getMenu().getFirst().getName());
+    }
+
+    @Test
+    void replica_resyncs_after_the_service_restarts() throws Exception {
+        Restaurant a = restaurant("Chez A");
+        RestaurantService service = startService(new CatalogChangeLog(64, System::currentTimeMillis), 0);
+        int port = server.getAddress().getPort();
+        replica = new CatalogReplica(URI.create("http://localhost:" + port), Duration.ofMillis(50)).start();
+        await(() -> replica.stats().connected());
+        service.openRestaurant(a.getId());
+        service.openRestaurant(a.getId());
+        await(() -> replica.stats().appliedSequence() == 2);
+
+        // Redémarrage : nouveau journal, séquences reparties de zéro, un restaurant de plus
+        server.stop(0);
+        restaurant("Chez B");
+        startService(new CatalogChangeLog(64, System::currentTimeMillis), port);
+
+        await(() -> replica.stats().resyncs() == 1);
+        assertEquals(2, replica.findAll().size());
+        assertEquals(0, replica.stats().appliedSequence());
+        assertTrue(replica.stats().reconnects() >= 1);
+    }
+
+    @Test
+    void replica_resyncs_when_the_restarted_log_is_already_past_its_sequence() throws Exception {
+        Restaurant a = restaurant("Chez A");
+        RestaurantService service = startService(new CatalogChangeLog(64, System::currentTimeMillis), 0);
+        int port = server.getAddress().getPort();
+        replica = new CatalogReplica(URI.create("http://localhost:" + port), Duration.ofMillis(50)).start();
+        await(() -> replica.stats().connected());
+        service.openRestaurant(a.getId());
+        await(() -> replica.stats().appliedSequence() == 1);
+
+        // Nouveau journal qui a déjà émis plus d'événements que le réplica n'en a vu
+        server.stop(0);
+        CatalogChangeLog restarted = new CatalogChangeLog(64, System::currentTimeMillis);
+        Restaurant b = restaurant("Chez B");
+        for (int i = 0; i < 3; i++) {
+            restarted.publish(CatalogChangeType.RESTAURANT_UPDATED, b.getId(), b);
+        }
+        startService(restarted, port);
+
+        await(() -> replica.stats().resyncs() == 1);
+        assertEquals(2, replica.findAll().size());
+        assertEquals(3, replica.stats().appliedSequence());
+    }
+
+    @Test
+    void replica_exposes_slots_and_forwards_their_reservations() throws Exception {
+        Restaurant a = restaurant("Chez A");
+        RestaurantService service = startService(new CatalogChangeLog(64, System::currentTimeMillis), 0);
+        replica = new CatalogReplica(URI.create("http://localhost:" + server.getAddress().getPort()), Duration.ofMillis(50))
+                .start();
+        await(() -> replica.stats().connected());
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        service.generateDeliverySlots(a.getId(), tomorrow, LocalTime.of(12, 0), LocalTime.of(13, 0), 1);
+
+        TimeSlotRepository slots = replica.timeSlots();
+        await(() -> !slots.findAvailableSlots(tomorrow).isEmpty());
+        TimeSlot slot = slots.findAvailableSlotsByRestaurantAndDate(a.getId(), tomorrow).getFirst();
+        assertEquals(slot.getStartTime(), slots.findById(slot.getId()).orElseThrow().getStartTime());
+
+        DeliveryService delivery = new DeliveryService(slots, replica);
+        delivery.reserveSlot(slot.getId());
+
+        assertEquals(1, a.getDeliverySchedule().findSlotById(slot.getId()).orElseThrow().getReservedCount());
+        await(() -> slots.findById(slot.getId()).orElseThrow().getReservedCount() == 1);
+        // Créneau complet : refusé par le service restaurant
+        assertThrows(SlotNotFoundException.class, () -> delivery.reserveSlot(slot.getId()));
+        assertTrue(slots.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> slots.update(slot));
+    }
+
+    @Test
+    void replica_is_read_only() {
+        replica = new CatalogReplica(URI.create("http://localhost:1"), Duration.ofSeconds(1));
+        server = mock(HttpServer.class);
+
+        assertTrue(replica.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> replica.save(new Restaurant("Chez A", "Campus")));
+        assertThrows(UnsupportedOperationException.class, () -> replica.deleteById(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,268 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.client;
+
+import com.sun.net.httpserver.HttpServer;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.PlaceOrderRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.PlaceOrderResponse;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.delivery.ValidateDeliverySlotUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.order.PlaceOrderUseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.DeliveryService;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantService;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryCartRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryOrderRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryTimeSlotRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryUserRepository;
+import fr.unice.polytech.sophiatecheats.interfaces.http.ApiRegistry;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RestaurantSnapshotHandler;
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.SlotSnapshotHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RestaurantServiceHttpClientTest {
+
+    private final Map<UUID, Restaurant> restaurants = new ConcurrentHashMap<>();
+    private final Map<UUID, TimeSlot> serviceSlots = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong();
+    private volatile Runnable beforeDispatch = () -> { };
+    private HttpServer server;
+    private RestaurantServiceHttpClient client;
+
+    @BeforeEach
+    void startStandInService() throws Exception {
+        RestaurantRepository repository = mock(RestaurantRepository.class);
+        when(repository.findById(any())).thenAnswer(call -> Optional.ofNullable(restaurants.get(call.<UUID>getArgument(0))));
+        when(repository.findAll()).thenAnswer(call -> new ArrayList<>(restaurants.values()));
+
+        TimeSlotRepository slotRepository = mock(TimeSlotRepository.class);
+        when(slotRepository.findById(any())).thenAnswer(call -> Optional.ofNullable(serviceSlots.get(call.<UUID>getArgument(0))));
+        RestaurantService service = new RestaurantService(repository, slotRepository);
+
+        ApiRegistry registry = new ApiRegistry();
+        registry.registerRoute("GET", RestaurantSnapshotHandler.PATH, new RestaurantSnapshotHandler(service));
+        registry.registerRoute("GET", SlotSnapshotHandler.PATH, new SlotSnapshotHandler(slotRepository));
+        registry.registerRoute("POST", "/restaurants/{id}/delivery-slots/{slotId}", (exchange, params, sender) -> {
+            exchange.getRequestBody().readAllBytes();
+            service.reserveDeliverySlot(UUID.fromString(params.get("id")), UUID.fromString(params.get("slotId")));
+            sender.send(200, "Action performed", null);
+        });
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            calls.incrementAndGet();
+            beforeDispatch.run();
+            registry.dispatch(exchange);
+        });
+        server.start();
+        client = new RestaurantServiceHttpClient(URI.create("http://localhost:" + server.getAddress().getPort()),
+                Duration.ofSeconds(2), Duration.ofSeconds(1), Duration.ofMillis(20), 100, clock::get);
+    }
+
+    @AfterEach
+    void stop() {
+        client.close();
+        server.stop(0);
+    }
+
+    private Restaurant restaurant(String name) {
+        Restaurant restaurant = new Restaurant(name, "Campus SophiaTech");
+        restaurant.addDish(Dish.builder()
+                .name("Ratatouille")
+                .description("Légumes du soleil")
+                .price(new BigDecimal("8.50"))
+                .category(DishCategory.MAIN_COURSE)
+                .restaurantId(restaurant.getId())
+                .build());
+        // Comme un enregistrement par le dépôt du service restaurant
+        restaurant.markModified();
+        restaurants.put(restaurant.getId(), restaurant);
+        return restaurant;
+    }
+
+    @Test
+    void concurrent_lookups_share_one_call() {
+        Restaurant a = restaurant("Chez A");
+        Restaurant b = restaurant("Chez B");
+        UUID unknown = UUID.randomUUID();
+
+        CompletableFuture<Optional<Restaurant>> first = client.findByIdAsync(a.getId());
+        CompletableFuture<Optional<Restaurant>> again = client.findByIdAsync(a.getId());
+        CompletableFuture<Map<UUID, Restaurant>> many = client.findAllByIdAsync(List.of(a.getId(), b.getId(), unknown));
+
+        assertEquals("Chez A", first.join().orElseThrow().getName());
+        assertSame(first, again);
+        Map<UUID, Restaurant> found = many.join();
+        assertEquals(2, found.size());
+        assertEquals("Chez B", found.get(b.getId()).getName());
+        assertEquals(1, found.get(b.getId()).getMenu().size());
+        assertEquals(1, calls.get());
+        assertEquals(3, client.stats().lookups());
+    }
+
+    @Test
+    void fresh_copy_is_served_locally_then_revalidated_by_version() {
+        Restaurant a = restaurant("Chez A");
+        Restaurant first = client.findById(a.getId()).orElseThrow();
+
+        assertSame(first, client.findById(a.getId()).orElseThrow());
+        assertEquals(1, calls.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertSame(first, client.findById(a.getId()).orElseThrow());
+        assertEquals(2, calls.get());
+        assertEquals(1, client.stats().unchanged());
+
+        a.setOpen(false);
+        a.markModified();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        Restaurant updated = client.findById(a.getId()).orElseThrow();
+        assertNotSame(first, updated);
+        assertFalse(updated.isOpen());
+    }
+
+    @Test
+    void copy_invalidated_during_revalidation_is_fetched_again() {
+        Restaurant a = restaurant("Chez A");
+        Restaurant first = client.findById(a.getId()).orElseThrow();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        // La copie est oubliée alors que le service s'apprête à répondre « inchangé »
+        beforeDispatch = () -> {
+            beforeDispatch = () -> { };
+            client.invalidate(a.getId());
+        };
+
+        Restaurant again = client.findById(a.getId()).orElseThrow();
+
+        assertEquals("Chez A", again.getName());
+        assertNotSame(first, again);
+        assertEquals(3, calls.get());
+        assertEquals(0, client.stats().unchanged());
+    }
+
+    @Test
+    void catalog_list_is_revalidated_with_its_etag() {
+        restaurant("Chez A");
+        restaurant("Chez B");
+
+        assertEquals(2, client.findAll().size());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        List<Restaurant> again = client.findAll();
+
+        assertEquals(2, again.size());
+        assertEquals(2, calls.get());
+        assertEquals(2, client.findOpenByDishCategory(DishCategory.MAIN_COURSE).size());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void stale_copy_is_served_when_the_service_is_down() {
+        Restaurant a = restaurant("Chez A");
+        client.findById(a.getId()).orElseThrow();
+        server.stop(0);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertEquals("Chez A", client.findById(a.getId()).orElseThrow().getName());
+        assertEquals(1, client.stats().staleServed());
+        assertThrows(RestaurantServiceUnavailableException.class, () -> client.findById(UUID.randomUUID()));
+    }
+
+    @Test
+    void catalog_cannot_be_modified_from_the_client() {
+        Restaurant a = restaurant("Chez A");
+
+        assertTrue(client.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> client.save(a));
+        assertThrows(UnsupportedOperationException.class, () -> client.deleteById(a.getId()));
+    }
+
+    @Test
+    void order_is_placed_with_the_remote_catalog_without_writing_to_it() {
+        Restaurant a = restaurant("Chez A");
+        Dish dish = a.getMenu().getFirst();
+        InMemoryUserRepository users = new InMemoryUserRepository();
+        User user = users.save(new User(UUID.randomUUID(), "marcel@unice.fr", "Marcel", new BigDecimal("50.00")));
+        InMemoryTimeSlotRepository slots = new InMemoryTimeSlotRepository();
+        LocalDateTime noon = LocalDate.now().plusDays(1).atTime(12, 0);
+        TimeSlot slot = slots.save(new TimeSlot(a.getId(), noon, noon.plusMinutes(30), 5));
+        InMemoryCartRepository carts = new InMemoryCartRepository();
+        Cart cart = new Cart(user.getId());
+        cart.addDish(dish, 1, a.getId());
+        cart.setDeliverySlot(slot.getId());
+        carts.save(cart);
+
+        // Catalogue distant, créneaux locaux
+        ValidateDeliverySlotUseCase validateSlot = new ValidateDeliverySlotUseCase(new DeliveryService(slots, client));
+        PlaceOrderUseCase placeOrder = new PlaceOrderUseCase(users, client, new InMemoryOrderRepository(), carts, slots, validateSlot);
+
+        PlaceOrderResponse response = placeOrder.execute(
+                new PlaceOrderRequest(user.getId(), a.getId(), PaymentMethod.STUDENT_CREDIT, slot.getId()));
+
+        assertNotNull(response.orderId());
+        assertEquals(1, slot.getReservedCount());
+        assertEquals(new BigDecimal("41.50"), user.getStudentCredit());
+    }
+
+    @Test
+    void order_is_placed_with_slots_read_and_reserved_in_the_restaurant_service() {
+        Restaurant a = restaurant("Chez A");
+        LocalDateTime noon = LocalDate.now().plusDays(1).atTime(12, 0);
+        TimeSlot slot = new TimeSlot(a.getId(), noon, noon.plusMinutes(30), 1);
+        a.getDeliverySchedule().addSlot(slot);
+        a.markModified();
+        serviceSlots.put(slot.getId(), slot);
+        InMemoryUserRepository users = new InMemoryUserRepository();
+        User user = users.save(new User(UUID.randomUUID(), "odette@unice.fr", "Odette", new BigDecimal("50.00")));
+        InMemoryCartRepository carts = new InMemoryCartRepository();
+        Cart cart = new Cart(user.getId());
+        cart.addDish(a.getMenu().getFirst(), 1, a.getId());
+        cart.setDeliverySlot(slot.getId());
+        carts.save(cart);
+
+        // Câblage du Consumer Service avec -Dste.restaurantService.url
+        TimeSlotRepository slots = client.timeSlots();
+        ValidateDeliverySlotUseCase validateSlot = new ValidateDeliverySlotUseCase(new DeliveryService(slots, client));
+        PlaceOrderUseCase placeOrder = new PlaceOrderUseCase(users, client, new InMemoryOrderRepository(), carts, slots, validateSlot);
+
+        PlaceOrderResponse response = placeOrder.execute(
+                new PlaceOrderRequest(user.getId(), a.getId(), PaymentMethod.STUDENT_CREDIT, slot.getId()));
+
+        assertNotNull(response.orderId());
+        assertEquals(1, slot.getReservedCount());
+        // Relu auprès du service, pas dans le cache du catalogue
+        assertFalse(slots.findById(slot.getId()).orElseThrow().isAvailable());
+        assertTrue(slots.findById(UUID.randomUUID()).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> slots.save(slot));
+    }
+}
@@ -0,0 +1,72 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.feed;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.CatalogEventDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.CatalogChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogChangeLogTest {
+
+    @Test
+    void events_are_numbered_and_carry_a_copy_of_the_restaurant() {
+        CatalogChangeLog log = new CatalogChangeLog(8, () -> 1_000);
+        Restaurant restaurant = new Restaurant("Chez A", "Campus");
+
+        log.publish(CatalogChangeType.RESTAURANT_CREATED, restaurant.getId(), restaurant);
+        restaurant.close();
+        log.publish(CatalogChangeType.CLOSED, restaurant.getId(), restaurant);
+
+        List<CatalogEventDto> events = log.eventsAfter(0, 10);
+        assertEquals(2, events.size());
+        assertEquals(1, events.get(0).sequence());
+        assertTrue(events.get(0).restaurant().isOpen());
+        assertFalse(events.get(1).restaurant().isOpen());
+        assertEquals(CatalogChangeType.CLOSED, events.get(1).type());
+        assertEquals(1, log.eventsAfter(1, 10).size());
+        assertEquals(1, log.eventsAfter(0, 1).size());
+    }
+
+    @Test
+    void reader_must_resync_once_events_left_the_buffer() {
+        CatalogChangeLog log = new CatalogChangeLog(2, System::currentTimeMillis);
+        Restaurant restaurant = new Restaurant("Chez A", "Campus");
+        for (int i = 0; i < 5; i++) {
+            log.publish(CatalogChangeType.RESTAURANT_UPDATED, restaurant.getId(), restaurant);
+        }
+
+        assertNull(log.eventsAfter(0, 10));
+        assertNull(log.eventsAfter(2, 10));
+        assertEquals(2, log.eventsAfter(3, 10).size());
+        assertEquals(0, log.eventsAfter(5, 10).size());
+        // Séquence inconnue : le service a redémarré depuis
+        assertNull(log.eventsAfter(6, 10));
+        assertEquals(4, log.stats().oldestSequence());
+    }
+
+    @Test
+    void waiting_reader_is_woken_by_a_publication() throws Exception {
+        CatalogChangeLog log = new CatalogChangeLog(8, System::currentTimeMillis);
+        Restaurant restaurant = new Restaurant("Chez A", "Campus");
+
+        assertTrue(log.awaitEventsAfter(0, 10, Duration.ofMillis(20)).isEmpty());
+
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            log.publish(CatalogChangeType.OPENED, restaurant.getId(), restaurant);
+        });
+        long start = System.nanoTime();
+        List<CatalogEventDto> events = log.awaitEventsAfter(0, 10, Duration.ofSeconds(5));
+
+        assertEquals(1, events.size());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+    }
+}
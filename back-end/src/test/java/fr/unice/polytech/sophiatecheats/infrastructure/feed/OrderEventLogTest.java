@@ -0,0 +1,119 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.feed;
+
+import fr.unice.polytech.sophiatecheats.application.dto.order.OrderEventDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderEventLogTest {
+
+    private final User user = new User("marcel@example.com", "Marcel Dupont");
+    private Restaurant restaurant;
+    private Restaurant other;
+
+    @BeforeEach
+    void setUp() {
+        restaurant = new Restaurant("Chez Marcel", "Campus");
+        other = new Restaurant("Autre", "Ailleurs");
+    }
+
+    @Test
+    void saved_visible_orders_are_numbered_per_restaurant() {
+        OrderEventLog log = new OrderEventLog(8);
+        InMemoryOrderRepository repository = new InMemoryOrderRepository(null, null, log);
+
+        Order order = order(restaurant, OrderStatus.PENDING);
+        repository.save(order);
+        order.setStatus(OrderStatus.PAID);
+        repository.save(order);
+        order.setStatus(OrderStatus.CONFIRMED);
+        repository.save(order);
+        repository.save(order(other, OrderStatus.PAID));
+
+        List<OrderEventDto> events = log.eventsAfter(restaurant.getId(), 0, 10);
+        assertEquals(2, events.size());
+        assertEquals(1, events.get(0).sequence());
+        // Chaque événement garde l'état de la commande au moment de la sauvegarde
+        assertEquals("PAID", events.get(0).order().status());
+        assertEquals("CONFIRMED", events.get(1).order().status());
+        assertEquals(order.getOrderId(), events.get(1).order().orderId());
+        assertEquals(1, log.lastSequence(other.getId()));
+    }
+
+    @Test
+    void order_leaving_the_dashboard_is_published_once_as_removed() {
+        OrderEventLog log = new OrderEventLog(8);
+        Order order = order(restaurant, OrderStatus.PAID);
+        log.publish(order);
+        order.setStatus(OrderStatus.EXPIRED);
+        log.publish(order);
+        log.publish(order);
+        log.publish(order(restaurant, OrderStatus.EXPIRED));
+
+        List<OrderEventDto> events = log.eventsAfter(restaurant.getId(), 0, 10);
+        assertEquals(2, events.size());
+        assertFalse(events.get(0).removed());
+        assertTrue(events.get(1).removed());
+        assertEquals(order.getOrderId(), events.get(1).order().orderId());
+        assertEquals("EXPIRED", events.get(1).order().status());
+    }
+
+    @Test
+    void each_log_has_its_own_epoch() {
+        assertNotEquals(new OrderEventLog(8).epoch(), new OrderEventLog(8).epoch());
+    }
+
+    @Test
+    void slow_reader_must_resync_once_events_left_the_buffer() {
+        OrderEventLog log = new OrderEventLog(2);
+        for (int i = 0; i < 5; i++) {
+            log.publish(order(restaurant, OrderStatus.PAID));
+        }
+
+        assertNull(log.eventsAfter(restaurant.getId(), 0, 10));
+        assertNull(log.eventsAfter(restaurant.getId(), 2, 10));
+        assertEquals(2, log.eventsAfter(restaurant.getId(), 3, 10).size());
+        // Séquence inconnue : le service a redémarré depuis
+        assertNull(log.eventsAfter(restaurant.getId(), 6, 10));
+    }
+
+    @Test
+    void waiting_reader_is_woken_only_by_its_restaurant() throws Exception {
+        OrderEventLog log = new OrderEventLog(8);
+
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+                log.publish(order(other, OrderStatus.PAID));
+                Thread.sleep(50);
+                log.publish(order(restaurant, OrderStatus.PREPARING));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long start = System.nanoTime();
+        List<OrderEventDto> events = log.awaitEventsAfter(restaurant.getId(), 0, 10, Duration.ofSeconds(5));
+
+        assertEquals(1, events.size());
+        assertEquals("PREPARING", events.getFirst().order().status());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+        assertEquals(0, log.waiting());
+    }
+
+    private Order order(Restaurant owner, OrderStatus status) {
+        Order order = new Order(user, owner, Collections.emptyList(), PaymentMethod.STUDENT_CREDIT);
+        order.setStatus(status);
+        return order;
+    }
+}
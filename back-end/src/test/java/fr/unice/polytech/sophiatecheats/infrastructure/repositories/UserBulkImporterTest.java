@@ -0,0 +1,82 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBulkImporterTest {
+
+    private InMemoryUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryUserRepository();
+        repository.clear();
+    }
+
+    @Test
+    void csv_columns_follow_the_header_and_invalid_lines_are_reported() throws Exception {
+        UUID id = UUID.randomUUID();
+        String csv = """
+                name,email,studentCredit,id
+                "Dupont, Marcel",marcel@unice.fr,12.50,%s
+                Julie Martin,julie@unice.fr,,
+
+                Sans Email,,5,
+                Crédit Faux,faux@unice.fr,abc,
+                """.formatted(id);
+
+        UserBulkImporter.Report report = new UserBulkImporter(repository, 2, 2)
+                .importFrom(new StringReader(csv), UserBulkImporter.Format.CSV);
+
+        assertEquals(2, report.imported());
+        assertEquals(2, report.rejected());
+        assertEquals(2, report.errors().size());
+        assertTrue(report.errors().get(0).startsWith("line 5:"));
+        assertTrue(report.errors().get(1).startsWith("line 6:"));
+        User marcel = repository.findById(id).orElseThrow();
+        assertEquals("Dupont, Marcel", marcel.getName());
+        assertEquals(new BigDecimal("12.50"), marcel.getStudentCredit());
+        assertEquals(BigDecimal.ZERO, repository.findByEmail("julie@unice.fr").orElseThrow().getStudentCredit());
+    }
+
+    @Test
+    void ndjson_file_is_imported_in_parallel_batches_without_duplicate_emails(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("users.ndjson");
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            lines.append("{\"email\":\"student").append(i).append("@unice.fr\",\"name\":\"Student ").append(i)
+                    .append("\",\"studentCredit\":").append(i % 20).append(",\"tags\":[\"ignored\"]}\n");
+        }
+        lines.append("{\"email\":\"STUDENT7@unice.fr\",\"name\":\"Doublon\"}\n");
+        lines.append("{\"email\":\"broken@unice.fr\",\n");
+        Files.writeString(file, lines);
+
+        UserBulkImporter.Report report = new UserBulkImporter(repository, 64, 4).importFile(file);
+
+        assertEquals(1_000, report.imported());
+        assertEquals(1, report.duplicates());
+        assertEquals(1, report.rejected());
+        assertEquals(1_000, repository.count());
+        assertEquals("Student 7", repository.findByEmail("student7@unice.fr").orElseThrow().getName());
+        assertEquals(new BigDecimal("19"), repository.findByEmail("Student999@unice.fr").orElseThrow().getStudentCredit());
+    }
+
+    @Test
+    void csv_without_email_column_is_refused() {
+        UserBulkImporter importer = new UserBulkImporter(repository, 10, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importer.importFrom(new StringReader("id,name\n"), UserBulkImporter.Format.CSV));
+    }
+}
@@ -0,0 +1,119 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryOrderRepositoryTest {
+
+    private final User marcel = new User("marcel@example.com", "Marcel Dupont");
+    private final User julie = new User("julie@example.com", "Julie Martin");
+    private Restaurant restaurant;
+    private InMemoryOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        restaurant = new Restaurant("Chez Marcel", "Campus");
+        repository = new InMemoryOrderRepository();
+    }
+
+    @Test
+    void status_and_active_indexes_follow_each_transition() {
+        Order order = order(marcel);
+        repository.save(order);
+
+        assertTrue(repository.existsActiveOrderByUserId(marcel.getId()));
+        assertFalse(repository.existsActiveOrderByUserId(julie.getId()));
+        assertEquals(List.of(order), repository.findAllByStatus(OrderStatus.PENDING));
+
+        order.markAsPaid();
+        repository.save(order);
+        assertTrue(repository.findAllByStatus(OrderStatus.PENDING).isEmpty());
+        assertEquals(List.of(order), repository.findAllByStatus(OrderStatus.PAID));
+        assertTrue(repository.existsActiveOrderByUserId(marcel.getId()));
+
+        order.confirm();
+        repository.save(order);
+        assertTrue(repository.findAllByStatus(OrderStatus.PAID).isEmpty());
+        assertEquals(List.of(order), repository.findAllByStatus(OrderStatus.CONFIRMED));
+        assertFalse(repository.existsActiveOrderByUserId(marcel.getId()));
+    }
+
+    @Test
+    void order_changed_without_save_is_not_returned_under_its_old_status() {
+        Order order = order(marcel);
+        repository.save(order);
+
+        order.expire();
+
+        assertTrue(repository.findAllByStatus(OrderStatus.PENDING).isEmpty());
+        assertFalse(repository.existsActiveOrderByUserId(marcel.getId()));
+
+        repository.save(order);
+        assertEquals(List.of(order), repository.findAllByStatus(OrderStatus.EXPIRED));
+    }
+
+    @Test
+    void restaurant_reads_are_chronological_and_deletion_leaves_every_index() {
+        Order first = order(marcel);
+        Order second = order(julie);
+        second.setOrderDateTime(first.getOrderDateTime().plusMinutes(1));
+        repository.save(second);
+        repository.save(first);
+        repository.save(order(marcel, new Restaurant("Autre", "Ailleurs")));
+
+        assertEquals(List.of(first, second), repository.findAllByRestaurantId(restaurant.getId()));
+
+        repository.deleteById(first.getOrderId());
+
+        assertEquals(List.of(second), repository.findAllByRestaurantId(restaurant.getId()));
+        assertEquals(2, repository.findAllByStatus(OrderStatus.PENDING).size());
+        assertTrue(repository.existsActiveOrderByUserId(julie.getId()));
+    }
+
+    @Test
+    void visible_restaurant_orders_follow_payment_and_deletion() {
+        Order paid = order(marcel);
+        Order pending = order(julie);
+        pending.setOrderDateTime(paid.getOrderDateTime().minusMinutes(1));
+        repository.save(paid);
+        repository.save(pending);
+
+        assertTrue(visible().isEmpty());
+
+        paid.markAsPaid();
+        repository.save(paid);
+        assertEquals(List.of(paid), visible());
+
+        paid.confirm();
+        repository.save(paid);
+        assertEquals(List.of(paid), visible());
+        assertTrue(repository.streamVisibleByRestaurantId(restaurant.getId(), Position.of(paid)).toList().isEmpty());
+
+        repository.deleteById(paid.getOrderId());
+        assertTrue(visible().isEmpty());
+        assertEquals(List.of(pending), repository.findAllByRestaurantId(restaurant.getId()));
+    }
+
+    private List<Order> visible() {
+        return repository.streamVisibleByRestaurantId(restaurant.getId(), null).toList();
+    }
+
+    private Order order(User user) {
+        return order(user, restaurant);
+    }
+
+    private static Order order(User user, Restaurant owner) {
+        return new Order(user, owner, Collections.emptyList(), PaymentMethod.STUDENT_CREDIT);
+    }
+}
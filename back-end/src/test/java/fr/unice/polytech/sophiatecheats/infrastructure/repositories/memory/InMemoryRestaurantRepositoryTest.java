@@ -0,0 +1,138 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRestaurantRepositoryTest {
+
+    private InMemoryRestaurantRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRestaurantRepository(false);
+        repository.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.clear();
+    }
+
+    @Test
+    void indexes_follow_the_menu_on_each_save() {
+        Restaurant restaurant = new Restaurant("Chez Marcel", "Campus");
+        Dish salad = dish("Salade", DishCategory.STARTER, DietType.VEGETARIAN);
+        restaurant.addDish(salad);
+        repository.save(restaurant);
+
+        assertEquals(List.of(restaurant), repository.findByDishCategory(DishCategory.STARTER));
+        assertEquals(List.of(restaurant), repository.findByDietType(DietType.VEGETARIAN));
+
+        restaurant.removeDish(salad.getId());
+        restaurant.addDish(dish("Tarte", DishCategory.DESSERT, DietType.VEGAN));
+        repository.save(restaurant);
+
+        assertTrue(repository.findByDishCategory(DishCategory.STARTER).isEmpty());
+        assertTrue(repository.findByDietType(DietType.VEGETARIAN).isEmpty());
+        assertEquals(List.of(restaurant), repository.findByDishCategory(DishCategory.DESSERT));
+        assertEquals(List.of(restaurant), repository.findByDietType(DietType.VEGAN));
+    }
+
+    @Test
+    void open_and_closed_sets_follow_availability() {
+        Restaurant open = new Restaurant("Ouvert", "Campus");
+        open.addDish(dish("Burger", DishCategory.MAIN_COURSE, DietType.HALAL));
+        open.open();
+        Restaurant closed = new Restaurant("Fermé", "Campus");
+        closed.addDish(dish("Wok", DishCategory.MAIN_COURSE, DietType.VEGAN));
+        closed.close();
+        repository.save(open);
+        repository.save(closed);
+
+        assertEquals(List.of(open), repository.findByAvailability(true));
+        assertEquals(List.of(closed), repository.findByAvailability(false));
+        assertEquals(List.of(open), repository.findOpenByDishCategory(DishCategory.MAIN_COURSE));
+
+        open.close();
+        repository.save(open);
+
+        assertTrue(repository.findByAvailability(true).isEmpty());
+        assertTrue(repository.findOpenByDishCategory(DishCategory.MAIN_COURSE).isEmpty());
+        assertEquals(2, repository.findByAvailability(false).size());
+    }
+
+    @Test
+    void deleted_restaurant_leaves_every_index() {
+        Restaurant restaurant = new Restaurant("Chez Marcel", "Campus");
+        restaurant.addDish(dish("Salade", DishCategory.STARTER, DietType.VEGETARIAN));
+        restaurant.open();
+        repository.save(restaurant);
+
+        repository.delete(restaurant);
+
+        assertTrue(repository.findByAvailability(true).isEmpty());
+        assertTrue(repository.findByDishCategory(DishCategory.STARTER).isEmpty());
+        assertTrue(repository.findOpenByDishCategory(DishCategory.STARTER).isEmpty());
+        assertTrue(repository.findByDietType(DietType.VEGETARIAN).isEmpty());
+    }
+
+    @Test
+    void dish_index_resolves_dish_and_restaurant_until_the_dish_leaves_the_menu() {
+        Restaurant restaurant = new Restaurant("Chez Marcel", "Campus");
+        Dish salad = dish("Salade", DishCategory.STARTER, DietType.VEGETARIAN);
+        restaurant.addDish(salad);
+        repository.save(restaurant);
+
+        var found = repository.findDishWithRestaurant(salad.getId()).orElseThrow();
+        assertSame(salad, found.dish());
+        assertSame(restaurant, found.restaurant());
+
+        // Le menu du restaurant fait foi, même avant la sauvegarde suivante
+        restaurant.removeDish(salad.getId());
+        assertTrue(repository.findDishWithRestaurant(salad.getId()).isEmpty());
+
+        repository.save(restaurant);
+        assertTrue(repository.findDishWithRestaurant(salad.getId()).isEmpty());
+        assertTrue(repository.findDishWithRestaurant(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void dish_index_follows_restaurant_deletion() {
+        Restaurant restaurant = new Restaurant("Chez Marcel", "Campus");
+        Dish salad = dish("Salade", DishCategory.STARTER, DietType.VEGETARIAN);
+        Dish tart = dish("Tarte", DishCategory.DESSERT, DietType.VEGAN);
+        restaurant.addDish(salad);
+        restaurant.addDish(tart);
+        repository.save(restaurant);
+
+        assertEquals(2, repository.findDishesWithRestaurants(List.of(salad.getId(), tart.getId())).size());
+
+        repository.delete(restaurant);
+
+        assertTrue(repository.findDishesWithRestaurants(List.of(salad.getId(), tart.getId())).isEmpty());
+    }
+
+    private static Dish dish(String name, DishCategory category, DietType dietType) {
+        return Dish.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description(name)
+                .price(new BigDecimal("8.00"))
+                .category(category)
+                .dietTypes(Set.of(dietType))
+                .available(true)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -8,6 +9,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,6 +22,7 @@ class InMemoryTimeSlotRepositoryTest {
     @BeforeEach
     void setUp() {
         repository = new InMemoryTimeSlotRepository();
+        repository.clear();
         restaurantId = UUID.randomUUID();
         timeSlot = TimeSlot.builder()
                 .restaurantId(restaurantId)
@@ -29,6 +32,11 @@ class InMemoryTimeSlotRepositoryTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        repository.clear();
+    }
+
     @Test
     void should_save_and_find_timeslot() {
         TimeSlot savedSlot = repository.save(timeSlot);
@@ -118,4 +126,75 @@ class InMemoryTimeSlotRepositoryTest {
         List<TimeSlot> slots = repository.findAvailableSlots(date);
         assertTrue(slots.isEmpty());
     }
+
+    @Test
+    void should_return_next_available_slots_in_start_time_order_across_dates() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        TimeSlot late = slot(restaurantId, tomorrow.plusDays(1).atTime(12, 0));
+        TimeSlot full = slot(restaurantId, tomorrow.atTime(12, 30));
+        full.setAvailable(false);
+        TimeSlot first = slot(restaurantId, tomorrow.atTime(12, 0));
+        TimeSlot sameStart = slot(restaurantId, tomorrow.atTime(12, 0));
+        TimeSlot other = slot(UUID.randomUUID(), tomorrow.atTime(11, 0));
+        List.of(late, full, first, sameStart, other).forEach(repository::save);
+
+        List<TimeSlot> next = repository.findAvailableSlotsAfter(restaurantId, tomorrow.atStartOfDay(), 10);
+
+        assertEquals(3, next.size());
+        assertEquals(Set.of(first, sameStart), Set.copyOf(next.subList(0, 2)));
+        assertEquals(late, next.get(2));
+        assertEquals(2, repository.findAvailableSlotsAfter(restaurantId, tomorrow.atStartOfDay(), 2).size());
+        assertEquals(List.of(late), repository.findAvailableSlotsAfter(restaurantId, tomorrow.atTime(12, 1), 10));
+    }
+
+    @Test
+    void should_return_slots_between_two_instants_including_unavailable_ones() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        TimeSlot noon = slot(restaurantId, tomorrow.atTime(12, 0));
+        TimeSlot half = slot(restaurantId, tomorrow.atTime(12, 30));
+        half.setAvailable(false);
+        TimeSlot one = slot(restaurantId, tomorrow.atTime(13, 0));
+        List.of(one, half, noon).forEach(repository::save);
+
+        assertEquals(List.of(noon, half), repository.findSlotsBetween(restaurantId, tomorrow.atTime(12, 0), tomorrow.atTime(13, 0)));
+        assertTrue(repository.findSlotsBetween(restaurantId, tomorrow.atTime(13, 0), tomorrow.atTime(12, 0)).isEmpty());
+        assertTrue(repository.findSlotsBetween(UUID.randomUUID(), tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay()).isEmpty());
+    }
+
+    @Test
+    void should_prune_slots_of_past_dates() {
+        TimeSlot yesterday = slot(restaurantId, LocalDate.now().minusDays(1).atTime(12, 0));
+        TimeSlot tomorrow = slot(restaurantId, LocalDate.now().plusDays(1).atTime(12, 0));
+        repository.save(yesterday);
+        repository.save(tomorrow);
+
+        assertFalse(repository.existsById(yesterday.getId()));
+        assertEquals(List.of(tomorrow), repository.findAll());
+        assertTrue(repository.findSlotsBetween(restaurantId, LocalDate.now().minusDays(2).atStartOfDay(),
+                LocalDate.now().atStartOfDay()).isEmpty());
+    }
+
+    @Test
+    void should_leave_the_index_when_deleted() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        TimeSlot slot = slot(restaurantId, date.atTime(12, 0));
+        repository.save(slot);
+        repository.update(slot);
+        assertEquals(List.of(slot), repository.findAvailableSlotsByRestaurantAndDate(restaurantId, date));
+
+        repository.deleteById(slot.getId());
+
+        assertTrue(repository.findAvailableSlotsByRestaurantAndDate(restaurantId, date).isEmpty());
+        assertTrue(repository.findAvailableSlots(date).isEmpty());
+        assertTrue(repository.findByIdAndRestaurantId(slot.getId(), restaurantId).isEmpty());
+    }
+
+    private static TimeSlot slot(UUID restaurantId, LocalDateTime start) {
+        return TimeSlot.builder()
+                .restaurantId(restaurantId)
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .maxCapacity(10)
+                .build();
+    }
 }
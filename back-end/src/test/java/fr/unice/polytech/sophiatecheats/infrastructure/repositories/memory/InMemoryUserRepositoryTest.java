@@ -0,0 +1,57 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryUserRepositoryTest {
+
+    private InMemoryUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryUserRepository();
+    }
+
+    @Test
+    void find_by_email_ignores_case_and_surrounding_spaces() {
+        User marcel = repository.save(new User("Marcel.Dupont@Unice.fr", "Marcel Dupont"));
+
+        assertEquals(Optional.of(marcel), repository.findByEmail("marcel.dupont@unice.fr"));
+        assertEquals(Optional.of(marcel), repository.findByEmail("  MARCEL.DUPONT@UNICE.FR "));
+        assertTrue(repository.findByEmail("julie@unice.fr").isEmpty());
+        assertTrue(repository.findByEmail(null).isEmpty());
+        // Les étudiants de test sont indexés eux aussi
+        assertTrue(repository.findByEmail("etudiant1@unice.fr").isPresent());
+    }
+
+    @Test
+    void email_index_follows_replacement_and_deletion() {
+        UUID id = UUID.randomUUID();
+        repository.save(new User(id, "old@unice.fr", "Marcel", BigDecimal.ZERO));
+        User renamed = repository.save(new User(id, "new@unice.fr", "Marcel", BigDecimal.ZERO));
+
+        assertTrue(repository.findByEmail("old@unice.fr").isEmpty());
+        assertEquals(Optional.of(renamed), repository.findByEmail("new@unice.fr"));
+
+        repository.deleteById(id);
+
+        assertTrue(repository.findByEmail("new@unice.fr").isEmpty());
+    }
+
+    @Test
+    void save_if_email_available_refuses_an_email_owned_by_another_user() {
+        User marcel = repository.save(new User("marcel@unice.fr", "Marcel"));
+
+        assertFalse(repository.saveIfEmailAvailable(new User("MARCEL@unice.fr", "Autre Marcel")));
+        assertTrue(repository.saveIfEmailAvailable(new User(marcel.getId(), "marcel@unice.fr", "Marcel", BigDecimal.TEN)));
+        assertEquals(BigDecimal.TEN, repository.findByEmail("marcel@unice.fr").orElseThrow().getStudentCredit());
+        assertEquals(4, repository.count());
+    }
+}
@@ -0,0 +1,40 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCaptureTest {
+
+    @Test
+    void small_body_is_captured_whole() {
+        BoundedCapture capture = new BoundedCapture(1024);
+        capture.write("ab".getBytes(StandardCharsets.UTF_8), 0, 2);
+        capture.write('c');
+
+        assertArrayEquals("abc".getBytes(StandardCharsets.UTF_8), capture.toByteArray());
+    }
+
+    @Test
+    void capture_gives_up_beyond_its_limit() {
+        BoundedCapture capture = new BoundedCapture(1024);
+        capture.write(new byte[800], 0, 800);
+        capture.write(new byte[800], 0, 800);
+        capture.write('x');
+
+        assertNull(capture.toByteArray());
+    }
+
+    @Test
+    void buffer_grows_up_to_the_limit() {
+        BoundedCapture capture = new BoundedCapture(3000);
+        byte[] body = new byte[3000];
+        body[2999] = 42;
+        capture.write(body, 0, 1500);
+        capture.write(body, 1500, 1500);
+
+        assertArrayEquals(body, capture.toByteArray());
+    }
+}
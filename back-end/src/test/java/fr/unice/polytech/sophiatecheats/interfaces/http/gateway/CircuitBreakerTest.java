@@ -0,0 +1,157 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static fr.unice.polytech.sophiatecheats.interfaces.http.gateway.CircuitBreaker.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    // 50 % d'échecs sur 10 s, 4 appels minimum, 5 s d'ouverture, 2 appels d'essai
+    private final CircuitBreaker breaker = new CircuitBreaker(
+            new CircuitBreaker.Settings(50, 4, 10, Duration.ofSeconds(5), 2), now::get);
+
+    private void call(boolean success) {
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        assertNotNull(permit);
+        if (success) {
+            permit.onSuccess();
+        } else {
+            permit.onFailure();
+        }
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+    }
+
+    @Test
+    void should_stay_closed_below_minimum_calls() {
+        call(false);
+        call(false);
+        call(false);
+        assertEquals(CLOSED, breaker.state());
+    }
+
+    @Test
+    void should_open_when_failure_rate_reaches_threshold() {
+        call(true);
+        call(true);
+        call(false);
+        assertEquals(CLOSED, breaker.state());
+        call(false);
+
+        assertEquals(OPEN, breaker.state());
+        assertNull(breaker.tryAcquire());
+        assertEquals(TimeUnit.SECONDS.toNanos(5), breaker.openRemainingNanos());
+    }
+
+    @Test
+    void old_failures_leave_the_rolling_window() {
+        call(false);
+        call(false);
+        call(false);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        call(false);
+
+        assertEquals(CLOSED, breaker.state());
+        assertEquals(1, breaker.snapshot().calls());
+    }
+
+    @Test
+    void half_open_closes_after_successful_trial_calls() {
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        assertEquals(HALF_OPEN, breaker.state());
+        CircuitBreaker.Permit first = breaker.tryAcquire();
+        CircuitBreaker.Permit second = breaker.tryAcquire();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(breaker.tryAcquire());
+        first.onSuccess();
+        second.onSuccess();
+
+        assertEquals(CLOSED, breaker.state());
+        assertEquals(0, breaker.snapshot().calls());
+    }
+
+    @Test
+    void half_open_reopens_on_first_failure() {
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        call(false);
+
+        assertEquals(OPEN, breaker.state());
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void ignored_trial_call_frees_its_slot_once() {
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        CircuitBreaker.Permit first = breaker.tryAcquire();
+        assertNotNull(breaker.tryAcquire());
+
+        first.onIgnored();
+        first.onIgnored();
+
+        assertNotNull(breaker.tryAcquire());
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void slow_call_admitted_while_closed_does_not_count_as_a_trial() {
+        CircuitBreaker.Permit slow = breaker.tryAcquire();
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+
+        slow.onSuccess();
+        trial.onSuccess();
+
+        // Une seule réussite d'essai sur deux : toujours à l'essai, une place libre
+        assertEquals(HALF_OPEN, breaker.state());
+        CircuitBreaker.Permit last = breaker.tryAcquire();
+        assertNotNull(last);
+        assertNull(breaker.tryAcquire());
+        last.onSuccess();
+        assertEquals(CLOSED, breaker.state());
+    }
+
+    @Test
+    void late_failure_from_a_previous_state_is_ignored() {
+        CircuitBreaker.Permit slow = breaker.tryAcquire();
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+
+        slow.onFailure();
+
+        assertEquals(HALF_OPEN, breaker.state());
+        trial.onFailure();
+        assertEquals(OPEN, breaker.state());
+    }
+
+    @Test
+    void bulkhead_rejects_beyond_max_concurrent_calls() {
+        Bulkhead bulkhead = new Bulkhead(2);
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.inFlight());
+
+        bulkhead.release();
+
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(1, bulkhead.rejected());
+    }
+}
@@ -0,0 +1,438 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayHandlerTest {
+
+    private HttpServer upstream;
+    private HttpServer gateway;
+    private URI gatewayUri;
+    private GatewayResponseCache cache;
+    private final AtomicInteger upstreamGets = new AtomicInteger();
+    private final AtomicInteger slowWriteGets = new AtomicInteger();
+    private final AtomicInteger popularGets = new AtomicInteger();
+    private final CountDownLatch releasePopular = new CountDownLatch(1);
+    private final CountDownLatch releaseEvents = new CountDownLatch(1);
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/restaurants/echo", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String received = exchange.getRequestMethod() + " " + body.length + " " + new String(body, StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("X-Upstream", "restaurant");
+            respond(exchange, 200, received);
+        });
+        upstream.createContext("/restaurants/slow", exchange -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "trop tard");
+        });
+        upstream.createContext("/restaurants/popular", exchange -> {
+            popularGets.incrementAndGet();
+            try {
+                releasePopular.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{\"name\":\"populaire\"}");
+        });
+        upstream.createContext("/restaurants/r1", exchange -> {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("ETag", "\"r" + upstreamGets.incrementAndGet() + "\"");
+                respond(exchange, 200, "{\"version\":" + upstreamGets.get() + "}");
+            } else {
+                exchange.getRequestBody().readAllBytes();
+                respond(exchange, 200, "updated");
+            }
+        });
+        upstream.createContext("/restaurants/r2", exchange -> {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 200, "{\"version\":" + slowWriteGets.incrementAndGet() + "}");
+            } else {
+                // Écriture appliquée, mais réponse au-delà du délai de la passerelle
+                exchange.getRequestBody().readAllBytes();
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                respond(exchange, 200, "updated");
+            }
+        });
+        upstream.createContext("/restaurants/events", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write("id: 1\ndata: first\n\n".getBytes(StandardCharsets.UTF_8));
+                os.flush();
+                releaseEvents.await();
+                os.write("id: 2\ndata: second\n\n".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        upstream.createContext("/restaurants/broken", exchange -> respond(exchange, 500, "boom"));
+        upstream.createContext("/api/cart", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        upstream.start();
+        String upstreamUrl = "http://localhost:" + upstream.getAddress().getPort();
+
+        UpstreamClient upstreamClient = new UpstreamClient(Duration.ofMillis(500), Duration.ofMillis(300), 1024);
+        gateway = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        gateway.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        cache = new GatewayResponseCache(1024 * 1024, 64 * 1024).route("/restaurants/{id}", Duration.ofMinutes(1));
+        gateway.createContext("/", GatewayHandler.builder()
+                .consumerServiceUrl(upstreamUrl)
+                .restaurantService(new UpstreamService("restaurant", List.of(new UpstreamInstance(upstreamUrl,
+                        new CircuitBreaker(new CircuitBreaker.Settings(50, 3, 10, Duration.ofMinutes(1), 1)))),
+                        new Bulkhead(8)))
+                .upstreamClient(upstreamClient)
+                .responseCache(cache)
+                .rateLimiter(new RateLimiter(1_000, 1_000, 1, 2, 100))
+                .coalescer(new RequestCoalescer(5, 64 * 1024, Duration.ofSeconds(5)))
+                .build());
+        gateway.start();
+        gatewayUri = URI.create("http://localhost:" + gateway.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.stop(0);
+        upstream.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Test
+    void get_is_relayed_with_upstream_headers() throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/echo?x=1")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("GET 0 ", response.body());
+        assertEquals("restaurant", response.headers().firstValue("X-Upstream").orElse(null));
+        assertEquals("*", response.headers().firstValue("Access-Control-Allow-Origin").orElse(null));
+    }
+
+    @Test
+    void chunked_upload_reaches_upstream() throws Exception {
+        String payload = "{\"name\":\"" + "x".repeat(50_000) + "\"}";
+        // Longueur inconnue → le client envoie le corps en Transfer-Encoding: chunked
+        HttpRequest request = HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/echo"))
+                .POST(HttpRequest.BodyPublishers.ofInputStream(
+                        () -> new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8))))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("POST " + payload.length() + " " + payload, response.body());
+    }
+
+    @Test
+    void sized_upload_reaches_upstream() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/echo"))
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"a\":1}"))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals("PUT 7 {\"a\":1}", response.body());
+    }
+
+    @Test
+    void bodyless_upstream_response_is_relayed() throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(gatewayUri.resolve("/api/cart/42")).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(204, response.statusCode());
+        assertEquals("", response.body());
+    }
+
+    @Test
+    void slow_upstream_gives_gateway_timeout() throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/slow")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(504, response.statusCode());
+    }
+
+    @Test
+    void unreachable_upstream_gives_service_unavailable() throws Exception {
+        upstream.stop(0);
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/echo")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(503, response.statusCode());
+    }
+
+    @Test
+    void unknown_path_gives_not_found() throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(gatewayUri.resolve("/unknown")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(404, response.statusCode());
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(gatewayUri.resolve(path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void repeated_get_is_served_from_cache_until_restaurant_is_written() throws Exception {
+        HttpResponse<String> first = get("/restaurants/r1", null);
+        HttpResponse<String> second = get("/restaurants/r1", null);
+
+        assertEquals("MISS", first.headers().firstValue(GatewayHandler.X_CACHE).orElse(null));
+        assertEquals("HIT", second.headers().firstValue(GatewayHandler.X_CACHE).orElse(null));
+        assertEquals(first.body(), second.body());
+        assertEquals(1, upstreamGets.get());
+
+        client.send(HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/r1"))
+                .PUT(HttpRequest.BodyPublishers.ofString("{}")).build(), HttpResponse.BodyHandlers.ofString());
+
+        HttpResponse<String> third = get("/restaurants/r1", null);
+        assertEquals("MISS", third.headers().firstValue(GatewayHandler.X_CACHE).orElse(null));
+        assertEquals("{\"version\":2}", third.body());
+    }
+
+    @Test
+    void timed_out_write_still_invalidates_cached_restaurant() throws Exception {
+        get("/restaurants/r2", null);
+        assertEquals("HIT", get("/restaurants/r2", null).headers().firstValue(GatewayHandler.X_CACHE).orElse(null));
+
+        HttpResponse<String> write = client.send(HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/r2"))
+                .PUT(HttpRequest.BodyPublishers.ofString("{}")).build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(504, write.statusCode());
+        HttpResponse<String> after = get("/restaurants/r2", null);
+        assertEquals("MISS", after.headers().firstValue(GatewayHandler.X_CACHE).orElse(null));
+        assertEquals(2, slowWriteGets.get());
+    }
+
+    @Test
+    void cached_entry_answers_conditional_get_with_not_modified() throws Exception {
+        String etag = get("/restaurants/r1", null).headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> response = get("/restaurants/r1", etag);
+
+        assertEquals(304, response.statusCode());
+        assertEquals(1, upstreamGets.get());
+    }
+
+    @Test
+    void cache_stats_are_exposed() throws Exception {
+        get("/restaurants/r1", null);
+        get("/restaurants/r1", null);
+
+        HttpResponse<String> stats = get(GatewayHandler.CACHE_STATS_PATH, null);
+
+        assertEquals(200, stats.statusCode());
+        assertTrue(stats.body().contains("\"hits\":1"), stats.body());
+        assertTrue(stats.body().contains("\"misses\":1"), stats.body());
+    }
+
+    @Test
+    void checkout_budget_is_exhausted_per_user_with_retry_after() throws Exception {
+        HttpRequest alice = HttpRequest.newBuilder(gatewayUri.resolve("/api/cart/alice")).DELETE().build();
+
+        assertEquals(204, client.send(alice, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(204, client.send(alice, HttpResponse.BodyHandlers.ofString()).statusCode());
+        HttpResponse<String> limited = client.send(alice, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(429, limited.statusCode());
+        assertEquals("1", limited.headers().firstValue("Retry-After").orElse(null));
+
+        HttpRequest bob = HttpRequest.newBuilder(gatewayUri.resolve("/api/cart/bob")).DELETE().build();
+        assertEquals(204, client.send(bob, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(200, get("/restaurants/r1", null).statusCode());
+    }
+
+    @Test
+    void failing_upstream_opens_its_breaker_without_affecting_other_services() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(500, get("/restaurants/broken", null).statusCode());
+        }
+
+        HttpResponse<String> rejected = get("/restaurants/r1", null);
+        assertEquals(503, rejected.statusCode());
+        assertTrue(rejected.headers().firstValue("Retry-After").isPresent());
+        assertEquals(0, upstreamGets.get());
+
+        HttpRequest cart = HttpRequest.newBuilder(gatewayUri.resolve("/api/cart/carol")).DELETE().build();
+        assertEquals(204, client.send(cart, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        String upstreams = get(GatewayHandler.UPSTREAMS_PATH, null).body();
+        assertTrue(upstreams.contains("\"name\":\"restaurant\"") && upstreams.contains("\"state\":\"OPEN\""), upstreams);
+    }
+
+    @Test
+    void identical_concurrent_gets_share_one_upstream_call() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/popular")).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        // 1 leader + 5 requêtes en attente (limite) ; les 2 dernières interrogent le service elles-mêmes
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (popularGets.get() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        releasePopular.countDown();
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+            assertEquals("{\"name\":\"populaire\"}", response.get().body());
+        }
+        assertEquals(3, popularGets.get());
+        String stats = get(GatewayHandler.COALESCING_STATS_PATH, null).body();
+        assertTrue(stats.contains("\"followers\":5") && stats.contains("\"overflowed\":2"), stats);
+    }
+
+    @Test
+    void event_stream_is_relayed_as_it_arrives() {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            HttpResponse<InputStream> response = client.send(
+                    HttpRequest.newBuilder(gatewayUri.resolve("/restaurants/events"))
+                            .header("Accept", "text/event-stream").build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            assertEquals(200, response.statusCode());
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                // Le premier événement arrive alors que le service n'a pas terminé sa réponse
+                assertEquals("id: 1", reader.readLine());
+                assertEquals("data: first", reader.readLine());
+                releaseEvents.countDown();
+                assertEquals("", reader.readLine());
+                assertEquals("id: 2", reader.readLine());
+            }
+        });
+    }
+
+    /**
+     * Instance du Consumer Service qui garde ses commandes en mémoire, comme le service réel.
+     */
+    private static HttpServer orderInstance(String name) throws IOException {
+        Set<String> orders = ConcurrentHashMap.newKeySet();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/orders", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            if ("/api/orders".equals(path)) {
+                String orderId = name + "-" + orders.size();
+                orders.add(orderId);
+                respond(exchange, 201, "{\"orderId\":\"" + orderId + "\"}");
+                return;
+            }
+            String orderId = OrderAffinity.orderIdOf(path);
+            respond(exchange, orders.contains(orderId) ? 200 : 404, name);
+        });
+        server.start();
+        return server;
+    }
+
+    @Test
+    void order_routes_follow_the_instance_that_created_the_order() throws Exception {
+        List<HttpServer> instances = List.of(orderInstance("a"), orderInstance("b"));
+        HttpServer twoInstanceGateway = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        try {
+            List<UpstreamInstance> consumers = new ArrayList<>();
+            for (HttpServer instance : instances) {
+                consumers.add(new UpstreamInstance("http://localhost:" + instance.getAddress().getPort(),
+                        new CircuitBreaker(new CircuitBreaker.Settings(50, 3, 10, Duration.ofMinutes(1), 1))));
+            }
+            twoInstanceGateway.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            twoInstanceGateway.createContext("/", GatewayHandler.builder()
+                    .consumerService(new UpstreamService("consumer", consumers, new Bulkhead(8)))
+                    .restaurantServiceUrl("http://localhost:" + upstream.getAddress().getPort())
+                    .upstreamClient(new UpstreamClient(Duration.ofMillis(500), Duration.ofMillis(300), 1024))
+                    .build());
+            twoInstanceGateway.start();
+            URI uri = URI.create("http://localhost:" + twoInstanceGateway.getAddress().getPort());
+
+            Map<String, String> instanceByOrder = new HashMap<>();
+            for (int user = 0; user < 10; user++) {
+                HttpResponse<String> created = client.send(HttpRequest.newBuilder(uri.resolve("/api/orders"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"userId\":\"user-" + user + "\"}")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                assertEquals(201, created.statusCode());
+                String orderId = created.body().replaceAll(".*\"orderId\":\"([^\"]+)\".*", "$1");
+                instanceByOrder.put(orderId, orderId.substring(0, 1));
+            }
+
+            // Sans affinité, chaque lecture aurait une chance sur deux d'atteindre l'autre instance
+            for (Map.Entry<String, String> order : instanceByOrder.entrySet()) {
+                HttpResponse<String> read = client.send(
+                        HttpRequest.newBuilder(uri.resolve("/api/orders/" + order.getKey())).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> confirmed = client.send(
+                        HttpRequest.newBuilder(uri.resolve("/api/orders/" + order.getKey() + "/confirm"))
+                                .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                        HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(200, read.statusCode(), order.getKey());
+                assertEquals(order.getValue(), read.body());
+                assertEquals(200, confirmed.statusCode(), order.getKey());
+                assertEquals(order.getValue(), confirmed.body());
+            }
+        } finally {
+            twoInstanceGateway.stop(0);
+            instances.forEach(instance -> instance.stop(0));
+        }
+    }
+}
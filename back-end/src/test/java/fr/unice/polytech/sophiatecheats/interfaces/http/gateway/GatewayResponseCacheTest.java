@@ -0,0 +1,118 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayResponseCacheTest {
+
+    private static final Map<String, List<String>> HEADERS = Map.of("Content-Type", List.of("application/json"));
+
+    private final AtomicLong now = new AtomicLong();
+    private GatewayResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GatewayResponseCache(4096, 1024, now::get)
+                .route("/restaurants", Duration.ofSeconds(10))
+                .route("/restaurants/{id}", Duration.ofSeconds(30))
+                .route("/restaurants/{id}/delivery-slots", Duration.ofSeconds(5));
+    }
+
+    private boolean put(String path, String body) {
+        return cache.put(GatewayResponseCache.key(path, null, null), path, cache.epoch(), 200, HEADERS,
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private GatewayResponseCache.Entry get(String path) {
+        return cache.get(GatewayResponseCache.key(path, null, null));
+    }
+
+    @Test
+    void should_apply_ttl_per_route() {
+        assertEquals(Duration.ofSeconds(10).toNanos(), cache.ttlNanos("/restaurants"));
+        assertEquals(Duration.ofSeconds(30).toNanos(), cache.ttlNanos("/restaurants/abc"));
+        assertEquals(Duration.ofSeconds(5).toNanos(), cache.ttlNanos("/restaurants/abc/delivery-slots"));
+        assertEquals(0, cache.ttlNanos("/restaurants/abc/orders"));
+        assertEquals(0, cache.ttlNanos("/api/cart/abc"));
+
+        put("/restaurants/abc/delivery-slots", "[]");
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertNotNull(get("/restaurants/abc/delivery-slots"));
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertNull(get("/restaurants/abc/delivery-slots"));
+    }
+
+    @Test
+    void should_key_by_query_and_negotiated_encoding() {
+        String gzip = GatewayResponseCache.key("/restaurants", "isOpen=true", "gzip, deflate, br");
+        assertEquals(gzip, GatewayResponseCache.key("/restaurants", "isOpen=true", "br;q=1, gzip"));
+        assertNotEquals(gzip, GatewayResponseCache.key("/restaurants", "isOpen=true", null));
+        assertNotEquals(gzip, GatewayResponseCache.key("/restaurants", null, "gzip"));
+    }
+
+    @Test
+    void should_count_hits_and_misses() {
+        assertNull(get("/restaurants/abc"));
+        put("/restaurants/abc", "{}");
+        assertEquals("{}", new String(get("/restaurants/abc").body(), StandardCharsets.UTF_8));
+
+        GatewayResponseCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    void should_evict_least_recently_used_entries_when_full() {
+        String body = "x".repeat(900);
+        put("/restaurants/a", body);
+        put("/restaurants/b", body);
+        put("/restaurants/c", body);
+        get("/restaurants/a");
+        put("/restaurants/d", body);
+
+        assertNotNull(get("/restaurants/a"));
+        assertNull(get("/restaurants/b"));
+        assertTrue(cache.stats().bytes() <= 4096);
+        assertTrue(cache.stats().evictions() >= 1);
+    }
+
+    @Test
+    void should_not_store_oversized_or_uncacheable_responses() {
+        assertFalse(put("/restaurants/a", "x".repeat(2000)));
+        assertFalse(put("/restaurants/a/orders", "[]"));
+    }
+
+    @Test
+    void write_should_invalidate_restaurant_and_lists_only() {
+        put("/restaurants", "[]");
+        put("/restaurants/a", "{}");
+        put("/restaurants/a/delivery-slots", "[]");
+        put("/restaurants/b", "{}");
+
+        cache.invalidate("/restaurants/a/menu/dish-1");
+
+        assertNull(get("/restaurants"));
+        assertNull(get("/restaurants/a"));
+        assertNull(get("/restaurants/a/delivery-slots"));
+        assertNotNull(get("/restaurants/b"));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void response_fetched_during_invalidation_is_not_stored() {
+        long epoch = cache.epoch();
+        cache.invalidate("/restaurants/a");
+
+        assertFalse(cache.put(GatewayResponseCache.key("/restaurants/a", null, null), "/restaurants/a", epoch, 200,
+                HEADERS, new byte[]{'{', '}'}));
+    }
+}
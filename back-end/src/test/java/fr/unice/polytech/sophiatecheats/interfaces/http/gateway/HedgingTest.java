@@ -0,0 +1,131 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingTest {
+
+    private static void warmUp(Hedging hedging, String service, long latencyMillis) {
+        for (int i = 0; i < Hedging.MIN_SAMPLES; i++) {
+            hedging.record(service, TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        }
+    }
+
+    @Test
+    void no_delay_until_enough_samples() {
+        Hedging hedging = new Hedging(95, 0, 1_000, 10);
+        for (int i = 0; i < Hedging.MIN_SAMPLES - 1; i++) {
+            hedging.record("restaurant", TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertEquals(-1, hedging.onRequest("restaurant"));
+        hedging.record("restaurant", TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), hedging.onRequest("restaurant"));
+        assertEquals(-1, hedging.onRequest("consumer"));
+    }
+
+    @Test
+    void delay_follows_the_percentile_within_bounds() {
+        Hedging hedging = new Hedging(90, 5, 200, 10);
+        for (int i = 1; i <= Hedging.MIN_SAMPLES; i++) {
+            hedging.record("a", TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        warmUp(hedging, "fast", 1);
+        warmUp(hedging, "slow", 500);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(90), hedging.onRequest("a"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), hedging.onRequest("fast"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), hedging.onRequest("slow"));
+    }
+
+    @Test
+    void budget_caps_hedges_to_a_fraction_of_requests() {
+        Hedging hedging = new Hedging(95, 0, 1_000, 10);
+        int granted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            hedging.onRequest("restaurant");
+            if (hedging.tryHedge()) {
+                granted++;
+            }
+        }
+
+        assertEquals(100, granted);
+        assertEquals(900, hedging.stats().budgetExhausted());
+    }
+
+    @Test
+    void slow_first_attempt_is_overtaken_by_the_hedge() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HttpServer upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/restaurants", exchange -> {
+            String body = "rapide";
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(2_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                body = "lent";
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            } catch (Exception e) {
+                // Le gateway a abandonné cette tentative
+            }
+        });
+        upstream.start();
+        String upstreamUrl = "http://localhost:" + upstream.getAddress().getPort();
+
+        Hedging hedging = new Hedging(99.5, 5, 1_000, 100);
+        warmUp(hedging, "restaurant", 1);
+        HttpServer gateway = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        gateway.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        gateway.createContext("/", GatewayHandler.builder()
+                .consumerServiceUrl(upstreamUrl)
+                .restaurantServiceUrl(upstreamUrl)
+                .upstreamClient(new UpstreamClient(Duration.ofMillis(500), Duration.ofSeconds(5), 1024))
+                .hedging(hedging)
+                .build());
+        gateway.start();
+        try {
+            URI uri = URI.create("http://localhost:" + gateway.getAddress().getPort() + "/restaurants");
+            long start = System.nanoTime();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(uri).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            assertEquals("rapide", response.body());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            assertEquals(2, calls.get());
+            assertEquals(1, hedging.stats().hedged());
+            assertEquals(1, hedging.stats().hedgeWins());
+
+            // La tentative abandonnée compte pour au moins le délai : le percentile recalculé au
+            // 128e appel la voit au-dessus du plancher
+            for (int i = Hedging.MIN_SAMPLES + 1; i < 128; i++) {
+                hedging.record("restaurant", TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            assertTrue(hedging.onRequest("restaurant") > TimeUnit.MILLISECONDS.toNanos(5));
+        } finally {
+            gateway.stop(0);
+            upstream.stop(0);
+        }
+    }
+}
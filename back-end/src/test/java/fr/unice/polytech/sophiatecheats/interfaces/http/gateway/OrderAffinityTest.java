@@ -0,0 +1,56 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderAffinityTest {
+
+    @Test
+    void order_paths_are_recognised() {
+        assertEquals("o1", OrderAffinity.orderIdOf("/api/orders/o1"));
+        assertEquals("o1", OrderAffinity.orderIdOf("/api/orders/o1/confirm"));
+        assertNull(OrderAffinity.orderIdOf("/api/orders"));
+        assertNull(OrderAffinity.orderIdOf("/api/orders/user/alice"));
+        assertNull(OrderAffinity.orderIdOf("/api/cart/alice"));
+
+        assertTrue(OrderAffinity.createsOrder("POST", "/api/orders"));
+        assertTrue(OrderAffinity.createsOrder("POST", "/api/cart/alice/payment"));
+        assertFalse(OrderAffinity.createsOrder("GET", "/api/orders"));
+        assertFalse(OrderAffinity.createsOrder("POST", "/api/orders/o1/confirm"));
+    }
+
+    @Test
+    void order_is_learned_from_a_compressed_response() throws IOException {
+        OrderAffinity affinity = new OrderAffinity(8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("{\"orderId\":\"o1\",\"status\":\"PENDING\"}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        affinity.learn("alice", compressed.toByteArray(), "gzip");
+        affinity.learn("bob", "pas du json".getBytes(StandardCharsets.UTF_8), null);
+
+        assertEquals("alice", affinity.userOf("/api/orders/o1/confirm"));
+        assertNull(affinity.userOf("/api/orders/o2"));
+        assertEquals(1, affinity.size());
+    }
+
+    @Test
+    void oldest_orders_are_forgotten_beyond_capacity() {
+        OrderAffinity affinity = new OrderAffinity(2);
+
+        for (int i = 0; i < 3; i++) {
+            affinity.learn("alice", ("{\"orderId\":\"o" + i + "\"}").getBytes(StandardCharsets.UTF_8), null);
+        }
+
+        assertEquals(2, affinity.size());
+        assertNull(affinity.userOf("/api/orders/o0"));
+        assertEquals("alice", affinity.userOf("/api/orders/o2"));
+    }
+}
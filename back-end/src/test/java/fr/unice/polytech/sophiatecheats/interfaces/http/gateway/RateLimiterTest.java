@@ -0,0 +1,97 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static fr.unice.polytech.sophiatecheats.interfaces.http.gateway.RateLimiter.Budget.BROWSE;
+import static fr.unice.polytech.sophiatecheats.interfaces.http.gateway.RateLimiter.Budget.CHECKOUT;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    private RateLimiter limiter(int maxKeys) {
+        // browse : 10 req/s, rafale 5 ; checkout : 1 req/s, rafale 2
+        return new RateLimiter(10, 5, 1, 2, maxKeys, now::get);
+    }
+
+    @Test
+    void should_allow_burst_then_reject_with_retry_after() {
+        RateLimiter limiter = limiter(100);
+
+        assertTrue(limiter.tryAcquire("u:alice", CHECKOUT).allowed());
+        assertTrue(limiter.tryAcquire("u:alice", CHECKOUT).allowed());
+        RateLimiter.Decision decision = limiter.tryAcquire("u:alice", CHECKOUT);
+
+        assertFalse(decision.allowed());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), decision.retryAfterNanos());
+        assertEquals(1, decision.retryAfterSeconds());
+    }
+
+    @Test
+    void should_refill_at_configured_rate() {
+        RateLimiter limiter = limiter(100);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("ip:1.2.3.4", BROWSE).allowed());
+        }
+        assertFalse(limiter.tryAcquire("ip:1.2.3.4", BROWSE).allowed());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertTrue(limiter.tryAcquire("ip:1.2.3.4", BROWSE).allowed());
+        assertFalse(limiter.tryAcquire("ip:1.2.3.4", BROWSE).allowed());
+    }
+
+    @Test
+    void budgets_and_clients_are_independent() {
+        RateLimiter limiter = limiter(100);
+        limiter.tryAcquire("u:alice", CHECKOUT);
+        limiter.tryAcquire("u:alice", CHECKOUT);
+
+        assertFalse(limiter.tryAcquire("u:alice", CHECKOUT).allowed());
+        assertTrue(limiter.tryAcquire("u:alice", BROWSE).allowed());
+        assertTrue(limiter.tryAcquire("u:bob", CHECKOUT).allowed());
+    }
+
+    @Test
+    void key_table_stays_bounded_under_scanning() {
+        RateLimiter limiter = limiter(10);
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("ip:10.0.0." + i, CHECKOUT);
+        }
+
+        RateLimiter.Stats stats = limiter.stats();
+        assertTrue(stats.keys() <= 10);
+        assertTrue(stats.overflowed() > 0);
+        // Les clés en débordement partagent un seul seau : le balayage est lui-même limité
+        assertTrue(stats.rejected() >= 1_000 - 10 - 2);
+    }
+
+    @Test
+    void full_buckets_are_purged_when_table_is_full() {
+        RateLimiter limiter = limiter(2);
+        limiter.tryAcquire("u:a", CHECKOUT);
+        limiter.tryAcquire("u:b", CHECKOUT);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        assertTrue(limiter.tryAcquire("u:c", CHECKOUT).allowed());
+        assertEquals(0, limiter.stats().overflowed());
+        assertEquals(1, limiter.stats().keys());
+    }
+
+    @Test
+    void should_classify_routes_and_clients() {
+        assertEquals(CHECKOUT, RateLimiter.budgetFor("/api/cart/42/payment"));
+        assertEquals(CHECKOUT, RateLimiter.budgetFor("/api/orders/7/confirm"));
+        assertEquals(BROWSE, RateLimiter.budgetFor("/restaurants/1/menu"));
+
+        assertEquals("u:42", RateLimiter.clientKey("/api/cart/42/items", "1.2.3.4"));
+        assertEquals("u:42", RateLimiter.clientKey("/api/orders/user/42", "1.2.3.4"));
+        assertEquals("ip:1.2.3.4", RateLimiter.clientKey("/api/cart/items", "1.2.3.4"));
+        assertEquals("ip:1.2.3.4", RateLimiter.clientKey("/restaurants", "1.2.3.4"));
+    }
+}
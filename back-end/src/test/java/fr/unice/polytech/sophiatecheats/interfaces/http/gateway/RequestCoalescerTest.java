@@ -0,0 +1,69 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer(2, 1024, Duration.ofSeconds(5));
+
+    @Test
+    void first_request_leads_and_followers_receive_its_response() throws Exception {
+        RequestCoalescer.Ticket leader = coalescer.join("k");
+        RequestCoalescer.Ticket follower = coalescer.join("k");
+
+        assertTrue(leader.leader());
+        assertFalse(follower.leader());
+        assertSame(leader.flight(), follower.flight());
+
+        CompletableFuture<RequestCoalescer.Response> shared = CompletableFuture.supplyAsync(() -> follower.flight().await());
+        leader.flight().complete(new RequestCoalescer.Response(200, Map.of(), "ok".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("ok", new String(shared.get().body(), StandardCharsets.UTF_8));
+        assertEquals(0.5, coalescer.stats().collapseRatio());
+    }
+
+    @Test
+    void completed_flight_is_forgotten() {
+        coalescer.join("k").flight().complete(new RequestCoalescer.Response(200, Map.of(), new byte[0]));
+
+        assertTrue(coalescer.join("k").leader());
+    }
+
+    @Test
+    void waiters_are_bounded() {
+        coalescer.join("k");
+        assertNotNull(coalescer.join("k"));
+        assertNotNull(coalescer.join("k"));
+
+        assertNull(coalescer.join("k"));
+        assertEquals(1, coalescer.stats().overflowed());
+        assertTrue(coalescer.join("autre").leader());
+    }
+
+    @Test
+    void abandoned_flight_lets_followers_fall_back() {
+        RequestCoalescer.Ticket leader = coalescer.join("k");
+        RequestCoalescer.Ticket follower = coalescer.join("k");
+
+        leader.flight().abandon();
+
+        assertNull(follower.flight().await());
+        assertEquals(1, coalescer.stats().fallbacks());
+        assertEquals(0, coalescer.stats().inFlight());
+    }
+
+    @Test
+    void follower_stops_waiting_after_max_wait() {
+        RequestCoalescer impatient = new RequestCoalescer(2, 1024, Duration.ofMillis(20));
+        impatient.join("k");
+
+        assertNull(impatient.join("k").flight().await());
+    }
+}
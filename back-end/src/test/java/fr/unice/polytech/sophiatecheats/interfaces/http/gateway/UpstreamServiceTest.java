@@ -0,0 +1,163 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.gateway;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamServiceTest {
+
+    private static UpstreamInstance instance(String url) {
+        return new UpstreamInstance(url, new CircuitBreaker(new CircuitBreaker.Settings(50, 2, 10, Duration.ofMinutes(1), 1)));
+    }
+
+    private static UpstreamService service(UpstreamInstance... instances) {
+        return new UpstreamService("consumer", List.of(instances), new Bulkhead(8), 128);
+    }
+
+    @Test
+    void same_user_always_goes_to_the_same_instance() {
+        UpstreamService service = service(instance("http://a"), instance("http://b"), instance("http://c"));
+        String userId = UUID.randomUUID().toString();
+
+        UpstreamInstance first = service.choose(userId);
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, service.choose(userId));
+        }
+    }
+
+    @Test
+    void users_are_spread_across_instances() {
+        UpstreamService service = service(instance("http://a"), instance("http://b"), instance("http://c"));
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3_000; i++) {
+            counts.merge(service.choose(UUID.randomUUID().toString()).baseUrl(), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 600, "répartition déséquilibrée : " + counts));
+    }
+
+    @Test
+    void only_users_of_an_unhealthy_instance_are_moved() {
+        UpstreamInstance a = instance("http://a");
+        UpstreamInstance b = instance("http://b");
+        UpstreamInstance c = instance("http://c");
+        UpstreamService service = service(a, b, c);
+        Map<String, UpstreamInstance> before = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            String userId = UUID.randomUUID().toString();
+            before.put(userId, service.choose(userId));
+        }
+
+        b.recordProbe(false, 1);
+
+        before.forEach((userId, previous) -> {
+            UpstreamInstance now = service.choose(userId);
+            assertNotSame(b, now);
+            if (previous != b) {
+                assertSame(previous, now);
+            }
+        });
+    }
+
+    @Test
+    void instance_with_open_breaker_is_skipped() {
+        UpstreamInstance a = instance("http://a");
+        UpstreamInstance b = instance("http://b");
+        UpstreamService service = service(a, b);
+        for (int i = 0; i < 2; i++) {
+            a.circuitBreaker().tryAcquire().onFailure();
+        }
+
+        assertFalse(a.isAvailable());
+        for (int i = 0; i < 20; i++) {
+            assertSame(b, service.choose(null));
+            assertSame(b, service.choose("user-" + i));
+        }
+    }
+
+    @Test
+    void no_available_instance_gives_null() {
+        UpstreamInstance a = instance("http://a");
+        a.recordProbe(false, 1);
+
+        assertNull(service(a).choose(null));
+        assertNull(service(a).choose("user"));
+    }
+
+    @Test
+    void requests_without_affinity_go_to_the_least_loaded_instance() {
+        UpstreamInstance a = instance("http://a");
+        UpstreamInstance b = instance("http://b");
+        UpstreamService service = service(a, b);
+        a.requestStarted();
+        a.requestStarted();
+        b.requestStarted();
+
+        assertSame(b, service.choose(null));
+        b.requestStarted();
+        b.requestStarted();
+        assertSame(a, service.choose(null));
+    }
+
+    @Test
+    void instance_changes_state_after_consecutive_probes() {
+        UpstreamInstance a = instance("http://a");
+
+        a.recordProbe(false, 2);
+        assertTrue(a.isHealthy());
+        a.recordProbe(true, 2);
+        a.recordProbe(false, 2);
+        assertTrue(a.isHealthy());
+        a.recordProbe(false, 2);
+        assertFalse(a.isHealthy());
+
+        a.recordProbe(true, 2);
+        assertFalse(a.isHealthy());
+        a.recordProbe(true, 2);
+        assertTrue(a.isHealthy());
+    }
+
+    @Test
+    void health_checker_marks_failing_instances_down() throws Exception {
+        AtomicInteger status = new AtomicInteger(200);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/health", exchange -> {
+            byte[] body = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        UpstreamInstance up = instance("http://localhost:" + server.getAddress().getPort());
+        UpstreamInstance down = instance("http://localhost:1");
+        try (UpstreamHealthChecker checker = new UpstreamHealthChecker(List.of(service(up, down)),
+                Duration.ofSeconds(1), Duration.ofMillis(500), "/health", 2)) {
+            checker.probeAll();
+            checker.probeAll();
+            assertTrue(up.isHealthy());
+            assertFalse(down.isHealthy());
+
+            status.set(503);
+            checker.probeAll();
+            checker.probeAll();
+            assertFalse(up.isHealthy());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void user_id_is_read_from_cart_item_body() {
+        assertEquals("42", GatewayHandler.userIdOf("{\"userId\":\"42\",\"dishId\":\"d\"}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(GatewayHandler.userIdOf("{\"dishId\":\"d\"}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(GatewayHandler.userIdOf("pas du json".getBytes(StandardCharsets.UTF_8)));
+    }
+}
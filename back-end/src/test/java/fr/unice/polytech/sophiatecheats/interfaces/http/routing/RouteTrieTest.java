@@ -0,0 +1,77 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.routing;
+
+import fr.unice.polytech.sophiatecheats.interfaces.http.handlers.RouteHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTrieTest {
+
+    private final RouteHandler restaurant = (exchange, params, sender) -> { };
+    private final RouteHandler menu = (exchange, params, sender) -> { };
+    private final RouteHandler dish = (exchange, params, sender) -> { };
+    private final RouteHandler order = (exchange, params, sender) -> { };
+    private final RouteHandler userOrders = (exchange, params, sender) -> { };
+    private final RouteHandler list = (exchange, params, sender) -> { };
+
+    private RouteTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new RouteTrie();
+        trie.insert("/restaurants", list);
+        trie.insert("/restaurants/{id}", restaurant);
+        trie.insert("/restaurants/{id}/menu", menu);
+        trie.insert("/restaurants/{id}/menu/{dishId}", dish);
+        trie.insert("/api/orders/{id}", order);
+        trie.insert("/api/orders/user/{userId}", userOrders);
+    }
+
+    @Test
+    void should_match_literal_route_without_params() {
+        RouteMatch match = trie.match("/restaurants");
+        assertNotNull(match);
+        assertSame(list, match.handler());
+        assertTrue(match.pathParams().isEmpty());
+    }
+
+    @Test
+    void should_extract_params_by_name() {
+        RouteMatch match = trie.match("/restaurants/abc/menu/xyz");
+        assertNotNull(match);
+        assertSame(dish, match.handler());
+        assertEquals("abc", match.pathParams().get("id"));
+        assertEquals("xyz", match.pathParams().get("dishId"));
+        assertTrue(match.pathParams().containsKey("dishId"));
+        assertFalse(match.pathParams().containsKey("slotId"));
+        assertEquals(Map.of("id", "abc", "dishId", "xyz"), Map.copyOf(match.pathParams()));
+    }
+
+    @Test
+    void should_prefer_literal_edge_and_backtrack_to_param() {
+        RouteMatch userMatch = trie.match("/api/orders/user/42");
+        assertSame(userOrders, userMatch.handler());
+        assertEquals("42", userMatch.pathParams().get("userId"));
+
+        RouteMatch orderMatch = trie.match("/api/orders/user");
+        assertSame(order, orderMatch.handler());
+        assertEquals("user", orderMatch.pathParams().get("id"));
+    }
+
+    @Test
+    void should_not_match_unknown_or_malformed_paths() {
+        assertNull(trie.match("/restaurants/"));
+        assertNull(trie.match("/restaurants//menu"));
+        assertNull(trie.match("/restaurants/abc/unknown"));
+        assertNull(trie.match("/api"));
+        assertNull(trie.match(""));
+    }
+
+    @Test
+    void should_reject_duplicate_route() {
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("/restaurants/{other}", restaurant));
+    }
+}
@@ -0,0 +1,96 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.server;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestExecutionTest {
+
+    private HttpServer server;
+    private RequestExecution execution;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) server.stop(0);
+        if (execution != null) execution.shutdown();
+    }
+
+    private URI start(RequestExecution execution, CountDownLatch release) throws Exception {
+        this.execution = execution;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        execution.install(server, "/", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    @Test
+    void virtual_threads_serve_blocking_requests_concurrently() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        URI uri = start(RequestExecution.virtualThreads(), release);
+        HttpClient client = HttpClient.newHttpClient();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        release.countDown();
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get(5, TimeUnit.SECONDS).statusCode());
+        }
+    }
+
+    @Test
+    void bounded_pool_rejects_with_503_when_saturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        URI uri = start(RequestExecution.boundedPool(1, 0), release);
+        HttpClient client = HttpClient.newHttpClient();
+
+        CompletableFuture<HttpResponse<String>> busy =
+                client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+        Thread.sleep(200);
+
+        HttpResponse<String> rejected = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+        release.countDown();
+
+        assertEquals(503, rejected.statusCode());
+        assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+        assertEquals(200, busy.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(1, execution.getRejectedCount());
+    }
+
+    @Test
+    void unknown_mode_is_rejected() {
+        System.setProperty(RequestExecution.MODE_PROPERTY, "turbo");
+        try {
+            assertThrows(IllegalArgumentException.class, RequestExecution::fromSystemProperties);
+        } finally {
+            System.clearProperty(RequestExecution.MODE_PROPERTY);
+        }
+    }
+}
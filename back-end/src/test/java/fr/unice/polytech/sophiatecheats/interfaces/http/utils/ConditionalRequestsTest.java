@@ -0,0 +1,63 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+import com.sun.net.httpserver.Headers;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalRequestsTest {
+
+    @Test
+    void should_build_strong_etag_from_version() {
+        assertEquals("\"r42\"", ConditionalRequests.etag("r", 42));
+    }
+
+    @Test
+    void should_match_exact_weak_and_listed_tags() {
+        String etag = ConditionalRequests.etag("r", 42);
+        assertTrue(ConditionalRequests.matches("\"r42\"", etag));
+        assertTrue(ConditionalRequests.matches("W/\"r42\"", etag));
+        assertTrue(ConditionalRequests.matches("\"r41\", \"r42\"", etag));
+        assertTrue(ConditionalRequests.matches("*", etag));
+    }
+
+    @Test
+    void should_match_compressed_variant_of_same_version() {
+        String etag = ConditionalRequests.etag("c", 7);
+        assertTrue(ConditionalRequests.matches("\"c7-gzip\"", etag));
+        assertTrue(ConditionalRequests.matches("\"c7-deflate\"", etag));
+    }
+
+    @Test
+    void not_modified_should_repeat_the_variant_the_client_holds() {
+        String etag = ConditionalRequests.etag("r", 42);
+        assertEquals("\"r42-gzip\"", ConditionalRequests.notModifiedEtag("\"r42-gzip\"", etag, ResponseCompression.GZIP));
+        assertEquals("\"r42-gzip\"", ConditionalRequests.notModifiedEtag("W/\"r42-gzip\"", etag, ResponseCompression.GZIP));
+        // Petite réponse envoyée sans compression, ou encodage qui n'est plus accepté
+        assertEquals(etag, ConditionalRequests.notModifiedEtag("\"r42\"", etag, ResponseCompression.GZIP));
+        assertEquals(etag, ConditionalRequests.notModifiedEtag("\"r42-gzip\"", etag, null));
+        assertEquals(etag, ConditionalRequests.notModifiedEtag("\"r42-gzip\"", etag, ResponseCompression.DEFLATE));
+    }
+
+    @Test
+    void should_not_match_other_versions_or_missing_header() {
+        String etag = ConditionalRequests.etag("r", 42);
+        assertFalse(ConditionalRequests.matches((String) null, etag));
+        assertFalse(ConditionalRequests.matches("\"r43\"", etag));
+        assertFalse(ConditionalRequests.matches("\"c42\"", etag));
+        assertFalse(ConditionalRequests.matches("\"r4\"", etag));
+    }
+
+    @Test
+    void compression_should_suffix_strong_etag_only() {
+        Headers headers = new Headers();
+        headers.set(HttpUtils.ETAG, "\"r42\"");
+        ResponseCompression.applyHeaders(headers, ResponseCompression.GZIP);
+        assertEquals("\"r42-gzip\"", headers.getFirst(HttpUtils.ETAG));
+
+        Headers weak = new Headers();
+        weak.set(HttpUtils.ETAG, "W/\"r42\"");
+        ResponseCompression.applyHeaders(weak, ResponseCompression.GZIP);
+        assertEquals("W/\"r42\"", weak.getFirst(HttpUtils.ETAG));
+    }
+}
@@ -0,0 +1,99 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+import fr.unice.polytech.sophiatecheats.application.dto.delivery.CreateDeliverySlotsRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.AddDishToCartRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.PlaceOrderRequest;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCodecTest {
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void codec_is_cached_per_type() {
+        assertSame(JsonCodec.of(PlaceOrderRequest.class), JsonCodec.of(PlaceOrderRequest.class));
+    }
+
+    @Test
+    void reads_dto_directly_from_stream() {
+        UUID userId = UUID.randomUUID();
+        UUID restaurantId = UUID.randomUUID();
+        UUID slotId = UUID.randomUUID();
+
+        PlaceOrderRequest request = JsonCodec.of(PlaceOrderRequest.class).read(json(
+                "{\"userId\":\"" + userId + "\",\"restaurantId\":\"" + restaurantId
+                        + "\",\"paymentMethod\":\"STUDENT_CREDIT\",\"deliverySlotId\":\"" + slotId + "\"}"));
+
+        assertEquals(new PlaceOrderRequest(userId, restaurantId, PaymentMethod.STUDENT_CREDIT, slotId), request);
+    }
+
+    @Test
+    void reads_dates_and_times_of_a_slot_request() {
+        CreateDeliverySlotsRequest request = JsonCodec.of(CreateDeliverySlotsRequest.class).read(json(
+                "{\"date\":\"2025-06-02\",\"start\":\"11:00\",\"end\":\"14:00\",\"maxCapacityPerSlot\":10}"));
+
+        assertEquals(new CreateDeliverySlotsRequest(LocalDate.of(2025, 6, 2), LocalTime.of(11, 0), LocalTime.of(14, 0), 10),
+                request);
+        assertThrows(IllegalArgumentException.class, () -> JsonCodec.of(CreateDeliverySlotsRequest.class)
+                .read(json("{\"date\":\"2025-06-02\",\"start\":\"11:00\",\"maxCapacityPerSlot\":10}")));
+    }
+
+    @Test
+    void malformed_or_empty_body_is_rejected_with_400() {
+        JsonCodec<PlaceOrderRequest> codec = JsonCodec.of(PlaceOrderRequest.class);
+
+        InvalidRequestBodyException malformed = assertThrows(InvalidRequestBodyException.class,
+                () -> codec.read(json("{\"userId\": ")));
+        InvalidRequestBodyException empty = assertThrows(InvalidRequestBodyException.class,
+                () -> codec.read(json("")));
+
+        assertEquals(HttpUtils.BAD_REQUEST, malformed.getStatusCode());
+        assertEquals(HttpUtils.BAD_REQUEST, empty.getStatusCode());
+    }
+
+    @Test
+    void record_validation_message_is_preserved() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> JsonCodec.of(AddDishToCartRequest.class).read(json(
+                        "{\"userId\":\"" + UUID.randomUUID() + "\",\"dishId\":\"" + UUID.randomUUID() + "\",\"quantity\":0}")));
+
+        assertTrue(e.getMessage().contains("quantité"));
+    }
+
+    @Test
+    void oversized_body_is_rejected_with_413() {
+        byte[] padding = new byte[2 * 1024 * 1024];
+        java.util.Arrays.fill(padding, (byte) ' ');
+        InputStream body = new SequenceInputStream(json("{\"userId\":"), new ByteArrayInputStream(padding));
+
+        InvalidRequestBodyException e = assertThrows(InvalidRequestBodyException.class,
+                () -> JsonCodec.of(PlaceOrderRequest.class).read(body));
+
+        assertEquals(HttpUtils.PAYLOAD_TOO_LARGE, e.getStatusCode());
+    }
+
+    @Test
+    void body_overflowing_inside_a_string_value_is_rejected_with_413() {
+        byte[] value = new byte[2 * 1024 * 1024];
+        java.util.Arrays.fill(value, (byte) 'a');
+        InputStream body = new SequenceInputStream(json("{\"userId\":\""), new ByteArrayInputStream(value));
+
+        InvalidRequestBodyException e = assertThrows(InvalidRequestBodyException.class,
+                () -> JsonCodec.of(PlaceOrderRequest.class).read(body));
+
+        assertEquals(HttpUtils.PAYLOAD_TOO_LARGE, e.getStatusCode());
+    }
+}
@@ -0,0 +1,93 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import fr.unice.polytech.sophiatecheats.interfaces.http.ApiRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonResponseStreamTest {
+
+    private HttpServer server;
+    private URI baseUri;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    public record Item(int index, String label) {
+    }
+
+    public static class Broken {
+        public String getValue() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ApiRegistry registry = new ApiRegistry();
+        registry.registerRoute("GET", "/small", (exchange, params, sender) ->
+                sender.sendJson(HttpUtils.OK, new Item(1, "petit"), Map.of("X-Test", "1")));
+        registry.registerRoute("GET", "/large", (exchange, params, sender) -> {
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                items.add(new Item(i, "plat numéro " + i));
+            }
+            sender.sendJson(HttpUtils.OK, items, null);
+        });
+        registry.registerRoute("GET", "/broken", (exchange, params, sender) ->
+                sender.sendJson(HttpUtils.OK, new Broken(), null));
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", registry::dispatch);
+        server.start();
+        baseUri = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(baseUri.resolve(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void small_document_is_sent_with_content_length() throws Exception {
+        HttpResponse<String> response = get("/small");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"index\":1,\"label\":\"petit\"}", response.body());
+        assertEquals(String.valueOf(response.body().getBytes().length),
+                response.headers().firstValue("Content-Length").orElse(null));
+        assertEquals("1", response.headers().firstValue("X-Test").orElse(null));
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith(HttpUtils.APPLICATION_JSON));
+    }
+
+    @Test
+    void large_document_is_streamed_in_chunks() throws Exception {
+        HttpResponse<String> response = get("/large");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("chunked", response.headers().firstValue("Transfer-Encoding").orElse(null));
+        assertTrue(response.body().startsWith("[{\"index\":0,"));
+        assertTrue(response.body().endsWith("\"plat numéro 1999\"}]"));
+    }
+
+    @Test
+    void serialization_error_before_headers_still_returns_an_error_status() throws Exception {
+        HttpResponse<String> response = get("/broken");
+
+        assertEquals(500, response.statusCode());
+    }
+}
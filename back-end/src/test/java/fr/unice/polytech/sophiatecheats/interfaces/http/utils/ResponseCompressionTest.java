@@ -0,0 +1,119 @@
+package fr.unice.polytech.sophiatecheats.interfaces.http.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import fr.unice.polytech.sophiatecheats.interfaces.http.ApiRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressionTest {
+
+    @Test
+    void negotiation_prefers_gzip_and_honours_q_values() {
+        assertEquals("gzip", ResponseCompression.negotiate("gzip, deflate, br"));
+        assertEquals("deflate", ResponseCompression.negotiate("gzip;q=0, deflate"));
+        assertEquals("deflate", ResponseCompression.negotiate("gzip;q=0.2, deflate;q=0.8"));
+        assertEquals("gzip", ResponseCompression.negotiate("*"));
+        assertNull(ResponseCompression.negotiate("identity"));
+        assertNull(ResponseCompression.negotiate("br, *;q=0"));
+        assertNull(ResponseCompression.negotiate((String) null));
+    }
+
+    @Test
+    void pooled_streams_produce_valid_gzip_and_deflate() throws Exception {
+        byte[] data = "{\"name\":\"Pizzeria\"}".repeat(500).getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 3; i++) {
+            byte[] gzip = ResponseCompression.compress(data, 0, data.length, ResponseCompression.GZIP);
+            byte[] deflate = ResponseCompression.compress(data, 0, data.length, ResponseCompression.DEFLATE);
+
+            assertTrue(gzip.length < data.length / 10);
+            assertArrayEquals(data, new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes());
+            assertArrayEquals(data, new InflaterInputStream(new ByteArrayInputStream(deflate)).readAllBytes());
+        }
+    }
+
+    @Test
+    void failed_or_abandoned_streams_give_their_deflater_back() throws Exception {
+        byte[] data = "{\"name\":\"Pizzeria\"}".repeat(500).getBytes(StandardCharsets.UTF_8);
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("connexion perdue");
+            }
+        };
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IOException.class, () -> ResponseCompression.wrap(broken, ResponseCompression.GZIP));
+            OutputStream abandoned = ResponseCompression.wrap(new ByteArrayOutputStream(), ResponseCompression.GZIP);
+            abandoned.write(data, 0, data.length / 2);
+            ResponseCompression.abandon(abandoned);
+
+            // Le Deflater rendu au pool repart d'un état propre
+            byte[] gzip = ResponseCompression.compress(data, 0, data.length, ResponseCompression.GZIP);
+            assertArrayEquals(data, new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes());
+        }
+    }
+
+    @Test
+    void api_registry_compresses_large_responses_only() throws Exception {
+        ApiRegistry registry = new ApiRegistry();
+        registry.registerRoute("GET", "/small", (exchange, params, sender) -> sender.send(HttpUtils.OK, "{}", null));
+        registry.registerRoute("GET", "/text", (exchange, params, sender) ->
+                sender.send(HttpUtils.OK, "{\"dish\":\"Ratatouille\"}".repeat(200), null));
+        registry.registerRoute("GET", "/stream", (exchange, params, sender) -> {
+            List<String> dishes = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                dishes.add("Plat " + i);
+            }
+            sender.sendJson(HttpUtils.OK, dishes, null);
+        });
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", registry::dispatch);
+        server.start();
+        try {
+            URI base = URI.create("http://localhost:" + server.getAddress().getPort());
+            HttpClient client = HttpClient.newHttpClient();
+
+            HttpResponse<InputStream> small = get(client, base.resolve("/small"));
+            assertTrue(small.headers().firstValue("Content-Encoding").isEmpty());
+            assertEquals("{}", new String(small.body().readAllBytes(), StandardCharsets.UTF_8));
+
+            HttpResponse<InputStream> text = get(client, base.resolve("/text"));
+            assertEquals("gzip", text.headers().firstValue("Content-Encoding").orElse(null));
+            assertEquals("Accept-Encoding", text.headers().firstValue("Vary").orElse(null));
+            assertEquals("{\"dish\":\"Ratatouille\"}".repeat(200),
+                    new String(new GZIPInputStream(text.body()).readAllBytes(), StandardCharsets.UTF_8));
+
+            HttpResponse<InputStream> stream = get(client, base.resolve("/stream"));
+            assertEquals("gzip", stream.headers().firstValue("Content-Encoding").orElse(null));
+            String json = new String(new GZIPInputStream(stream.body()).readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.startsWith("[\"Plat 0\""));
+            assertTrue(json.endsWith("\"Plat 1999\"]"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static HttpResponse<InputStream> get(HttpClient client, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").build();
+        return client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+}
@@ -1,5 +1,5 @@
 import React, { useEffect, useState } from "react";
-import { fetchRestaurantOrders } from "../../services/restaurantService.js";
+import { subscribeRestaurantOrders } from "../../services/restaurantService.js";
 import "./RestaurantOrders.css";
 
 export default function RestaurantOrders({ restaurantId }) {
@@ -8,23 +8,34 @@ export default function RestaurantOrders({ restaurantId }) {
     const [error, setError] = useState(null);
 
     useEffect(() => {
-        loadOrders();
+        setLoading(true);
+        // Liste complète à l'ouverture, puis chaque commande nouvelle ou modifiée
+        return subscribeRestaurantOrders(restaurantId, {
+            onSnapshot: (snapshot) => {
+                setOrders(snapshot);
+                setError(null);
+                setLoading(false);
+            },
+            onOrder: (order) => {
+                setOrders((current) => {
+                    const index = current.findIndex((o) => o.orderId === order.orderId);
+                    if (index === -1) return [...current, order];
+                    const next = [...current];
+                    next[index] = order;
+                    return next;
+                });
+            },
+            onError: (event) => {
+                // EventSource se reconnecte seul tant que le flux n'est pas fermé
+                if (event.target.readyState === EventSource.CLOSED) {
+                    console.error("Error loading orders:", event);
+                    setError("Failed to load orders");
+                    setLoading(false);
+                }
+            }
+        });
     }, [restaurantId]);
 
-    const loadOrders = async () => {
-        try {
-            setLoading(true);
-            const response = await fetchRestaurantOrders(restaurantId);
-            setOrders(response.orders || []);
-            setError(null);
-        } catch (err) {
-            console.error("Error loading orders:", err);
-            setError("Failed to load orders");
-        } finally {
-            setLoading(false);
-        }
-    };
-
     const formatDate = (dateString) => {
         if (!dateString) return "N/A";
         const date = new Date(dateString);
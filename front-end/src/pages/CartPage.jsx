@@ -2,6 +2,7 @@ import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useCart } from '../context/CartContext.jsx';
 import { fetchCart } from '../services/cartService.js';
+import { fetchDishes } from '../services/restaurantService.js';
 import UserLayout from '../components/layouts/UserLayout.jsx';
 import PageContainer from '../components/common/PageContainer.jsx';
 import PageTitle from '../components/common/PageTitle.jsx';
@@ -21,6 +22,7 @@ export default function CartPage() {
     const { loading, removeItem, updateQuantity, emptyCart } = useCart();
     const [detailedCart, setDetailedCart] = useState(null);
     const [slotSelected, setSlotSelected] = useState(false);
+    const [unavailableDishIds, setUnavailableDishIds] = useState(new Set());
 
     useEffect(() => {
         loadDetailedCart();
@@ -30,11 +32,29 @@ export default function CartPage() {
         try {
             const data = await fetchCart();
             setDetailedCart(data);
+            await checkDishAvailability(data?.items ?? []);
         } catch (err) {
             console.error('Error loading cart:', err);
         }
     }
 
+    // Un seul appel pour tous les plats du panier : retirés du menu ou plus disponibles
+    async function checkDishAvailability(items) {
+        if (items.length === 0) {
+            setUnavailableDishIds(new Set());
+            return;
+        }
+        try {
+            const { dishes, notFound } = await fetchDishes(items.map(item => item.dishId));
+            setUnavailableDishIds(new Set([
+                ...notFound,
+                ...dishes.filter(entry => !entry.dish.available).map(entry => entry.dish.id)
+            ]));
+        } catch (err) {
+            console.error('Error checking dishes:', err);
+        }
+    }
+
     // ...existing handlers...
     async function handleRemoveItem(dishId) {
         if (confirm('Retirer cet article du panier ?')) {
@@ -132,6 +152,11 @@ export default function CartPage() {
                                             <h3 className="text-lg font-semibold text-neutral-900 mb-1">
                                                 {item.dishName}
                                             </h3>
+                                            {unavailableDishIds.has(item.dishId) && (
+                                                <p className="text-sm font-medium text-danger mb-1">
+                                                    Ce plat n'est plus disponible
+                                                </p>
+                                            )}
                                             <p className="text-sm text-neutral-600">
                                                 Prix unitaire: <span className="font-medium">{item.unitPrice.toFixed(2)} €</span>
                                             </p>
@@ -130,6 +130,34 @@ export async function fetchRestaurantOrders(restaurantId) {
     return await response.json();
 }
 
+/**
+ * Suit les commandes d'un restaurant en Server-Sent Events.
+ * Le navigateur se reconnecte seul et reprend après le dernier événement reçu.
+ * @param {string} restaurantId - L'ID du restaurant
+ * @param {Object} handlers - {onSnapshot(orders), onOrder(order), onRemoved(order), onError(event)}
+ * @returns {function} fonction qui ferme le flux
+ */
+export function subscribeRestaurantOrders(restaurantId, { onSnapshot, onOrder, onRemoved, onError } = {}) {
+    const source = new EventSource(`${API_BASE_URL}restaurants/${restaurantId}/orders/stream`);
+    source.addEventListener('snapshot', (event) => onSnapshot?.(JSON.parse(event.data)));
+    source.addEventListener('order', (event) => onOrder?.(JSON.parse(event.data)));
+    source.addEventListener('removed', (event) => onRemoved?.(JSON.parse(event.data)));
+    source.onerror = (event) => onError?.(event);
+    return () => source.close();
+}
+
+/**
+ * Plusieurs plats du catalogue en une requête (GET /dishes?ids=...)
+ * @param {string[]} dishIds - au plus 100 identifiants
+ * @returns {Promise<{dishes: Array<{restaurantId, restaurantName, dish}>, notFound: string[]}>}
+ */
+export async function fetchDishes(dishIds) {
+    const params = new URLSearchParams({ids: dishIds.join(',')});
+    const response = await fetch(`${API_BASE_URL}dishes?${params.toString()}`);
+    if (!response.ok) throw new Error('Failed to fetch dishes');
+    return await response.json();
+}
+
 /**
  * Filtrage dynamique des restaurants par catégorie, type ou ouverture
  * @param {Object} filters - {cuisineType, restaurantType, isOpen}
@@ -162,6 +190,7 @@ const restaurantService = {
     createSlots,
     reserveOrReleaseSlot,
     filterRestaurants,
+    fetchDishes,
     getRestaurantById: fetchRestaurantDetails
 };
 